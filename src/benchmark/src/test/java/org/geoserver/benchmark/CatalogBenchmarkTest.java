@@ -0,0 +1,111 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.benchmark;
+
+import java.util.List;
+import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.FeatureTypeInfo;
+import org.geoserver.catalog.LayerInfo;
+import org.geoserver.catalog.Predicates;
+import org.geoserver.catalog.StyleInfo;
+import org.geoserver.catalog.util.CloseableIterator;
+import org.geotools.api.filter.Filter;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+
+/**
+ * Benchmarks the most common lookups performed on the <code>CatalogImpl</code> while serving requests, going through
+ * the same proxies and wrappers the OWS services see.
+ */
+public class CatalogBenchmarkTest {
+
+    @Test
+    public void runBenchmark() throws Exception {
+        new Runner(GeoServerBenchmarkSupport.options(CatalogBenchmark.class).build()).run();
+    }
+
+    @BenchmarkMode(Mode.Throughput)
+    @Fork(1)
+    @Threads(4)
+    @Warmup(iterations = 2, time = 1)
+    @Measurement(time = 1)
+    public static class CatalogBenchmark {
+
+        @State(Scope.Benchmark)
+        public static class CatalogState {
+
+            GeoServerBenchmarkSupport geoServer = new GeoServerBenchmarkSupport();
+
+            Catalog catalog;
+
+            FeatureTypeInfo roads;
+
+            StyleInfo polygon;
+
+            @Setup
+            public void setup() throws Exception {
+                geoServer.start();
+                catalog = geoServer.getCatalog();
+                roads = catalog.getFeatureTypeByName("tiger", "tiger_roads");
+                polygon = catalog.getStyleByName("polygon");
+            }
+
+            @TearDown
+            public void tearDown() throws Exception {
+                geoServer.stop();
+            }
+        }
+
+        @Benchmark
+        public LayerInfo getLayerByName(CatalogState state) {
+            return state.catalog.getLayerByName("topp:states");
+        }
+
+        @Benchmark
+        public FeatureTypeInfo getFeatureTypeByName(CatalogState state) {
+            return state.catalog.getFeatureTypeByName("tiger", "tiger_roads");
+        }
+
+        @Benchmark
+        public List<LayerInfo> getLayersByResource(CatalogState state) {
+            return state.catalog.getLayers(state.roads);
+        }
+
+        @Benchmark
+        public List<LayerInfo> getLayersByStyle(CatalogState state) {
+            return state.catalog.getLayers(state.polygon);
+        }
+
+        @Benchmark
+        public void listLayers(CatalogState state, Blackhole blackhole) {
+            listAll(state.catalog, Predicates.acceptAll(), blackhole);
+        }
+
+        @Benchmark
+        public void listLayersByWorkspace(CatalogState state, Blackhole blackhole) {
+            listAll(state.catalog, Predicates.equal("resource.store.workspace.name", "tiger"), blackhole);
+        }
+
+        private void listAll(Catalog catalog, Filter filter, Blackhole blackhole) {
+            try (CloseableIterator<LayerInfo> layers = catalog.list(LayerInfo.class, filter)) {
+                while (layers.hasNext()) {
+                    blackhole.consume(layers.next());
+                }
+            }
+        }
+    }
+}
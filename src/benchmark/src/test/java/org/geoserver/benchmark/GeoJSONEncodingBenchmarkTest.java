@@ -0,0 +1,147 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.benchmark;
+
+import java.io.Writer;
+import java.util.Random;
+import org.geoserver.json.GeoJSONBuilder;
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LinearRing;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+
+/**
+ * Compares the GeoJSON encoding of {@link GeoJSONBuilder}, streamed directly to the writer, with the legacy one going
+ * through the generic JSON builder machinery, on a feature collection worth of polygons with a few attributes.
+ */
+public class GeoJSONEncodingBenchmarkTest {
+
+    @Test
+    public void runBenchmark() throws Exception {
+        new Runner(GeoServerBenchmarkSupport.options(GeoJSONEncodingBenchmark.class).build()).run();
+    }
+
+    @BenchmarkMode(Mode.Throughput)
+    @Fork(1)
+    @Threads(4)
+    @Warmup(iterations = 2, time = 1)
+    @Measurement(time = 1)
+    public static class GeoJSONEncodingBenchmark {
+
+        @State(Scope.Benchmark)
+        public static class Geometries {
+
+            Geometry[] polygons;
+
+            Object[][] attributes;
+
+            @Setup
+            public void setup() {
+                GeometryFactory gf = new GeometryFactory();
+                Random random = new Random(0);
+                polygons = new Geometry[100];
+                attributes = new Object[polygons.length][];
+                for (int i = 0; i < polygons.length; i++) {
+                    // a 100 vertices ring around a random center
+                    double cx = random.nextDouble() * 360 - 180;
+                    double cy = random.nextDouble() * 180 - 90;
+                    Coordinate[] coordinates = new Coordinate[101];
+                    for (int j = 0; j < 100; j++) {
+                        double angle = 2 * Math.PI * j / 100;
+                        double radius = 0.5 + random.nextDouble() * 0.1;
+                        coordinates[j] =
+                                new Coordinate(cx + radius * Math.cos(angle), cy + radius * Math.sin(angle));
+                    }
+                    coordinates[100] = coordinates[0];
+                    LinearRing shell = gf.createLinearRing(coordinates);
+                    polygons[i] = gf.createPolygon(shell);
+                    attributes[i] = new Object[] {
+                        "Feature \"" + i + "\"",
+                        random.nextInt(1000000),
+                        random.nextDouble() * 1000,
+                        random.nextBoolean()
+                    };
+                }
+            }
+        }
+
+        @Benchmark
+        public void streaming(Geometries geometries, Blackhole blackhole) {
+            encode(geometries, true, blackhole);
+        }
+
+        @Benchmark
+        public void legacyBuilder(Geometries geometries, Blackhole blackhole) {
+            encode(geometries, false, blackhole);
+        }
+
+        private void encode(Geometries geometries, boolean streaming, Blackhole blackhole) {
+            GeoJSONBuilder builder = new GeoJSONBuilder(new BlackholeWriter(blackhole));
+            builder.setStreaming(streaming);
+            builder.array();
+            for (int i = 0; i < geometries.polygons.length; i++) {
+                Geometry g = geometries.polygons[i];
+                Object[] values = geometries.attributes[i];
+                builder.object().key("type").value("Feature");
+                builder.key("geometry");
+                builder.writeGeom(g);
+                builder.key("properties").object();
+                builder.key("name").value(values[0]);
+                builder.key("population").value(values[1]);
+                builder.key("area").value(values[2]);
+                builder.key("capital").value(values[3]);
+                builder.endObject();
+                builder.writeBoundingBox(g.getEnvelopeInternal());
+                builder.endObject();
+            }
+            builder.endArray();
+        }
+    }
+
+    /** A writer consuming the output, to measure the encoding alone */
+    static class BlackholeWriter extends Writer {
+
+        private final Blackhole blackhole;
+
+        BlackholeWriter(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            blackhole.consume(cbuf);
+            blackhole.consume(len);
+        }
+
+        @Override
+        public void write(String str) {
+            blackhole.consume(str);
+        }
+
+        @Override
+        public void write(int c) {
+            blackhole.consume(c);
+        }
+
+        @Override
+        public void flush() {}
+
+        @Override
+        public void close() {}
+    }
+}
@@ -0,0 +1,98 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.benchmark;
+
+import java.io.File;
+import org.geoserver.catalog.Catalog;
+import org.geoserver.config.GeoServer;
+import org.geoserver.data.test.LiveSystemTestData;
+import org.geoserver.data.test.SystemTestData;
+import org.geoserver.test.GeoServerSystemTestSupport;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+
+/**
+ * Boots a full GeoServer against a copy of one of the sample data directories shipped in the <code>data</code> folder
+ * of the source tree, so that benchmarks can run offline and against realistic configuration.
+ *
+ * <p>The data directory defaults to <code>data/release</code> and can be changed with the
+ * {@link #DATA_DIR_PROPERTY} system property. The instance is meant to be held by a JMH
+ * {@link org.openjdk.jmh.annotations.State}, calling {@link #start()} and {@link #stop()} from its setup and tear down
+ * methods.
+ */
+public class GeoServerBenchmarkSupport extends GeoServerSystemTestSupport {
+
+    /** System property pointing to the data directory to be used for the benchmarks */
+    public static final String DATA_DIR_PROPERTY = "gs.benchmark.dataDir";
+
+    static final String DEFAULT_DATA_DIR = "../../data/release";
+
+    /**
+     * Returns the JMH options shared by all benchmarks, running the benchmarks declared in the given class and
+     * writing the results in a JSON file named after it.
+     */
+    public static ChainedOptionsBuilder options(Class<?> benchmark) {
+        return new OptionsBuilder()
+                .include(benchmark.getName().replace('$', '.') + ".*")
+                // system properties are not inherited by the forked JVM
+                .jvmArgsAppend("-D" + DATA_DIR_PROPERTY + "=" + getDataDirectory().getAbsolutePath())
+                .result("./target/benchmark-" + benchmark.getSimpleName() + ".json")
+                .resultFormat(ResultFormatType.JSON);
+    }
+
+    static File getDataDirectory() {
+        return new File(System.getProperty(DATA_DIR_PROPERTY, DEFAULT_DATA_DIR));
+    }
+
+    @Override
+    protected SystemTestData createTestData() throws Exception {
+        return new LiveSystemTestData(getDataDirectory());
+    }
+
+    @Override
+    protected void setUpTestData(SystemTestData testData) throws Exception {
+        // use the sample data directory as is, without adding the mock layers
+    }
+
+    /** Starts up GeoServer, to be called from the benchmark state setup */
+    public void start() throws Exception {
+        // forked benchmark JVMs do not run the JUnit class level setup
+        setUpReferencing();
+        doSetup();
+    }
+
+    /** Shuts down GeoServer and removes the data directory copy */
+    public void stop() throws Exception {
+        doTearDownClass();
+    }
+
+    @Override
+    public Catalog getCatalog() {
+        return super.getCatalog();
+    }
+
+    @Override
+    public GeoServer getGeoServer() {
+        return super.getGeoServer();
+    }
+
+    @Override
+    public MockHttpServletResponse getAsServletResponse(String path) throws Exception {
+        return super.getAsServletResponse(path);
+    }
+
+    @Override
+    public MockHttpServletResponse postAsServletResponse(String path, String xml) throws Exception {
+        return super.postAsServletResponse(path, xml);
+    }
+
+    @Override
+    public Authentication loginAsAdmin() {
+        return super.loginAsAdmin();
+    }
+}
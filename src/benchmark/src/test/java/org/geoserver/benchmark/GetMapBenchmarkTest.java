@@ -0,0 +1,125 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.benchmark;
+
+import java.util.List;
+import java.util.Map;
+import org.geoserver.ows.util.KvpMap;
+import org.geoserver.ows.util.KvpUtils;
+import org.geoserver.wms.GetMap;
+import org.geoserver.wms.GetMapRequest;
+import org.geoserver.wms.WMS;
+import org.geoserver.wms.WebMap;
+import org.geoserver.wms.map.GetMapKvpRequestReader;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+
+/**
+ * Benchmarks the two halves of a GetMap request without the dispatcher overhead: parsing the KVP into a
+ * {@link GetMapRequest} with {@link GetMapKvpRequestReader}, and rendering it with the
+ * <code>RenderedImageMapOutputFormat</code> against the shapefile stores of the sample data directory.
+ */
+public class GetMapBenchmarkTest {
+
+    /** A single polygon layer */
+    static final String STATES = "?layers=topp:states&styles=&bbox=-124.73,24.95,-66.97,49.37"
+            + "&srs=EPSG:4326&width=768&height=330&format=image/png";
+
+    /** A layer group mixing polygons, lines and points with labels */
+    static final String TIGER_NY = "?layers=tiger-ny&styles=&bbox=-74.02722,40.684221,-73.907005,40.878178"
+            + "&srs=EPSG:4326&width=400&height=645&format=image/png";
+
+    @Test
+    public void runBenchmark() throws Exception {
+        new Runner(GeoServerBenchmarkSupport.options(GetMapBenchmark.class).build()).run();
+    }
+
+    @BenchmarkMode(Mode.Throughput)
+    @Fork(1)
+    @Threads(4)
+    @Warmup(iterations = 2, time = 1)
+    @Measurement(time = 1)
+    public static class GetMapBenchmark {
+
+        @State(Scope.Benchmark)
+        public static class GetMapState {
+
+            GeoServerBenchmarkSupport geoServer = new GeoServerBenchmarkSupport();
+
+            GetMapKvpRequestReader reader;
+
+            GetMap getMap;
+
+            GetMapRequest states;
+
+            GetMapRequest tigerNY;
+
+            @Setup
+            public void setup() throws Exception {
+                geoServer.start();
+                WMS wms = new WMS(geoServer.getGeoServer());
+                reader = new GetMapKvpRequestReader(wms);
+                getMap = new GetMap(wms);
+                states = read(STATES);
+                tigerNY = read(TIGER_NY);
+            }
+
+            @TearDown
+            public void tearDown() throws Exception {
+                reader.destroy();
+                geoServer.stop();
+            }
+
+            GetMapRequest read(String query) throws Exception {
+                Map<String, Object> rawKvp = KvpUtils.normalize(KvpUtils.parseQueryString(query));
+                Map<String, Object> kvp = new KvpMap<>(rawKvp);
+                List<Throwable> errors = KvpUtils.parse(kvp);
+                if (!errors.isEmpty()) throw (Exception) errors.get(0);
+
+                return reader.read(reader.createRequest(), kvp, rawKvp);
+            }
+
+            Object render(GetMapRequest request) throws Exception {
+                WebMap map = getMap.run(request);
+                try {
+                    return map.getMimeType();
+                } finally {
+                    map.dispose();
+                }
+            }
+        }
+
+        @Benchmark
+        public GetMapRequest parseStates(GetMapState state) throws Exception {
+            return state.read(STATES);
+        }
+
+        @Benchmark
+        public GetMapRequest parseLayerGroup(GetMapState state) throws Exception {
+            return state.read(TIGER_NY);
+        }
+
+        @Benchmark
+        public Object renderStates(GetMapState state) throws Exception {
+            return state.render(state.states);
+        }
+
+        @Benchmark
+        public Object renderLayerGroup(GetMapState state) throws Exception {
+            return state.render(state.tigerNY);
+        }
+    }
+}
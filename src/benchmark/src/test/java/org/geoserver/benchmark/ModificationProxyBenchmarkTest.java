@@ -0,0 +1,97 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.benchmark;
+
+import org.geoserver.catalog.CatalogFactory;
+import org.geoserver.catalog.FeatureTypeInfo;
+import org.geoserver.catalog.impl.CatalogImpl;
+import org.geoserver.catalog.impl.ModificationProxy;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+
+/**
+ * Benchmarks the {@link ModificationProxy} wrapping every catalog object handed out by the catalog: reading properties
+ * through the proxy, compared with reading them directly, and the modify/commit cycle performed on saves.
+ */
+public class ModificationProxyBenchmarkTest {
+
+    @Test
+    public void runBenchmark() throws Exception {
+        new Runner(GeoServerBenchmarkSupport.options(ModificationProxyBenchmark.class).build()).run();
+    }
+
+    @BenchmarkMode(Mode.Throughput)
+    @Fork(1)
+    @Threads(4)
+    @Warmup(iterations = 2, time = 1)
+    @Measurement(time = 1)
+    public static class ModificationProxyBenchmark {
+
+        @State(Scope.Thread)
+        public static class ProxyState {
+
+            FeatureTypeInfo featureType;
+
+            FeatureTypeInfo proxy;
+
+            @Setup
+            public void setup() {
+                CatalogFactory factory = new CatalogImpl().getFactory();
+                featureType = factory.createFeatureType();
+                featureType.setName("roads");
+                featureType.setNativeName("roads");
+                featureType.setTitle("Roads");
+                featureType.setEnabled(true);
+                proxy = ModificationProxy.create(featureType, FeatureTypeInfo.class);
+            }
+        }
+
+        @Benchmark
+        public void directGetters(ProxyState state, Blackhole blackhole) {
+            readProperties(state.featureType, blackhole);
+        }
+
+        @Benchmark
+        public void proxyGetters(ProxyState state, Blackhole blackhole) {
+            readProperties(state.proxy, blackhole);
+        }
+
+        @Benchmark
+        public boolean modifyAndCommit(ProxyState state) {
+            FeatureTypeInfo proxy = ModificationProxy.create(state.featureType, FeatureTypeInfo.class);
+            proxy.setTitle("Main roads");
+            proxy.setEnabled(false);
+            ModificationProxy handler = ModificationProxy.handler(proxy);
+            boolean dirty = handler.isDirty();
+            handler.getPropertyNames();
+            handler.getOldValues();
+            handler.commit();
+            // restore the original state for the next invocation
+            state.featureType.setTitle("Roads");
+            state.featureType.setEnabled(true);
+            return dirty;
+        }
+
+        private void readProperties(FeatureTypeInfo info, Blackhole blackhole) {
+            blackhole.consume(info.getName());
+            blackhole.consume(info.getNativeName());
+            blackhole.consume(info.getTitle());
+            blackhole.consume(info.isEnabled());
+            blackhole.consume(info.getSRS());
+            blackhole.consume(info.getMaxFeatures());
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.benchmark;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Benchmarks full OWS requests going through <code>Dispatcher.handleRequestInternal</code>, covering KVP parsing,
+ * operation dispatch and response encoding for WMS GetMap, WFS GeoJSON and WFS GML3 output.
+ */
+public class OwsDispatchBenchmarkTest {
+
+    static final String GET_MAP = "wms?service=WMS&version=1.1.1&request=GetMap&layers=topp:states"
+            + "&styles=&bbox=-124.73,24.95,-66.97,49.37&srs=EPSG:4326&width=768&height=330&format=image/png";
+
+    static final String GET_FEATURE = "wfs?service=WFS&version=1.1.0&request=GetFeature&typeName=tiger:tiger_roads";
+
+    /**
+     * Runs the JMH benchmark. Benchmarks are not really tests, by integrating JMH with Junit it just provides us an easy
+     * way to run them, either from the IDE or with the benchmark build profile.
+     */
+    @Test
+    public void runBenchmark() throws Exception {
+        new Runner(GeoServerBenchmarkSupport.options(OwsDispatchBenchmark.class).build()).run();
+    }
+
+    @BenchmarkMode(Mode.Throughput)
+    @Fork(1)
+    @Threads(4)
+    @Warmup(iterations = 2, time = 1)
+    @Measurement(time = 1)
+    public static class OwsDispatchBenchmark {
+
+        @State(Scope.Benchmark)
+        public static class GeoServerState {
+
+            GeoServerBenchmarkSupport geoServer = new GeoServerBenchmarkSupport();
+
+            @Setup
+            public void setup() throws Exception {
+                geoServer.start();
+            }
+
+            @TearDown
+            public void tearDown() throws Exception {
+                geoServer.stop();
+            }
+
+            MockHttpServletResponse get(String request, String expectedMimeType) throws Exception {
+                MockHttpServletResponse response = geoServer.getAsServletResponse(request);
+                assertEquals(200, response.getStatus());
+                assertThat(response.getContentType(), startsWith(expectedMimeType));
+                return response;
+            }
+        }
+
+        @Benchmark
+        public MockHttpServletResponse getMapPng(GeoServerState state) throws Exception {
+            return state.get(GET_MAP, "image/png");
+        }
+
+        @Benchmark
+        public MockHttpServletResponse getFeatureGeoJSON(GeoServerState state) throws Exception {
+            return state.get(GET_FEATURE + "&outputFormat=application/json", "application/json");
+        }
+
+        @Benchmark
+        public MockHttpServletResponse getFeatureGML3(GeoServerState state) throws Exception {
+            return state.get(GET_FEATURE + "&outputFormat=gml3", "text/xml");
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.benchmark;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Benchmarks WFS-T throughput on the <code>sf:archsites</code> shapefile, with transactions made of many small
+ * Update and Insert elements. Consecutive inserts are always executed as a single bulk insert, while updates are
+ * benchmarked both batched and element by element (batch size 1).
+ */
+public class WFSTransactionBenchmarkTest {
+
+    static final String TRANSACTION_START = "<wfs:Transaction service=\"WFS\" version=\"1.1.0\""
+            + " xmlns:sf=\"http://www.openplans.org/spearfish\""
+            + " xmlns:ogc=\"http://www.opengis.net/ogc\""
+            + " xmlns:gml=\"http://www.opengis.net/gml\""
+            + " xmlns:wfs=\"http://www.opengis.net/wfs\">";
+
+    static final String TRANSACTION_END = "</wfs:Transaction>";
+
+    /** The number of features in sf:archsites */
+    static final int FEATURES = 25;
+
+    /** The number of features inserted, and then deleted, by each transaction */
+    static final int INSERTS = 100;
+
+    @Test
+    public void runBenchmark() throws Exception {
+        new Runner(GeoServerBenchmarkSupport.options(WFSTransactionBenchmark.class).build()).run();
+    }
+
+    @BenchmarkMode(Mode.Throughput)
+    @Fork(1)
+    @Threads(1)
+    @Warmup(iterations = 2, time = 1)
+    @Measurement(time = 1)
+    public static class WFSTransactionBenchmark {
+
+        @State(Scope.Benchmark)
+        public static class GeoServerState {
+
+            /** The update batch size, read once when the transaction class is loaded */
+            @Param({"1", "100"})
+            String batchSize;
+
+            GeoServerBenchmarkSupport geoServer = new GeoServerBenchmarkSupport();
+
+            String updates;
+
+            String insertsAndDelete;
+
+            @Setup
+            public void setup() throws Exception {
+                // each parameter value runs in its own forked JVM
+                System.setProperty("org.geoserver.wfs.updateBatchSize", batchSize);
+                geoServer.start();
+
+                StringBuilder sb = new StringBuilder(TRANSACTION_START);
+                for (int i = 1; i <= FEATURES; i++) {
+                    sb.append("<wfs:Update typeName=\"sf:archsites\">"
+                            + "<wfs:Property><wfs:Name>str1</wfs:Name><wfs:Value>benchmark</wfs:Value></wfs:Property>"
+                            + "<ogc:Filter><ogc:FeatureId fid=\"archsites."
+                            + i
+                            + "\"/></ogc:Filter>"
+                            + "</wfs:Update>");
+                }
+                updates = sb.append(TRANSACTION_END).toString();
+
+                sb = new StringBuilder(TRANSACTION_START);
+                for (int i = 0; i < INSERTS; i++) {
+                    sb.append("<wfs:Insert><sf:archsites>"
+                            + "<sf:the_geom><gml:Point srsName=\"EPSG:26713\"><gml:pos>"
+                            + (590000 + i)
+                            + " 4915000</gml:pos></gml:Point></sf:the_geom>"
+                            + "<sf:cat>-1</sf:cat><sf:str1>benchmark</sf:str1>"
+                            + "</sf:archsites></wfs:Insert>");
+                }
+                // remove the inserted features, so that all invocations work against the same data
+                sb.append("<wfs:Delete typeName=\"sf:archsites\"><ogc:Filter><ogc:PropertyIsEqualTo>"
+                        + "<ogc:PropertyName>cat</ogc:PropertyName><ogc:Literal>-1</ogc:Literal>"
+                        + "</ogc:PropertyIsEqualTo></ogc:Filter></wfs:Delete>");
+                insertsAndDelete = sb.append(TRANSACTION_END).toString();
+            }
+
+            @TearDown
+            public void tearDown() throws Exception {
+                geoServer.stop();
+            }
+
+            MockHttpServletResponse post(String transaction, String expected) throws Exception {
+                // the authentication is thread bound, and writes require the admin role
+                geoServer.loginAsAdmin();
+                MockHttpServletResponse response = geoServer.postAsServletResponse("wfs", transaction);
+                assertEquals(200, response.getStatus());
+                assertThat(response.getContentAsString(), containsString(expected));
+                return response;
+            }
+        }
+
+        @Benchmark
+        public MockHttpServletResponse updates(GeoServerState state) throws Exception {
+            return state.post(state.updates, "<wfs:totalUpdated>" + FEATURES + "</wfs:totalUpdated>");
+        }
+
+        @Benchmark
+        public MockHttpServletResponse insertsAndDelete(GeoServerState state) throws Exception {
+            return state.post(state.insertsAndDelete, "<wfs:totalInserted>" + INSERTS + "</wfs:totalInserted>");
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.cluster.hazelcast;
+
+import com.google.common.base.Preconditions;
+import com.hazelcast.map.IMap;
+import com.hazelcast.query.Predicate;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import javax.xml.namespace.QName;
+import org.geoserver.wfs.lock.MapFeatureLockManager;
+import org.springframework.beans.factory.InitializingBean;
+
+/**
+ * A WFS feature lock manager sharing the locks among the cluster nodes, by keeping them in two Hazelcast distributed
+ * maps, {@code wfs-locks} and {@code wfs-lock-features}. The maps can be given backups and persistence in the
+ * Hazelcast configuration.
+ *
+ * <p>To be used, the {@code WFS_LOCK_MANAGER} variable must be set to {@code hzFeatureLockManager} on all nodes. Lock
+ * expiry is computed with the clock of the node serving the request, so the node clocks should be synchronized.
+ *
+ * <p>The expired locks are purged by a single node per purge interval, coordinated through the
+ * {@code wfs-lock-purge} map, and selected with predicates evaluated on the members owning them, without copying the
+ * maps around.
+ */
+public class HzFeatureLockManager extends MapFeatureLockManager implements InitializingBean {
+
+    static final String LOCKS_MAP = "wfs-locks";
+
+    static final String FEATURES_MAP = "wfs-lock-features";
+
+    static final String PURGE_MAP = "wfs-lock-purge";
+
+    static final String LAST_PURGE = "lastPurge";
+
+    private HzCluster cluster;
+
+    /** {@code cluster} property to be set in {@code applicationContext.xml} */
+    public void setCluster(HzCluster cluster) {
+        this.cluster = cluster;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        Preconditions.checkNotNull(cluster, "HzCluster is not set");
+    }
+
+    private void checkRunning() {
+        Preconditions.checkState(
+                cluster.isEnabled(),
+                "Hazelcast cluster is not enabled. Either enable it or chose a different feature lock manager.");
+        Preconditions.checkState(cluster.isRunning(), "Hazelcast cluster is not running");
+    }
+
+    @Override
+    protected IMap<String, LockEntry> getLocks() {
+        checkRunning();
+        return cluster.getHz().getMap(LOCKS_MAP);
+    }
+
+    @Override
+    protected IMap<String, String> getFeatures() {
+        checkRunning();
+        return cluster.getHz().getMap(FEATURES_MAP);
+    }
+
+    @Override
+    protected Map<String, String> getOwners(Set<String> keys) {
+        // one round trip per partition, instead of one per feature
+        return getFeatures().getAll(keys);
+    }
+
+    @Override
+    public boolean hasLocks(QName typeName) {
+        // checking the map is empty is a cluster wide call, look up the modified features instead
+        return true;
+    }
+
+    @Override
+    public void release(String lockId) {
+        super.release(lockId);
+        getFeatures().removeAll(new OwnerPredicate(Set.of(lockId)));
+    }
+
+    @Override
+    protected void purgeExpired(long now) {
+        if (!cluster.isEnabled() || !cluster.isRunning()) {
+            return;
+        }
+        // every node having taken locks runs the purge task, the first one in each interval does the work
+        IMap<String, Long> purges = cluster.getHz().getMap(PURGE_MAP);
+        if (!purges.tryLock(LAST_PURGE)) {
+            return;
+        }
+        try {
+            Long lastPurge = purges.get(LAST_PURGE);
+            // half the interval, as the nodes clocks and schedules are not aligned
+            if (lastPurge != null && now - lastPurge < getPurgeInterval() * 500) {
+                return;
+            }
+            purgeExpiredLocks(now);
+            purges.put(LAST_PURGE, now);
+        } finally {
+            purges.unlock(LAST_PURGE);
+        }
+    }
+
+    /** Removes the locks expired at the given time, and their features */
+    void purgeExpiredLocks(long now) {
+        IMap<String, LockEntry> locks = getLocks();
+        Set<String> removed = new HashSet<>();
+        for (Map.Entry<String, LockEntry> entry : locks.entrySet(new ExpiredPredicate(now))) {
+            if (locks.remove(entry.getKey(), entry.getValue())) {
+                removed.add(entry.getKey());
+            }
+        }
+        // features locked after the removal are dropped by lockFeatures, lock ids are never reused
+        if (!removed.isEmpty()) {
+            getFeatures().removeAll(new OwnerPredicate(removed));
+        }
+    }
+
+    /** Selects the locks expired at a given time */
+    static class ExpiredPredicate implements Predicate<String, LockEntry> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long now;
+
+        ExpiredPredicate(long now) {
+            this.now = now;
+        }
+
+        @Override
+        public boolean apply(Map.Entry<String, LockEntry> entry) {
+            return entry.getValue().expiry() < now;
+        }
+    }
+
+    /** Selects the features held by the given locks */
+    static class OwnerPredicate implements Predicate<String, String> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Set<String> lockIds;
+
+        OwnerPredicate(Set<String> lockIds) {
+            this.lockIds = new HashSet<>(lockIds);
+        }
+
+        @Override
+        public boolean apply(Map.Entry<String, String> entry) {
+            return lockIds.contains(entry.getValue());
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.cluster.hazelcast;
+
+import com.google.common.base.Preconditions;
+import com.hazelcast.map.IMap;
+import java.util.concurrent.TimeUnit;
+import org.geoserver.gwc.coalescing.RenderCoalescingProvider;
+import org.springframework.beans.factory.InitializingBean;
+
+/**
+ * A GWC render coalescing provider sharing the meta tiles being rendered among the cluster nodes, in the
+ * {@code gwc-metatile-renders} Hazelcast distributed map. Registrations are map entries with a time to live, so the
+ * ones of a node leaving the cluster while rendering expire on their own.
+ *
+ * <p>To be used, the {@code GWC_METATILE_COALESCING} variable must be set to {@code hzRenderCoalescingProvider} on all
+ * nodes.
+ */
+public class HzRenderCoalescingProvider implements RenderCoalescingProvider, InitializingBean {
+
+    static final String RENDERS_MAP = "gwc-metatile-renders";
+
+    private HzCluster cluster;
+
+    /** {@code cluster} property to be set in {@code applicationContext.xml} */
+    public void setCluster(HzCluster cluster) {
+        this.cluster = cluster;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        Preconditions.checkNotNull(cluster, "HzCluster is not set");
+    }
+
+    private IMap<String, String> getRenders() {
+        Preconditions.checkState(
+                cluster.isEnabled(),
+                "Hazelcast cluster is not enabled. Either enable it or chose a different render coalescing provider.");
+        Preconditions.checkState(cluster.isRunning(), "Hazelcast cluster is not running");
+        return cluster.getHz().getMap(RENDERS_MAP);
+    }
+
+    @Override
+    public boolean start(String key, String owner, long timeout) {
+        return getRenders().putIfAbsent(key, owner, timeout, TimeUnit.MILLISECONDS) == null;
+    }
+
+    @Override
+    public boolean isRendering(String key) {
+        return getRenders().containsKey(key);
+    }
+
+    @Override
+    public void finish(String key, String owner) {
+        getRenders().remove(key, owner);
+    }
+}
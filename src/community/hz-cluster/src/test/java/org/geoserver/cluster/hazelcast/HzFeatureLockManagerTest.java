@@ -0,0 +1,118 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.cluster.hazelcast;
+
+import static org.easymock.EasyMock.anyObject;
+import static org.easymock.EasyMock.capture;
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.expectLastCall;
+import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.reset;
+import static org.easymock.EasyMock.verify;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.query.Predicate;
+import java.util.Map;
+import java.util.Set;
+import org.easymock.Capture;
+import org.geoserver.wfs.lock.MapFeatureLockManager.LockEntry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class HzFeatureLockManagerTest {
+
+    private HazelcastInstance hz;
+
+    private IMap<String, Long> purges;
+
+    private IMap<String, LockEntry> locks;
+
+    private IMap<String, String> features;
+
+    private HzFeatureLockManager manager;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        hz = createMock(HazelcastInstance.class);
+        purges = createMock(IMap.class);
+        locks = createMock(IMap.class);
+        features = createMock(IMap.class);
+        expect(hz.<String, Long>getMap(HzFeatureLockManager.PURGE_MAP)).andStubReturn(purges);
+        expect(hz.<String, LockEntry>getMap(HzFeatureLockManager.LOCKS_MAP)).andStubReturn(locks);
+        expect(hz.<String, String>getMap(HzFeatureLockManager.FEATURES_MAP)).andStubReturn(features);
+
+        HzCluster cluster = createMock(HzCluster.class);
+        expect(cluster.isEnabled()).andStubReturn(true);
+        expect(cluster.isRunning()).andStubReturn(true);
+        expect(cluster.getHz()).andStubReturn(hz);
+        replay(hz, cluster);
+
+        manager = new HzFeatureLockManager();
+        manager.setCluster(cluster);
+        manager.afterPropertiesSet();
+    }
+
+    @After
+    public void destroy() {
+        manager.destroy();
+    }
+
+    @Test
+    public void testPredicates() {
+        HzFeatureLockManager.ExpiredPredicate expired = new HzFeatureLockManager.ExpiredPredicate(1000);
+        assertTrue(expired.apply(Map.entry("a", new LockEntry(100, 999))));
+        assertFalse(expired.apply(Map.entry("b", new LockEntry(100, 1000))));
+
+        HzFeatureLockManager.OwnerPredicate owner = new HzFeatureLockManager.OwnerPredicate(Set.of("a"));
+        assertTrue(owner.apply(Map.entry("{ns}Roads#1", "a")));
+        assertFalse(owner.apply(Map.entry("{ns}Roads#2", "b")));
+    }
+
+    @Test
+    public void testPurgedByOneNodePerInterval() {
+        long now = System.currentTimeMillis();
+
+        // another node purged a moment ago, nothing to do
+        expect(purges.tryLock(HzFeatureLockManager.LAST_PURGE)).andReturn(true);
+        expect(purges.get(HzFeatureLockManager.LAST_PURGE)).andReturn(now - 1000);
+        purges.unlock(HzFeatureLockManager.LAST_PURGE);
+        expectLastCall();
+        replay(purges, locks, features);
+        manager.purgeExpired(now);
+        verify(purges, locks, features);
+
+        // another node is purging right now
+        reset(purges);
+        expect(purges.tryLock(HzFeatureLockManager.LAST_PURGE)).andReturn(false);
+        replay(purges);
+        manager.purgeExpired(now);
+        verify(purges, locks, features);
+
+        // the last purge is old, the expired locks and their features are removed
+        reset(purges, locks, features);
+        LockEntry entry = new LockEntry(100, now - 1);
+        expect(purges.tryLock(HzFeatureLockManager.LAST_PURGE)).andReturn(true);
+        expect(purges.get(HzFeatureLockManager.LAST_PURGE)).andReturn(now - 3600_000);
+        expect(locks.entrySet(anyObject(HzFeatureLockManager.ExpiredPredicate.class)))
+                .andReturn(Set.of(Map.entry("a", entry)));
+        expect(locks.remove("a", entry)).andReturn(true);
+        Capture<Predicate<String, String>> removed = Capture.newInstance();
+        features.removeAll(capture(removed));
+        expectLastCall();
+        expect(purges.put(HzFeatureLockManager.LAST_PURGE, now)).andReturn(null);
+        purges.unlock(HzFeatureLockManager.LAST_PURGE);
+        expectLastCall();
+        replay(purges, locks, features);
+        manager.purgeExpired(now);
+        verify(purges, locks, features);
+        assertTrue(removed.getValue().apply(Map.entry("{ns}Roads#1", "a")));
+    }
+}
@@ -30,6 +30,7 @@
 import org.geoserver.platform.GeoServerExtensions;
 import org.geoserver.security.SecurityUtils;
 import org.geoserver.wms.map.RenderTimeStatistics;
+import org.geoserver.wms.map.RenderingMemoryController;
 import org.geotools.util.logging.Logging;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -197,6 +198,12 @@ public void doFilter(ServletRequest request, ServletResponse response, FilterCha
             data.setResourcesProcessingTime(renderingTimeLayers);
             if (data.getEndTime() == null) data.setEndTime(new Date());
         }
+        RenderingMemoryController.Reservation reservation =
+                (RenderingMemoryController.Reservation) request.getAttribute(RenderingMemoryController.Reservation.ID);
+        if (reservation != null) {
+            data.setRenderingMemory(reservation.getMemory());
+            data.setRenderingMemoryWaitTime(reservation.getWaitTime());
+        }
         monitor.update();
         data = monitor.current();
 
@@ -167,6 +167,12 @@ public static enum Category {
 
     private Long labellingProcessingTime;
 
+    /** The rendering memory reserved by the request, in bytes */
+    private Long renderingMemory;
+
+    /** The time spent waiting for rendering memory to become available, in milliseconds */
+    private Long renderingMemoryWaitTime;
+
     public long getId() {
         return id;
     }
@@ -468,6 +474,8 @@ public RequestData clone() {
         clone.setBbox(bbox);
         clone.setCacheResult(cacheResult);
         clone.setMissReason(missReason);
+        clone.setRenderingMemory(renderingMemory);
+        clone.setRenderingMemoryWaitTime(renderingMemoryWaitTime);
 
         return clone;
     }
@@ -541,4 +549,20 @@ public Long getLabellingProcessingTime() {
     public void setLabellingProcessingTime(Long labellingProcessingTime) {
         this.labellingProcessingTime = labellingProcessingTime;
     }
+
+    public Long getRenderingMemory() {
+        return renderingMemory;
+    }
+
+    public void setRenderingMemory(Long renderingMemory) {
+        this.renderingMemory = renderingMemory;
+    }
+
+    public Long getRenderingMemoryWaitTime() {
+        return renderingMemoryWaitTime;
+    }
+
+    public void setRenderingMemoryWaitTime(Long renderingMemoryWaitTime) {
+        this.renderingMemoryWaitTime = renderingMemoryWaitTime;
+    }
 }
@@ -7,6 +7,8 @@
    <Resources>${resourcesList!""}</Resources>
    <ResourcesProcessingTime>${resourcesProcessingTimeList!""}</ResourcesProcessingTime>
    <LabelsProcessingTime>${labellingProcessingTime!""}</LabelsProcessingTime>
+   <RenderingMemory>${(renderingMemory?c)!""}</RenderingMemory>
+   <RenderingMemoryWaitTime>${(renderingMemoryWaitTime?c)!""}</RenderingMemoryWaitTime>
    <Path>${path!""}</Path>
    <QueryString>${queryString!""}</QueryString>
    <#if bodyAsString??>
@@ -25,6 +25,7 @@
 import java.util.Collections;
 import java.util.concurrent.CompletableFuture;
 import org.geoserver.wms.map.RenderTimeStatistics;
+import org.geoserver.wms.map.RenderingMemoryController;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -256,6 +257,23 @@ public void testGetStatistics() throws IOException, ServletException {
         assertEquals(data.getLabellingProcessingTime().longValue(), statistics.getLabellingTime());
     }
 
+    @Test
+    public void testRenderingMemoryReservation() throws Exception {
+        RenderingMemoryController controller = new RenderingMemoryController(1024 * 1024, 1);
+        RenderingMemoryController.Reservation reservation = controller.reserve(10 * 1024);
+        try {
+            MockHttpServletRequest req = request("GET", "/foo/bar", "12.34.56.78", null, null);
+            req.setAttribute(RenderingMemoryController.Reservation.ID, reservation);
+            filter.doFilter(req, response(), chain);
+
+            RequestData data = dao.getLast();
+            assertEquals(10 * 1024, data.getRenderingMemory().longValue());
+            assertNotNull(data.getRenderingMemoryWaitTime());
+        } finally {
+            controller.release(reservation);
+        }
+    }
+
     @Test
     public void testDisableReverseDNSProcessor() throws Exception {
         // step 1 : verify DND lookup working without configuration option
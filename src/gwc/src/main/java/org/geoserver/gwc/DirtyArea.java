@@ -0,0 +1,15 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.gwc;
+
+import org.geotools.geometry.jts.ReferencedEnvelope;
+
+/**
+ * The bounds of a modified feature, along with the distance in pixels its rendering can extend beyond them, due to the
+ * size of the symbols used to paint it
+ *
+ * @see GWC#truncate(String, java.util.List)
+ */
+public record DirtyArea(ReferencedEnvelope bounds, int buffer) {}
@@ -41,7 +41,10 @@
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -75,6 +78,8 @@
 import org.geoserver.ows.Request;
 import org.geoserver.ows.Response;
 import org.geoserver.ows.kvp.BBoxKvpParser;
+import org.geoserver.ows.util.KvpMap;
+import org.geoserver.ows.util.KvpUtils;
 import org.geoserver.platform.GeoServerEnvironment;
 import org.geoserver.platform.GeoServerExtensions;
 import org.geoserver.platform.Operation;
@@ -177,13 +182,22 @@ public class GWC implements DisposableBean, InitializingBean, ApplicationContext
     private static final String GLOBAL_LOCK_KEY = "global";
     public static final String WORKSPACE_PARAM = "WORKSPACE";
 
+    /**
+     * Variable disabling the in process execution of the metatile GetMap requests, making them go through the
+     * {@link Dispatcher} as HTTP requests instead
+     */
+    public static final String GWC_DIRECT_GETMAP = "GWC_DIRECT_GETMAP";
+
+    /** The maximum number of tile ranges per zoom level truncated by {@link #truncate(String, List)} */
+    static final int MAX_TRUNCATE_RANGES = 16;
+
     /** @see #get() */
     private static volatile GWC INSTANCE;
 
     static final Logger log = Logging.getLogger(GWC.class);
 
     /** @see #getResponseEncoder(MimeType, RenderedImageMap) */
-    private Map<String, Response> cachedTileEncoders = new HashMap<>();
+    private Map<String, Response> cachedTileEncoders = new ConcurrentHashMap<>();
 
     private final TileLayerDispatcher tld;
 
@@ -231,6 +245,8 @@ public class GWC implements DisposableBean, InitializingBean, ApplicationContext
 
     private ExecutorService metaTilingExecutor;
 
+    private final boolean directGetMap;
+
     /**
      * Constructor for the GWC mediator
      *
@@ -285,6 +301,7 @@ public GWC(
         this.gwcSynchEnv = gwcSynchEnv;
 
         this.metaTilingExecutor = buildMetaTilingExecutor(getConfig().getMetaTilingThreads());
+        this.directGetMap = !"false".equalsIgnoreCase(GeoServerExtensions.getProperty(GWC_DIRECT_GETMAP));
     }
 
     /** Updates the configurable lock provider to use the specified bean */
@@ -479,6 +496,123 @@ public void truncate(final String layerName, final ReferencedEnvelope bounds) th
         }
     }
 
+    /**
+     * Truncates the tiles covering the given areas, each one expanded by its buffer at every zoom level, for all the
+     * formats and cached parameters of the layer. The affected tiles are grouped in at most
+     * {@link #MAX_TRUNCATE_RANGES} ranges per zoom level, and truncated by one task per batch of ranges, format and
+     * parameters.
+     *
+     * @return the number of truncated tile positions, summed across grid sets and zoom levels
+     */
+    public long truncate(final String layerName, final List<DirtyArea> areas) throws GeoWebCacheException {
+        final TileLayer tileLayer = tld.getTileLayer(layerName);
+
+        final List<Map<String, String>> parameters = new ArrayList<>();
+        parameters.add(null); // the default parameters
+        try {
+            parameters.addAll(storageBroker.getCachedParameters(layerName));
+        } catch (StorageException e) {
+            log.log(Level.WARNING, e, () -> "Error listing the cached parameters of layer %s, truncating the defaults"
+                    .formatted(layerName));
+        }
+
+        long tiles = 0;
+        List<GWCTask> tasks = new ArrayList<>();
+        for (String gridSetId : tileLayer.getGridSubsets()) {
+            GridSubset gridSubset = tileLayer.getGridSubset(gridSetId);
+            SortedMap<Integer, List<long[]>> ranges = getDirtyTileRanges(layerName, gridSubset, areas);
+            for (List<long[]> levelRanges : ranges.values()) {
+                for (long[] range : levelRanges) {
+                    tiles += TileRangeGrouper.count(range);
+                }
+            }
+            for (long[][] batch : TileRangeGrouper.batch(ranges)) {
+                int zoomStart = 0;
+                while (batch[zoomStart] == null) {
+                    zoomStart++;
+                }
+                int zoomStop = zoomStart;
+                while (zoomStop + 1 < batch.length && batch[zoomStop + 1] != null) {
+                    zoomStop++;
+                }
+                for (MimeType mime : tileLayer.getMimeTypes()) {
+                    for (Map<String, String> params : parameters) {
+                        TileRange range =
+                                new TileRange(layerName, gridSetId, zoomStart, zoomStop, batch, mime, params);
+                        tasks.addAll(Arrays.asList(tileBreeder.createTasks(range, TRUNCATE, 1, false)));
+                    }
+                }
+            }
+        }
+        if (!tasks.isEmpty()) {
+            tileBreeder.dispatchTasks(tasks.toArray(new GWCTask[tasks.size()]));
+        }
+        return tiles;
+    }
+
+    /** Computes the ranges of tiles covering the dirty areas at each zoom level of the grid subset */
+    private SortedMap<Integer, List<long[]>> getDirtyTileRanges(
+            String layerName, GridSubset gridSubset, List<DirtyArea> areas) {
+        final GridSet gridSet = gridSubset.getGridSet();
+        final CoordinateReferenceSystem gridSetCrs;
+        try {
+            gridSetCrs = CRS.decode("EPSG:" + gridSet.getSrs().getNumber(), true);
+        } catch (Exception e) {
+            throw new RuntimeException(
+                    "Can't decode SRS for layer '" + layerName + "': ESPG:" + gridSet.getSrs().getNumber());
+        }
+        final BoundingBox layerBounds = gridSubset.getOriginalExtent();
+
+        SortedMap<Integer, List<long[]>> rectangles = new TreeMap<>();
+        for (DirtyArea area : areas) {
+            ReferencedEnvelope bounds;
+            try {
+                bounds = area.bounds().transform(gridSetCrs, true);
+            } catch (Exception e) {
+                log.warning("Can't truncate layer "
+                        + layerName
+                        + ": error transforming modified bounds to layer gridset "
+                        + gridSet.getName()
+                        + ": "
+                        + e.getMessage());
+                continue;
+            }
+            for (int z = gridSubset.getZoomStart(); z <= gridSubset.getZoomStop(); z++) {
+                double buffer = area.buffer() * gridSet.getGrid(z).getResolution();
+                BoundingBox buffered = new BoundingBox(
+                        bounds.getMinX() - buffer,
+                        bounds.getMinY() - buffer,
+                        bounds.getMaxX() + buffer,
+                        bounds.getMaxY() + buffer);
+                if (!layerBounds.intersects(buffered)) {
+                    // the buffer only shrinks at the higher levels
+                    break;
+                }
+                BoundingBox intersection = BoundingBox.intersection(layerBounds, buffered);
+                long[] rectangle = gridSubset.getCoverageIntersection(z, intersection);
+                // degenerate bounds lying on a tile edge, like a point, end up with an empty rectangle
+                rectangle[2] = Math.max(rectangle[0], rectangle[2]);
+                rectangle[3] = Math.max(rectangle[1], rectangle[3]);
+                rectangles.computeIfAbsent(z, k -> new ArrayList<>()).add(rectangle);
+            }
+        }
+
+        SortedMap<Integer, List<long[]>> ranges = new TreeMap<>();
+        rectangles.forEach((z, levelRectangles) -> {
+            long[] coverage = gridSubset.getCoverage(z);
+            List<long[]> levelRanges = TileRangeGrouper.group(levelRectangles, MAX_TRUNCATE_RANGES);
+            for (long[] range : levelRanges) {
+                // grouping can snap the ranges beyond the coverage
+                range[0] = Math.max(range[0], coverage[0]);
+                range[1] = Math.max(range[1], coverage[1]);
+                range[2] = Math.min(range[2], coverage[2]);
+                range[3] = Math.min(range[3], coverage[3]);
+            }
+            ranges.put(z, levelRanges);
+        });
+        return ranges;
+    }
+
     public TruncateAllRequest truncateAll() throws GeoWebCacheException, StorageException {
         // creating a mock internal request
         TruncateAllRequest truncateAll = new TruncateAllRequest();
@@ -1350,6 +1484,57 @@ public Resource dispatchOwsRequest(final Map<String, String> params, Cookie[] co
         return new ByteArrayResource(resp.getBytes());
     }
 
+    /**
+     * Executes a GetMap request issued by a {@link GeoServerTileLayer} in process, through
+     * {@link Dispatcher#dispatchDirect(Request)}. The request object is read with the same KVP reader and the same
+     * dispatcher callbacks are fired as for a HTTP request, under the security context of the calling thread, but
+     * the HTTP request parsing and the response buffering are skipped, and errors are thrown back instead of being
+     * encoded as service exception reports.
+     *
+     * <p>The map is handed back in {@link GeoServerTileLayer#WEB_MAP}, as for {@link #dispatchOwsRequest}, which is
+     * used instead when {@link #GWC_DIRECT_GETMAP} is set to {@code false}.
+     *
+     * @param params the KVP map of the GetMap parameters
+     */
+    public void dispatchGetMap(final Map<String, String> params, Cookie[] cookies) throws Exception {
+        if (!directGetMap) {
+            dispatchOwsRequest(params, cookies);
+            return;
+        }
+
+        String workspace = params.remove(WORKSPACE_PARAM);
+
+        Request request = new Request();
+        // the internal request carries the workspace context, the cookies and the headers of the original request
+        request.setHttpRequest(new InternalDispatchServletRequest(params, cookies, workspace));
+        request.setHttpResponse(new InternalDispatchServletResponse());
+        request.setGet(true);
+        Dispatcher.initRequestContext(request);
+
+        Map<String, Object> kvp = KvpUtils.normalize(params);
+        request.setRawKvp(new KvpMap<>(kvp));
+        List<Throwable> errors = KvpUtils.parse(kvp);
+        if (!errors.isEmpty()) {
+            request.setError(errors.get(0));
+        }
+        request.setKvp(kvp);
+
+        Request previous = Dispatcher.REQUEST.get();
+        Dispatcher.REQUEST.remove();
+        ThreadLocalsTransfer tx = new ThreadLocalsTransfer();
+        try {
+            owsDispatcher.dispatchDirect(request);
+        } finally {
+            // reset thread locals, and the old request after them, as in dispatchOwsRequest
+            tx.apply();
+            if (previous != null) {
+                Dispatcher.REQUEST.set(previous);
+            } else {
+                Dispatcher.REQUEST.remove();
+            }
+        }
+    }
+
     public void proxyOwsRequest(ConveyorTile tile) throws Exception {
         HttpServletRequest actualRequest = tile.servletReq;
 
@@ -1625,11 +1810,10 @@ public Response getResponseEncoder(MimeType responseFormat, RenderedImageMap met
             final Class<?> webMapClass = metaTileMap.getClass();
             for (Response r : extensions) {
                 if (r.getBinding().isAssignableFrom(webMapClass) && r.canHandle(operation)) {
-                    synchronized (cachedTileEncoders) {
-                        cachedTileEncoders.put(mimeType, r);
-                        response = r;
-                        break;
-                    }
+                    // keyed by format, as formats like image/png8 share their mime type with others
+                    cachedTileEncoders.put(format, r);
+                    response = r;
+                    break;
                 }
             }
             if (response == null) {
@@ -7,11 +7,15 @@
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.xml.namespace.QName;
@@ -20,21 +24,37 @@
 import net.opengis.wfs.TransactionType;
 import net.opengis.wfs.UpdateElementType;
 import org.eclipse.emf.ecore.EObject;
+import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.FeatureTypeInfo;
+import org.geoserver.catalog.LayerInfo;
+import org.geoserver.catalog.StyleInfo;
+import org.geoserver.platform.GeoServerExtensions;
+import org.geoserver.util.JMXUtils;
 import org.geoserver.wfs.TransactionCallback;
 import org.geoserver.wfs.TransactionEvent;
 import org.geoserver.wfs.TransactionEventType;
 import org.geoserver.wfs.WFSException;
 import org.geoserver.wfs.request.TransactionRequest;
 import org.geoserver.wfs.request.TransactionResponse;
+import org.geoserver.wms.featureinfo.DynamicBufferEstimator;
+import org.geoserver.wms.featureinfo.DynamicSizeStyleExtractor;
+import org.geotools.api.feature.simple.SimpleFeature;
 import org.geotools.api.referencing.FactoryException;
 import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
 import org.geotools.api.referencing.operation.TransformException;
+import org.geotools.api.style.FeatureTypeStyle;
+import org.geotools.api.style.Rule;
 import org.geotools.data.simple.SimpleFeatureCollection;
+import org.geotools.data.simple.SimpleFeatureIterator;
+import org.geotools.feature.NameImpl;
 import org.geotools.geometry.jts.ReferencedEnvelope;
 import org.geotools.geometry.jts.ReferencedEnvelope3D;
 import org.geotools.referencing.CRS;
+import org.geotools.renderer.lite.MetaBufferEstimator;
 import org.geotools.util.logging.Logging;
 import org.geowebcache.GeoWebCacheException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
 
 /**
  * Listens to transactions (so far only issued by WFS) and truncates the cache for the affected area of the layers
@@ -43,22 +63,58 @@
  * <p>A Spring bean singleton of this class needs to be declared in order for GeoServer transactions to pick it up
  * automatically and forward transaction events to it.
  *
+ * <p>By default the merged bounds of all the features modified by a transaction are truncated, at every zoom level.
+ * When the {@link #GWC_PRECISE_TRUNCATE} system, environment or servlet context variable is set to {@code true}, the
+ * tiles affected by each modified feature are computed instead, expanding the feature bounds by the size of the
+ * symbols used by the styles of its layers, as estimated by {@link MetaBufferEstimator} and, for sizes depending on
+ * attributes, by evaluating the dynamic part of the styles against the feature. Transactions modifying more than
+ * {@link #MAX_PRECISE_FEATURES} features of a layer fall back on the merged bounds. Counters of the truncated tiles
+ * are exposed via JMX as {@link #OBJECT_NAME}.
+ *
  * <p>TODO: upon deletion, only truncate if feature count > 0
  *
  * @author Arne Kepp
  * @author Gabriel Roldan
  */
-public class GWCTransactionListener implements TransactionCallback {
+public class GWCTransactionListener
+        implements TransactionCallback, GWCTransactionListenerMXBean, InitializingBean, DisposableBean {
 
     private static Logger log = Logging.getLogger(GWCTransactionListener.class);
 
+    /** Set to {@code true} to truncate the tiles affected by each modified feature, instead of their merged bounds */
+    public static final String GWC_PRECISE_TRUNCATE = "GWC_PRECISE_TRUNCATE";
+
+    public static final String OBJECT_NAME = "org.geoserver:type=GWCTransactionListener";
+
+    /** The maximum number of modified features of a layer tracked individually in a transaction */
+    static final int MAX_PRECISE_FEATURES = 1000;
+
     private final GWC gwc;
 
+    private final boolean precise;
+
     static final String GWC_TRANSACTION_INFO_PLACEHOLDER = "GWC_TRANSACTION_INFO_PLACEHOLDER";
 
+    static final String GWC_PRECISE_TRANSACTION_INFO_PLACEHOLDER = "GWC_PRECISE_TRANSACTION_INFO_PLACEHOLDER";
+
+    final LongAdder transactions = new LongAdder();
+
+    final LongAdder truncatedTiles = new LongAdder();
+
+    final AtomicLong lastTransactionTiles = new AtomicLong();
+
+    final AtomicLong maxTransactionTiles = new AtomicLong();
+
+    final LongAdder fallbacks = new LongAdder();
+
     /** @param gwc */
     public GWCTransactionListener(final GWC gwc) {
+        this(gwc, Boolean.parseBoolean(GeoServerExtensions.getProperty(GWC_PRECISE_TRUNCATE)));
+    }
+
+    GWCTransactionListener(final GWC gwc, boolean precise) {
         this.gwc = gwc;
+        this.precise = precise;
     }
 
     /** Not used, we're interested in the {@link #dataStoreChange} and {@link #afterTransaction} hooks */
@@ -68,6 +124,12 @@ public TransactionRequest beforeTransaction(TransactionRequest request) throws W
         return request;
     }
 
+    /** The dirty areas are collected from the {@link #dataStoreChange} events, the inserted features are not needed */
+    @Override
+    public boolean supportsStreamedInserts() {
+        return true;
+    }
+
     /**
      * Not used, we're interested in the {@link #dataStoreChange} and {@link #afterTransaction} hooks.
      *
@@ -99,6 +161,9 @@ public void afterTransaction(final TransactionRequest request, TransactionRespon
     private void afterTransactionInternal(final TransactionRequest transaction, boolean committed) {
 
         final Map<String, List<ReferencedEnvelope>> byLayerDirtyRegions = getByLayerDirtyRegions(transaction);
+        if (precise) {
+            truncateDirtyAreas(transaction, byLayerDirtyRegions);
+        }
         if (byLayerDirtyRegions.isEmpty()) {
             return;
         }
@@ -125,6 +190,42 @@ private void afterTransactionInternal(final TransactionRequest transaction, bool
         }
     }
 
+    /**
+     * Truncates the tiles affected by the individual features of each layer, moving the layers having too many modified
+     * features, or also merged bounds, to the dirty regions
+     */
+    private void truncateDirtyAreas(
+            final TransactionRequest transaction, final Map<String, List<ReferencedEnvelope>> byLayerDirtyRegions) {
+        final Map<String, List<DirtyArea>> byLayerDirtyAreas = getByLayerDirtyAreas(transaction);
+        if (byLayerDirtyAreas.isEmpty()) {
+            return;
+        }
+        long tiles = 0;
+        for (Map.Entry<String, List<DirtyArea>> entry : byLayerDirtyAreas.entrySet()) {
+            String tileLayerName = entry.getKey();
+            List<DirtyArea> dirtyAreas = entry.getValue();
+            if (dirtyAreas.size() > MAX_PRECISE_FEATURES || byLayerDirtyRegions.containsKey(tileLayerName)) {
+                fallbacks.increment();
+                for (DirtyArea area : dirtyAreas) {
+                    addLayerDirtyRegion(transaction, tileLayerName, area.bounds());
+                }
+                continue;
+            }
+            try {
+                tiles += gwc.truncate(tileLayerName, dirtyAreas);
+            } catch (GeoWebCacheException e) {
+                log.log(Level.WARNING, "Error truncating tile layer " + tileLayerName + " for modified features", e);
+            }
+        }
+        transactions.increment();
+        truncatedTiles.add(tiles);
+        lastTransactionTiles.set(tiles);
+        maxTransactionTiles.accumulateAndGet(tiles, Math::max);
+        if (log.isLoggable(Level.FINE)) {
+            log.fine("Truncated " + tiles + " tiles for the features modified in the transaction");
+        }
+    }
+
     private ReferencedEnvelope merge(final String tileLayerName, final List<ReferencedEnvelope> dirtyList)
             throws TransformException, FactoryException {
         if (dirtyList.isEmpty()) {
@@ -192,6 +293,18 @@ private void dataStoreChangeInternal(final TransactionEvent event) {
         }
 
         final SimpleFeatureCollection affectedFeatures = event.getAffectedFeatures();
+        if (precise) {
+            List<DirtyArea> dirtyAreas = getDirtyAreas(featureTypeName, affectedFeatures);
+            if (dirtyAreas != null) {
+                TransactionRequest request = TransactionRequest.adapt(event.getRequest());
+                Map<String, List<DirtyArea>> byLayerDirtyAreas = getByLayerDirtyAreas(request);
+                for (String tileLayerName : affectedTileLayers) {
+                    byLayerDirtyAreas.computeIfAbsent(tileLayerName, k -> new ArrayList<>()).addAll(dirtyAreas);
+                }
+                return;
+            }
+            fallbacks.add(affectedTileLayers.size());
+        }
         final ReferencedEnvelope affectedBounds = affectedFeatures.getBounds();
 
         final TransactionType transaction = event.getRequest();
@@ -202,6 +315,106 @@ private void dataStoreChangeInternal(final TransactionEvent event) {
         }
     }
 
+    /**
+     * Returns the bounds of each affected feature, with the buffer its symbols need, or {@code null} if there are more
+     * than {@link #MAX_PRECISE_FEATURES}
+     */
+    private List<DirtyArea> getDirtyAreas(final QName featureTypeName, final SimpleFeatureCollection features) {
+        final SymbolBuffer symbolBuffer = getSymbolBuffer(featureTypeName);
+        final List<DirtyArea> areas = new ArrayList<>();
+        try (SimpleFeatureIterator it = features.features()) {
+            while (it.hasNext()) {
+                if (areas.size() == MAX_PRECISE_FEATURES) {
+                    return null;
+                }
+                SimpleFeature feature = it.next();
+                ReferencedEnvelope bounds = ReferencedEnvelope.reference(feature.getBounds());
+                if (bounds == null || bounds.isNull()) {
+                    continue;
+                }
+                if (bounds instanceof ReferencedEnvelope3D) {
+                    CoordinateReferenceSystem crs = CRS.getHorizontalCRS(bounds.getCoordinateReferenceSystem());
+                    bounds = new ReferencedEnvelope(bounds, crs);
+                }
+                areas.add(new DirtyArea(bounds, symbolBuffer.getBuffer(feature)));
+            }
+        }
+        return areas;
+    }
+
+    /**
+     * Estimates the buffer needed by the symbols of the styles of the layers publishing the feature type. Layer groups
+     * are assumed to use the same styles as their layers.
+     */
+    private SymbolBuffer getSymbolBuffer(final QName featureTypeName) {
+        final Catalog catalog = gwc.getCatalog();
+        final FeatureTypeInfo typeInfo = catalog == null
+                ? null
+                : catalog.getFeatureTypeByName(
+                        new NameImpl(featureTypeName.getNamespaceURI(), featureTypeName.getLocalPart()));
+        if (typeInfo == null) {
+            return new SymbolBuffer(0, List.of());
+        }
+        int staticBuffer = 0;
+        final List<Rule> dynamicRules = new ArrayList<>();
+        for (LayerInfo layer : catalog.getLayers(typeInfo)) {
+            // manually configured, as for GetFeatureInfo
+            Integer layerBuffer = layer.getMetadata().get(LayerInfo.BUFFER, Integer.class);
+            if (layerBuffer != null && layerBuffer > 0) {
+                staticBuffer = Math.max(staticBuffer, layerBuffer);
+                continue;
+            }
+            Set<StyleInfo> styles = new LinkedHashSet<>();
+            if (layer.getDefaultStyle() != null) {
+                styles.add(layer.getDefaultStyle());
+            }
+            styles.addAll(layer.getStyles());
+            for (StyleInfo style : styles) {
+                List<Rule> rules = new ArrayList<>();
+                try {
+                    for (FeatureTypeStyle fts : style.getStyle().featureTypeStyles()) {
+                        rules.addAll(fts.rules());
+                    }
+                } catch (IOException e) {
+                    log.log(Level.WARNING, "Error reading style " + style.prefixedName(), e);
+                    continue;
+                }
+                MetaBufferEstimator estimator = new MetaBufferEstimator();
+                for (Rule rule : rules) {
+                    rule.accept(estimator);
+                }
+                staticBuffer = Math.max(staticBuffer, (estimator.getBuffer() + 1) / 2);
+                if (!estimator.isEstimateAccurate()) {
+                    DynamicSizeStyleExtractor extractor = new DynamicSizeStyleExtractor();
+                    for (Rule rule : rules) {
+                        rule.accept(extractor);
+                        Rule copy = (Rule) extractor.getCopy();
+                        if (copy != null) {
+                            dynamicRules.add(copy);
+                        }
+                    }
+                }
+            }
+        }
+        return new SymbolBuffer(staticBuffer, dynamicRules);
+    }
+
+    /** The buffer needed by the symbols painting a feature, given the static and dynamic parts of its styles */
+    private record SymbolBuffer(int staticBuffer, List<Rule> dynamicRules) {
+
+        int getBuffer(SimpleFeature feature) {
+            if (dynamicRules.isEmpty()) {
+                return staticBuffer;
+            }
+            DynamicBufferEstimator estimator = new DynamicBufferEstimator();
+            estimator.setFeature(feature);
+            for (Rule rule : dynamicRules) {
+                rule.accept(estimator);
+            }
+            return Math.max(staticBuffer, (estimator.getBuffer() + 1) / 2);
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private Map<String, List<ReferencedEnvelope>> getByLayerDirtyRegions(final TransactionRequest transaction) {
 
@@ -215,6 +428,13 @@ private Map<String, List<ReferencedEnvelope>> getByLayerDirtyRegions(final Trans
         return byLayerDirtyRegions;
     }
 
+    @SuppressWarnings("unchecked")
+    private Map<String, List<DirtyArea>> getByLayerDirtyAreas(final TransactionRequest transaction) {
+        final Map<Object, Object> extendedProperties = transaction.getExtendedProperties();
+        return (Map<String, List<DirtyArea>>) extendedProperties.computeIfAbsent(
+                GWC_PRECISE_TRANSACTION_INFO_PLACEHOLDER, k -> new HashMap<String, List<DirtyArea>>());
+    }
+
     private void addLayerDirtyRegion(
             final TransactionRequest transaction, final String tileLayerName, final ReferencedEnvelope affectedBounds) {
 
@@ -227,4 +447,53 @@ private void addLayerDirtyRegion(
         }
         layerDirtyRegion.add(affectedBounds);
     }
+
+    @Override
+    public boolean isPrecise() {
+        return precise;
+    }
+
+    @Override
+    public long getTransactionCount() {
+        return transactions.sum();
+    }
+
+    @Override
+    public long getTruncatedTileCount() {
+        return truncatedTiles.sum();
+    }
+
+    @Override
+    public long getLastTransactionTileCount() {
+        return lastTransactionTiles.get();
+    }
+
+    @Override
+    public long getMaxTransactionTileCount() {
+        return maxTransactionTiles.get();
+    }
+
+    @Override
+    public long getFallbackCount() {
+        return fallbacks.sum();
+    }
+
+    @Override
+    public void reset() {
+        transactions.reset();
+        truncatedTiles.reset();
+        lastTransactionTiles.set(0);
+        maxTransactionTiles.set(0);
+        fallbacks.reset();
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        JMXUtils.register(this, OBJECT_NAME);
+    }
+
+    @Override
+    public void destroy() {
+        JMXUtils.unregister(OBJECT_NAME);
+    }
 }
@@ -0,0 +1,34 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.gwc;
+
+/**
+ * Management interface of the {@link GWCTransactionListener}, exposed via JMX as
+ * {@link GWCTransactionListener#OBJECT_NAME}. Tile counts are tracked for the precise truncation only, and are summed
+ * across grid sets and zoom levels, once per tile position regardless of the formats and parameters cached.
+ */
+public interface GWCTransactionListenerMXBean {
+
+    /** Whether the tiles affected by each modified feature are truncated, instead of their merged bounds */
+    boolean isPrecise();
+
+    /** Number of committed transactions whose affected tiles were precisely truncated */
+    long getTransactionCount();
+
+    /** Number of tiles truncated, over all transactions */
+    long getTruncatedTileCount();
+
+    /** Number of tiles truncated by the last transaction */
+    long getLastTransactionTileCount();
+
+    /** Largest number of tiles truncated by a single transaction */
+    long getMaxTransactionTileCount();
+
+    /** Number of times the features of a layer were too many to be tracked individually, and got merged */
+    long getFallbackCount();
+
+    /** Resets all counters */
+    void reset();
+}
@@ -0,0 +1,127 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.gwc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+
+/**
+ * Groups the tile rectangles affected by a set of changes into a small number of tile ranges. Rectangles are expressed
+ * as in {@link org.geowebcache.grid.GridSubset#getCoverageIntersection}, {@code {minx, miny, maxx, maxy, z}}, with
+ * inclusive bounds.
+ */
+class TileRangeGrouper {
+
+    private TileRangeGrouper() {}
+
+    /**
+     * Merges the rectangles of a zoom level, as long as the union does not cover tiles outside of the merged
+     * rectangles. If more than {@code maxRanges} rectangles are left, they are snapped to increasingly large blocks of
+     * tiles and merged again, trading precision for a bounded number of ranges.
+     */
+    static List<long[]> group(List<long[]> rectangles, int maxRanges) {
+        List<long[]> groups = merge(rectangles, false);
+        for (long block = 2; groups.size() > maxRanges; block *= 2) {
+            List<long[]> snapped = new ArrayList<>(groups.size());
+            for (long[] r : groups) {
+                snapped.add(snap(r, block));
+            }
+            groups = merge(snapped, true);
+        }
+        return groups;
+    }
+
+    /**
+     * Merges the rectangles that overlap, or that are adjacent and aligned, into their union. When {@code touching} is
+     * set, all rectangles that overlap or touch are merged, regardless of the tiles the union adds.
+     */
+    static List<long[]> merge(List<long[]> rectangles, boolean touching) {
+        List<long[]> merged = new ArrayList<>(rectangles.size());
+        for (long[] r : rectangles) {
+            merged.add(r.clone());
+        }
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int i = 0; i < merged.size(); i++) {
+                long[] a = merged.get(i);
+                for (int j = merged.size() - 1; j > i; j--) {
+                    long[] b = merged.get(j);
+                    if (touching ? touches(a, b) : isUnionTight(a, b)) {
+                        a[0] = Math.min(a[0], b[0]);
+                        a[1] = Math.min(a[1], b[1]);
+                        a[2] = Math.max(a[2], b[2]);
+                        a[3] = Math.max(a[3], b[3]);
+                        merged.remove(j);
+                        changed = true;
+                    }
+                }
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Splits the rectangles of each zoom level in batches of contiguous zoom levels, with at most one rectangle per
+     * level, so that each batch can be truncated by a single task. The returned arrays are indexed by zoom level, and
+     * hold {@code null} for the levels outside the batch.
+     */
+    static List<long[][]> batch(SortedMap<Integer, List<long[]>> byLevel) {
+        List<long[][]> batches = new ArrayList<>();
+        if (byLevel.isEmpty()) {
+            return batches;
+        }
+        int maxLevel = byLevel.lastKey();
+        int maxCount = byLevel.values().stream().mapToInt(List::size).max().orElse(0);
+        for (int i = 0; i < maxCount; i++) {
+            long[][] current = null;
+            int previous = Integer.MIN_VALUE;
+            for (var entry : byLevel.entrySet()) {
+                int z = entry.getKey();
+                List<long[]> rectangles = entry.getValue();
+                if (rectangles.size() <= i) {
+                    continue;
+                }
+                if (current == null || z != previous + 1) {
+                    current = new long[maxLevel + 1][];
+                    batches.add(current);
+                }
+                current[z] = rectangles.get(i);
+                previous = z;
+            }
+        }
+        return batches;
+    }
+
+    /** Returns the number of tiles in the rectangle */
+    static long count(long[] r) {
+        return (r[2] - r[0] + 1) * (r[3] - r[1] + 1);
+    }
+
+    private static boolean isUnionTight(long[] a, long[] b) {
+        if (!touches(a, b)) {
+            return false;
+        }
+        long width = Math.max(a[2], b[2]) - Math.min(a[0], b[0]) + 1;
+        long height = Math.max(a[3], b[3]) - Math.min(a[1], b[1]) + 1;
+        long overlapWidth = Math.max(0, Math.min(a[2], b[2]) - Math.max(a[0], b[0]) + 1);
+        long overlapHeight = Math.max(0, Math.min(a[3], b[3]) - Math.max(a[1], b[1]) + 1);
+        return width * height <= count(a) + count(b) - overlapWidth * overlapHeight;
+    }
+
+    private static boolean touches(long[] a, long[] b) {
+        return a[0] <= b[2] + 1 && b[0] <= a[2] + 1 && a[1] <= b[3] + 1 && b[1] <= a[3] + 1;
+    }
+
+    private static long[] snap(long[] r, long block) {
+        long[] snapped = r.clone();
+        snapped[0] = Math.floorDiv(r[0], block) * block;
+        snapped[1] = Math.floorDiv(r[1], block) * block;
+        snapped[2] = (Math.floorDiv(r[2], block) + 1) * block - 1;
+        snapped[3] = (Math.floorDiv(r[3], block) + 1) * block - 1;
+        return snapped;
+    }
+}
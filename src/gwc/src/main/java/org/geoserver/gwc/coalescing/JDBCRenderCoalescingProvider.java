@@ -0,0 +1,169 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.gwc.coalescing;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.naming.InitialContext;
+import javax.naming.NamingException;
+import javax.sql.DataSource;
+import org.geoserver.platform.GeoServerExtensions;
+import org.geotools.util.logging.Logging;
+
+/**
+ * Keeps the renders in a database shared by the nodes of a cluster.
+ *
+ * <p>The database is looked up in JNDI, using the name in the {@code GWC_COALESCING_JDBC_JNDI} system, environment or
+ * servlet context variable, {@code java:comp/env/jdbc/gwc-coalescing} by default, unless a data source is set directly.
+ * The {@code gwc_metatile_render} table is created on first use if missing, its primary key makes sure a meta tile is
+ * registered by a single render at a time. Expiry times are computed with the clock of each node, so the node clocks
+ * should be synchronized.
+ */
+public class JDBCRenderCoalescingProvider implements RenderCoalescingProvider {
+
+    static final Logger LOGGER = Logging.getLogger(JDBCRenderCoalescingProvider.class);
+
+    public static final String JNDI_PROPERTY = "GWC_COALESCING_JDBC_JNDI";
+
+    static final String DEFAULT_JNDI_NAME = "java:comp/env/jdbc/gwc-coalescing";
+
+    static final String CREATE_TABLE = "CREATE TABLE gwc_metatile_render ("
+            + "render_key VARCHAR(1024) NOT NULL PRIMARY KEY, owner VARCHAR(64) NOT NULL, expiry BIGINT NOT NULL)";
+
+    /** How often the registrations left behind by dead nodes are removed */
+    static final long PURGE_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+
+    private volatile DataSource dataSource;
+
+    private volatile boolean initialized;
+
+    private volatile long lastPurge = System.currentTimeMillis();
+
+    /** Sets the data source, in alternative to the JNDI lookup */
+    public void setDataSource(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /** Returns a connection, looking up the data source and creating the table on first use */
+    Connection getConnection() throws IOException {
+        try {
+            if (dataSource == null) {
+                String name = GeoServerExtensions.getProperty(JNDI_PROPERTY);
+                dataSource = (DataSource) new InitialContext().lookup(name != null ? name : DEFAULT_JNDI_NAME);
+            }
+            Connection cx = dataSource.getConnection();
+            if (!initialized) {
+                initialize(cx);
+            }
+            return cx;
+        } catch (NamingException | SQLException e) {
+            throw new IOException("Could not connect to the render coalescing database", e);
+        }
+    }
+
+    private synchronized void initialize(Connection cx) throws SQLException {
+        if (initialized) {
+            return;
+        }
+        boolean exists;
+        try (Statement st = cx.createStatement();
+                ResultSet rs = st.executeQuery("SELECT COUNT(*) FROM gwc_metatile_render WHERE 1 = 0")) {
+            exists = true;
+        } catch (SQLException e) {
+            exists = false;
+        }
+        if (!exists) {
+            LOGGER.info("Creating the render coalescing table");
+            try (Statement st = cx.createStatement()) {
+                st.execute(CREATE_TABLE);
+            }
+        }
+        initialized = true;
+    }
+
+    @Override
+    public boolean start(String key, String owner, long timeout) throws IOException {
+        try (Connection cx = getConnection()) {
+            long now = System.currentTimeMillis();
+            purgeExpired(cx, now);
+            // an expired registration does not block the render
+            try (PreparedStatement ps =
+                    cx.prepareStatement("DELETE FROM gwc_metatile_render WHERE render_key = ? AND expiry < ?")) {
+                ps.setString(1, key);
+                ps.setLong(2, now);
+                ps.executeUpdate();
+            }
+            try (PreparedStatement ps = cx.prepareStatement(
+                    "INSERT INTO gwc_metatile_render (render_key, owner, expiry) VALUES (?, ?, ?)")) {
+                ps.setString(1, key);
+                ps.setString(2, owner);
+                ps.setLong(3, now + timeout);
+                ps.executeUpdate();
+                return true;
+            } catch (SQLException e) {
+                // a primary key violation, unless the registration is not there
+                if (isRendering(cx, key, now)) {
+                    return false;
+                }
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new IOException("Failed to register the render of " + key, e);
+        }
+    }
+
+    @Override
+    public boolean isRendering(String key) throws IOException {
+        try (Connection cx = getConnection()) {
+            return isRendering(cx, key, System.currentTimeMillis());
+        } catch (SQLException e) {
+            throw new IOException("Failed to look up the render of " + key, e);
+        }
+    }
+
+    private boolean isRendering(Connection cx, String key, long now) throws SQLException {
+        try (PreparedStatement ps =
+                cx.prepareStatement("SELECT expiry FROM gwc_metatile_render WHERE render_key = ?")) {
+            ps.setString(1, key);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() && rs.getLong(1) >= now;
+            }
+        }
+    }
+
+    @Override
+    public void finish(String key, String owner) throws IOException {
+        try (Connection cx = getConnection();
+                PreparedStatement ps =
+                        cx.prepareStatement("DELETE FROM gwc_metatile_render WHERE render_key = ? AND owner = ?")) {
+            ps.setString(1, key);
+            ps.setString(2, owner);
+            ps.executeUpdate();
+        } catch (SQLException e) {
+            throw new IOException("Failed to unregister the render of " + key, e);
+        }
+    }
+
+    /** Removes the registrations of meta tiles that have not been requested again since their render expired */
+    private void purgeExpired(Connection cx, long now) {
+        if (now - lastPurge < PURGE_INTERVAL) {
+            return;
+        }
+        lastPurge = now;
+        try (PreparedStatement ps = cx.prepareStatement("DELETE FROM gwc_metatile_render WHERE expiry < ?")) {
+            ps.setLong(1, now);
+            ps.executeUpdate();
+        } catch (SQLException e) {
+            LOGGER.log(Level.FINE, "Failed to remove the expired renders", e);
+        }
+    }
+}
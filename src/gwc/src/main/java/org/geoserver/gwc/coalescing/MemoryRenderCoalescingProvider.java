@@ -0,0 +1,44 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.gwc.coalescing;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Keeps the renders in memory, coalescing them only among the threads of a single node. Mostly useful for testing, as
+ * the GWC lock provider already serializes the renders of a meta tile within a node.
+ */
+public class MemoryRenderCoalescingProvider implements RenderCoalescingProvider {
+
+    /** A registered render */
+    record Render(String owner, long expiry) {
+
+        boolean isExpired(long now) {
+            return expiry < now;
+        }
+    }
+
+    final ConcurrentMap<String, Render> renders = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean start(String key, String owner, long timeout) {
+        long now = System.currentTimeMillis();
+        Render render = new Render(owner, now + timeout);
+        Render current = renders.compute(key, (k, r) -> r == null || r.isExpired(now) ? render : r);
+        return current == render;
+    }
+
+    @Override
+    public boolean isRendering(String key) {
+        Render render = renders.get(key);
+        return render != null && !render.isExpired(System.currentTimeMillis());
+    }
+
+    @Override
+    public void finish(String key, String owner) {
+        renders.computeIfPresent(key, (k, r) -> r.owner().equals(owner) ? null : r);
+    }
+}
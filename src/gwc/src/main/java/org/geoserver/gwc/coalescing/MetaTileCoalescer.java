@@ -0,0 +1,260 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.gwc.coalescing;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geoserver.platform.GeoServerExtensions;
+import org.geoserver.util.JMXUtils;
+import org.geotools.util.logging.Logging;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+/**
+ * Coalesces the renders of the same meta tile across the nodes of a cluster, through the
+ * {@link RenderCoalescingProvider} named by the {@code GWC_METATILE_COALESCING} system, environment or servlet context
+ * variable. Coalescing is disabled if the variable is not set.
+ *
+ * <p>A node missing a meta tile registers its render with the provider. If another node is already rendering it, the
+ * node waits for that render to complete, polling the provider, and then reads the tiles from the tile store, falling
+ * back on rendering the meta tile itself if they are not there. The wait is bounded by the
+ * {@code GWC_METATILE_COALESCING_TIMEOUT} variable, in seconds, which is also the time after which a registration
+ * expires.
+ *
+ * <p>Counters are exposed via JMX as {@link #OBJECT_NAME}.
+ */
+public class MetaTileCoalescer implements MetaTileCoalescerMXBean, InitializingBean, DisposableBean {
+
+    static final Logger LOGGER = Logging.getLogger(MetaTileCoalescer.class);
+
+    /** The variable holding the name of the render coalescing provider bean */
+    public static final String PROVIDER_PROPERTY = "GWC_METATILE_COALESCING";
+
+    public static final String TIMEOUT_PROPERTY = "GWC_METATILE_COALESCING_TIMEOUT";
+
+    static final long DEFAULT_TIMEOUT = 60;
+
+    public static final String OBJECT_NAME = "org.geoserver:type=MetaTileCoalescer";
+
+    static final long MIN_POLL_INTERVAL = 20;
+
+    static final long MAX_POLL_INTERVAL = 500;
+
+    /** A render registered by this node, to be finished once the tiles are in the store */
+    public final class Render {
+
+        final String key;
+
+        final String owner = UUID.randomUUID().toString();
+
+        final AtomicBoolean finished = new AtomicBoolean();
+
+        Render(String key) {
+            this.key = key;
+        }
+
+        /** Unregisters the render, the first call only has effect */
+        public void finish() {
+            if (finished.compareAndSet(false, true)) {
+                try {
+                    getProvider().finish(key, owner);
+                } catch (IOException | RuntimeException e) {
+                    // the registration will expire
+                    errors.increment();
+                    LOGGER.log(Level.WARNING, "Failed to unregister the render of " + key, e);
+                }
+            }
+        }
+    }
+
+    private String providerName;
+
+    private RenderCoalescingProvider provider;
+
+    private long timeout;
+
+    /** The configuration is read on first use, once the application context is fully loaded */
+    private volatile boolean initialized;
+
+    final LongAdder renders = new LongAdder();
+
+    final LongAdder coalesced = new LongAdder();
+
+    final LongAdder fallbacks = new LongAdder();
+
+    final LongAdder timeouts = new LongAdder();
+
+    final LongAdder errors = new LongAdder();
+
+    public MetaTileCoalescer() {}
+
+    /** Sets up the coalescer with the given provider and timeout, used directly for testing only */
+    MetaTileCoalescer(RenderCoalescingProvider provider, long timeout) {
+        this.providerName = provider.getClass().getSimpleName();
+        this.provider = provider;
+        this.timeout = timeout;
+        this.initialized = true;
+    }
+
+    /** Returns the configured provider, or {@code null} if coalescing is disabled */
+    private RenderCoalescingProvider getProvider() {
+        if (!initialized) {
+            synchronized (this) {
+                if (!initialized) {
+                    providerName = GeoServerExtensions.getProperty(PROVIDER_PROPERTY);
+                    provider = lookupProvider(providerName);
+                    timeout = TimeUnit.SECONDS.toMillis(getTimeoutSeconds());
+                    initialized = true;
+                }
+            }
+        }
+        return provider;
+    }
+
+    private static RenderCoalescingProvider lookupProvider(String name) {
+        if (name == null || name.isEmpty()) {
+            return null;
+        }
+        Object provider = GeoServerExtensions.bean(name);
+        if (provider instanceof RenderCoalescingProvider coalescingProvider) {
+            LOGGER.info("Coalescing the meta tile renders with " + name);
+            return coalescingProvider;
+        }
+        LOGGER.warning("Could not find the " + name + " render coalescing provider, coalescing is disabled");
+        return null;
+    }
+
+    private static long getTimeoutSeconds() {
+        String value = GeoServerExtensions.getProperty(TIMEOUT_PROPERTY);
+        if (value != null) {
+            try {
+                long seconds = Long.parseLong(value);
+                if (seconds > 0) {
+                    return seconds;
+                }
+            } catch (NumberFormatException e) {
+                // fall back on the default
+            }
+            LOGGER.warning("Invalid value for " + TIMEOUT_PROPERTY + ": " + value + ", using the default");
+        }
+        return DEFAULT_TIMEOUT;
+    }
+
+    /** Returns the coalescer bean, or {@code null} if not running in an application context */
+    public static MetaTileCoalescer get() {
+        return GeoServerExtensions.bean(MetaTileCoalescer.class);
+    }
+
+    /** Returns {@code true} if a render coalescing provider is configured */
+    public boolean isEnabled() {
+        return getProvider() != null;
+    }
+
+    /**
+     * Registers the render of a meta tile by this node.
+     *
+     * @return the render, to be finished once the tiles are stored, or {@code null} if another node is rendering the
+     *     meta tile, in which case {@link #await(String)} can be used to wait for it
+     */
+    public Render start(String key) {
+        Render render = new Render(key);
+        try {
+            if (!getProvider().start(key, render.owner, timeout)) {
+                return null;
+            }
+        } catch (IOException | RuntimeException e) {
+            // render without coordination rather than failing the request
+            errors.increment();
+            LOGGER.log(Level.WARNING, "Failed to register the render of " + key, e);
+            render.finished.set(true);
+        }
+        renders.increment();
+        return render;
+    }
+
+    /**
+     * Waits for the render of a meta tile by another node to complete.
+     *
+     * @return {@code true} if the render completed, {@code false} if it did not complete in time, or could not be
+     *     tracked
+     */
+    public boolean await(String key) {
+        long deadline = System.currentTimeMillis() + timeout;
+        long interval = MIN_POLL_INTERVAL;
+        try {
+            while (getProvider().isRendering(key)) {
+                if (System.currentTimeMillis() >= deadline) {
+                    timeouts.increment();
+                    return false;
+                }
+                Thread.sleep(interval);
+                interval = Math.min(interval * 2, MAX_POLL_INTERVAL);
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (IOException | RuntimeException e) {
+            errors.increment();
+            LOGGER.log(Level.WARNING, "Failed to wait for the render of " + key, e);
+            return false;
+        }
+    }
+
+    /** Records the outcome of a wait, whether the tile was then found in the store or had to be rendered */
+    public void recordWait(boolean found) {
+        if (found) {
+            coalesced.increment();
+        } else {
+            fallbacks.increment();
+        }
+    }
+
+    @Override
+    public String getProviderName() {
+        return getProvider() != null ? providerName : null;
+    }
+
+    @Override
+    public long getRenderCount() {
+        return renders.sum();
+    }
+
+    @Override
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    @Override
+    public long getFallbackCount() {
+        return fallbacks.sum();
+    }
+
+    @Override
+    public long getTimeoutCount() {
+        return timeouts.sum();
+    }
+
+    @Override
+    public long getErrorCount() {
+        return errors.sum();
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        JMXUtils.register(this, OBJECT_NAME);
+    }
+
+    @Override
+    public void destroy() {
+        JMXUtils.unregister(OBJECT_NAME);
+    }
+}
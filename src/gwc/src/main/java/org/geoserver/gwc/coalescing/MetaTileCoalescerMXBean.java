@@ -0,0 +1,27 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.gwc.coalescing;
+
+/** Management interface of the {@link MetaTileCoalescer}, exposed via JMX as {@link MetaTileCoalescer#OBJECT_NAME} */
+public interface MetaTileCoalescerMXBean {
+
+    /** Name of the render coalescing provider bean in use, or {@code null} if coalescing is disabled */
+    String getProviderName();
+
+    /** Number of meta tile renders registered by this node */
+    long getRenderCount();
+
+    /** Number of requests that waited for another node to render their meta tile, and found the tile in the store */
+    long getCoalescedCount();
+
+    /** Number of requests that waited for another node to render their meta tile, and had to render it anyway */
+    long getFallbackCount();
+
+    /** Number of requests that stopped waiting for another node because the render took too long */
+    long getTimeoutCount();
+
+    /** Number of failures talking to the render coalescing provider */
+    long getErrorCount();
+}
@@ -0,0 +1,37 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.gwc.coalescing;
+
+import java.io.IOException;
+
+/**
+ * Keeps track of the meta tiles being rendered. When shared by the nodes of a cluster using the same tile store, it
+ * allows a node to wait for a render in progress on another node, and read the tiles from the store, instead of
+ * rendering the same meta tile again.
+ *
+ * <p>Registrations expire after the timeout given when starting the render, so that a node dying while rendering does
+ * not block the others.
+ */
+public interface RenderCoalescingProvider {
+
+    /**
+     * Registers the start of a meta tile render.
+     *
+     * @param key the meta tile key
+     * @param owner an identifier of the render, unique across the cluster
+     * @param timeout the time, in milliseconds, after which the registration expires
+     * @return {@code true} if the render got registered, {@code false} if the meta tile is already being rendered
+     */
+    boolean start(String key, String owner, long timeout) throws IOException;
+
+    /** Returns {@code true} if the meta tile is being rendered, and the registration of the render has not expired */
+    boolean isRendering(String key) throws IOException;
+
+    /**
+     * Registers the end of a render, successful or not. A registration that expired and got replaced by another render
+     * is left alone.
+     */
+    void finish(String key, String owner) throws IOException;
+}
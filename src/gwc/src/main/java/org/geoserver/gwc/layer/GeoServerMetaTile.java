@@ -16,6 +16,7 @@
 import java.io.OutputStream;
 import java.text.MessageFormat;
 import org.eclipse.imagen.PlanarImage;
+import org.eclipse.imagen.RenderedImageAdapter;
 import org.geoserver.gwc.GWC;
 import org.geoserver.ows.Response;
 import org.geoserver.wms.TiledWebMap;
@@ -39,6 +40,9 @@ public class GeoServerMetaTile extends MetaTile {
 
     private WebMap metaTileMap;
 
+    /** The encoder of the tiles, looked up once per meta tile as the tiles can be encoded concurrently */
+    private RenderedImageMapResponse mapEncoder;
+
     public GeoServerMetaTile(
             GridSubset gridSubset,
             MimeType responseFormat,
@@ -91,12 +95,7 @@ public boolean writeTileToStream(final int tileIdx, Resource target) throws IOEx
         }
 
         final RenderedImageMap metaTileMap = (RenderedImageMap) this.metaTileMap;
-        final RenderedImageMapResponse mapEncoder;
-        {
-            final GWC mediator = GWC.get();
-            final Response responseEncoder = mediator.getResponseEncoder(responseFormat, metaTileMap);
-            mapEncoder = (RenderedImageMapResponse) responseEncoder;
-        }
+        final RenderedImageMapResponse mapEncoder = getMapEncoder(metaTileMap);
 
         RenderedImage tile = metaTileMap.getImage();
         WMSMapContent tileContext = metaTileMap.getMapContext();
@@ -134,6 +133,16 @@ public boolean writeTileToStream(final int tileIdx, Resource target) throws IOEx
         }
     }
 
+    /** Returns the encoder for the response format, looking it up on first use */
+    private synchronized RenderedImageMapResponse getMapEncoder(RenderedImageMap metaTileMap) {
+        if (mapEncoder == null) {
+            final GWC mediator = GWC.get();
+            final Response responseEncoder = mediator.getResponseEncoder(responseFormat, metaTileMap);
+            mapEncoder = (RenderedImageMapResponse) responseEncoder;
+        }
+        return mapEncoder;
+    }
+
     /** Checks if this meta tile has a gutter, or not */
     private boolean metaHasGutter() {
         if (this.gutter == null) {
@@ -158,6 +167,12 @@ private boolean metaHasGutter() {
      */
     @Override
     public RenderedImage createTile(final int x, final int y, final int tileWidth, final int tileHeight) {
+        // a buffered image wrapped as a planar one can be sliced without copying its pixels
+        if (metaTileImage instanceof RenderedImageAdapter adapter
+                && adapter.getWrappedImage() instanceof BufferedImage image) {
+            return image.getSubimage(x, y, tileWidth, tileHeight);
+        }
+
         // check image type
         final int type;
         if (metaTileImage instanceof PlanarImage) {
@@ -55,8 +55,10 @@
 import org.geoserver.catalog.impl.ModificationProxy;
 import org.geoserver.config.GeoServer;
 import org.geoserver.gwc.GWC;
+import org.geoserver.gwc.coalescing.MetaTileCoalescer;
 import org.geoserver.gwc.config.GWCConfig;
 import org.geoserver.gwc.dispatch.GwcServiceDispatcherCallback;
+import org.geoserver.gwc.seed.SeedingEngine;
 import org.geoserver.ows.Dispatcher;
 import org.geoserver.ows.LocalWorkspace;
 import org.geoserver.ows.Request;
@@ -607,6 +609,20 @@ protected ConveyorTile getMetatilingResponse(
                 }
             }
 
+            /* ****************** Coalesce with the renders of other nodes ******************* */
+            MetaTileCoalescer.Render render = null;
+            MetaTileCoalescer coalescer = tryCache && !foundInCache ? getCoalescer(conveyorTile) : null;
+            if (coalescer != null) {
+                String renderKey = buildMetaTileLockKey(conveyorTile, metaTile);
+                render = coalescer.start(renderKey);
+                if (render == null) {
+                    // another node is rendering the same meta tile, wait for it and read its tiles from the store
+                    coalescer.await(renderKey);
+                    foundInCache = fetchPrimaryTile(conveyorTile, metaTile);
+                    coalescer.recordWait(foundInCache);
+                }
+            }
+
             if (!foundInCache) {
                 LOGGER.log(
                         Level.FINER,
@@ -616,11 +632,23 @@ protected ConveyorTile getMetatilingResponse(
                                 + Arrays.toString(metaTile.getMetaGridPos())
                                 + " on "
                                 + metaTile);
+                // let the background seeding yield to user requests
+                boolean interactive = Dispatcher.REQUEST.get() != null;
+                if (interactive) {
+                    SeedingEngine.beginInteractiveRender();
+                }
                 try {
-                    computeMetaTile(conveyorTile, metaTile, executor);
+                    computeMetaTile(conveyorTile, metaTile, executor, render);
                 } catch (Exception e) {
+                    if (render != null) {
+                        render.finish();
+                    }
                     Throwables.throwIfInstanceOf(e, GeoWebCacheException.class);
                     throw new GeoWebCacheException("Problem communicating with GeoServer", e);
+                } finally {
+                    if (interactive) {
+                        SeedingEngine.endInteractiveRender();
+                    }
                 }
             }
 
@@ -650,12 +678,34 @@ private boolean fetchPrimaryTile(ConveyorTile conveyorTile, GeoServerMetaTile me
         return true;
     }
 
+    /**
+     * Returns the meta tile coalescer, if enabled and the tiles of the requested zoom level get stored, as otherwise
+     * there is nothing to be read from the store after waiting for another node
+     */
+    private MetaTileCoalescer getCoalescer(ConveyorTile conveyorTile) {
+        MetaTileCoalescer coalescer = MetaTileCoalescer.get();
+        if (coalescer == null || !coalescer.isEnabled()) {
+            return null;
+        }
+        int zoomLevel = (int) conveyorTile.getTileIndex()[2];
+        if (!getGridSubset(conveyorTile.getGridSetId()).shouldCacheAtZoom(zoomLevel)
+                || getExpireCache(zoomLevel) == GWCVars.CACHE_DISABLE_CACHE) {
+            return null;
+        }
+        return coalescer;
+    }
+
     /** Acquires an exclusive lock for the given key (e.g., for a metatile or individual tile) */
     private Lock getLock(String lockKey) throws GeoWebCacheException {
         return GWC.get().getLockProvider().getLock(lockKey);
     }
 
-    private void computeMetaTile(ConveyorTile conveyorTile, GeoServerMetaTile metaTile, Executor executor)
+    /**
+     * Renders the meta tile, encodes and saves its tiles. The coalesced render, if any, is finished once the tiles are
+     * saved.
+     */
+    private void computeMetaTile(
+            ConveyorTile conveyorTile, GeoServerMetaTile metaTile, Executor executor, MetaTileCoalescer.Render render)
             throws Exception {
         WebMap map;
         long requestTime = System.currentTimeMillis();
@@ -687,6 +737,9 @@ private void computeMetaTile(ConveyorTile conveyorTile, GeoServerMetaTile metaTi
         // we can release the metatile lock.
         CountDownLatch tileLockLatch = new CountDownLatch(numberOfTiles);
 
+        // The conveyor tile is encoded last, once all the other tiles have been handed to the
+        // executor, so that it's encoded concurrently with them instead of holding them back
+        int conveyorTileIndex = -1;
         for (int tileIndex = 0; tileIndex < numberOfTiles; tileIndex++) {
             final long[] gridPos = gridPositions[tileIndex];
             final int finalTileIndex = tileIndex;
@@ -698,35 +751,12 @@ private void computeMetaTile(ConveyorTile conveyorTile, GeoServerMetaTile metaTi
                     tileLockLatch.countDown();
                     continue;
                 }
-                final Supplier<Resource> tileResourceSupplier = twm != null
-                        ? () -> getPreTiledResource(twm, finalTileIndex)
-                        : encodeTileTask(metaTile, finalTileIndex);
-
                 if (isConveyorTile) {
-                    // Always encode the conveyor tile on the main thread, and set a tentative
-                    // creation time for it (the actual save time will be later, the first
-                    // time modification check from the client will re-fetch the tile
-                    Resource resource = tileResourceSupplier.get();
-                    conveyorTile.setBlob(resource);
-                    conveyorTile.getStorageObject().setCreated(requestTime);
-
-                    // Saving the conveyor tile in the cache can either happen
-                    // asynchronously or on the main thread
-                    Runnable saveTileTask = withTileLock(
-                            conveyorTile,
-                            tileLockLatch,
-                            gridPos,
-                            saveTileTask(metaTile, tileIndex, conveyorTile, resource, requestTime));
-                    if (executor == null) {
-                        // Save in cache on main thread if there's no executor
-                        saveTileTask.run();
-                    } else {
-                        CompletableFuture<Void> completableFuture = CompletableFuture.runAsync(saveTileTask, executor);
-                        completableFutures.add(completableFuture);
-                    }
+                    conveyorTileIndex = tileIndex;
                 } else {
                     // For all other tiles, either encode/save fully asynchronously or
                     // fully on the main thread
+                    final Supplier<Resource> tileResourceSupplier = getTileResourceSupplier(metaTile, twm, tileIndex);
                     Runnable tileSaver = () -> {
                         Resource resource = tileResourceSupplier.get();
                         saveTileTask(metaTile, finalTileIndex, conveyorTile, resource, requestTime)
@@ -748,19 +778,56 @@ private void computeMetaTile(ConveyorTile conveyorTile, GeoServerMetaTile metaTi
             }
         }
 
+        if (conveyorTileIndex >= 0) {
+            // Always encode the conveyor tile on the main thread, and set a tentative
+            // creation time for it (the actual save time will be later, the first
+            // time modification check from the client will re-fetch the tile
+            Resource resource = getTileResourceSupplier(metaTile, twm, conveyorTileIndex).get();
+            conveyorTile.setBlob(resource);
+            conveyorTile.getStorageObject().setCreated(requestTime);
+
+            // Saving the conveyor tile in the cache can either happen
+            // asynchronously or on the main thread
+            Runnable saveTileTask = withTileLock(
+                    conveyorTile,
+                    tileLockLatch,
+                    gridPositions[conveyorTileIndex],
+                    saveTileTask(metaTile, conveyorTileIndex, conveyorTile, resource, requestTime));
+            if (executor == null) {
+                // Save in cache on main thread if there's no executor
+                saveTileTask.run();
+            } else {
+                CompletableFuture<Void> completableFuture = CompletableFuture.runAsync(saveTileTask, executor);
+                completableFutures.add(completableFuture);
+            }
+        }
+
         // Wait until we've obtained locks on all individual tiles before proceeding
         tileLockLatch.await();
 
         // Dispose of meta-tile when all completable futures are done
         if (!completableFutures.isEmpty()) {
             runAsyncAfterAllFuturesComplete(completableFutures, metaTile::dispose, executor);
+            if (render != null) {
+                // let other nodes know the tiles are in the store, also if some failed to be saved
+                CompletableFuture.allOf(completableFutures.toArray(new CompletableFuture[0]))
+                        .whenComplete((r, e) -> render.finish());
+            }
         } else {
             // There were no asynchronous tasks, everything was run on the main thread
             // so we can dispose of the meta-tile right away
             metaTile.dispose();
+            if (render != null) {
+                render.finish();
+            }
         }
     }
 
+    /** Returns the supplier of the encoded tile at the given index of the meta tile */
+    private Supplier<Resource> getTileResourceSupplier(GeoServerMetaTile metaTile, TiledWebMap twm, int tileIndex) {
+        return twm != null ? () -> getPreTiledResource(twm, tileIndex) : encodeTileTask(metaTile, tileIndex);
+    }
+
     /** Retrieves a pre-tiled Byte Array resource from a TiledWebMap by tileIndex */
     private Resource getPreTiledResource(TiledWebMap tiledWebMap, int tileIndex) {
         byte[] tileData = tiledWebMap.getTile(tileIndex);
@@ -934,7 +1001,7 @@ private WebMap dispatchGetMap(final ConveyorTile tile, final MetaTile metaTile)
             HttpServletRequest actualRequest = tile.servletReq;
             Cookie[] cookies = actualRequest == null ? null : actualRequest.getCookies();
 
-            GWC.get().dispatchOwsRequest(params, cookies);
+            GWC.get().dispatchGetMap(params, cookies);
             map = WEB_MAP.get();
             if (!(map instanceof WebMap)) {
                 throw new IllegalStateException("Expected: RenderedImageMap, got " + map);
@@ -0,0 +1,99 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.gwc.seed;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geoserver.catalog.CoverageInfo;
+import org.geoserver.catalog.FeatureTypeInfo;
+import org.geoserver.catalog.LayerGroupInfo;
+import org.geoserver.catalog.LayerInfo;
+import org.geoserver.catalog.PublishedInfo;
+import org.geoserver.catalog.ResourceInfo;
+import org.geotools.api.data.FeatureSource;
+import org.geotools.api.data.Query;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
+import org.geotools.coverage.grid.io.GranuleSource;
+import org.geotools.coverage.grid.io.StructuredGridCoverage2DReader;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.util.logging.Logging;
+
+/**
+ * The footprint of a catalog layer or layer group. Areas outside of the native bounds of the layers are empty, within
+ * them vector layers are queried for a feature, and structured coverages, such as mosaics, for a granule. The other
+ * coverages are considered to have data everywhere within their bounds.
+ */
+class CatalogDataFootprint implements DataFootprint {
+
+    static final Logger LOGGER = Logging.getLogger(CatalogDataFootprint.class);
+
+    static final FilterFactory FF = CommonFactoryFinder.getFilterFactory();
+
+    private final List<LayerInfo> layers;
+
+    CatalogDataFootprint(PublishedInfo published) {
+        if (published instanceof LayerGroupInfo group) {
+            this.layers = group.layers();
+        } else if (published instanceof LayerInfo layer) {
+            this.layers = List.of(layer);
+        } else {
+            this.layers = Collections.emptyList();
+        }
+    }
+
+    @Override
+    public boolean intersects(ReferencedEnvelope area) {
+        for (LayerInfo layer : layers) {
+            if (layer == null || layer.getResource() == null) {
+                continue;
+            }
+            try {
+                if (intersects(layer.getResource(), area)) {
+                    return true;
+                }
+            } catch (Exception e) {
+                // better seed some empty tiles than skip some full ones
+                LOGGER.log(Level.FINE, "Failed to check the data of " + layer.prefixedName() + " in " + area, e);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean intersects(ResourceInfo resource, ReferencedEnvelope area) throws Exception {
+        ReferencedEnvelope nativeBounds = resource.getNativeBoundingBox();
+        CoordinateReferenceSystem nativeCrs = resource.getNativeCRS();
+        if (nativeBounds == null || nativeCrs == null) {
+            return true;
+        }
+        ReferencedEnvelope nativeArea = area.transform(nativeCrs, true);
+        if (!nativeBounds.intersects(nativeArea.getBounds2D())) {
+            return false;
+        }
+
+        if (resource instanceof FeatureTypeInfo featureType) {
+            FeatureSource<?, ?> source = featureType.getFeatureSource(null, null);
+            Query query = new Query(source.getSchema().getName().getLocalPart(), FF.bbox(FF.property(""), nativeArea));
+            query.setMaxFeatures(1);
+            return !source.getFeatures(query).isEmpty();
+        } else if (resource instanceof CoverageInfo coverage) {
+            if (coverage.getGridCoverageReader(null, null) instanceof StructuredGridCoverage2DReader structured) {
+                String name = coverage.getNativeCoverageName() != null
+                        ? coverage.getNativeCoverageName()
+                        : structured.getGridCoverageNames()[0];
+                GranuleSource granules = structured.getGranules(name, true);
+                Query query = new Query(
+                        granules.getSchema().getName().getLocalPart(), FF.bbox(FF.property(""), nativeArea));
+                query.setMaxFeatures(1);
+                return !granules.getGranules(query).isEmpty();
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,20 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.gwc.seed;
+
+import org.geotools.geometry.jts.ReferencedEnvelope;
+
+/** Tells the {@link SeedingEngine} which areas of a layer have data, so that the empty meta tiles can be skipped */
+public interface DataFootprint {
+
+    /** A footprint covering the whole world, used when the layer data can't be inspected */
+    DataFootprint ANY = area -> true;
+
+    /**
+     * Returns {@code true} if the layer may have data in the given area. False positives are fine, they just make the
+     * seeding render some empty tiles, while false negatives leave holes in the cache.
+     */
+    boolean intersects(ReferencedEnvelope area);
+}
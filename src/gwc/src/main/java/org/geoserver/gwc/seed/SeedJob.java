@@ -0,0 +1,222 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.gwc.seed;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import org.geowebcache.grid.BoundingBox;
+
+/**
+ * A seeding job run by the {@link SeedingEngine}, covering a range of zoom levels of a tile layer grid subset, for a
+ * single format and set of parameters.
+ */
+public class SeedJob {
+
+    /** Jobs with a higher priority get the seeding threads first */
+    public enum Priority {
+        /** Seeding on behalf of users, for example warming up the area around cache misses */
+        INTERACTIVE,
+        /** Bulk seeding, also yielding to the tiles rendered for user requests */
+        BACKGROUND
+    }
+
+    public enum Status {
+        PENDING,
+        RUNNING,
+        DONE,
+        FAILED,
+        CANCELLED
+    }
+
+    static final String PARAMETER_PREFIX = "parameter.";
+
+    private final String id;
+
+    private final String layerName;
+
+    private final String gridSetId;
+
+    private final String format;
+
+    private final Map<String, String> parameters;
+
+    private final int zoomStart;
+
+    private final int zoomStop;
+
+    private final BoundingBox bounds;
+
+    private final boolean reseed;
+
+    private final Priority priority;
+
+    volatile Status status = Status.PENDING;
+
+    /**
+     * @param layerName the tile layer to seed
+     * @param gridSetId the grid set to seed
+     * @param format the format to seed, e.g. {@code image/png}
+     * @param parameters the parameters of the tiles to seed, or {@code null} for the default ones
+     * @param zoomStart the first zoom level to seed
+     * @param zoomStop the last zoom level to seed, inclusive
+     * @param bounds the area to seed, in the grid set coordinates, or {@code null} for the whole grid subset
+     * @param reseed whether to render again the tiles already in the cache
+     * @param priority the job priority
+     */
+    public SeedJob(
+            String layerName,
+            String gridSetId,
+            String format,
+            Map<String, String> parameters,
+            int zoomStart,
+            int zoomStop,
+            BoundingBox bounds,
+            boolean reseed,
+            Priority priority) {
+        this(
+                UUID.randomUUID().toString(),
+                layerName,
+                gridSetId,
+                format,
+                parameters,
+                zoomStart,
+                zoomStop,
+                bounds,
+                reseed,
+                priority);
+    }
+
+    SeedJob(
+            String id,
+            String layerName,
+            String gridSetId,
+            String format,
+            Map<String, String> parameters,
+            int zoomStart,
+            int zoomStop,
+            BoundingBox bounds,
+            boolean reseed,
+            Priority priority) {
+        this.id = id;
+        this.layerName = layerName;
+        this.gridSetId = gridSetId;
+        this.format = format;
+        this.parameters = parameters == null ? Collections.emptyMap() : Collections.unmodifiableMap(parameters);
+        this.zoomStart = zoomStart;
+        this.zoomStop = zoomStop;
+        this.bounds = bounds;
+        this.reseed = reseed;
+        this.priority = priority;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getLayerName() {
+        return layerName;
+    }
+
+    public String getGridSetId() {
+        return gridSetId;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public Map<String, String> getParameters() {
+        return parameters;
+    }
+
+    public int getZoomStart() {
+        return zoomStart;
+    }
+
+    public int getZoomStop() {
+        return zoomStop;
+    }
+
+    public BoundingBox getBounds() {
+        return bounds;
+    }
+
+    public boolean isReseed() {
+        return reseed;
+    }
+
+    public Priority getPriority() {
+        return priority;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    /** Stores the job definition, along with the position to resume it from */
+    Properties toProperties(long checkpoint) {
+        Properties properties = new Properties();
+        properties.setProperty("layer", layerName);
+        properties.setProperty("gridSet", gridSetId);
+        properties.setProperty("format", format);
+        properties.setProperty("zoomStart", String.valueOf(zoomStart));
+        properties.setProperty("zoomStop", String.valueOf(zoomStop));
+        if (bounds != null) {
+            properties.setProperty(
+                    "bounds",
+                    bounds.getMinX() + "," + bounds.getMinY() + "," + bounds.getMaxX() + "," + bounds.getMaxY());
+        }
+        properties.setProperty("reseed", String.valueOf(reseed));
+        properties.setProperty("priority", priority.name());
+        parameters.forEach((k, v) -> properties.setProperty(PARAMETER_PREFIX + k, v));
+        properties.setProperty("checkpoint", String.valueOf(checkpoint));
+        return properties;
+    }
+
+    /** Reads a job stored with {@link #toProperties(long)} */
+    static SeedJob fromProperties(String id, Properties properties) {
+        Map<String, String> parameters = new LinkedHashMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            if (name.startsWith(PARAMETER_PREFIX)) {
+                parameters.put(name.substring(PARAMETER_PREFIX.length()), properties.getProperty(name));
+            }
+        }
+        BoundingBox bounds = null;
+        String bbox = properties.getProperty("bounds");
+        if (bbox != null) {
+            String[] values = bbox.split(",");
+            bounds = new BoundingBox(
+                    Double.parseDouble(values[0]),
+                    Double.parseDouble(values[1]),
+                    Double.parseDouble(values[2]),
+                    Double.parseDouble(values[3]));
+        }
+        return new SeedJob(
+                id,
+                properties.getProperty("layer"),
+                properties.getProperty("gridSet"),
+                properties.getProperty("format"),
+                parameters,
+                Integer.parseInt(properties.getProperty("zoomStart")),
+                Integer.parseInt(properties.getProperty("zoomStop")),
+                bounds,
+                Boolean.parseBoolean(properties.getProperty("reseed")),
+                Priority.valueOf(properties.getProperty("priority", Priority.BACKGROUND.name())));
+    }
+
+    /** Returns the position to resume a job stored with {@link #toProperties(long)} from */
+    static long getCheckpoint(Properties properties) {
+        return Long.parseLong(properties.getProperty("checkpoint", "0"));
+    }
+
+    @Override
+    public String toString() {
+        return "SeedJob[" + id + ", " + layerName + ", " + gridSetId + ", " + format + ", " + zoomStart + "-" + zoomStop
+                + ", " + status + "]";
+    }
+}
@@ -0,0 +1,754 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.gwc.seed;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geoserver.gwc.GWC;
+import org.geoserver.gwc.layer.GeoServerTileLayer;
+import org.geoserver.ows.Dispatcher;
+import org.geoserver.platform.GeoServerExtensions;
+import org.geoserver.platform.GeoServerResourceLoader;
+import org.geoserver.platform.resource.Paths;
+import org.geoserver.platform.resource.Resource;
+import org.geoserver.platform.resource.Resources;
+import org.geoserver.threadlocals.ThreadLocalsTransfer;
+import org.geoserver.util.JMXUtils;
+import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.referencing.CRS;
+import org.geotools.util.logging.Logging;
+import org.geowebcache.GeoWebCacheException;
+import org.geowebcache.conveyor.ConveyorTile;
+import org.geowebcache.grid.BoundingBox;
+import org.geowebcache.grid.GridSet;
+import org.geowebcache.grid.GridSubset;
+import org.geowebcache.layer.TileLayer;
+import org.geowebcache.mime.MimeType;
+import org.geowebcache.storage.StorageBroker;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+
+/**
+ * Seeds tile layers directly through {@link TileLayer#seedTile(ConveyorTile, boolean)}, in parallel, skipping the meta
+ * tiles where the layer has no data.
+ *
+ * <p>Each job walks its zoom levels in blocks of {@value #BLOCK_SIZE}x{@value #BLOCK_SIZE} meta tiles, handed out to
+ * the seeding threads in order. A block whose area has no data, according to the {@link DataFootprint} of the layer,
+ * is skipped as a whole, otherwise its meta tiles are checked one by one. The position of the first block not yet
+ * completed is saved periodically in the {@value #CHECKPOINT_DIRECTORY} directory of the data directory, and the jobs
+ * found there are resumed on startup.
+ *
+ * <p>The seeding threads, {@code GWC_SEEDING_THREADS} system, environment or servlet context variable, default to half
+ * the available processors, and serve the {@link SeedJob.Priority#INTERACTIVE} jobs first. The background jobs also
+ * pause while tiles are being rendered for user requests, up to {@value #MAX_YIELD} ms per meta tile.
+ *
+ * <p>Counters are exposed via JMX as {@link #OBJECT_NAME}.
+ */
+public class SeedingEngine
+        implements SeedingEngineMXBean, InitializingBean, DisposableBean, ApplicationListener<ContextRefreshedEvent> {
+
+    static final Logger LOGGER = Logging.getLogger(SeedingEngine.class);
+
+    public static final String THREADS_PROPERTY = "GWC_SEEDING_THREADS";
+
+    public static final String OBJECT_NAME = "org.geoserver:type=SeedingEngine";
+
+    static final String CHECKPOINT_DIRECTORY = "gwc-seeding";
+
+    /** Side of the square blocks of meta tiles handed out to the seeding threads */
+    static final int BLOCK_SIZE = 8;
+
+    /** Minimum time between checkpoint saves, in milliseconds */
+    static final long CHECKPOINT_INTERVAL = 10_000;
+
+    /** Number of meta tiles failing to render after which a job is abandoned */
+    static final int MAX_FAILURES = 100;
+
+    static final long YIELD_INTERVAL = 10;
+
+    static final long MAX_YIELD = 1000;
+
+    /** Number of meta tiles being rendered for user requests, across the whole application */
+    private static final AtomicInteger INTERACTIVE_RENDERS = new AtomicInteger();
+
+    /** Per layer counters */
+    static final class LayerStatistics {
+
+        final LongAdder metaTiles = new LongAdder();
+
+        final LongAdder tiles = new LongAdder();
+
+        final LongAdder skipped = new LongAdder();
+
+        final LongAdder failures = new LongAdder();
+
+        /** Meta tiles of the layer being seeded right now, across all threads */
+        private int active;
+
+        /** Start of the current busy period, when active is positive */
+        private long busySince;
+
+        /** Wall clock time of the ended busy periods */
+        private long busyNanos;
+
+        synchronized void started(long now) {
+            if (active++ == 0) {
+                busySince = now;
+            }
+        }
+
+        synchronized void finished(long now) {
+            if (--active == 0) {
+                busyNanos += now - busySince;
+            }
+        }
+
+        /**
+         * Wall clock time during which at least one meta tile of the layer was being seeded. Unlike the sum of the
+         * times spent by each thread it does not grow with the concurrency, and it skips the idle time between jobs.
+         */
+        synchronized long getBusyNanos(long now) {
+            return active > 0 ? busyNanos + now - busySince : busyNanos;
+        }
+
+        synchronized void resetBusyNanos(long now) {
+            busyNanos = 0;
+            busySince = now;
+        }
+    }
+
+    /** The layout of the blocks of meta tiles of a zoom level */
+    record ZoomLevel(long[] coverage, long metaMinX, long metaMinY, long columns, long rows, long firstBlock) {
+
+        long blockColumns() {
+            return (columns + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        }
+
+        long blockCount() {
+            return blockColumns() * ((rows + BLOCK_SIZE - 1) / BLOCK_SIZE);
+        }
+    }
+
+    /** The state of a job being run */
+    final class JobRun {
+
+        final SeedJob job;
+
+        final TileLayer layer;
+
+        final GridSubset gridSubset;
+
+        final MimeType mimeType;
+
+        final DataFootprint footprint;
+
+        final CoordinateReferenceSystem crs;
+
+        final int metaX;
+
+        final int metaY;
+
+        final List<ZoomLevel> levels = new ArrayList<>();
+
+        final long blockCount;
+
+        final LayerStatistics statistics;
+
+        final ThreadLocalsTransfer threadLocals = new ThreadLocalsTransfer();
+
+        final AtomicInteger failures = new AtomicInteger();
+
+        volatile boolean cancelled;
+
+        volatile boolean failed;
+
+        /** The next block to hand out */
+        private long nextBlock;
+
+        /** The blocks handed out and not completed yet */
+        private final TreeSet<Long> inFlight = new TreeSet<>();
+
+        private long completedBlocks;
+
+        private int workers;
+
+        private long lastSave;
+
+        JobRun(
+                SeedJob job,
+                TileLayer layer,
+                GridSubset gridSubset,
+                MimeType mimeType,
+                DataFootprint footprint,
+                CoordinateReferenceSystem crs,
+                long checkpoint) {
+            this.job = job;
+            this.layer = layer;
+            this.gridSubset = gridSubset;
+            this.mimeType = mimeType;
+            this.footprint = footprint;
+            this.crs = crs;
+            int[] metaTilingFactors = layer.getMetaTilingFactors();
+            this.metaX = metaTilingFactors[0];
+            this.metaY = metaTilingFactors[1];
+            this.statistics =
+                    SeedingEngine.this.statistics.computeIfAbsent(job.getLayerName(), k -> new LayerStatistics());
+
+            long blocks = 0;
+            int zoomStart = Math.max(job.getZoomStart(), gridSubset.getZoomStart());
+            int zoomStop = Math.min(job.getZoomStop(), gridSubset.getZoomStop());
+            BoundingBox bounds = job.getBounds();
+            if (bounds != null) {
+                if (!gridSubset.getOriginalExtent().intersects(bounds)) {
+                    zoomStop = zoomStart - 1;
+                } else {
+                    bounds = BoundingBox.intersection(gridSubset.getOriginalExtent(), bounds);
+                }
+            }
+            for (int z = zoomStart; z <= zoomStop; z++) {
+                long[] coverage =
+                        bounds == null ? gridSubset.getCoverage(z) : gridSubset.getCoverageIntersection(z, bounds);
+                long metaMinX = Math.floorDiv(coverage[0], metaX);
+                long metaMinY = Math.floorDiv(coverage[1], metaY);
+                long columns = Math.floorDiv(coverage[2], metaX) - metaMinX + 1;
+                long rows = Math.floorDiv(coverage[3], metaY) - metaMinY + 1;
+                if (columns <= 0 || rows <= 0) {
+                    continue;
+                }
+                ZoomLevel level = new ZoomLevel(coverage, metaMinX, metaMinY, columns, rows, blocks);
+                levels.add(level);
+                blocks += level.blockCount();
+            }
+            this.blockCount = blocks;
+            this.nextBlock = Math.min(Math.max(checkpoint, 0), blocks);
+            this.completedBlocks = nextBlock;
+        }
+
+        boolean isActive() {
+            return !cancelled && !failed && !stopping;
+        }
+
+        /** Hands out the next block, or returns {@code null} if there are no more, or the job is not active */
+        synchronized Long nextBlock() {
+            if (!isActive() || nextBlock >= blockCount) {
+                return null;
+            }
+            Long block = nextBlock++;
+            inFlight.add(block);
+            return block;
+        }
+
+        /** Records the end of a block, incomplete blocks are left in flight to be seeded again on resume */
+        synchronized void blockDone(long block, boolean complete) {
+            if (complete) {
+                inFlight.remove(block);
+                completedBlocks++;
+                saveCheckpoint(false);
+            }
+        }
+
+        /** Records a worker leaving the job, the last one finishes it */
+        synchronized void workerDone() {
+            if (--workers > 0) {
+                return;
+            }
+            runs.remove(job.getId());
+            if (cancelled) {
+                job.status = SeedJob.Status.CANCELLED;
+            } else if (failed) {
+                job.status = SeedJob.Status.FAILED;
+                deleteCheckpoint(job.getId());
+                LOGGER.warning("Seeding job " + job + " abandoned after " + failures.get() + " failures");
+            } else if (!stopping) {
+                job.status = SeedJob.Status.DONE;
+                deleteCheckpoint(job.getId());
+                LOGGER.info("Seeding job " + job + " completed");
+            }
+        }
+
+        synchronized void saveCheckpoint(boolean force) {
+            if (cancelled || failed) {
+                return;
+            }
+            long now = System.currentTimeMillis();
+            if (!force && now - lastSave < CHECKPOINT_INTERVAL) {
+                return;
+            }
+            lastSave = now;
+            long checkpoint = inFlight.isEmpty() ? nextBlock : inFlight.first();
+            Resource resource = getCheckpoint(job.getId());
+            try (OutputStream out = resource.out()) {
+                job.toProperties(checkpoint).store(out, null);
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Failed to save the checkpoint of " + job, e);
+            }
+        }
+
+        synchronized double getProgress() {
+            return blockCount == 0 ? 1 : (double) completedBlocks / blockCount;
+        }
+
+        ZoomLevel getLevel(long block) {
+            ZoomLevel result = null;
+            for (ZoomLevel level : levels) {
+                if (level.firstBlock() > block) {
+                    break;
+                }
+                result = level;
+            }
+            return result;
+        }
+
+        /** Returns whether the layer may have data in the given rectangle of tiles, or near enough to be painted */
+        boolean hasData(long[] rectangle) {
+            if (footprint == DataFootprint.ANY) {
+                return true;
+            }
+            BoundingBox bounds = gridSubset.boundsFromRectangle(rectangle);
+            GridSet gridSet = gridSubset.getGridSet();
+            double tile = gridSet.getGrid((int) rectangle[4]).getResolution() * gridSet.getTileWidth();
+            ReferencedEnvelope area = new ReferencedEnvelope(
+                    bounds.getMinX() - tile,
+                    bounds.getMaxX() + tile,
+                    bounds.getMinY() - tile,
+                    bounds.getMaxY() + tile,
+                    crs);
+            return footprint.intersects(area);
+        }
+    }
+
+    /** Seeds the next block of a job, and resubmits itself to the queue, to let higher priority jobs go first */
+    private final class BlockTask implements Runnable, Comparable<BlockTask> {
+
+        final JobRun run;
+
+        final long order = sequence.incrementAndGet();
+
+        BlockTask(JobRun run) {
+            this.run = run;
+        }
+
+        @Override
+        public void run() {
+            run.threadLocals.apply();
+            // the seeding must not pass for a user request, even if it was started by one
+            Dispatcher.REQUEST.remove();
+            try {
+                Long block = run.nextBlock();
+                if (block == null) {
+                    run.workerDone();
+                    return;
+                }
+                boolean complete = false;
+                try {
+                    complete = seedBlock(run, block);
+                } catch (RuntimeException e) {
+                    LOGGER.log(Level.WARNING, "Seeding job " + run.job + " failed", e);
+                    run.failed = true;
+                } finally {
+                    run.blockDone(block, complete);
+                }
+                if (!run.isActive()) {
+                    run.workerDone();
+                    return;
+                }
+                try {
+                    executor.execute(new BlockTask(run));
+                } catch (RejectedExecutionException e) {
+                    run.workerDone();
+                }
+            } finally {
+                run.threadLocals.cleanup();
+            }
+        }
+
+        @Override
+        public int compareTo(BlockTask other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    private static final Comparator<BlockTask> ORDER =
+            Comparator.comparing((BlockTask t) -> t.run.job.getPriority()).thenComparingLong(t -> t.order);
+
+    private final GWC gwc;
+
+    private final StorageBroker storageBroker;
+
+    private final GeoServerResourceLoader resourceLoader;
+
+    private final int threads;
+
+    private final ThreadPoolExecutor executor;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    final Map<String, JobRun> runs = new ConcurrentHashMap<>();
+
+    final Map<String, LayerStatistics> statistics = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean resumed = new AtomicBoolean();
+
+    private volatile boolean stopping;
+
+    public SeedingEngine(GWC gwc, StorageBroker storageBroker, GeoServerResourceLoader resourceLoader) {
+        this(gwc, storageBroker, resourceLoader, getThreadCount(GeoServerExtensions.getProperty(THREADS_PROPERTY)));
+    }
+
+    SeedingEngine(GWC gwc, StorageBroker storageBroker, GeoServerResourceLoader resourceLoader, int threads) {
+        this.gwc = gwc;
+        this.storageBroker = storageBroker;
+        this.resourceLoader = resourceLoader;
+        this.threads = threads;
+        this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                60,
+                TimeUnit.SECONDS,
+                new PriorityBlockingQueue<>(),
+                new ThreadFactoryBuilder()
+                        .setNameFormat("GWC Seeding Thread-%d")
+                        .setDaemon(true)
+                        .build());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    static int getThreadCount(String value) {
+        if (value != null) {
+            try {
+                int threads = Integer.parseInt(value);
+                if (threads > 0) {
+                    return threads;
+                }
+            } catch (NumberFormatException e) {
+                // fall back on the default
+            }
+            LOGGER.warning("Invalid value for " + THREADS_PROPERTY + ": " + value + ", using the default");
+        }
+        return Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    }
+
+    /** Marks the start of a meta tile render for a user request, making the background seeding yield */
+    public static void beginInteractiveRender() {
+        INTERACTIVE_RENDERS.incrementAndGet();
+    }
+
+    /** Marks the end of a meta tile render started with {@link #beginInteractiveRender()} */
+    public static void endInteractiveRender() {
+        INTERACTIVE_RENDERS.decrementAndGet();
+    }
+
+    /**
+     * Starts running a job
+     *
+     * @throws GeoWebCacheException if the grid set or format are not supported by the layer
+     * @throws IllegalArgumentException if the layer is not found
+     */
+    public void submit(SeedJob job) throws GeoWebCacheException {
+        submit(job, 0);
+    }
+
+    void submit(SeedJob job, long checkpoint) throws GeoWebCacheException {
+        if (stopping) {
+            throw new IllegalStateException("The seeding engine is shut down");
+        }
+        TileLayer layer = gwc.getTileLayerByName(job.getLayerName());
+        GridSubset gridSubset = layer.getGridSubset(job.getGridSetId());
+        if (gridSubset == null) {
+            throw new GeoWebCacheException(
+                    "Layer " + job.getLayerName() + " does not support the grid set " + job.getGridSetId());
+        }
+        MimeType mimeType = MimeType.createFromFormat(job.getFormat());
+
+        JobRun run = new JobRun(
+                job, layer, gridSubset, mimeType, getFootprint(layer), getCrs(gridSubset), checkpoint);
+        synchronized (run) {
+            run.workers = threads;
+        }
+        runs.put(job.getId(), run);
+        job.status = SeedJob.Status.RUNNING;
+        run.saveCheckpoint(true);
+        LOGGER.info("Starting seeding job " + job);
+        for (int i = 0; i < threads; i++) {
+            try {
+                executor.execute(new BlockTask(run));
+            } catch (RejectedExecutionException e) {
+                run.workerDone();
+            }
+        }
+    }
+
+    /** Returns the footprint used to skip the empty areas of a layer */
+    protected DataFootprint getFootprint(TileLayer layer) {
+        if (layer instanceof GeoServerTileLayer geoServerLayer) {
+            return new CatalogDataFootprint(geoServerLayer.getPublishedInfo());
+        }
+        return DataFootprint.ANY;
+    }
+
+    private CoordinateReferenceSystem getCrs(GridSubset gridSubset) {
+        try {
+            return CRS.decode("EPSG:" + gridSubset.getGridSet().getSrs().getNumber(), true);
+        } catch (Exception e) {
+            LOGGER.log(Level.FINE, "Failed to decode the grid set CRS, the footprint checks may be off", e);
+            return null;
+        }
+    }
+
+    /** Seeds a block, returns {@code true} if it was completed */
+    boolean seedBlock(JobRun run, long block) {
+        ZoomLevel level = run.getLevel(block);
+        long blockIndex = block - level.firstBlock();
+        long firstColumn = blockIndex % level.blockColumns() * BLOCK_SIZE;
+        long firstRow = blockIndex / level.blockColumns() * BLOCK_SIZE;
+        long lastColumn = Math.min(firstColumn + BLOCK_SIZE, level.columns()) - 1;
+        long lastRow = Math.min(firstRow + BLOCK_SIZE, level.rows()) - 1;
+
+        long[] blockRectangle = getRectangle(run, level, firstColumn, firstRow, lastColumn, lastRow);
+        if (!run.hasData(blockRectangle)) {
+            run.statistics.skipped.add((lastColumn - firstColumn + 1) * (lastRow - firstRow + 1));
+            return true;
+        }
+        for (long row = firstRow; row <= lastRow; row++) {
+            for (long column = firstColumn; column <= lastColumn; column++) {
+                if (!run.isActive()) {
+                    return false;
+                }
+                long[] rectangle = getRectangle(run, level, column, row, column, row);
+                if (!run.hasData(rectangle)) {
+                    run.statistics.skipped.increment();
+                    continue;
+                }
+                if (run.job.getPriority() == SeedJob.Priority.BACKGROUND && !yieldToInteractive()) {
+                    return false;
+                }
+                seedMetaTile(run, rectangle);
+            }
+        }
+        return true;
+    }
+
+    /** Returns the rectangle of tiles covered by a range of meta tiles of a zoom level */
+    private static long[] getRectangle(
+            JobRun run, ZoomLevel level, long firstColumn, long firstRow, long lastColumn, long lastRow) {
+        long[] coverage = level.coverage();
+        return new long[] {
+            Math.max((level.metaMinX() + firstColumn) * run.metaX, coverage[0]),
+            Math.max((level.metaMinY() + firstRow) * run.metaY, coverage[1]),
+            Math.min((level.metaMinX() + lastColumn + 1) * run.metaX - 1, coverage[2]),
+            Math.min((level.metaMinY() + lastRow + 1) * run.metaY - 1, coverage[3]),
+            coverage[4]
+        };
+    }
+
+    /** Waits for the renders of user requests to complete, returns {@code false} if interrupted */
+    private static boolean yieldToInteractive() {
+        try {
+            for (long waited = 0; waited < MAX_YIELD && INTERACTIVE_RENDERS.get() > 0; waited += YIELD_INTERVAL) {
+                Thread.sleep(YIELD_INTERVAL);
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void seedMetaTile(JobRun run, long[] rectangle) {
+        SeedJob job = run.job;
+        long[] tileIndex = {rectangle[0], rectangle[1], rectangle[4]};
+        ConveyorTile tile = new ConveyorTile(
+                storageBroker,
+                job.getLayerName(),
+                job.getGridSetId(),
+                tileIndex,
+                run.mimeType,
+                job.getParameters(),
+                null,
+                null);
+        tile.setTileLayer(run.layer);
+        run.statistics.started(System.nanoTime());
+        try {
+            run.layer.seedTile(tile, !job.isReseed());
+            run.statistics.metaTiles.increment();
+            run.statistics.tiles.add((rectangle[2] - rectangle[0] + 1) * (rectangle[3] - rectangle[1] + 1));
+        } catch (GeoWebCacheException | IOException | RuntimeException e) {
+            if (stopping) {
+                // interrupted by the shutdown, the meta tile will be seeded again on resume
+                return;
+            }
+            run.statistics.failures.increment();
+            LOGGER.log(Level.WARNING, "Failed to seed the meta tile of " + tile, e);
+            if (run.failures.incrementAndGet() >= MAX_FAILURES) {
+                run.failed = true;
+            }
+        } finally {
+            run.statistics.finished(System.nanoTime());
+        }
+    }
+
+    private Resource getCheckpoint(String jobId) {
+        return resourceLoader.get(Paths.path(CHECKPOINT_DIRECTORY, jobId + ".properties"));
+    }
+
+    private void deleteCheckpoint(String jobId) {
+        Resource resource = getCheckpoint(jobId);
+        if (Resources.exists(resource) && !resource.delete()) {
+            LOGGER.warning("Failed to delete the checkpoint of seeding job " + jobId);
+        }
+    }
+
+    /** Resumes the jobs checkpointed in the data directory */
+    void resume() {
+        Resource directory = resourceLoader.get(CHECKPOINT_DIRECTORY);
+        for (Resource resource : Resources.list(directory, r -> r.name().endsWith(".properties"))) {
+            String id = resource.name().substring(0, resource.name().length() - ".properties".length());
+            try (InputStream in = resource.in()) {
+                Properties properties = new Properties();
+                properties.load(in);
+                submit(SeedJob.fromProperties(id, properties), SeedJob.getCheckpoint(properties));
+            } catch (Exception e) {
+                LOGGER.log(Level.WARNING, "Failed to resume the seeding job " + id + ", dropping it", e);
+                resource.delete();
+            }
+        }
+    }
+
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+        // the layers are only available once the context is fully loaded
+        if (resumed.compareAndSet(false, true)) {
+            resume();
+        }
+    }
+
+    @Override
+    public int getThreadCount() {
+        return threads;
+    }
+
+    @Override
+    public List<String> getJobs() {
+        List<String> jobs = new ArrayList<>();
+        for (JobRun run : runs.values()) {
+            jobs.add(run.job + String.format(" %.1f%%", run.getProgress() * 100));
+        }
+        return jobs;
+    }
+
+    @Override
+    public Map<String, Long> getSeededMetaTiles() {
+        return collect(s -> s.metaTiles.sum());
+    }
+
+    @Override
+    public Map<String, Long> getSeededTiles() {
+        return collect(s -> s.tiles.sum());
+    }
+
+    @Override
+    public Map<String, Long> getSkippedMetaTiles() {
+        return collect(s -> s.skipped.sum());
+    }
+
+    @Override
+    public Map<String, Long> getFailedMetaTiles() {
+        return collect(s -> s.failures.sum());
+    }
+
+    @Override
+    public Map<String, Double> getTilesPerSecond() {
+        long now = System.nanoTime();
+        return collect(s -> {
+            long nanos = s.getBusyNanos(now);
+            return nanos == 0 ? 0d : s.tiles.sum() / (nanos / 1e9);
+        });
+    }
+
+    private <T> Map<String, T> collect(Function<LayerStatistics, T> value) {
+        Map<String, T> result = new TreeMap<>();
+        statistics.forEach((layer, s) -> result.put(layer, value.apply(s)));
+        return result;
+    }
+
+    @Override
+    public String seed(String layerName, String gridSetId, String format, int zoomStart, int zoomStop, boolean reseed) {
+        SeedJob job = new SeedJob(
+                layerName, gridSetId, format, null, zoomStart, zoomStop, null, reseed, SeedJob.Priority.BACKGROUND);
+        try {
+            submit(job);
+        } catch (GeoWebCacheException e) {
+            throw new IllegalArgumentException(e.getMessage());
+        }
+        return job.getId();
+    }
+
+    @Override
+    public boolean cancel(String jobId) {
+        JobRun run = runs.get(jobId);
+        if (run == null) {
+            return false;
+        }
+        synchronized (run) {
+            run.cancelled = true;
+            deleteCheckpoint(jobId);
+        }
+        return true;
+    }
+
+    @Override
+    public void reset() {
+        statistics.keySet().retainAll(runs.values().stream().map(r -> r.job.getLayerName()).toList());
+        long now = System.nanoTime();
+        statistics.values().forEach(s -> {
+            s.metaTiles.reset();
+            s.tiles.reset();
+            s.skipped.reset();
+            s.failures.reset();
+            s.resetBusyNanos(now);
+        });
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        JMXUtils.register(this, OBJECT_NAME);
+    }
+
+    @Override
+    public void destroy() {
+        stopping = true;
+        // the blocks being seeded are still in flight, and will be seeded again on resume
+        for (JobRun run : runs.values()) {
+            run.saveCheckpoint(true);
+        }
+        executor.shutdownNow();
+        JMXUtils.unregister(OBJECT_NAME);
+    }
+}
@@ -0,0 +1,54 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.gwc.seed;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Management interface of the {@link SeedingEngine}, exposed via JMX as {@link SeedingEngine#OBJECT_NAME}. Counters
+ * are kept per tile layer name.
+ */
+public interface SeedingEngineMXBean {
+
+    /** Number of seeding threads */
+    int getThreadCount();
+
+    /** The running jobs, along with their progress */
+    List<String> getJobs();
+
+    /** Number of meta tiles rendered, or found already cached when not reseeding */
+    Map<String, Long> getSeededMetaTiles();
+
+    /** Number of tiles in the seeded meta tiles */
+    Map<String, Long> getSeededTiles();
+
+    /** Number of meta tiles skipped as the layer has no data in them */
+    Map<String, Long> getSkippedMetaTiles();
+
+    /** Number of meta tiles that failed to render */
+    Map<String, Long> getFailedMetaTiles();
+
+    /** Number of tiles seeded per second, over the wall clock time during which the layer was being seeded */
+    Map<String, Double> getTilesPerSecond();
+
+    /**
+     * Starts seeding a layer in the background, with the default parameters
+     *
+     * @return the identifier of the job
+     * @throws IllegalArgumentException if the layer, grid set or format are not found
+     */
+    String seed(String layerName, String gridSetId, String format, int zoomStart, int zoomStop, boolean reseed);
+
+    /**
+     * Cancels a running job, which can't be resumed afterwards
+     *
+     * @return {@code true} if the job was running
+     */
+    boolean cancel(String jobId);
+
+    /** Resets all counters */
+    void reset();
+}
@@ -143,6 +143,7 @@
 import org.geowebcache.storage.DefaultStorageFinder;
 import org.geowebcache.storage.StorageBroker;
 import org.geowebcache.storage.StorageException;
+import org.geowebcache.storage.TileRange;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
@@ -869,6 +870,47 @@ public void testTruncateByBounds() throws Exception {
         verify(tileBreeder, times(expected)).seed(eq(layerName), any(SeedRequest.class));
     }
 
+    @Test
+    public void testTruncateDirtyAreas() throws Exception {
+        String layerName = tileLayer.getName();
+        when(storageBroker.getCachedParameters(layerName))
+                .thenReturn(Collections.singleton(Collections.singletonMap("STYLES", "alternateStyle")));
+        when(tileBreeder.createTasks(any(TileRange.class), eq(GWCTask.TYPE.TRUNCATE), eq(1), eq(false)))
+                .thenAnswer(invocation -> new GWCTask[] {mock(GWCTask.class)});
+
+        // outside of the layer bounds (which are -180,0,0,90)
+        ReferencedEnvelope outside = new ReferencedEnvelope(10, 20, 10, 20, DefaultGeographicCRS.WGS84);
+        assertEquals(0, mediator.truncate(layerName, List.of(new DirtyArea(outside, 10))));
+        verify(tileBreeder, never()).dispatchTasks(any(GWCTask[].class));
+
+        // a point away from the tile edges hits a single tile per level
+        ReferencedEnvelope point = new ReferencedEnvelope(-89.3, -89.3, 44.7, 44.7, DefaultGeographicCRS.WGS84);
+        long tiles = mediator.truncate(layerName, List.of(new DirtyArea(point, 0)));
+
+        long expectedTiles = 0;
+        for (String gridSetId : tileLayer.getGridSubsets()) {
+            GridSubset gridSubset = tileLayer.getGridSubset(gridSetId);
+            expectedTiles += gridSubset.getZoomStop() - gridSubset.getZoomStart() + 1;
+        }
+        assertEquals(expectedTiles, tiles);
+
+        // one task per grid set, format and parameters, covering all the levels
+        ArgumentCaptor<TileRange> captor = ArgumentCaptor.forClass(TileRange.class);
+        int numGridsets = tileLayer.getGridSubsets().size();
+        int numFormats = tileLayer.getMimeTypes().size();
+        verify(tileBreeder, times(numGridsets * numFormats * 2))
+                .createTasks(captor.capture(), eq(GWCTask.TYPE.TRUNCATE), eq(1), eq(false));
+        for (TileRange range : captor.getAllValues()) {
+            GridSubset gridSubset = tileLayer.getGridSubset(range.getGridSetId());
+            assertEquals(gridSubset.getZoomStart(), range.getZoomStart());
+            assertEquals(gridSubset.getZoomStop(), range.getZoomStop());
+            long[] bounds = range.rangeBounds(range.getZoomStop());
+            assertEquals(bounds[0], bounds[2]);
+            assertEquals(bounds[1], bounds[3]);
+        }
+        verify(tileBreeder, times(1)).dispatchTasks(any(GWCTask[].class));
+    }
+
     @Test
     public void testTruncateByBoundsWithDimension() throws Exception {
         TileLayerInfoUtil.updateAcceptAllRegExParameterFilter(tileLayerInfo, "TIME", true);
@@ -6,19 +6,24 @@
 package org.geoserver.gwc;
 
 import static org.geotools.referencing.crs.DefaultGeographicCRS.WGS84;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import com.google.common.collect.ImmutableSet;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -30,13 +35,22 @@
 import org.geoserver.wfs.TransactionEventType;
 import org.geoserver.wfs.request.TransactionRequest;
 import org.geoserver.wfs.request.TransactionResponse;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
 import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
+import org.geotools.data.collection.ListFeatureCollection;
 import org.geotools.data.simple.SimpleFeatureCollection;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
 import org.geotools.geometry.jts.ReferencedEnvelope;
 import org.geotools.geometry.jts.ReferencedEnvelope3D;
 import org.geotools.referencing.CRS;
 import org.junit.Before;
 import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Point;
+import org.mockito.ArgumentCaptor;
 
 public class GWCTransactionListenerTest {
 
@@ -205,8 +219,99 @@ public void testAfterTransaction() throws Exception {
         verify(mediator, times(1)).truncate(eq("theGroup"), eq(expectedEnv));
     }
 
+    @Test
+    public void testAfterTransactionPrecise() throws Exception {
+        listener = new GWCTransactionListener(mediator, true);
+        Map<Object, Object> extendedProperties = new HashMap<>();
+
+        // edits on opposite sides of the world
+        issueInsert(extendedProperties, createFeatures(1, -170, 10));
+        issueInsert(extendedProperties, createFeatures(1, 170, 80));
+
+        TransactionRequest request = mock(TransactionRequest.class);
+        TransactionResponse result = mock(TransactionResponse.class);
+        when(request.getExtendedProperties()).thenReturn(extendedProperties);
+        when(mediator.truncate(anyString(), anyList())).thenReturn(10L);
+        listener.afterTransaction(request, result, true);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<DirtyArea>> captor = ArgumentCaptor.forClass(List.class);
+        verify(mediator, times(1)).truncate(eq("theLayer"), captor.capture());
+        List<DirtyArea> areas = captor.getValue();
+        assertEquals(2, areas.size());
+        assertEquals(new ReferencedEnvelope(-170, -170, 10, 10, WGS84), areas.get(0).bounds());
+        assertEquals(new ReferencedEnvelope(170, 170, 80, 80, WGS84), areas.get(1).bounds());
+        // no catalog, no styles
+        assertEquals(0, areas.get(0).buffer());
+        verify(mediator, times(1)).truncate(eq("theGroup"), anyList());
+        verify(mediator, never()).truncate(anyString(), any(ReferencedEnvelope.class));
+
+        assertEquals(1, listener.getTransactionCount());
+        assertEquals(20, listener.getLastTransactionTileCount());
+        assertEquals(20, listener.getMaxTransactionTileCount());
+        assertEquals(20, listener.getTruncatedTileCount());
+        assertEquals(0, listener.getFallbackCount());
+    }
+
+    @Test
+    public void testAfterTransactionPreciseFallback() throws Exception {
+        listener = new GWCTransactionListener(mediator, true);
+        Map<Object, Object> extendedProperties = new HashMap<>();
+
+        // too many features in a single event
+        SimpleFeatureCollection features = createFeatures(GWCTransactionListener.MAX_PRECISE_FEATURES + 1, 0, 0);
+        issueInsert(extendedProperties, features);
+
+        TransactionRequest request = mock(TransactionRequest.class);
+        TransactionResponse result = mock(TransactionResponse.class);
+        when(request.getExtendedProperties()).thenReturn(extendedProperties);
+        when(mediator.getDeclaredCrs(anyString())).thenReturn(WGS84);
+        listener.afterTransaction(request, result, true);
+
+        verify(mediator, times(1)).truncate(eq("theLayer"), eq(features.getBounds()));
+        verify(mediator, times(1)).truncate(eq("theGroup"), eq(features.getBounds()));
+        verify(mediator, never()).truncate(anyString(), anyList());
+        assertEquals(2, listener.getFallbackCount());
+
+        // too many features across events
+        extendedProperties.clear();
+        int count = GWCTransactionListener.MAX_PRECISE_FEATURES / 2 + 1;
+        issueInsert(extendedProperties, createFeatures(count, 10, 10));
+        issueInsert(extendedProperties, createFeatures(count, 20, 10));
+        listener.afterTransaction(request, result, true);
+
+        ReferencedEnvelope expected = new ReferencedEnvelope(10, 20 + count - 1, 10, 10, WGS84);
+        verify(mediator, times(1)).truncate(eq("theLayer"), eq(expected));
+        verify(mediator, never()).truncate(anyString(), anyList());
+        assertEquals(4, listener.getFallbackCount());
+    }
+
+    /** Creates point features along a parallel, one degree apart */
+    private SimpleFeatureCollection createFeatures(int count, double x, double y) {
+        SimpleFeatureTypeBuilder tb = new SimpleFeatureTypeBuilder();
+        tb.setName("testType");
+        tb.setCRS(WGS84);
+        tb.add("geom", Point.class);
+        SimpleFeatureType type = tb.buildFeatureType();
+
+        GeometryFactory gf = new GeometryFactory();
+        List<SimpleFeature> features = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Point point = gf.createPoint(new Coordinate(x + i, y));
+            features.add(SimpleFeatureBuilder.build(type, new Object[] {point}, null));
+        }
+        return new ListFeatureCollection(type, features);
+    }
+
     /** Issues a fake dataStoreChange insert event that affects two tile layers: "theLayer" and "theGroup" */
     private void issueInsert(Map<Object, Object> extendedProperties, ReferencedEnvelope affectedBounds) {
+        SimpleFeatureCollection affectedFeatures = mock(SimpleFeatureCollection.class);
+        when(affectedFeatures.getBounds()).thenReturn(affectedBounds);
+        issueInsert(extendedProperties, affectedFeatures);
+    }
+
+    /** Issues a fake dataStoreChange insert event that affects two tile layers: "theLayer" and "theGroup" */
+    private void issueInsert(Map<Object, Object> extendedProperties, SimpleFeatureCollection affectedFeatures) {
 
         TransactionType transaction = mock(TransactionType.class);
         when(transaction.getExtendedProperties()).thenReturn(extendedProperties);
@@ -226,8 +331,6 @@ private void issueInsert(Map<Object, Object> extendedProperties, ReferencedEnvel
         when(mediator.getTileLayersByFeatureType(eq(layerName.getNamespaceURI()), eq(layerName.getLocalPart())))
                 .thenReturn(ImmutableSet.of("theLayer", "theGroup"));
 
-        SimpleFeatureCollection affectedFeatures = mock(SimpleFeatureCollection.class);
-        when(affectedFeatures.getBounds()).thenReturn(affectedBounds);
         when(event.getAffectedFeatures()).thenReturn(affectedFeatures);
 
         listener.dataStoreChange(event);
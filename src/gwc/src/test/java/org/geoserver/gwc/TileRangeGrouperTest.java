@@ -0,0 +1,104 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.gwc;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import org.junit.Test;
+
+public class TileRangeGrouperTest {
+
+    @Test
+    public void testMergeOverlappingAndAligned() {
+        List<long[]> rectangles = List.of(
+                new long[] {0, 0, 1, 1, 5},
+                new long[] {1, 1, 2, 1, 5},
+                // aligned and adjacent to the first one
+                new long[] {0, 2, 1, 3, 5},
+                // far away
+                new long[] {10, 10, 10, 10, 5});
+        List<long[]> merged = TileRangeGrouper.merge(rectangles, false);
+
+        assertEquals(3, merged.size());
+        assertArrayEquals(new long[] {0, 0, 1, 3, 5}, merged.get(0));
+        assertArrayEquals(new long[] {1, 1, 2, 1, 5}, merged.get(1));
+        assertArrayEquals(new long[] {10, 10, 10, 10, 5}, merged.get(2));
+        // the input is not modified
+        assertArrayEquals(new long[] {0, 0, 1, 1, 5}, rectangles.get(0));
+    }
+
+    @Test
+    public void testMergeDiagonalNotTight() {
+        // the union of diagonal neighbours would cover two more tiles
+        List<long[]> merged =
+                TileRangeGrouper.merge(List.of(new long[] {0, 0, 0, 0, 3}, new long[] {1, 1, 1, 1, 3}), false);
+        assertEquals(2, merged.size());
+
+        merged = TileRangeGrouper.merge(List.of(new long[] {0, 0, 0, 0, 3}, new long[] {1, 1, 1, 1, 3}), true);
+        assertEquals(1, merged.size());
+        assertArrayEquals(new long[] {0, 0, 1, 1, 3}, merged.get(0));
+    }
+
+    @Test
+    public void testGroupBounded() {
+        List<long[]> rectangles = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            rectangles.add(new long[] {i * 3, 0, i * 3, 0, 10});
+        }
+        assertEquals(100, TileRangeGrouper.group(rectangles, 100).size());
+
+        List<long[]> grouped = TileRangeGrouper.group(rectangles, 16);
+        assertTrue(grouped.size() <= 16);
+        // all the tiles are still covered
+        for (long[] r : rectangles) {
+            assertEquals(
+                    1,
+                    grouped.stream()
+                            .filter(g -> g[0] <= r[0] && r[2] <= g[2] && g[1] <= r[1] && r[3] <= g[3])
+                            .count());
+        }
+    }
+
+    @Test
+    public void testBatch() {
+        SortedMap<Integer, List<long[]>> byLevel = new TreeMap<>();
+        byLevel.put(2, List.of(new long[] {0, 0, 0, 0, 2}));
+        byLevel.put(3, List.of(new long[] {0, 0, 1, 1, 3}, new long[] {6, 6, 6, 6, 3}));
+        byLevel.put(4, List.of(new long[] {0, 0, 3, 3, 4}));
+        byLevel.put(6, List.of(new long[] {0, 0, 1, 1, 6}, new long[] {50, 50, 51, 51, 6}));
+
+        List<long[][]> batches = TileRangeGrouper.batch(byLevel);
+
+        // one batch for levels 2 to 4, one for level 6, and one for the second range of levels 3 and 6 each
+        assertEquals(4, batches.size());
+        long[][] first = batches.get(0);
+        assertEquals(7, first.length);
+        assertNull(first[1]);
+        assertArrayEquals(new long[] {0, 0, 0, 0, 2}, first[2]);
+        assertArrayEquals(new long[] {0, 0, 1, 1, 3}, first[3]);
+        assertArrayEquals(new long[] {0, 0, 3, 3, 4}, first[4]);
+        assertNull(first[5]);
+        assertNull(first[6]);
+        assertArrayEquals(new long[] {0, 0, 1, 1, 6}, batches.get(1)[6]);
+        assertArrayEquals(new long[] {6, 6, 6, 6, 3}, batches.get(2)[3]);
+        assertNull(batches.get(2)[6]);
+        assertArrayEquals(new long[] {50, 50, 51, 51, 6}, batches.get(3)[6]);
+
+        assertEquals(0, TileRangeGrouper.batch(new TreeMap<>()).size());
+    }
+
+    @Test
+    public void testCount() {
+        assertEquals(1, TileRangeGrouper.count(new long[] {3, 3, 3, 3, 1}));
+        assertEquals(12, TileRangeGrouper.count(new long[] {0, 0, 3, 2, 1}));
+    }
+}
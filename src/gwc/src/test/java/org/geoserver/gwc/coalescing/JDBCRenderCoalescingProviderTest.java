@@ -0,0 +1,101 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.gwc.coalescing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.Before;
+import org.junit.Test;
+
+public class JDBCRenderCoalescingProviderTest {
+
+    static final String KEY = MetaTileCoalescerTest.KEY;
+
+    JdbcDataSource dataSource;
+
+    JDBCRenderCoalescingProvider provider;
+
+    @Before
+    public void setUp() {
+        // a private database for each test, kept until the JVM exits
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:coalescing-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        provider = createProvider();
+    }
+
+    private JDBCRenderCoalescingProvider createProvider() {
+        JDBCRenderCoalescingProvider provider = new JDBCRenderCoalescingProvider();
+        provider.setDataSource(dataSource);
+        return provider;
+    }
+
+    private int countRegistrations() throws SQLException {
+        try (Connection cx = dataSource.getConnection();
+                Statement st = cx.createStatement();
+                ResultSet rs = st.executeQuery("SELECT COUNT(*) FROM gwc_metatile_render")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    @Test
+    public void testCreateTable() throws Exception {
+        assertFalse(provider.isRendering(KEY));
+        assertEquals(0, countRegistrations());
+
+        // another node finds the table already there
+        assertTrue(provider.start(KEY, "first", 60000));
+        JDBCRenderCoalescingProvider other = createProvider();
+        assertTrue(other.isRendering(KEY));
+        assertEquals(1, countRegistrations());
+    }
+
+    @Test
+    public void testStartWhileRendering() throws Exception {
+        assertTrue(provider.start(KEY, "first", 60000));
+        // the primary key violation tells the meta tile is being rendered
+        assertFalse(provider.start(KEY, "second", 60000));
+        assertFalse(createProvider().start(KEY, "third", 60000));
+        assertTrue(provider.isRendering(KEY));
+        // other meta tiles are not affected
+        assertTrue(provider.start(KEY + "_other", "second", 60000));
+        assertEquals(2, countRegistrations());
+    }
+
+    @Test
+    public void testExpiredReplaced() throws Exception {
+        assertTrue(provider.start(KEY, "expired", 1));
+        Thread.sleep(10);
+        assertFalse(provider.isRendering(KEY));
+
+        // the expired registration does not block a new render
+        assertTrue(provider.start(KEY, "second", 60000));
+        assertTrue(provider.isRendering(KEY));
+        // and finishing it late leaves the new one alone
+        provider.finish(KEY, "expired");
+        assertTrue(provider.isRendering(KEY));
+        assertEquals(1, countRegistrations());
+    }
+
+    @Test
+    public void testFinishByOwner() throws Exception {
+        assertTrue(provider.start(KEY, "first", 60000));
+        provider.finish(KEY, "second");
+        assertTrue(provider.isRendering(KEY));
+
+        provider.finish(KEY, "first");
+        assertFalse(provider.isRendering(KEY));
+        assertEquals(0, countRegistrations());
+        assertTrue(provider.start(KEY, "second", 60000));
+    }
+}
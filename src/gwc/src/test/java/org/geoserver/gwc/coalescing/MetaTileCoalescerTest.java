@@ -0,0 +1,112 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.gwc.coalescing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import org.junit.Test;
+
+public class MetaTileCoalescerTest {
+
+    static final String KEY = "gwc_metatile_layer_EPSG:4326_0_0_5.png";
+
+    MemoryRenderCoalescingProvider provider = new MemoryRenderCoalescingProvider();
+
+    @Test
+    public void testStartAndFinish() throws Exception {
+        MetaTileCoalescer coalescer = new MetaTileCoalescer(provider, 60000);
+        assertTrue(coalescer.isEnabled());
+
+        MetaTileCoalescer.Render render = coalescer.start(KEY);
+        assertNotNull(render);
+        assertTrue(provider.isRendering(KEY));
+        // the meta tile is being rendered, and other meta tiles are not affected
+        assertNull(coalescer.start(KEY));
+        assertNotNull(coalescer.start(KEY + "_other"));
+
+        render.finish();
+        assertFalse(provider.isRendering(KEY));
+        assertNotNull(coalescer.start(KEY));
+        assertEquals(3, coalescer.getRenderCount());
+    }
+
+    @Test
+    public void testExpiry() throws Exception {
+        MetaTileCoalescer coalescer = new MetaTileCoalescer(provider, 50);
+        MetaTileCoalescer.Render expired = coalescer.start(KEY);
+        assertNotNull(expired);
+        Thread.sleep(100);
+
+        // the expired render does not block a new one, and finishing it late leaves the new one alone
+        assertFalse(provider.isRendering(KEY));
+        assertTrue(provider.start(KEY, "other", 60000));
+        expired.finish();
+        assertTrue(provider.isRendering(KEY));
+    }
+
+    @Test
+    public void testAwait() throws Exception {
+        MetaTileCoalescer coalescer = new MetaTileCoalescer(provider, 60000);
+        MetaTileCoalescer.Render render = coalescer.start(KEY);
+        assertNotNull(render);
+
+        CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(() -> coalescer.await(KEY));
+        Thread.sleep(100);
+        assertFalse(waiter.isDone());
+        render.finish();
+        assertTrue(waiter.get());
+
+        coalescer.recordWait(true);
+        coalescer.recordWait(false);
+        assertEquals(1, coalescer.getCoalescedCount());
+        assertEquals(1, coalescer.getFallbackCount());
+        assertEquals(0, coalescer.getTimeoutCount());
+    }
+
+    @Test
+    public void testAwaitTimeout() throws Exception {
+        MetaTileCoalescer coalescer = new MetaTileCoalescer(provider, 100);
+        // rendered elsewhere, with a longer timeout
+        assertTrue(provider.start(KEY, "other", 60000));
+
+        assertNull(coalescer.start(KEY));
+        assertFalse(coalescer.await(KEY));
+        assertEquals(1, coalescer.getTimeoutCount());
+    }
+
+    @Test
+    public void testProviderFailure() throws Exception {
+        RenderCoalescingProvider failing = new RenderCoalescingProvider() {
+            @Override
+            public boolean start(String key, String owner, long timeout) throws IOException {
+                throw new IOException("Database is down");
+            }
+
+            @Override
+            public boolean isRendering(String key) throws IOException {
+                throw new IOException("Database is down");
+            }
+
+            @Override
+            public void finish(String key, String owner) throws IOException {
+                throw new IOException("Database is down");
+            }
+        };
+        MetaTileCoalescer coalescer = new MetaTileCoalescer(failing, 60000);
+
+        // the meta tile gets rendered without coordination
+        MetaTileCoalescer.Render render = coalescer.start(KEY);
+        assertNotNull(render);
+        render.finish();
+        assertFalse(coalescer.await(KEY));
+        assertEquals(2, coalescer.getErrorCount());
+    }
+}
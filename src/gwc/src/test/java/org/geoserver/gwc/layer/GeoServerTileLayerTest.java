@@ -27,6 +27,7 @@
 import static org.mockito.ArgumentMatchers.isA;
 import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
@@ -53,10 +54,14 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -92,11 +97,15 @@
 import org.geoserver.catalog.impl.WorkspaceInfoImpl;
 import org.geoserver.gwc.GWC;
 import org.geoserver.gwc.GWCSynchEnv;
+import org.geoserver.gwc.coalescing.MemoryRenderCoalescingProvider;
+import org.geoserver.gwc.coalescing.MetaTileCoalescer;
+import org.geoserver.gwc.coalescing.RenderCoalescingProvider;
 import org.geoserver.gwc.config.GWCConfig;
 import org.geoserver.gwc.dispatch.GwcServiceDispatcherCallback;
 import org.geoserver.ows.Dispatcher;
 import org.geoserver.ows.LocalWorkspace;
 import org.geoserver.ows.Request;
+import org.geoserver.platform.GeoServerExtensionsHelper;
 import org.geoserver.util.DimensionWarning;
 import org.geoserver.util.DimensionWarning.WarningType;
 import org.geoserver.util.HTTPWarningAppender;
@@ -174,6 +183,7 @@ public class GeoServerTileLayerTest {
     public void tearDown() throws Exception {
         GWC.set(null, null);
         Dispatcher.REQUEST.remove();
+        GeoServerExtensionsHelper.clear();
     }
 
     @Before
@@ -1031,6 +1041,57 @@ public void testGetTileWithMetaTilingExecutor() throws Exception {
         verify(result.getStorageBroker(), times(16)).put(Mockito.any());
     }
 
+    @Test
+    public void testGetTileEncodesConveyorTileAfterQueueingTheOthers() throws Exception {
+        GetTileMockTester tester = new GetTileMockTester();
+        GeoServerTileLayer tileLayer = tester.prepareTileLayer();
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        AtomicInteger submitted = new AtomicInteger();
+        Executor executor = task -> {
+            submitted.incrementAndGet();
+            pool.execute(task);
+        };
+        when(mockGWC.getMetaTilingExecutor()).thenReturn(executor);
+
+        // Ensure enough valid coverage to support metatiling
+        resource.setLatLonBoundingBox(new ReferencedEnvelope(-180, 180, -90, 90, WGS84));
+        resource.setNativeBoundingBox(new ReferencedEnvelope(-180, 180, -90, 90, WGS84));
+
+        int zoomLevel = 4;
+        long[] coverage = tileLayer.getGridSubset("EPSG:4326").getCoverage(zoomLevel);
+
+        long[] tileIndex = {coverage[0], coverage[1], zoomLevel};
+        ConveyorTile conveyorTile = tester.prepareConveyorTile(tileLayer, tileIndex);
+        Dispatcher.REQUEST.set(new Request());
+
+        // track how many tiles were handed to the executor when the conveyor tile gets encoded
+        Thread requestThread = Thread.currentThread();
+        AtomicInteger submittedBeforeConveyor = new AtomicInteger(-1);
+        RenderedImageMapResponse encoder = mock(RenderedImageMapResponse.class);
+        doAnswer(invocation -> {
+                    if (Thread.currentThread() == requestThread) {
+                        submittedBeforeConveyor.set(submitted.get());
+                    }
+                    return null;
+                })
+                .when(encoder)
+                .formatImageOutputStream(any(), any(), any());
+        when(mockGWC.getResponseEncoder(eq(conveyorTile.getMimeType()), any())).thenReturn(encoder);
+
+        GeoServerTileLayer.WEB_MAP.set(tester.prepareFakeMap(1024, 1024));
+        ConveyorTile result = tileLayer.getTile(conveyorTile);
+        assertNotNull(result.getBlob());
+
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(2, TimeUnit.SECONDS));
+
+        // the 15 other tiles were already queued, and the encoder was looked up once for the whole meta tile
+        assertEquals(15, submittedBeforeConveyor.get());
+        verify(mockGWC, times(1)).getResponseEncoder(eq(result.getMimeType()), isA(RenderedImageMap.class));
+        verify(result.getStorageBroker(), times(16)).put(Mockito.any());
+    }
+
     /**
      * If there is a metatiling executor service configured, but a conveyor tile comes in that is missing the "servlet
      * request" object, this is not a user-initiated request and is likely a seed attempt, and therefore it should
@@ -1101,6 +1162,98 @@ public void testGetTileWithNullMetaTilingExecutor() throws Exception {
         verify(result.getStorageBroker(), times(16)).put(Mockito.any());
     }
 
+    @Test
+    public void testGetTileCoalescedRender() throws Exception {
+        TestCoalescingProvider provider = new TestCoalescingProvider();
+        MetaTileCoalescer coalescer = enableCoalescing(provider);
+        GetTileMockTester tester = new GetTileMockTester();
+        GeoServerTileLayer tileLayer = tester.prepareTileLayer();
+        ConveyorTile conveyorTile = tester.prepareConveyorTile(tileLayer, new long[] {0, 0, 0});
+        GeoServerTileLayer.WEB_MAP.set(tester.prepareFakeMap());
+        ConveyorTile result = tileLayer.getTile(conveyorTile);
+        tester.performAssertions(result);
+
+        // the render got registered, and unregistered once the tiles were stored
+        assertEquals(1, provider.keys.size());
+        assertFalse(provider.isRendering(provider.keys.get(0)));
+        assertEquals(1, coalescer.getRenderCount());
+    }
+
+    @Test
+    public void testGetTileCoalescedWait() throws Exception {
+        // another node is rendering the meta tile, and stores the tiles before completing
+        TestCoalescingProvider provider = new TestCoalescingProvider();
+        provider.otherNode = true;
+        MetaTileCoalescer coalescer = enableCoalescing(provider);
+        GetTileMockTester tester = new GetTileMockTester();
+        GeoServerTileLayer tileLayer = tester.prepareTileLayer();
+        ConveyorTile conveyorTile = tester.prepareConveyorTile(tileLayer, new long[] {0, 0, 0});
+        StorageBroker storageBroker = conveyorTile.getStorageBroker();
+        when(storageBroker.get(any())).thenReturn(false, false, true);
+        ConveyorTile result = tileLayer.getTile(conveyorTile);
+
+        // the tile is read from the store once the other render completed, without rendering it again
+        assertEquals(200, result.getStatus());
+        verify(storageBroker, times(3)).get(any());
+        verify(storageBroker, never()).put(any());
+        verify(mockGWC, never()).dispatchGetMap(any(), any());
+        assertEquals(1, coalescer.getCoalescedCount());
+        assertEquals(0, coalescer.getFallbackCount());
+        assertEquals(0, coalescer.getRenderCount());
+    }
+
+    @Test
+    public void testGetTileCoalescedRenderFailure() throws Exception {
+        TestCoalescingProvider provider = new TestCoalescingProvider();
+        enableCoalescing(provider);
+        GetTileMockTester tester = new GetTileMockTester();
+        GeoServerTileLayer tileLayer = tester.prepareTileLayer();
+        ConveyorTile conveyorTile = tester.prepareConveyorTile(tileLayer, new long[] {0, 0, 0});
+        // no map gets rendered
+        GeoServerTileLayer.WEB_MAP.remove();
+        try {
+            tileLayer.getTile(conveyorTile);
+            fail("Expected the render to fail");
+        } catch (GeoWebCacheException e) {
+            assertTrue(e.getMessage().contains("Problem communicating with GeoServer"));
+        }
+
+        // the registration does not block the other nodes until it expires
+        assertEquals(1, provider.keys.size());
+        assertFalse(provider.isRendering(provider.keys.get(0)));
+    }
+
+    /** Sets up the meta tile coalescer lookup, using the given provider */
+    private MetaTileCoalescer enableCoalescing(RenderCoalescingProvider provider) {
+        GeoServerExtensionsHelper.singleton("testCoalescingProvider", provider, RenderCoalescingProvider.class);
+        GeoServerExtensionsHelper.property(MetaTileCoalescer.PROVIDER_PROPERTY, "testCoalescingProvider");
+        MetaTileCoalescer coalescer = new MetaTileCoalescer();
+        GeoServerExtensionsHelper.singleton("metaTileCoalescer", coalescer, MetaTileCoalescer.class);
+        assertTrue(coalescer.isEnabled());
+        return coalescer;
+    }
+
+    /** Records the meta tiles being started, and can act as if another node was rendering them */
+    static class TestCoalescingProvider extends MemoryRenderCoalescingProvider {
+
+        final List<String> keys = new CopyOnWriteArrayList<>();
+
+        volatile boolean otherNode;
+
+        @Override
+        public boolean start(String key, String owner, long timeout) {
+            keys.add(key);
+            if (otherNode) {
+                super.start(key, "other", timeout);
+                // the other node completes its render a little later
+                CompletableFuture.runAsync(
+                        () -> finish(key, "other"), CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS));
+                return false;
+            }
+            return super.start(key, owner, timeout);
+        }
+    }
+
     /** Test expire web cache without any setup of LayerInfo resource. */
     @Test
     public void testExpireClientsDisabledLayer() {
@@ -0,0 +1,258 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.gwc.seed;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.geoserver.gwc.GWC;
+import org.geoserver.platform.GeoServerResourceLoader;
+import org.geoserver.platform.resource.Paths;
+import org.geoserver.platform.resource.Resource;
+import org.geoserver.platform.resource.Resources;
+import org.geowebcache.conveyor.ConveyorTile;
+import org.geowebcache.grid.BoundingBox;
+import org.geowebcache.grid.Grid;
+import org.geowebcache.grid.GridSet;
+import org.geowebcache.grid.GridSubset;
+import org.geowebcache.layer.TileLayer;
+import org.geowebcache.storage.StorageBroker;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class SeedingEngineTest {
+
+    /** The coverages of the zoom levels, the last one has 20x10 meta tiles, in 3x2 blocks */
+    static final long[][] COVERAGES = {
+        {0, 0, 1, 0, 0},
+        {0, 0, 3, 1, 1},
+        {0, 0, 7, 3, 2},
+        {0, 0, 39, 19, 3}
+    };
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private GWC gwc;
+
+    private GeoServerResourceLoader resourceLoader;
+
+    private GridSubset gridSubset;
+
+    private DataFootprint footprint = DataFootprint.ANY;
+
+    private CountDownLatch started = new CountDownLatch(1);
+
+    private CountDownLatch release = new CountDownLatch(0);
+
+    private List<String> seeded = Collections.synchronizedList(new ArrayList<>());
+
+    private SeedingEngine engine;
+
+    @Before
+    public void setUp() throws Exception {
+        gwc = mock(GWC.class);
+        resourceLoader = new GeoServerResourceLoader(tempFolder.getRoot());
+
+        GridSet gridSet = mock(GridSet.class);
+        when(gridSet.getGrid(anyInt())).thenReturn(mock(Grid.class));
+        gridSubset = mock(GridSubset.class);
+        when(gridSubset.getGridSet()).thenReturn(gridSet);
+        when(gridSubset.getZoomStart()).thenReturn(0);
+        when(gridSubset.getZoomStop()).thenReturn(COVERAGES.length - 1);
+        when(gridSubset.getCoverage(anyInt())).then(invocation -> COVERAGES[invocation.getArgument(0, Integer.class)]);
+        // one unit per tile
+        when(gridSubset.boundsFromRectangle(any())).then(invocation -> {
+            long[] r = invocation.getArgument(0);
+            return new BoundingBox(r[0], r[1], r[2] + 1, r[3] + 1);
+        });
+        mockLayer("background");
+        mockLayer("interactive");
+    }
+
+    private void mockLayer(String name) throws Exception {
+        TileLayer layer = mock(TileLayer.class);
+        when(layer.getGridSubset("grid")).thenReturn(gridSubset);
+        when(layer.getMetaTilingFactors()).thenReturn(new int[] {2, 2});
+        doAnswer(invocation -> {
+                    started.countDown();
+                    release.await();
+                    long[] index = invocation.getArgument(0, ConveyorTile.class).getTileIndex();
+                    seeded.add(name + " " + index[0] + "," + index[1] + "," + index[2]);
+                    return null;
+                })
+                .when(layer)
+                .seedTile(any(), anyBoolean());
+        when(gwc.getTileLayerByName(name)).thenReturn(layer);
+    }
+
+    private SeedingEngine createEngine(int threads) {
+        engine = new SeedingEngine(gwc, mock(StorageBroker.class), resourceLoader, threads) {
+            @Override
+            protected DataFootprint getFootprint(TileLayer layer) {
+                return footprint;
+            }
+        };
+        return engine;
+    }
+
+    @After
+    public void tearDown() {
+        if (engine != null) {
+            engine.destroy();
+        }
+    }
+
+    private static SeedJob job(String layer, int zoomStart, int zoomStop, SeedJob.Priority priority) {
+        return new SeedJob(layer, "grid", "image/png", null, zoomStart, zoomStop, null, false, priority);
+    }
+
+    private void awaitJobs() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!engine.runs.isEmpty()) {
+            assertTrue("Seeding did not complete in time", System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private Resource getCheckpoint(SeedJob job) {
+        return resourceLoader.get(Paths.path(SeedingEngine.CHECKPOINT_DIRECTORY, job.getId() + ".properties"));
+    }
+
+    @Test
+    public void testSeedAll() throws Exception {
+        createEngine(4);
+        SeedJob job = job("background", 0, 3, SeedJob.Priority.BACKGROUND);
+        engine.submit(job);
+        awaitJobs();
+
+        assertEquals(SeedJob.Status.DONE, job.getStatus());
+        // 1 + 2 + 8 + 200 meta tiles, each seeded once
+        assertEquals(211, seeded.size());
+        assertEquals(211, seeded.stream().distinct().count());
+        assertTrue(seeded.contains("background 38,18,3"));
+        assertEquals(Long.valueOf(211), engine.getSeededMetaTiles().get("background"));
+        assertEquals(Long.valueOf(2 + 8 + 32 + 800), engine.getSeededTiles().get("background"));
+        assertEquals(Long.valueOf(0), engine.getSkippedMetaTiles().get("background"));
+        assertFalse(Resources.exists(getCheckpoint(job)));
+
+        engine.reset();
+        assertEquals(0, engine.getSeededMetaTiles().size());
+    }
+
+    @Test
+    public void testSkipEmpty() throws Exception {
+        // data in the first two columns of meta tiles only
+        footprint = area -> area.getMinX() < 4;
+        createEngine(2);
+        SeedJob job = job("background", 3, 3, SeedJob.Priority.BACKGROUND);
+        engine.submit(job);
+        awaitJobs();
+
+        assertEquals(20, seeded.size());
+        assertTrue(seeded.stream().allMatch(s -> s.startsWith("background 0,") || s.startsWith("background 2,")));
+        assertEquals(Long.valueOf(20), engine.getSeededMetaTiles().get("background"));
+        assertEquals(Long.valueOf(180), engine.getSkippedMetaTiles().get("background"));
+        assertEquals(Long.valueOf(80), engine.getSeededTiles().get("background"));
+    }
+
+    @Test
+    public void testResume() throws Exception {
+        SeedJob job = job("background", 3, 3, SeedJob.Priority.BACKGROUND);
+        // the first row of blocks, 8 + 8 + 4 columns of 8 meta tiles, is done
+        try (OutputStream out = getCheckpoint(job).out()) {
+            job.toProperties(3).store(out, null);
+        }
+        createEngine(2);
+        engine.resume();
+        awaitJobs();
+
+        assertEquals(40, seeded.size());
+        assertTrue(seeded.stream().allMatch(s -> Integer.parseInt(s.split("[ ,]")[2]) >= 16));
+        assertFalse(Resources.exists(getCheckpoint(job)));
+    }
+
+    @Test
+    public void testInteractiveFirst() throws Exception {
+        release = new CountDownLatch(1);
+        createEngine(1);
+        engine.submit(job("background", 3, 3, SeedJob.Priority.BACKGROUND));
+        // the single thread is now seeding the first block of the background job
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        SeedJob interactive = job("interactive", 1, 1, SeedJob.Priority.INTERACTIVE);
+        engine.submit(interactive);
+        release.countDown();
+        awaitJobs();
+
+        // the block being seeded is completed, then the interactive job jumps ahead of the rest
+        assertEquals(202, seeded.size());
+        assertTrue(seeded.subList(0, 64).stream().allMatch(s -> s.startsWith("background")));
+        assertEquals(List.of("interactive 0,0,1", "interactive 2,0,1"), seeded.subList(64, 66));
+        assertEquals(SeedJob.Status.DONE, interactive.getStatus());
+    }
+
+    @Test
+    public void testBusyTime() {
+        SeedingEngine.LayerStatistics statistics = new SeedingEngine.LayerStatistics();
+        // two threads seeding in parallel count for the wall clock time, not the sum of their times
+        statistics.started(0);
+        statistics.started(10);
+        statistics.finished(20);
+        assertEquals(25, statistics.getBusyNanos(25));
+        statistics.finished(30);
+        assertEquals(30, statistics.getBusyNanos(30));
+
+        // the idle time between jobs is not counted
+        statistics.started(100);
+        statistics.finished(120);
+        assertEquals(50, statistics.getBusyNanos(500));
+
+        statistics.resetBusyNanos(500);
+        assertEquals(0, statistics.getBusyNanos(600));
+    }
+
+    @Test
+    public void testCheckpointRoundTrip() {
+        SeedJob job = new SeedJob(
+                "layer",
+                "grid",
+                "image/png",
+                Collections.singletonMap("STYLES", "polygon"),
+                2,
+                5,
+                new BoundingBox(-10, -20, 10, 20),
+                true,
+                SeedJob.Priority.INTERACTIVE);
+        SeedJob copy = SeedJob.fromProperties(job.getId(), job.toProperties(42));
+
+        assertEquals(job.getId(), copy.getId());
+        assertEquals("layer", copy.getLayerName());
+        assertEquals("grid", copy.getGridSetId());
+        assertEquals("image/png", copy.getFormat());
+        assertEquals("polygon", copy.getParameters().get("STYLES"));
+        assertEquals(2, copy.getZoomStart());
+        assertEquals(5, copy.getZoomStop());
+        assertEquals(new BoundingBox(-10, -20, 10, 20), copy.getBounds());
+        assertTrue(copy.isReseed());
+        assertEquals(SeedJob.Priority.INTERACTIVE, copy.getPriority());
+        assertEquals(42, SeedJob.getCheckpoint(job.toProperties(42)));
+    }
+}
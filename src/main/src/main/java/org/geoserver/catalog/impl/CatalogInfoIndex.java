@@ -0,0 +1,101 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.catalog.impl;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import org.geoserver.catalog.CatalogInfo;
+
+/**
+ * A multi-valued secondary index for {@link CatalogInfoLookup}, mapping the ids of referenced objects (e.g., the
+ * workspace of a store) to the {@link CatalogInfo} objects referencing them.
+ *
+ * <p>Reads are lock-free, each index entry being a concurrent map of values keyed by their own id, so that lookups
+ * don't rely on the {@code equals}/{@code hashCode} of the mutable values. Mutations are expected to be serialized by
+ * the owning {@link CatalogInfoLookup}.
+ *
+ * <p>The index can answer lookups for a set of property paths, e.g. both {@code defaultStyle.id} and {@code styles.id}
+ * in the case of layers. The values returned for a key are hence a superset of the ones matching a specific property,
+ * callers are supposed to post-filter them.
+ *
+ * @param <T>
+ */
+class CatalogInfoIndex<T extends CatalogInfo> {
+
+    private final Set<String> properties;
+
+    private final Function<T, Collection<String>> keysMapper;
+
+    private final ConcurrentHashMap<String, Map<String, T>> index = new ConcurrentHashMap<>();
+
+    /**
+     * @param properties the property paths this index can be used to look up, e.g. {@code workspace.id}
+     * @param keysMapper extracts the index keys from a value, should not return null keys
+     */
+    public CatalogInfoIndex(Set<String> properties, Function<T, Collection<String>> keysMapper) {
+        this.properties = properties;
+        this.keysMapper = keysMapper;
+    }
+
+    /** Returns the property paths this index can look up */
+    public Set<String> getProperties() {
+        return properties;
+    }
+
+    public void add(T value) {
+        add(value, keysMapper.apply(value));
+    }
+
+    public void remove(T value) {
+        remove(value, keysMapper.apply(value));
+    }
+
+    /**
+     * Moves the value to the new keys, if they changed
+     *
+     * @param actualValue the value being modified, still in its original state
+     * @param proxiedValue the {@link ModificationProxy} holding the new state of the value
+     */
+    public void update(T actualValue, T proxiedValue) {
+        Collection<String> oldKeys = keysMapper.apply(actualValue);
+        Collection<String> newKeys = keysMapper.apply(proxiedValue);
+        if (!oldKeys.equals(newKeys)) {
+            remove(actualValue, oldKeys);
+            add(actualValue, newKeys);
+        }
+    }
+
+    /** Returns the values associated to the given key, or an empty collection if there is none */
+    public Collection<T> get(String key) {
+        Map<String, T> values = index.get(key);
+        if (values == null) {
+            return List.of();
+        }
+        return values.values();
+    }
+
+    public void clear() {
+        index.clear();
+    }
+
+    private void add(T value, Collection<String> keys) {
+        for (String key : keys) {
+            index.computeIfAbsent(key, k -> new ConcurrentHashMap<>()).put(value.getId(), value);
+        }
+    }
+
+    private void remove(T value, Collection<String> keys) {
+        for (String key : keys) {
+            index.computeIfPresent(key, (k, values) -> {
+                values.remove(value.getId());
+                return values.isEmpty() ? null : values;
+            });
+        }
+    }
+}
@@ -30,6 +30,9 @@
  * A support index for {@link DefaultCatalogFacade}, can perform fast lookups of {@link CatalogInfo} objects by id or by
  * "name", where the name is defined by a a user provided mapping function.
  *
+ * <p>Optional {@link CatalogInfoIndex secondary indexes} can be provided to look up objects by the id of the objects
+ * they reference (e.g., stores by workspace), see {@link #listByIndex(Class, String, String, Predicate)}
+ *
  * <p>The lookups by predicate have been tested and optimized for performance, in particular the current for loops
  * turned out to be significantly faster than building and returning streams
  *
@@ -41,6 +44,7 @@
     ConcurrentHashMap<Class<T>, Map<String, T>> idMultiMap = new ConcurrentHashMap<>();
     ConcurrentHashMap<Class<T>, Map<Name, T>> nameMultiMap = new ConcurrentHashMap<>();
     Function<T, Name> nameMapper;
+    List<CatalogInfoIndex<T>> indexes;
     static final Predicate<?> TRUE = x -> true;
 
     /**
@@ -63,7 +67,12 @@ public static <T> Predicate<T> ptrue() {
     }
 
     public CatalogInfoLookup(Function<T, Name> nameMapper) {
+        this(nameMapper, List.of());
+    }
+
+    public CatalogInfoLookup(Function<T, Name> nameMapper, List<CatalogInfoIndex<T>> indexes) {
         this.nameMapper = nameMapper;
+        this.indexes = indexes;
     }
 
     @SuppressWarnings("unchecked")
@@ -107,7 +116,12 @@ public T add(T value) {
         writeLock.lock();
         try {
             nameMap.put(name, value);
-            return idMap.put(value.getId(), value);
+            T previous = idMap.put(value.getId(), value);
+            for (CatalogInfoIndex<T> index : indexes) {
+                if (previous != null) index.remove(previous);
+                index.add(value);
+            }
+            return previous;
         } finally {
             writeLock.unlock();
         }
@@ -129,13 +143,19 @@ public T remove(T value) {
         writeLock.lock();
         try {
             nameMap.remove(name);
+            for (CatalogInfoIndex<T> index : indexes) {
+                index.remove(value);
+            }
             return idMap.remove(value.getId());
         } finally {
             writeLock.unlock();
         }
     }
 
-    /** Updates the value in the name map. The new value must be a ModificationProxy */
+    /**
+     * Updates the value in the name map and in the secondary indexes. The new value must be a ModificationProxy, not
+     * committed yet
+     */
     @SuppressWarnings("unchecked")
     public void update(T proxiedValue) {
         ModificationProxy h = (ModificationProxy) Proxy.getInvocationHandler(proxiedValue);
@@ -153,6 +173,16 @@ public void update(T proxiedValue) {
                 writeLock.unlock();
             }
         }
+        if (!indexes.isEmpty()) {
+            writeLock.lock();
+            try {
+                for (CatalogInfoIndex<T> index : indexes) {
+                    index.update(actualValue, proxiedValue);
+                }
+            } finally {
+                writeLock.unlock();
+            }
+        }
     }
 
     public void clear() {
@@ -160,6 +190,9 @@ public void clear() {
         try {
             idMultiMap.clear();
             nameMultiMap.clear();
+            for (CatalogInfoIndex<T> index : indexes) {
+                index.clear();
+            }
         } finally {
             writeLock.unlock();
         }
@@ -194,6 +227,75 @@ <U extends CatalogInfo> List<U> list(Class<U> clazz, Predicate<U> predicate) {
         return result;
     }
 
+    /** Returns true if there is a secondary index that can look up values by the given property */
+    public boolean isIndexed(String property) {
+        return getIndex(property) != null;
+    }
+
+    private CatalogInfoIndex<T> getIndex(String property) {
+        for (CatalogInfoIndex<T> index : indexes) {
+            if (index.getProperties().contains(property)) {
+                return index;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Looks up objects by class and matching predicate, using the secondary index for the given property to locate
+     * the candidates instead of scanning all values. The index only narrows down the candidates, the predicate is
+     * still evaluated on them and should include the property condition.
+     *
+     * <p>Results are returned in the same order as {@link #list(Class, Predicate)}.
+     *
+     * @param property the indexed property path, e.g. {@code workspace.id}
+     * @param key the value of the property (an object identifier)
+     * @return the matching objects, or {@code null} if there is no index for the given property
+     */
+    <U extends CatalogInfo> List<U> listByIndex(Class<U> clazz, String property, String key, Predicate<U> predicate) {
+        CatalogInfoIndex<T> index = getIndex(property);
+        if (index == null) {
+            return null;
+        }
+        if (key == null) {
+            // objects not added to the catalog yet, cannot be referenced by the indexed ones
+            return list(clazz, predicate);
+        }
+        Collection<T> candidates = index.get(key);
+        List<U> result = List.of(); // replaced by ArrayList if there are matches
+        if (candidates.isEmpty()) {
+            return result;
+        }
+        for (Class<T> type : nameMultiMap.keySet()) {
+            if (clazz.isAssignableFrom(type)) {
+                int start = result.size();
+                for (T v : candidates) {
+                    if (v.getClass() == type) {
+                        final U u = clazz.cast(v);
+                        if (predicate == TRUE || predicate.test(u)) {
+                            if (result.isEmpty()) {
+                                result = new ArrayList<>();
+                            }
+                            result.add(u);
+                        }
+                    }
+                }
+                // the name map is sorted, do the same here to get the same order as list()
+                if (result.size() - start > 1) {
+                    result.subList(start, result.size()).sort(this::compareNames);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private int compareNames(CatalogInfo v1, CatalogInfo v2) {
+        Comparable<Name> n1 = (Comparable<Name>) nameMapper.apply((T) v1);
+        return n1.compareTo(nameMapper.apply((T) v2));
+    }
+
     /** Looks up a CatalogInfo by class and identifier */
     public <U extends CatalogInfo> U findById(String id, Class<U> clazz) {
         for (Class<T> key : idMultiMap.keySet()) {
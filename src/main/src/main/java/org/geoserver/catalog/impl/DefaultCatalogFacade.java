@@ -13,9 +13,11 @@
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Function;
@@ -39,7 +41,12 @@
 import org.geoserver.catalog.util.CloseableIteratorAdapter;
 import org.geoserver.ows.util.OwsUtils;
 import org.geotools.api.feature.type.Name;
+import org.geotools.api.filter.And;
 import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.MultiValuedFilter.MatchAction;
+import org.geotools.api.filter.PropertyIsEqualTo;
+import org.geotools.api.filter.expression.Literal;
+import org.geotools.api.filter.expression.PropertyName;
 import org.geotools.api.filter.sort.SortBy;
 import org.geotools.api.filter.sort.SortOrder;
 import org.geotools.feature.NameImpl;
@@ -77,10 +84,61 @@ public class DefaultCatalogFacade extends AbstractCatalogFacade implements Catal
     static final Function<StyleInfo, Name> STYLE_NAME_MAPPER =
             s -> new NameImpl(s.getWorkspace() != null ? s.getWorkspace().getId() : null, s.getName());
 
+    /** Property paths of the secondary indexes, as used in {@link Filter} property names */
+    static final String WORKSPACE_ID = "workspace.id";
+
+    static final String STORE_ID = "store.id";
+
+    static final String RESOURCE_ID = "resource.id";
+
+    static final String DEFAULT_STYLE_ID = "defaultStyle.id";
+
+    static final String STYLES_ID = "styles.id";
+
+    /** Creates the store lookup, indexing stores by workspace */
+    static CatalogInfoLookup<StoreInfo> newStoreLookup() {
+        return new CatalogInfoLookup<>(
+                STORE_NAME_MAPPER, List.of(new CatalogInfoIndex<>(Set.of(WORKSPACE_ID), s -> ids(s.getWorkspace()))));
+    }
+
+    /** Creates the resource lookup, indexing resources by store */
+    static CatalogInfoLookup<ResourceInfo> newResourceLookup() {
+        return new CatalogInfoLookup<>(
+                RESOURCE_NAME_MAPPER, List.of(new CatalogInfoIndex<>(Set.of(STORE_ID), r -> ids(r.getStore()))));
+    }
+
+    /** The id of the referenced object, as a set of index keys */
+    static Set<String> ids(CatalogInfo reference) {
+        if (reference == null || reference.getId() == null) {
+            return Set.of();
+        }
+        return Set.of(reference.getId());
+    }
+
+    /** The ids of the default and alternate styles of a layer, as a set of index keys */
+    static Set<String> styleIds(LayerInfo layer) {
+        Set<String> ids = new HashSet<>();
+        StyleInfo defaultStyle = layer.getDefaultStyle();
+        if (defaultStyle != null && defaultStyle.getId() != null) {
+            ids.add(defaultStyle.getId());
+        }
+        for (StyleInfo style : layer.getStyles()) {
+            if (style != null && style.getId() != null) {
+                ids.add(style.getId());
+            }
+        }
+        return ids;
+    }
+
     static final class LayerInfoLookup extends CatalogInfoLookup<LayerInfo> {
 
         public LayerInfoLookup() {
-            super(LAYER_NAME_MAPPER);
+            super(
+                    LAYER_NAME_MAPPER,
+                    List.of(
+                            new CatalogInfoIndex<>(Set.of(RESOURCE_ID), l -> ids(l.getResource())),
+                            new CatalogInfoIndex<>(
+                                    Set.of(DEFAULT_STYLE_ID, STYLES_ID), DefaultCatalogFacade::styleIds)));
         }
 
         public void update(ResourceInfo proxiedValue) {
@@ -113,13 +171,13 @@ public LayerInfoLookup setCatalog(Catalog catalog) {
     }
 
     /** Contains the stores keyed by implementation class */
-    protected CatalogInfoLookup<StoreInfo> stores = new CatalogInfoLookup<>(STORE_NAME_MAPPER);
+    protected CatalogInfoLookup<StoreInfo> stores = newStoreLookup();
 
     /** The default store keyed by workspace id */
     protected Map<String, DataStoreInfo> defaultStores = new ConcurrentHashMap<>();
 
     /** resources */
-    protected CatalogInfoLookup<ResourceInfo> resources = new CatalogInfoLookup<>(RESOURCE_NAME_MAPPER);
+    protected CatalogInfoLookup<ResourceInfo> resources = newResourceLookup();
 
     /** The default namespace */
     protected volatile NamespaceInfo defaultNamespace;
@@ -228,7 +286,7 @@ public <T extends StoreInfo> List<T> getStoresByWorkspace(WorkspaceInfo workspac
             ws = workspace;
         }
 
-        List<T> matches = stores.list(clazz, s -> ws.equals(s.getWorkspace()));
+        List<T> matches = stores.listByIndex(clazz, WORKSPACE_ID, ws.getId(), s -> ws.equals(s.getWorkspace()));
         return ModificationProxy.createList(matches, clazz);
     }
 
@@ -372,7 +430,7 @@ private <T extends CatalogInfo> T wrapInModificationProxy(T ci, Class<T> clazz)
 
     @Override
     public <T extends ResourceInfo> List<T> getResourcesByStore(StoreInfo store, Class<T> clazz) {
-        List<T> matches = resources.list(clazz, r -> store.equals(r.getStore()));
+        List<T> matches = resources.listByIndex(clazz, STORE_ID, store.getId(), r -> store.equals(r.getStore()));
         return ModificationProxy.createList(matches, clazz);
     }
 
@@ -448,8 +506,10 @@ public List<LayerInfo> getLayers(ResourceInfo resource) {
 
     @Override
     public List<LayerInfo> getLayers(StyleInfo style) {
-        List<LayerInfo> matches = layers.list(
+        List<LayerInfo> matches = layers.listByIndex(
                 LayerInfo.class,
+                STYLES_ID,
+                style.getId(),
                 li -> style.equals(li.getDefaultStyle()) || li.getStyles().contains(style));
         return ModificationProxy.createList(matches, LayerInfo.class);
     }
@@ -911,7 +971,7 @@ public void resolve() {
 
         // stores
         if (stores == null) {
-            stores = new CatalogInfoLookup<>(STORE_NAME_MAPPER);
+            stores = newStoreLookup();
         }
         for (Object o : stores.values()) {
             resolve((StoreInfoImpl) o);
@@ -927,7 +987,7 @@ public void resolve() {
 
         // resources
         if (resources == null) {
-            resources = new CatalogInfoLookup<>(RESOURCE_NAME_MAPPER);
+            resources = newResourceLookup();
         }
         for (Object o : resources.values()) {
             resolve((ResourceInfo) o);
@@ -1059,11 +1119,11 @@ public <T extends CatalogInfo> Iterable<T> iterable(
         } else if (WorkspaceInfo.class.isAssignableFrom(of)) {
             all = workspaces.list(of, toPredicate(filter));
         } else if (StoreInfo.class.isAssignableFrom(of)) {
-            all = stores.list(of, toPredicate(filter));
+            all = list(stores, of, filter);
         } else if (ResourceInfo.class.isAssignableFrom(of)) {
-            all = resources.list(of, toPredicate(filter));
+            all = list(resources, of, filter);
         } else if (LayerInfo.class.isAssignableFrom(of)) {
-            all = layers.list(of, toPredicate(filter));
+            all = list(layers, of, filter);
         } else if (LayerGroupInfo.class.isAssignableFrom(of)) {
             all = layerGroups.list(of, toPredicate(filter));
         } else if (PublishedInfo.class.isAssignableFrom(of)) {
@@ -1092,6 +1152,59 @@ public <T extends CatalogInfo> Iterable<T> iterable(
         return ModificationProxy.createList(all, of);
     }
 
+    /**
+     * Lists the objects matching the filter, using the lookup secondary indexes if the filter is an equality on an
+     * indexed property, or a conjunction containing one, and falling back on a full scan otherwise
+     */
+    private <T extends CatalogInfo> List<T> list(CatalogInfoLookup<?> lookup, final Class<T> of, final Filter filter) {
+        List<T> result = filter != null ? listByIndex(lookup, of, filter) : null;
+        if (result == null) {
+            result = lookup.list(of, toPredicate(filter));
+        }
+        return result;
+    }
+
+    /** @return the matching objects, or {@code null} if no index can be used for the filter */
+    private <T extends CatalogInfo> List<T> listByIndex(
+            CatalogInfoLookup<?> lookup, final Class<T> of, final Filter filter) {
+        List<Filter> terms = filter instanceof And and ? and.getChildren() : List.of(filter);
+        for (Filter term : terms) {
+            if (!(term instanceof PropertyIsEqualTo equal)
+                    || !equal.isMatchingCase()
+                    || equal.getMatchAction() != MatchAction.ANY) {
+                continue;
+            }
+            String property;
+            Object value;
+            if (equal.getExpression1() instanceof PropertyName pn
+                    && equal.getExpression2() instanceof Literal literal) {
+                property = pn.getPropertyName();
+                value = literal.getValue();
+            } else if (equal.getExpression2() instanceof PropertyName pn
+                    && equal.getExpression1() instanceof Literal literal) {
+                property = pn.getPropertyName();
+                value = literal.getValue();
+            } else {
+                continue;
+            }
+            if (!(value instanceof String key)) {
+                continue;
+            }
+
+            if (lookup.isIndexed(property)) {
+                return lookup.listByIndex(of, property, key, toPredicate(filter));
+            } else if (lookup == stores && "workspace.name".equals(property)) {
+                // common enough to be worth translating into a lookup by workspace id
+                WorkspaceInfo ws = workspaces.findByName(new NameImpl(key), WorkspaceInfo.class);
+                if (ws != null) {
+                    return stores.listByIndex(of, WORKSPACE_ID, ws.getId(), toPredicate(filter));
+                }
+            }
+        }
+
+        return null;
+    }
+
     private <T> Predicate<T> toPredicate(Filter filter) {
         if (filter != null && filter != Filter.INCLUDE) {
             return o -> filter.evaluate(o);
@@ -8,7 +8,6 @@
 import java.io.ObjectStreamException;
 import java.io.Serializable;
 import java.lang.reflect.InvocationHandler;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.util.ArrayList;
@@ -38,8 +37,8 @@
 import org.geoserver.catalog.WMTSLayerInfo;
 import org.geoserver.catalog.WMTSStoreInfo;
 import org.geoserver.catalog.WorkspaceInfo;
-import org.geoserver.ows.util.ClassProperties;
-import org.geoserver.ows.util.OwsUtils;
+import org.geoserver.catalog.impl.ModificationProxyMethods.Kind;
+import org.geoserver.catalog.impl.ModificationProxyMethods.MethodInfo;
 import org.geoserver.platform.GeoServerExtensions;
 import org.geotools.api.filter.FilterFactory;
 import org.geotools.factory.CommonFactoryFinder;
@@ -63,9 +62,6 @@ public class ModificationProxy implements WrappingProxy, Serializable {
     /** the proxy object */
     Object proxyObject;
 
-    /** reflection helper */
-    transient ClassProperties cp;
-
     /** "dirty" properties */
     volatile HashMap<String, Object> properties;
 
@@ -79,30 +75,22 @@ public ModificationProxy(Object proxyObject) {
         this.proxyObject = proxyObject;
     }
 
-    private ClassProperties cp() {
-        if (cp == null) {
-            this.cp = OwsUtils.getClassProperties(proxyObject.getClass());
-        }
-        return cp;
-    }
-
     /** Intercepts getter and setter methods, as well as {@link CatalogInfo#accept(CatalogVisitor)}. */
     @Override
     @SuppressWarnings("unchecked") // lots of generic behavior, cannot use params
     public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-
-        String property = null;
-        if ((method.getName().startsWith("get") || method.getName().startsWith("is"))
-                && method.getParameterCount() == 0) {
+        // the method analysis is cached, along with the generated accessor for getters
+        MethodInfo info = ModificationProxyMethods.info(method);
+        String property = info.property;
+        if (info.kind == Kind.GETTER) {
             // intercept getter to check the dirty property set
-            property = method.getName().substring(method.getName().startsWith("get") ? 3 : 2);
             if (properties != null && properties().containsKey(property)) {
                 // return the previously set object
                 return properties().get(property);
             } else {
                 // if collection, create a wrapper
-                if (Collection.class.isAssignableFrom(method.getReturnType())) {
-                    Collection real = (Collection) method.invoke(proxyObject);
+                if (info.collection) {
+                    Collection real = (Collection) info.get(proxyObject);
                     if (real == null) {
                         // in this case there is nothing we can do
                         return null;
@@ -114,8 +102,8 @@ public Object invoke(Object proxy, Method method, Object[] args) throws Throwabl
                     Collection clone = ModificationProxyCloner.cloneCollection(real, false);
                     oldCollectionValues().put(property, clone);
                     return wrap;
-                } else if (Map.class.isAssignableFrom(method.getReturnType())) {
-                    Map real = (Map) method.invoke(proxyObject);
+                } else if (info.map) {
+                    Map real = (Map) info.get(proxyObject);
                     if (real == null) {
                         // in this case there is nothing we can do
                         return null;
@@ -129,53 +117,41 @@ public Object invoke(Object proxy, Method method, Object[] args) throws Throwabl
                     return wrap;
                 }
             }
-        }
-        if (method.getName().startsWith("set") && args.length == 1) {
+        } else if (info.kind == Kind.SETTER) {
             // intercept setter and put new value in list
-            property = method.getName().substring(3);
             properties().put(property, args[0]);
 
             return null;
-        }
-
-        // validation needs to run on top of the proxy, otherwise it won't see the updated values
-        if (proxyObject instanceof CatalogInfo
-                && method.getName().equals("accept")
-                && method.getParameters().length == 1
-                && method.getParameters()[0].getType().equals(CatalogVisitor.class)) {
+        } else if (info.kind == Kind.ACCEPT && proxyObject instanceof CatalogInfo) {
+            // validation needs to run on top of the proxy, otherwise it won't see the updated values
             CatalogVisitor visitor = (CatalogVisitor) args[0];
             accept((CatalogInfo) proxy, visitor);
             return null;
         }
 
-        try {
-            Object result = method.invoke(proxyObject, args);
-
-            // in case this is a live indirection, resolve it. Typically this means
-            // the reference is dangling, and we are going to avoid a wrapper around null
-            if (result instanceof Proxy && Proxy.getInvocationHandler(result) instanceof ResolvingProxy) {
-                ResolvingProxy rp = ProxyUtils.handler(result, ResolvingProxy.class);
-                // try to resolve, and return null if the reference is dangling
-                final Catalog catalog = (Catalog) GeoServerExtensions.bean("catalog");
-                result = rp.resolve(catalog, result);
-            }
+        Object result = info.invoke(proxyObject, args);
 
-            // intercept result and wrap it in a proxy if it is another Info object
-            if (result != null && shouldProxyProperty(result.getClass())) {
-                // avoid double proxy
-                Object o = ModificationProxy.unwrap(result);
-                if (o == result) {
-                    result = ModificationProxy.create(result, method.getReturnType());
+        // in case this is a live indirection, resolve it. Typically this means
+        // the reference is dangling, and we are going to avoid a wrapper around null
+        if (result instanceof Proxy && Proxy.getInvocationHandler(result) instanceof ResolvingProxy) {
+            ResolvingProxy rp = ProxyUtils.handler(result, ResolvingProxy.class);
+            // try to resolve, and return null if the reference is dangling
+            final Catalog catalog = (Catalog) GeoServerExtensions.bean("catalog");
+            result = rp.resolve(catalog, result);
+        }
 
-                    // cache the proxy, in case it is modified itself
-                    properties().put(property, result);
-                }
+        // intercept result and wrap it in a proxy if it is another Info object
+        if (result != null && shouldProxyProperty(result.getClass())) {
+            // avoid double proxy
+            Object o = ModificationProxy.unwrap(result);
+            if (o == result) {
+                result = ModificationProxy.create(result, method.getReturnType());
+
+                // cache the proxy, in case it is modified itself
+                properties().put(property, result);
             }
-            return result;
-        } catch (InvocationTargetException e) {
-            Throwable targetException = e.getTargetException();
-            throw targetException;
         }
+        return result;
     }
 
     private void accept(CatalogInfo proxy, CatalogVisitor visitor) {
@@ -227,20 +203,21 @@ public void commit() {
 
                 // use the getter to figure out the type for the setter
                 try {
-                    Method g = getter(p);
+                    MethodInfo g = getterInfo(p);
+                    Class<?> type = g.method.getReturnType();
 
                     // handle collection case
-                    if (Collection.class.isAssignableFrom(g.getReturnType())) {
-                        Collection c = (Collection) g.invoke(proxyObject);
+                    if (Collection.class.isAssignableFrom(type)) {
+                        Collection c = (Collection) g.get(proxyObject);
                         c.clear();
                         for (Object o : (Collection) v) {
                             // element of a collection
                             commitIfNeeded(o);
                             c.add(unwrap(o));
                         }
-                    } else if (Map.class.isAssignableFrom(g.getReturnType())) {
+                    } else if (Map.class.isAssignableFrom(type)) {
                         Map proxied = (Map) v;
-                        Map m = (Map) g.invoke(proxyObject);
+                        Map m = (Map) g.get(proxyObject);
                         m.clear();
                         for (Object key : proxied.keySet()) {
                             Object uk = unwrap(key);
@@ -249,13 +226,13 @@ public void commit() {
                             m.put(uk, uv);
                         }
                     } else {
-                        Method s = setter(p, g.getReturnType());
+                        Method s = setter(p, type);
 
-                        if (Info.class.isAssignableFrom(g.getReturnType())) {
+                        if (Info.class.isAssignableFrom(type)) {
                             // another info is the changed property, it could be one of two cases
                             // 1) the info object was changed in place: x.getY().setFoo(...)
                             // 2) a new info object was set x.setY(...)
-                            Info original = (Info) g.invoke(proxyObject);
+                            Info original = (Info) g.get(proxyObject);
                             Info modified = (Info) unwrap(v);
                             if (original == modified) {
                                 // case 1, in this case get the proxy and commit it
@@ -271,7 +248,9 @@ public void commit() {
                             s.invoke(proxyObject, v);
                         }
                     }
-                } catch (Exception ex) {
+                } catch (RuntimeException ex) {
+                    throw ex;
+                } catch (Throwable ex) {
                     throw new RuntimeException(ex);
                 }
             }
@@ -345,7 +324,7 @@ public boolean isDirty() {
                 }
             } else {
                 try {
-                    Object orig = unwrap(getter((String) e.getKey()).invoke(proxyObject));
+                    Object orig = unwrap(getterInfo((String) e.getKey()).get(proxyObject));
                     if (orig == null) {
                         if (e.getValue() == null) {
                             continue;
@@ -353,7 +332,9 @@ public boolean isDirty() {
                     } else if (e.getValue() != null && orig.equals(e.getValue())) {
                         continue;
                     }
-                } catch (Exception ex) {
+                } catch (RuntimeException ex) {
+                    throw ex;
+                } catch (Throwable ex) {
                     throw new RuntimeException(ex);
                 }
             }
@@ -376,11 +357,13 @@ List<String> getDirtyProperties() {
                     // value is not the same as the current value of the property on the object
                     Object curr = unwrap(value);
                     try {
-                        Object orig = unwrap(getter(propertyName).invoke(proxyObject));
+                        Object orig = unwrap(getterInfo(propertyName).get(proxyObject));
                         if (curr == orig) {
                             continue;
                         }
-                    } catch (Exception e) {
+                    } catch (RuntimeException e) {
+                        throw e;
+                    } catch (Throwable e) {
                         throw new RuntimeException(e);
                     }
                 }
@@ -410,14 +393,15 @@ public List<Object> getOldValues() {
             if (oldCollectionValues().containsKey(propertyName)) {
                 oldValues.add(oldCollectionValues.get(propertyName));
             } else {
+                MethodInfo g = ModificationProxyMethods.getter(proxyObject.getClass(), propertyName);
+                if (g == null) {
+                    throw new IllegalArgumentException("No such property: " + propertyName);
+                }
                 try {
-                    Method g = getter(propertyName);
-                    if (g == null) {
-                        throw new IllegalArgumentException("No such property: " + propertyName);
-                    }
-
-                    oldValues.add(g.invoke(proxyObject));
-                } catch (Exception e) {
+                    oldValues.add(g.get(proxyObject));
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Throwable e) {
                     throw new RuntimeException(e);
                 }
             }
@@ -439,35 +423,26 @@ public List<Object> getNewValues() {
      * Helper method for looking up a getter method.
      */
     Method getter(String propertyName) {
-        Method g = null;
-        try {
-            g = proxyObject.getClass().getMethod("get" + propertyName);
-        } catch (NoSuchMethodException e1) {
-            // could be boolean
-            try {
-                g = proxyObject.getClass().getMethod("is" + propertyName);
-            } catch (NoSuchMethodException e2) {
-            }
-        }
+        MethodInfo g = ModificationProxyMethods.getter(proxyObject.getClass(), propertyName);
+        return g != null ? g.method : null;
+    }
 
+    /*
+     * Helper method for looking up a getter, failing if not found.
+     */
+    private MethodInfo getterInfo(String propertyName) {
+        MethodInfo g = ModificationProxyMethods.getter(proxyObject.getClass(), propertyName);
         if (g == null) {
-            g = cp().getter(propertyName, null);
+            throw new IllegalArgumentException("No such property: " + propertyName);
         }
-
         return g;
     }
 
     /*
-     * Helper method for looking up a getter method.
+     * Helper method for looking up a setter method.
      */
     Method setter(String propertyName, Class<?> type) {
-        Method s = null;
-        try {
-            s = proxyObject.getClass().getMethod("set" + propertyName, type);
-        } catch (NoSuchMethodException e) {
-            s = cp().setter(propertyName, type);
-        }
-        return s;
+        return ModificationProxyMethods.setter(proxyObject.getClass(), propertyName, type);
     }
 
     private Object readResolve() throws ObjectStreamException {
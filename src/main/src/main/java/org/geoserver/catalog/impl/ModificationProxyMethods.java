@@ -0,0 +1,232 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.catalog.impl;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geoserver.catalog.CatalogVisitor;
+import org.geoserver.ows.util.ClassProperties;
+import org.geoserver.ows.util.OwsUtils;
+import org.geotools.util.logging.Logging;
+
+/**
+ * Caches the method analysis performed by {@link ModificationProxy} on each call, and generates the accessors used to
+ * read properties from the proxied objects.
+ *
+ * <p>Each method going through the proxy is classified once (getter, setter, visitor acceptance, anything else), along
+ * with its property name and the kind of value it returns. Getters are invoked through a class generated by
+ * {@link LambdaMetafactory}, which the JIT can inline like a direct call, instead of {@link Method#invoke(Object,
+ * Object...)}. Methods that cannot be bound that way (e.g., declared by types not visible from this package) fall back
+ * on reflection.
+ *
+ * <p>The getter and setter lookups by property name, used when committing the changes, are cached per class as well.
+ */
+class ModificationProxyMethods {
+
+    static final Logger LOGGER = Logging.getLogger(ModificationProxyMethods.class);
+
+    /** The kind of method intercepted by the proxy */
+    enum Kind {
+        GETTER,
+        SETTER,
+        ACCEPT,
+        OTHER
+    }
+
+    /** Reads a property from an object, without wrapping the exceptions thrown by the getter */
+    @FunctionalInterface
+    interface Accessor {
+        Object get(Object target) throws Throwable;
+    }
+
+    /** The analysis of a method, computed once */
+    static final class MethodInfo {
+
+        final Method method;
+
+        final Kind kind;
+
+        /** The property name, for getters and setters, capitalized as in the method name */
+        final String property;
+
+        final boolean collection;
+
+        final boolean map;
+
+        /** Reads the property, for getters, null otherwise */
+        final Accessor accessor;
+
+        MethodInfo(Method method) {
+            this.method = method;
+            String name = method.getName();
+            int parameters = method.getParameterCount();
+            Class<?> returnType = method.getReturnType();
+            if ((name.startsWith("get") || name.startsWith("is")) && parameters == 0) {
+                this.kind = Kind.GETTER;
+                this.property = name.substring(name.startsWith("get") ? 3 : 2);
+                this.accessor = accessor(method);
+            } else if (name.startsWith("set") && parameters == 1) {
+                this.kind = Kind.SETTER;
+                this.property = name.substring(3);
+                this.accessor = null;
+            } else if (name.equals("accept")
+                    && parameters == 1
+                    && method.getParameterTypes()[0].equals(CatalogVisitor.class)) {
+                this.kind = Kind.ACCEPT;
+                this.property = null;
+                this.accessor = null;
+            } else {
+                this.kind = Kind.OTHER;
+                this.property = null;
+                this.accessor = null;
+            }
+            this.collection = Collection.class.isAssignableFrom(returnType);
+            this.map = Map.class.isAssignableFrom(returnType);
+        }
+
+        /** Invokes a getter on the target object */
+        Object get(Object target) throws Throwable {
+            return invoke(target, null);
+        }
+
+        /** Invokes the method on the target object, throwing the exceptions of the method itself */
+        Object invoke(Object target, Object[] args) throws Throwable {
+            if (accessor != null) {
+                return accessor.get(target);
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final ConcurrentHashMap<Method, MethodInfo> METHODS = new ConcurrentHashMap<>();
+
+    /** Getters by property name, a missing getter is cached as an empty optional */
+    private static final ClassValue<Map<String, Optional<MethodInfo>>> GETTERS = new ClassValue<>() {
+        @Override
+        protected Map<String, Optional<MethodInfo>> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /** Setters by property name and type, a missing setter is cached as an empty optional */
+    private static final ClassValue<Map<SetterKey, Optional<Method>>> SETTERS = new ClassValue<>() {
+        @Override
+        protected Map<SetterKey, Optional<Method>> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private record SetterKey(String property, Class<?> type) {}
+
+    private ModificationProxyMethods() {}
+
+    /** Returns the analysis of the given method */
+    static MethodInfo info(Method method) {
+        MethodInfo info = METHODS.get(method);
+        if (info == null) {
+            info = METHODS.computeIfAbsent(method, MethodInfo::new);
+        }
+        return info;
+    }
+
+    /**
+     * Looks up the getter of a property, trying the "get" and "is" prefixes, and then a case insensitive match. Returns
+     * null if not found.
+     */
+    static MethodInfo getter(Class<?> type, String property) {
+        return GETTERS.get(type)
+                .computeIfAbsent(
+                        property, p -> Optional.ofNullable(lookupGetter(type, p)).map(ModificationProxyMethods::info))
+                .orElse(null);
+    }
+
+    /** Looks up the setter of a property, first by exact name and then case insensitive. Returns null if not found. */
+    static Method setter(Class<?> type, String property, Class<?> propertyType) {
+        return SETTERS.get(type)
+                .computeIfAbsent(
+                        new SetterKey(property, propertyType),
+                        k -> Optional.ofNullable(lookupSetter(type, k.property(), k.type())))
+                .orElse(null);
+    }
+
+    private static Method lookupGetter(Class<?> type, String property) {
+        Method g = publicMethod(type, "get" + property);
+        if (g == null) {
+            // could be boolean
+            g = publicMethod(type, "is" + property);
+        }
+        if (g == null) {
+            g = properties(type).getter(property, null);
+        }
+        return g;
+    }
+
+    private static Method lookupSetter(Class<?> type, String property, Class<?> propertyType) {
+        Method s = publicMethod(type, "set" + property, propertyType);
+        if (s == null) {
+            s = properties(type).setter(property, propertyType);
+        }
+        return s;
+    }
+
+    private static Method publicMethod(Class<?> type, String name, Class<?>... parameterTypes) {
+        try {
+            return type.getMethod(name, parameterTypes);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static ClassProperties properties(Class<?> type) {
+        return OwsUtils.getClassProperties(type);
+    }
+
+    /** Generates an accessor for the getter, or falls back on reflection if not possible */
+    static Accessor accessor(Method getter) {
+        Class<?> owner = getter.getDeclaringClass();
+        try {
+            // define the accessor next to the getter owner, so that it can see it regardless of the class loader
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(owner, LOOKUP);
+            MethodHandle handle = lookup.unreflect(getter);
+            CallSite site = LambdaMetafactory.metafactory(
+                    lookup,
+                    "apply",
+                    MethodType.methodType(Function.class),
+                    MethodType.methodType(Object.class, Object.class),
+                    handle,
+                    MethodType.methodType(handle.type().wrap().returnType(), owner));
+            @SuppressWarnings("unchecked")
+            Function<Object, Object> function = (Function<Object, Object>) site.getTarget().invokeExact();
+            return function::apply;
+        } catch (Throwable e) {
+            LOGGER.log(Level.FINE, "Could not generate an accessor for " + getter + ", using reflection", e);
+        }
+        return target -> {
+            try {
+                return getter.invoke(target);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        };
+    }
+}
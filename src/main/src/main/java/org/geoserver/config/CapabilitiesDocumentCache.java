@@ -0,0 +1,371 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.config;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.geoserver.catalog.CatalogException;
+import org.geoserver.catalog.PublishedInfo;
+import org.geoserver.catalog.WorkspaceInfo;
+import org.geoserver.catalog.event.CatalogAddEvent;
+import org.geoserver.catalog.event.CatalogListener;
+import org.geoserver.catalog.event.CatalogModifyEvent;
+import org.geoserver.catalog.event.CatalogPostModifyEvent;
+import org.geoserver.catalog.event.CatalogRemoveEvent;
+import org.geoserver.ows.AbstractDispatcherCallback;
+import org.geoserver.ows.LocalPublished;
+import org.geoserver.ows.LocalWorkspace;
+import org.geoserver.ows.Request;
+import org.geoserver.ows.Response;
+import org.geoserver.ows.URLMangler.URLType;
+import org.geoserver.ows.util.ResponseUtils;
+import org.geoserver.platform.GeoServerExtensions;
+import org.geoserver.platform.Operation;
+import org.geoserver.platform.ServiceException;
+import org.geotools.util.logging.Logging;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Caches the encoded GetCapabilities documents, gzip compressed, and streams them back on subsequent identical requests
+ * instead of walking the catalog again.
+ *
+ * <p>Documents are keyed by service, version, workspace and layer (for virtual services), name and roles of the current
+ * user, the proxied base URL, the raw request parameters and the {@link GeoServerInfo#getUpdateSequence() update
+ * sequence}.
+ * The update sequence is bumped by the {@link UpdateSequenceListener} on any catalog or configuration change, making
+ * older entries unreachable; the cache is also flushed eagerly on the same events to release memory. Only GET
+ * requests are cached.
+ *
+ * <p>The user name is part of the key because the data security rules can depend on it (e.g. a custom
+ * {@link org.geoserver.security.ResourceAccessManager}), not just on the roles. Documents also containing information
+ * computed from the data (e.g. time dimension values) can get stale up to the configured time to live.
+ *
+ * <p>The cache is disabled by default, and can be configured with the following system, environment or servlet context
+ * variables:
+ *
+ * <ul>
+ *   <li>{@code CAPABILITIES_CACHE_ENABLED}: enables the cache, defaults to {@code false}
+ *   <li>{@code CAPABILITIES_CACHE_SERVICES}: comma separated list of services to cache, defaults to {@code WMS,WFS}
+ *   <li>{@code CAPABILITIES_CACHE_MAX_SIZE}: the maximum size of the compressed documents, in bytes, defaults to 64MB
+ *   <li>{@code CAPABILITIES_CACHE_TTL}: time to live of the documents, in seconds, defaults to 10 minutes
+ * </ul>
+ */
+public class CapabilitiesDocumentCache extends AbstractDispatcherCallback implements CatalogListener {
+
+    static final Logger LOGGER = Logging.getLogger(CapabilitiesDocumentCache.class);
+
+    static final long DEFAULT_MAX_SIZE = 64 * 1024 * 1024;
+
+    static final long DEFAULT_TTL = 600;
+
+    boolean enabled;
+
+    TreeSet<String> services = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+    long maxSize;
+
+    GeoServer gs;
+
+    Cache<String, byte[]> cache;
+
+    public CapabilitiesDocumentCache(GeoServer gs) {
+        this.gs = gs;
+
+        this.enabled = Boolean.parseBoolean(GeoServerExtensions.getProperty("CAPABILITIES_CACHE_ENABLED"));
+        String serviceList = GeoServerExtensions.getProperty("CAPABILITIES_CACHE_SERVICES");
+        this.services.addAll(Arrays.asList((serviceList != null ? serviceList : "WMS,WFS").split("\\s*,\\s*")));
+        this.maxSize = GeoServerExtensions.getLongProperty("CAPABILITIES_CACHE_MAX_SIZE", DEFAULT_MAX_SIZE);
+        long ttl = GeoServerExtensions.getLongProperty("CAPABILITIES_CACHE_TTL", DEFAULT_TTL);
+        this.cache = CacheBuilder.newBuilder()
+                .maximumWeight(maxSize)
+                .weigher((String k, byte[] v) -> k.length() + v.length)
+                .expireAfterWrite(ttl, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine("Capabilities document cache enabled: " + enabled + ", services: " + services);
+        }
+
+        gs.getCatalog().addListener(this);
+        gs.addListener(new ConfigurationListenerAdapter() {
+            @Override
+            public void handlePostGlobalChange(GeoServerInfo global) {
+                invalidateAll();
+            }
+
+            @Override
+            public void handleSettingsPostModified(SettingsInfo settings) {
+                invalidateAll();
+            }
+
+            @Override
+            public void handleSettingsRemoved(SettingsInfo settings) {
+                invalidateAll();
+            }
+
+            @Override
+            public void handlePostServiceChange(ServiceInfo service) {
+                invalidateAll();
+            }
+
+            @Override
+            public void handleServiceRemove(ServiceInfo service) {
+                invalidateAll();
+            }
+
+            @Override
+            public void reloaded() {
+                invalidateAll();
+            }
+        });
+    }
+
+    @Override
+    public Response responseDispatched(Request request, Operation operation, Object result, Response response) {
+        if (isCacheable(request)) {
+            return new CachingResponse(response, getKey(request));
+        }
+        return response;
+    }
+
+    /** Returns true if the cache is enabled and the request is a GET GetCapabilities for one of the cached services */
+    boolean isCacheable(Request request) {
+        return enabled
+                && request.isGet()
+                && "GetCapabilities".equalsIgnoreCase(request.getRequest())
+                && request.getService() != null
+                && services.contains(request.getService());
+    }
+
+    /** Builds the cache key for the current request */
+    String getKey(Request request) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(request.getService()).append('|');
+        sb.append(request.getVersion()).append('|');
+        sb.append(gs.getGlobal().getUpdateSequence()).append('|');
+        WorkspaceInfo ws = LocalWorkspace.get();
+        if (ws != null) sb.append(ws.getName());
+        sb.append('|');
+        PublishedInfo published = LocalPublished.get();
+        if (published != null) sb.append(published.getName());
+        sb.append('|');
+        // the proxy base URL can depend on the request headers, use the mangled one
+        if (request.getHttpRequest() != null) {
+            String baseURL = ResponseUtils.baseURL(request.getHttpRequest());
+            sb.append(ResponseUtils.buildURL(baseURL, "", null, URLType.SERVICE));
+        }
+        sb.append('|');
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null) {
+            sb.append(auth.getName()).append('|');
+            TreeSet<String> roles = new TreeSet<>();
+            for (GrantedAuthority authority : auth.getAuthorities()) {
+                roles.add(authority.getAuthority());
+            }
+            sb.append(roles);
+        }
+        sb.append('|');
+        if (request.getRawKvp() != null) {
+            Map<String, Object> kvp = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            kvp.putAll(request.getRawKvp());
+            for (Map.Entry<String, Object> entry : kvp.entrySet()) {
+                Object value = entry.getValue();
+                sb.append(entry.getKey().toUpperCase()).append('=');
+                sb.append(value instanceof Object[] array ? Arrays.toString(array) : value);
+                sb.append('&');
+            }
+        }
+        return sb.toString();
+    }
+
+    /** Removes all cached documents */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /** Returns the number of cached documents */
+    public long size() {
+        return cache.size();
+    }
+
+    /** Returns the number of requests served from the cache */
+    public long getHitCount() {
+        return cache.stats().hitCount();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) {
+            invalidateAll();
+        }
+    }
+
+    @Override
+    public void handleAddEvent(CatalogAddEvent event) throws CatalogException {
+        invalidateAll();
+    }
+
+    @Override
+    public void handleRemoveEvent(CatalogRemoveEvent event) throws CatalogException {
+        invalidateAll();
+    }
+
+    @Override
+    public void handleModifyEvent(CatalogModifyEvent event) throws CatalogException {
+        // we use the post event
+    }
+
+    @Override
+    public void handlePostModifyEvent(CatalogPostModifyEvent event) throws CatalogException {
+        invalidateAll();
+    }
+
+    @Override
+    public void reloaded() {
+        invalidateAll();
+    }
+
+    /** A Response wrapper serving documents from the cache, and filling it on a miss */
+    private class CachingResponse extends Response {
+
+        Response delegate;
+
+        String key;
+
+        public CachingResponse(Response delegate, String key) {
+            super(delegate.getBinding());
+            this.delegate = delegate;
+            this.key = key;
+        }
+
+        @Override
+        public boolean canHandle(Operation operation) {
+            return delegate.canHandle(operation);
+        }
+
+        @Override
+        public String getMimeType(Object value, Operation operation) throws ServiceException {
+            return delegate.getMimeType(value, operation);
+        }
+
+        @Override
+        public String[][] getHeaders(Object value, Operation operation) throws ServiceException {
+            return delegate.getHeaders(value, operation);
+        }
+
+        @Override
+        public void write(Object value, OutputStream output, Operation operation) throws IOException, ServiceException {
+            byte[] compressed = cache.getIfPresent(key);
+            if (compressed != null) {
+                try (InputStream is = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+                    is.transferTo(output);
+                }
+                return;
+            }
+
+            CapturingOutputStream capture = new CapturingOutputStream(output, maxSize / 8);
+            delegate.write(value, capture, operation);
+            byte[] document = capture.getCompressed();
+            if (document != null) {
+                cache.put(key, document);
+            }
+        }
+
+        @Override
+        public String getPreferredDisposition(Object value, Operation operation) {
+            return delegate.getPreferredDisposition(value, operation);
+        }
+
+        @Override
+        public String getAttachmentFileName(Object value, Operation operation) {
+            return delegate.getAttachmentFileName(value, operation);
+        }
+
+        @Override
+        public String getCharset(Operation operation) {
+            return delegate.getCharset(operation);
+        }
+    }
+
+    /**
+     * Passes the output through to the actual response, while compressing a copy of it, up to a given size. Closing
+     * the stream won't close the delegate, this is left to the dispatcher.
+     */
+    static class CapturingOutputStream extends FilterOutputStream {
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        GZIPOutputStream compressed;
+
+        long limit;
+
+        CapturingOutputStream(OutputStream out, long limit) throws IOException {
+            super(out);
+            this.limit = limit;
+            this.compressed = new GZIPOutputStream(bytes);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            if (compressed != null) {
+                compressed.write(b);
+                checkLimit();
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            if (compressed != null) {
+                compressed.write(b, off, len);
+                checkLimit();
+            }
+        }
+
+        private void checkLimit() {
+            if (bytes.size() > limit) {
+                // too big to be cached, stop copying
+                compressed = null;
+                bytes = null;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+
+        /** Returns the compressed document, or null if it went over the size limit */
+        byte[] getCompressed() throws IOException {
+            if (compressed == null) {
+                return null;
+            }
+            compressed.close();
+            return bytes.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,427 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.config;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geoserver.catalog.CatalogException;
+import org.geoserver.config.impl.GeoServerLifecycleHandler;
+import org.geoserver.config.util.XStreamPersister;
+import org.geoserver.platform.GeoServerExtensions;
+import org.geoserver.platform.resource.Resource;
+import org.geoserver.util.JMXUtils;
+import org.geotools.util.logging.Logging;
+import org.springframework.beans.factory.DisposableBean;
+
+/**
+ * Write-behind queue for the configuration files saved by the {@link GeoServerConfigPersister}.
+ *
+ * <p>Saves are queued by resource path and written in batches by a background thread, after a short delay allowing
+ * further changes to accumulate. Objects are serialized by the saving thread, capturing the state they have at the
+ * time of the save, while the background thread only writes the serialized contents. Repeated saves of the same
+ * resource replace each other in the queue. The queue is bounded, once full the threads saving configuration objects
+ * wait for the background thread to catch up.
+ *
+ * <p>Writes that fail are kept in the queue and retried, they are never dropped. While there are failed writes the
+ * queue stops deferring saves: each save, as well as each {@link #flush()}, writes all the pending files synchronously
+ * and throws a {@link CatalogException} if any of them still fails, so that callers get to know the configuration has
+ * not been persisted.
+ *
+ * <p>Pending writes are flushed before the persister renames, moves or removes files, before the configuration is
+ * reloaded from disk, when GeoServer is disposed, and when the application context is shut down.
+ *
+ * <p>The queue is disabled by default, in which case the persister writes synchronously, and can be configured with the
+ * following system, environment or servlet context variables:
+ *
+ * <ul>
+ *   <li>{@code CONFIG_WRITE_BEHIND_QUEUE}: the maximum number of pending writes. Write-behind is enabled only if set to
+ *       a positive value
+ *   <li>{@code CONFIG_WRITE_BEHIND_BATCH}: the maximum number of files written in a batch, defaults to 100
+ *   <li>{@code CONFIG_WRITE_BEHIND_DELAY}: how long the background thread waits for a batch to fill up, in
+ *       milliseconds, defaults to 100
+ * </ul>
+ *
+ * <p>Queue depth and flush statistics are exposed via JMX as {@link #OBJECT_NAME}.
+ */
+public class ConfigWriteBehindQueue
+        implements ConfigWriteBehindQueueMXBean, GeoServerLifecycleHandler, DisposableBean {
+
+    static final Logger LOGGER = Logging.getLogger(ConfigWriteBehindQueue.class);
+
+    public static final String OBJECT_NAME = "org.geoserver:type=ConfigWriteBehindQueue";
+
+    static final long DEFAULT_BATCH_SIZE = 100;
+
+    static final long DEFAULT_DELAY = 100;
+
+    /** How long the background thread waits before retrying failed writes, in milliseconds */
+    static final long RETRY_DELAY = 1000;
+
+    /** A pending write, the serialized contents of the latest object saved to a given resource */
+    static class PendingWrite {
+        byte[] contents;
+        Resource resource;
+
+        PendingWrite(byte[] contents, Resource resource) {
+            this.contents = contents;
+            this.resource = resource;
+        }
+    }
+
+    private final int capacity;
+
+    private final int batchSize;
+
+    private final long delay;
+
+    /** The pending writes, by resource path, in submission order. Also the monitor for the queue state */
+    private final LinkedHashMap<String, PendingWrite> pending = new LinkedHashMap<>();
+
+    /** The paths of the pending writes that failed and have to be retried. Guarded by the pending monitor */
+    private final Set<String> failing = new HashSet<>();
+
+    /** Held while draining and writing a batch, keeps the writes of the same resource in submission order */
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private Thread flusher;
+
+    private boolean closed;
+
+    private final AtomicLong submitted = new AtomicLong();
+
+    private final AtomicLong coalesced = new AtomicLong();
+
+    private final AtomicLong written = new AtomicLong();
+
+    private final AtomicLong failed = new AtomicLong();
+
+    private final AtomicLong flushCount = new AtomicLong();
+
+    private final AtomicLong totalFlushTime = new AtomicLong();
+
+    private volatile long lastFlushTime;
+
+    public ConfigWriteBehindQueue() {
+        this(
+                GeoServerExtensions.getLongProperty("CONFIG_WRITE_BEHIND_QUEUE", 0),
+                GeoServerExtensions.getLongProperty("CONFIG_WRITE_BEHIND_BATCH", DEFAULT_BATCH_SIZE),
+                GeoServerExtensions.getLongProperty("CONFIG_WRITE_BEHIND_DELAY", DEFAULT_DELAY));
+        if (isEnabled()) {
+            JMXUtils.register(this, OBJECT_NAME);
+        }
+    }
+
+    /**
+     * @param capacity the maximum number of pending writes, zero or negative to disable write-behind
+     * @param batchSize the maximum number of files written in a batch
+     * @param delay how long to wait for a batch to fill up, in milliseconds
+     */
+    ConfigWriteBehindQueue(long capacity, long batchSize, long delay) {
+        this.capacity = (int) Math.max(0, Math.min(Integer.MAX_VALUE, capacity));
+        this.batchSize = (int) Math.max(1, Math.min(this.capacity, batchSize));
+        this.delay = Math.max(0, delay);
+    }
+
+    /** Returns true if saves are queued, false if they have to be written synchronously */
+    public boolean isEnabled() {
+        return capacity > 0;
+    }
+
+    /**
+     * Queues the save of an object, replacing any pending save to the same resource. Waits for room in the queue if
+     * full. Once the queue is closed, if it's disabled, or if previous writes failed, the object is written right away,
+     * along with all the pending writes.
+     *
+     * <p>The object is serialized before returning, later changes to it do not affect the queued write.
+     *
+     * @throws CatalogException if the object cannot be serialized, or if written synchronously and any of the writes
+     *     failed
+     */
+    public void submit(Object object, Resource resource, XStreamPersister xp) {
+        // serialize in the calling thread, the object might be modified as soon as the save returns
+        byte[] contents = GeoServerConfigPersister.serialize(object, resource, xp);
+        submitted.incrementAndGet();
+        String key = resource.path();
+        synchronized (pending) {
+            if (isEnabled() && !closed && failing.isEmpty()) {
+                PendingWrite write = pending.get(key);
+                if (write != null) {
+                    write.contents = contents;
+                    coalesced.incrementAndGet();
+                    return;
+                }
+                while (pending.size() >= capacity && !closed) {
+                    try {
+                        pending.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                }
+                if (!closed && !Thread.currentThread().isInterrupted()) {
+                    pending.put(key, new PendingWrite(contents, resource));
+                    startFlusher();
+                    pending.notifyAll();
+                    return;
+                }
+            }
+        }
+        // not queued, write synchronously along with the pending writes, replacing any for the same resource
+        writeLock.lock();
+        try {
+            synchronized (pending) {
+                pending.remove(key);
+                pending.put(key, new PendingWrite(contents, resource));
+            }
+            flushPending();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void startFlusher() {
+        if (flusher == null) {
+            flusher = new Thread(this::flushLoop, "GeoServer config write-behind");
+            flusher.setDaemon(true);
+            flusher.start();
+        }
+    }
+
+    private void flushLoop() {
+        while (awaitBatch()) {
+            writeLock.lock();
+            try {
+                // failed writes are kept in the queue, and retried after a delay
+                writeBatch(drain(batchSize));
+            } finally {
+                writeLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Waits for pending writes, and gives them some time to fill a batch, or backs off if previous writes failed.
+     * Returns false once closed, the remaining writes are then flushed by {@link #close()}
+     */
+    private boolean awaitBatch() {
+        synchronized (pending) {
+            try {
+                while (pending.isEmpty() && !closed) {
+                    pending.wait();
+                }
+                boolean retry = !failing.isEmpty();
+                long deadline = System.currentTimeMillis() + (retry ? Math.max(delay, RETRY_DELAY) : delay);
+                long remaining;
+                while (!closed
+                        && (retry || pending.size() < batchSize)
+                        && (remaining = deadline - System.currentTimeMillis()) > 0) {
+                    pending.wait(remaining);
+                }
+            } catch (InterruptedException e) {
+                // let the next submission start a new thread, the remaining writes are flushed on close anyways
+                flusher = null;
+                return false;
+            }
+            return !closed && !pending.isEmpty();
+        }
+    }
+
+    private List<PendingWrite> drain(int max) {
+        synchronized (pending) {
+            List<PendingWrite> batch = new ArrayList<>(Math.min(max, pending.size()));
+            Iterator<PendingWrite> it = pending.values().iterator();
+            while (it.hasNext() && batch.size() < max) {
+                batch.add(it.next());
+                it.remove();
+            }
+            // wake up the threads waiting for room in the queue
+            pending.notifyAll();
+            return batch;
+        }
+    }
+
+    /**
+     * Writes a batch, putting the writes that fail back in the queue to be retried
+     *
+     * @return the first failure, or null if all the writes succeeded
+     */
+    private CatalogException writeBatch(List<PendingWrite> batch) {
+        if (batch.isEmpty()) {
+            return null;
+        }
+        CatalogException failure = null;
+        long start = System.nanoTime();
+        for (PendingWrite write : batch) {
+            String key = write.resource.path();
+            try {
+                GeoServerConfigPersister.write(write.contents, write.resource);
+                written.incrementAndGet();
+                synchronized (pending) {
+                    failing.remove(key);
+                }
+            } catch (CatalogException e) {
+                failed.incrementAndGet();
+                LOGGER.log(Level.SEVERE, "Failed to write " + key + ", will retry", e);
+                synchronized (pending) {
+                    // unless superseded by a newer save of the same resource
+                    pending.putIfAbsent(key, write);
+                    failing.add(key);
+                }
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+        lastFlushTime = elapsed;
+        totalFlushTime.addAndGet(elapsed);
+        flushCount.incrementAndGet();
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine("Wrote " + batch.size() + " configuration files in " + elapsed + "ms");
+        }
+        return failure;
+    }
+
+    /**
+     * Writes all the pending writes, must be called while holding the write lock
+     *
+     * @throws CatalogException if any of the writes failed, the failed writes are kept in the queue
+     */
+    private void flushPending() {
+        List<PendingWrite> batch;
+        while (!(batch = drain(Integer.MAX_VALUE)).isEmpty()) {
+            CatalogException failure = writeBatch(batch);
+            if (failure != null) {
+                throw new CatalogException("Failed to write the pending configuration files", failure);
+            }
+        }
+    }
+
+    /**
+     * Writes all the pending saves, returning when they are on disk. Called before renaming, moving or removing
+     * configuration files, and before reading them back.
+     *
+     * @throws CatalogException if any of the writes failed, the failed writes are kept in the queue
+     */
+    @Override
+    public void flush() {
+        writeLock.lock();
+        try {
+            flushPending();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Stops the background thread and writes all the pending saves. Saves submitted afterwards are synchronous
+     *
+     * @throws CatalogException if any of the pending writes failed
+     */
+    public void close() {
+        Thread thread;
+        synchronized (pending) {
+            closed = true;
+            thread = flusher;
+            pending.notifyAll();
+        }
+        if (thread != null) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+    }
+
+    @Override
+    public void destroy() {
+        try {
+            close();
+        } catch (CatalogException e) {
+            LOGGER.log(Level.SEVERE, "Failed to write the pending configuration files on shutdown", e);
+        } finally {
+            JMXUtils.unregister(OBJECT_NAME);
+        }
+    }
+
+    @Override
+    public void onReset() {
+        // nothing to do
+    }
+
+    @Override
+    public void onDispose() {
+        flush();
+    }
+
+    @Override
+    public void beforeReload() {
+        // the configuration is about to be read back from disk
+        flush();
+    }
+
+    @Override
+    public void onReload() {
+        // nothing to do
+    }
+
+    @Override
+    public int getQueueDepth() {
+        synchronized (pending) {
+            return pending.size();
+        }
+    }
+
+    @Override
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public long getSubmittedCount() {
+        return submitted.get();
+    }
+
+    @Override
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    @Override
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    @Override
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    @Override
+    public long getFlushCount() {
+        return flushCount.get();
+    }
+
+    @Override
+    public long getLastFlushTime() {
+        return lastFlushTime;
+    }
+
+    @Override
+    public double getAverageFlushTime() {
+        long count = flushCount.get();
+        return count > 0 ? (double) totalFlushTime.get() / count : 0;
+    }
+}
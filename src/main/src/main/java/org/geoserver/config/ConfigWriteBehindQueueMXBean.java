@@ -0,0 +1,42 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.config;
+
+/**
+ * Management interface of the {@link ConfigWriteBehindQueue}, exposed via JMX as
+ * {@link ConfigWriteBehindQueue#OBJECT_NAME}
+ */
+public interface ConfigWriteBehindQueueMXBean {
+
+    /** Number of configuration files waiting to be written */
+    int getQueueDepth();
+
+    /** Maximum number of configuration files waiting to be written */
+    int getCapacity();
+
+    /** Number of saves submitted to the queue */
+    long getSubmittedCount();
+
+    /** Number of saves that replaced a pending save of the same file */
+    long getCoalescedCount();
+
+    /** Number of configuration files written */
+    long getWrittenCount();
+
+    /** Number of failed attempts to write a configuration file, failed writes are retried */
+    long getFailedCount();
+
+    /** Number of batches written */
+    long getFlushCount();
+
+    /** Time spent writing the last batch, in milliseconds */
+    long getLastFlushTime();
+
+    /** Average time spent writing a batch, in milliseconds */
+    double getAverageFlushTime();
+
+    /** Writes all the pending configuration files */
+    void flush();
+}
@@ -33,6 +33,7 @@
 import org.geoserver.catalog.event.CatalogRemoveEvent;
 import org.geoserver.config.util.XStreamPersister;
 import org.geoserver.platform.ExtensionPriority;
+import org.geoserver.platform.GeoServerExtensions;
 import org.geoserver.platform.GeoServerResourceLoader;
 import org.geoserver.platform.resource.Resource;
 import org.geotools.util.logging.Logging;
@@ -40,6 +41,10 @@
 /**
  * Handles the persistence of configuration files when changes happen to the catalog, such as rename, remove and change
  * of workspace.
+ *
+ * <p>Configuration files are written synchronously, unless the {@link ConfigWriteBehindQueue} is enabled, in which case
+ * they are queued and written in batches on a background thread. Pending writes are flushed before renaming, moving or
+ * removing files.
  */
 public class GeoServerConfigPersister implements CatalogListener, ConfigurationListener, ExtensionPriority {
 
@@ -49,6 +54,7 @@ public class GeoServerConfigPersister implements CatalogListener, ConfigurationL
     GeoServerResourceLoader rl;
     GeoServerDataDirectory dd;
     XStreamPersister xp;
+    ConfigWriteBehindQueue writeBehindQueue;
 
     public GeoServerConfigPersister(GeoServerResourceLoader rl, XStreamPersister xp) {
         this.rl = rl;
@@ -56,6 +62,27 @@ public GeoServerConfigPersister(GeoServerResourceLoader rl, XStreamPersister xp)
         this.xp = xp;
     }
 
+    /** Sets the write-behind queue, by default looked up in the application context */
+    public void setWriteBehindQueue(ConfigWriteBehindQueue writeBehindQueue) {
+        this.writeBehindQueue = writeBehindQueue;
+    }
+
+    /** Returns the write-behind queue, if available and enabled */
+    ConfigWriteBehindQueue getWriteBehindQueue() {
+        if (writeBehindQueue == null) {
+            writeBehindQueue = GeoServerExtensions.bean(ConfigWriteBehindQueue.class);
+        }
+        return writeBehindQueue != null && writeBehindQueue.isEnabled() ? writeBehindQueue : null;
+    }
+
+    /** Writes down the pending configuration files, if write-behind is enabled */
+    public void flush() {
+        ConfigWriteBehindQueue queue = getWriteBehindQueue();
+        if (queue != null) {
+            queue.flush();
+        }
+    }
+
     @Override
     public void handleAddEvent(CatalogAddEvent event) {
         Object source = event.getSource();
@@ -609,13 +636,28 @@ private void removeLayerGroup(LayerGroupInfo lg) throws IOException {
     }
 
     private void persist(Object o, Resource r) throws IOException {
+        ConfigWriteBehindQueue queue = getWriteBehindQueue();
+        if (queue != null) {
+            queue.submit(o, r, xp);
+        } else {
+            write(o, r, xp);
+        }
+    }
+
+    /** Serializes the object and writes it to the resource */
+    static void write(Object o, Resource r, XStreamPersister xp) {
+        write(serialize(o, r, xp), r);
+        LOGGER.fine("Persisted " + o.getClass().getName() + " to " + r.path());
+    }
+
+    /** Serializes the object in the format it's going to be written to the resource */
+    static byte[] serialize(Object o, Resource r, XStreamPersister xp) {
         try {
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
             synchronized (xp) {
-                ByteArrayOutputStream bos = new ByteArrayOutputStream();
                 xp.save(o, bos);
-                r.setContents(bos.toByteArray());
             }
-            LOGGER.fine("Persisted " + o.getClass().getName() + " to " + r.path());
+            return bos.toByteArray();
         } catch (Exception e) {
             // catch any exceptions and send them back as CatalogExeptions
             String msg = "Error persisting " + o + " to " + r.path();
@@ -623,7 +665,18 @@ private void persist(Object o, Resource r) throws IOException {
         }
     }
 
+    /** Writes the serialized contents to the resource */
+    static void write(byte[] contents, Resource r) {
+        try {
+            r.setContents(contents);
+        } catch (Exception e) {
+            throw new CatalogException("Error persisting " + r.path(), e);
+        }
+    }
+
     private void rmRes(Resource r) {
+        // pending writes might target the resources about to be moved or removed
+        flush();
         try {
             rl.remove(r.path());
         } catch (Exception e) {
@@ -632,6 +685,7 @@ private void rmRes(Resource r) {
     }
 
     private void renameRes(Resource r, String newName) {
+        flush();
         try {
             rl.move(r.path(), r.parent().get(newName).path());
         } catch (Exception e) {
@@ -640,6 +694,7 @@ private void renameRes(Resource r, String newName) {
     }
 
     private void moveResToDir(Resource r, Resource newDir) {
+        flush();
         try {
             rl.move(r.path(), newDir.get(r.name()).path());
         } catch (Exception e) {
@@ -5,6 +5,9 @@
 package org.geoserver.config.datadir;
 
 import com.google.common.base.Stopwatch;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.concurrent.Executor;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -67,6 +70,13 @@
  * {@literal GEOSERVER_DATA_DIR_LOADER_THREADS}. A value of zero or less will produce a warning and fall back to the
  * default value heuristic mentioned above.
  *
+ * <p>Setting {@literal GEOSERVER_DATA_DIR_SNAPSHOT=true} enables a binary {@link DataDirectorySnapshot snapshot} of the
+ * loaded XML files, stored in {@code catalog.snapshot} at the root of the data directory, or in the file set by
+ * {@literal GEOSERVER_DATA_DIR_SNAPSHOT_FILE} (e.g. a local disk when the data directory is on a network share). Files
+ * that did not change since the last load, by size and modification time, are decoded from the snapshot instead of
+ * being parsed. Setting {@literal GEOSERVER_DATA_DIR_SNAPSHOT_CHECKSUM=true} also verifies their checksum, at the cost
+ * of reading them. The snapshot is updated at the end of each load with the files that changed.
+ *
  * @implNote This class shares the loading workflow of {@link GeoServerLoader} and {@link DefaultGeoServerLoader},
  *     tapping into {@link #readCatalog(XStreamPersister)} and {@link #readConfiguration(GeoServer, XStreamPersister)}
  *     to load a catalog, and populate the {@link GeoServer} config, respectively, using the parallelism and single-pass
@@ -86,6 +96,18 @@ public class DataDirectoryGeoServerLoader extends DefaultGeoServerLoader {
      */
     static final String GEOSERVER_DATA_DIR_LOADER_THREADS = "GEOSERVER_DATA_DIR_LOADER_THREADS";
 
+    /** Environment variable or System property enabling the {@link DataDirectorySnapshot} */
+    static final String GEOSERVER_DATA_DIR_SNAPSHOT = "GEOSERVER_DATA_DIR_SNAPSHOT";
+
+    /** Environment variable or System property with the location of the {@link DataDirectorySnapshot} file */
+    static final String GEOSERVER_DATA_DIR_SNAPSHOT_FILE = "GEOSERVER_DATA_DIR_SNAPSHOT_FILE";
+
+    /** Environment variable or System property enabling checksum validation of the {@link DataDirectorySnapshot} */
+    static final String GEOSERVER_DATA_DIR_SNAPSHOT_CHECKSUM = "GEOSERVER_DATA_DIR_SNAPSHOT_CHECKSUM";
+
+    /** Default name of the {@link DataDirectorySnapshot} file, in the data directory root */
+    static final String SNAPSHOT_FILE_NAME = "catalog.snapshot";
+
     private final GeoServerDataDirectory dataDirectory;
     private final GeoServerSecurityManager securityManager;
 
@@ -116,6 +138,9 @@ public static boolean isEnabled(@Nullable ApplicationContext context) {
 
     @Override
     public void destroy() {
+        if (this.fileWalk != null && this.fileWalk.getXStreamLoader().getSnapshot() != null) {
+            this.fileWalk.getXStreamLoader().getSnapshot().close();
+        }
         this.fileWalk = null;
         super.destroy(); // calls geoserver.dispose()
     }
@@ -194,6 +219,24 @@ protected void readConfiguration(GeoServer geoServer, XStreamPersister xp) throw
 
             LOGGER.log(Level.CONFIG, "GeoServer config (settings and services) loaded in {0}", stopWatch.stop());
         }
+        // both the catalog and the config are loaded at this point
+        saveSnapshot();
+    }
+
+    private void saveSnapshot() {
+        DataDirectorySnapshot snapshot = fileWalk == null ? null : fileWalk.getXStreamLoader().getSnapshot();
+        if (snapshot != null) {
+            // files read from now on are parsed, the snapshot gets closed
+            fileWalk.getXStreamLoader().setSnapshot(null);
+            LOGGER.log(Level.CONFIG, "Loaded {0} files from the data directory snapshot, parsed {1}", new Object[] {
+                snapshot.getHits(), snapshot.getMisses()
+            });
+            try {
+                snapshot.save();
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Failed to save the data directory snapshot", e);
+            }
+        }
     }
 
     /** Looks for services.xml, if it exists assume we are dealing with an old data directory */
@@ -259,10 +302,23 @@ private ConfigurationPasswordEncryptionHelper passwordHelper() {
     private DataDirectoryWalker fileWalker() {
         if (fileWalk == null) {
             fileWalk = new DataDirectoryWalker(dataDirectory, xpf, configLock);
+            fileWalk.getXStreamLoader().setSnapshot(openSnapshot());
         }
         return fileWalk;
     }
 
+    @Nullable
+    private DataDirectorySnapshot openSnapshot() {
+        if (!Boolean.parseBoolean(GeoServerExtensions.getProperty(GEOSERVER_DATA_DIR_SNAPSHOT))) {
+            return null;
+        }
+        Path root = dataDirectory.root().toPath();
+        String location = GeoServerExtensions.getProperty(GEOSERVER_DATA_DIR_SNAPSHOT_FILE);
+        Path file = location != null ? Paths.get(location) : root.resolve(SNAPSHOT_FILE_NAME);
+        boolean checksums = Boolean.parseBoolean(GeoServerExtensions.getProperty(GEOSERVER_DATA_DIR_SNAPSHOT_CHECKSUM));
+        return new DataDirectorySnapshot(root, file, checksums);
+    }
+
     /** Warm up the extensions cache with all the extensions used during the loading process to avoid race conditions */
     private void initializeDependencies() {
         try {
@@ -0,0 +1,360 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.config.datadir;
+
+import com.thoughtworks.xstream.io.HierarchicalStreamReader;
+import com.thoughtworks.xstream.io.binary.BinaryStreamReader;
+import com.thoughtworks.xstream.io.binary.BinaryStreamWriter;
+import com.thoughtworks.xstream.io.copy.HierarchicalStreamCopier;
+import com.thoughtworks.xstream.io.xml.XppDriver;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+import org.geotools.util.logging.Logging;
+
+/**
+ * A compact, indexed, binary snapshot of the XML files loaded by the {@link DataDirectoryGeoServerLoader}, used to
+ * avoid reading and parsing them again on the next startup.
+ *
+ * <p>Each entry holds the document tree of an XML file transcoded to the XStream binary format (tokenized node names,
+ * no character decoding or XML parsing needed to read it back), along with the size, last modification time and CRC32
+ * checksum of the file it was taken from. Entries are decoded through the regular {@link XStreamLoader} converters,
+ * hence the objects are the same that would be parsed from the XML files.
+ *
+ * <p>The snapshot file starts with an index of the entries, which is the only part read when the snapshot is opened.
+ * The contents of an entry are read and decoded only when the corresponding file is requested, and only if the file
+ * did not change since the snapshot was taken, by size and modification time, or also by checksum if
+ * {@code checksums} is enabled (which requires reading the XML file, but not parsing it). Stale and missing entries
+ * are built from the XML files as they are loaded, and {@link #save()} writes down a new snapshot only if any entry
+ * changed, copying the unchanged ones as they are.
+ *
+ * <p>Instances are thread safe, {@link #depersist(Path, Function)} is called concurrently by the loader threads.
+ */
+class DataDirectorySnapshot implements Closeable {
+
+    private static final Logger LOGGER =
+            Logging.getLogger(DataDirectorySnapshot.class.getPackage().getName());
+
+    /** "GSDS" */
+    static final int MAGIC = 0x47534453;
+
+    static final int VERSION = 1;
+
+    /** Size of the header: magic, version, and index length */
+    static final int HEADER_SIZE = 12;
+
+    /** A snapshot entry, the encoded contents of an XML file, and the state of the file it was taken from */
+    static class Entry {
+        final long size;
+
+        final long lastModified;
+
+        final long checksum;
+
+        /** Position of the encoded contents in the snapshot file, for entries read from it */
+        final long offset;
+
+        final int length;
+
+        /** The encoded contents, for entries built while loading */
+        final byte[] contents;
+
+        Entry(long size, long lastModified, long checksum, long offset, int length) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.checksum = checksum;
+            this.offset = offset;
+            this.length = length;
+            this.contents = null;
+        }
+
+        Entry(long size, long lastModified, long checksum, byte[] contents) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.checksum = checksum;
+            this.offset = -1;
+            this.length = contents.length;
+            this.contents = contents;
+        }
+    }
+
+    private final Path root;
+
+    private final Path file;
+
+    private final boolean checksums;
+
+    private final XppDriver xmlDriver = new XppDriver();
+
+    /** The entries of the snapshot file, by path relative to the data directory */
+    private final Map<String, Entry> previous;
+
+    /** Open on the snapshot file while loading, entries are read from it lazily */
+    private volatile FileChannel channel;
+
+    /** The entries of the files loaded so far, either taken from the snapshot file, or built from the XML files */
+    private final Map<String, Entry> current = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param root the data directory root
+     * @param file the snapshot file, does not need to exist
+     * @param checksums whether to verify the checksum of the XML files, besides their size and modification time
+     */
+    DataDirectorySnapshot(Path root, Path file, boolean checksums) {
+        this.root = root;
+        this.file = file;
+        this.checksums = checksums;
+        this.previous = open();
+    }
+
+    private Map<String, Entry> open() {
+        if (!Files.isRegularFile(file)) {
+            LOGGER.config("No data directory snapshot found at " + file + ", it will be created");
+            return Collections.emptyMap();
+        }
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+            ByteBuffer header = read(0, HEADER_SIZE);
+            int magic = header.getInt();
+            int version = header.getInt();
+            int indexLength = header.getInt();
+            if (magic != MAGIC || version != VERSION) {
+                LOGGER.warning("Ignoring data directory snapshot " + file + ", unrecognized format");
+                close();
+                return Collections.emptyMap();
+            }
+            long dataStart = HEADER_SIZE + (long) indexLength;
+            ByteBuffer index = read(HEADER_SIZE, indexLength);
+            try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(index.array()))) {
+                int count = in.readInt();
+                Map<String, Entry> entries = new HashMap<>(count * 4 / 3 + 1);
+                for (int i = 0; i < count; i++) {
+                    String key = in.readUTF();
+                    long size = in.readLong();
+                    long lastModified = in.readLong();
+                    long checksum = in.readLong();
+                    long offset = in.readLong();
+                    int length = in.readInt();
+                    entries.put(key, new Entry(size, lastModified, checksum, dataStart + offset, length));
+                }
+                LOGGER.config("Opened data directory snapshot " + file + " with " + count + " entries");
+                return entries;
+            }
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Ignoring unreadable data directory snapshot " + file, e);
+            close();
+            return Collections.emptyMap();
+        }
+    }
+
+    private ByteBuffer read(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of data directory snapshot " + file);
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private byte[] contents(Entry entry) throws IOException {
+        if (entry.contents != null) {
+            return entry.contents;
+        }
+        if (channel == null) {
+            throw new IOException("Data directory snapshot " + file + " is closed");
+        }
+        return read(entry.offset, entry.length).array();
+    }
+
+    /**
+     * Loads an object from an XML file, decoding the snapshot entry of the file if up to date, or parsing the XML file
+     * and building the entry otherwise.
+     *
+     * @param xmlFile the XML file
+     * @param unmarshaller builds the object out of the document tree
+     * @return the object
+     * @throws IOException if the XML file cannot be read
+     */
+    public <C> C depersist(Path xmlFile, Function<HierarchicalStreamReader, C> unmarshaller) throws IOException {
+        String key = key(xmlFile);
+        BasicFileAttributes attributes = Files.readAttributes(xmlFile, BasicFileAttributes.class);
+        long size = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+
+        byte[] xml = null;
+        Entry entry = previous.get(key);
+        if (entry != null && entry.size == size && entry.lastModified == lastModified) {
+            if (checksums) {
+                xml = Files.readAllBytes(xmlFile);
+            }
+            if (xml == null || checksum(xml) == entry.checksum) {
+                try {
+                    C info = decode(contents(entry), unmarshaller);
+                    current.put(key, entry);
+                    hits.increment();
+                    return info;
+                } catch (IOException | RuntimeException e) {
+                    LOGGER.log(Level.FINE, "Failed to decode the snapshot of " + key + ", parsing the XML file", e);
+                }
+            }
+        }
+
+        misses.increment();
+        if (xml == null) {
+            xml = Files.readAllBytes(xmlFile);
+        }
+        byte[] encoded = encode(xml);
+        C info = decode(encoded, unmarshaller);
+        current.put(key, new Entry(size, lastModified, checksum(xml), encoded));
+        return info;
+    }
+
+    private String key(Path xmlFile) {
+        return root.relativize(xmlFile).toString().replace('\\', '/');
+    }
+
+    private static long checksum(byte[] contents) {
+        CRC32 crc = new CRC32();
+        crc.update(contents);
+        return crc.getValue();
+    }
+
+    /** Transcodes the XML document tree to the binary format */
+    private byte[] encode(byte[] xml) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(xml.length / 2);
+        HierarchicalStreamReader reader = xmlDriver.createReader(new ByteArrayInputStream(xml));
+        try {
+            BinaryStreamWriter writer = new BinaryStreamWriter(out);
+            new HierarchicalStreamCopier().copy(reader, writer);
+            writer.flush();
+        } finally {
+            reader.close();
+        }
+        return out.toByteArray();
+    }
+
+    private <C> C decode(byte[] encoded, Function<HierarchicalStreamReader, C> unmarshaller) {
+        BinaryStreamReader reader = new BinaryStreamReader(new ByteArrayInputStream(encoded));
+        try {
+            return unmarshaller.apply(reader);
+        } finally {
+            reader.close();
+        }
+    }
+
+    /** Number of objects decoded from the snapshot */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /** Number of objects parsed from the XML files, because missing in the snapshot, or out of date */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /** Returns true if the files loaded so far differ from the ones in the snapshot file */
+    public boolean isModified() {
+        return misses.sum() > 0 || current.size() != previous.size();
+    }
+
+    /**
+     * Writes down the entries of the files loaded, if any changed, replacing the snapshot file, and closes the
+     * snapshot. Entries of files not loaded since the snapshot was opened are dropped.
+     */
+    public void save() throws IOException {
+        if (!isModified()) {
+            close();
+            return;
+        }
+        List<String> keys = new ArrayList<>(current.keySet());
+        Collections.sort(keys);
+
+        ByteArrayOutputStream indexBytes = new ByteArrayOutputStream();
+        try (DataOutputStream index = new DataOutputStream(indexBytes)) {
+            index.writeInt(keys.size());
+            long offset = 0;
+            for (String key : keys) {
+                Entry entry = current.get(key);
+                index.writeUTF(key);
+                index.writeLong(entry.size);
+                index.writeLong(entry.lastModified);
+                index.writeLong(entry.checksum);
+                index.writeLong(offset);
+                index.writeInt(entry.length);
+                offset += entry.length;
+            }
+        }
+
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path tmp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(indexBytes.size());
+                indexBytes.writeTo(out);
+                for (String key : keys) {
+                    out.write(contents(current.get(key)));
+                }
+            }
+            // release the old file before replacing it
+            close();
+            try {
+                Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            LOGGER.config("Saved data directory snapshot " + file + " with " + keys.size() + " entries, "
+                    + getMisses() + " of them updated");
+        } finally {
+            close();
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /** Releases the snapshot file, entries taken from it can no longer be read */
+    @Override
+    public void close() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                LOGGER.log(Level.FINE, "Error closing data directory snapshot " + file, e);
+            }
+            channel = null;
+        }
+    }
+}
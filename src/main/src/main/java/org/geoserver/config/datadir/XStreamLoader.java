@@ -5,6 +5,7 @@
 package org.geoserver.config.datadir;
 
 import com.thoughtworks.xstream.XStream;
+import com.thoughtworks.xstream.io.HierarchicalStreamReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -58,6 +59,9 @@ class XStreamLoader {
 
     private XStreamPersisterFactory xpf;
 
+    /** Optional snapshot of the data directory, used to avoid parsing the XML files that did not change */
+    private DataDirectorySnapshot snapshot;
+
     /**
      * Holds per-thread {@link XStreamPersister}s. No need to call {@link ThreadLocal#remove()} because the calling
      * thread dies with the managed {@link ForkJoinPool} used to call {@link #depersist}.
@@ -85,6 +89,15 @@ XStreamPersisterFactory getPersisterFactory() {
         return xpf;
     }
 
+    /** Sets the data directory snapshot objects are loaded from, if up to date, or null to always parse the files */
+    void setSnapshot(DataDirectorySnapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    DataDirectorySnapshot getSnapshot() {
+        return snapshot;
+    }
+
     /**
      * Deserializes a GeoServer configuration or catalog object from an XML file.
      *
@@ -110,6 +123,14 @@ XStreamPersisterFactory getPersisterFactory() {
      * @return an Optional containing the deserialized object, or empty if loading or parsing failed
      */
     public <C extends Info> Optional<C> depersist(Path file) {
+        if (snapshot != null) {
+            try {
+                return Optional.of(snapshot.depersist(file, this::unmarshal));
+            } catch (IOException | RuntimeException e) {
+                logParseError(file, e);
+            }
+            return Optional.empty();
+        }
         try (InputStream contents = Files.newInputStream(file, StandardOpenOption.READ)) {
             return Optional.of(parse(contents));
         } catch (IOException | RuntimeException e) {
@@ -155,6 +176,15 @@ private <C extends Info> C parse(InputStream contents) {
         }
     }
 
+    /**
+     * Builds an object out of a document tree, read from the {@link DataDirectorySnapshot}, with the same thread-local
+     * {@link XStreamPersister} used by {@link #parse(InputStream)}
+     */
+    @SuppressWarnings("unchecked")
+    private <C extends Info> C unmarshal(HierarchicalStreamReader reader) {
+        return (C) getXStream().getXStream().unmarshal(reader);
+    }
+
     /** Logs errors that occur during XML parsing in a consistent format. */
     private void logParseError(Path file, Exception e) {
         String err = e.getMessage();
@@ -20,6 +20,7 @@
  *   <li>Single-pass directory traversal for both catalog and configuration
  *   <li>Thread-local XStream persisters to avoid contention
  *   <li>Deferred password decryption to avoid threading issues
+ *   <li>Optional binary snapshot of the loaded files, to skip parsing the ones that did not change
  * </ul>
  *
  * <p>Main classes in this package:
@@ -36,6 +37,7 @@
  *   <li>{@link org.geoserver.config.datadir.CatalogLoader} - Loads catalog entities (workspaces, stores, layers, etc.)
  *   <li>{@link org.geoserver.config.datadir.ConfigLoader} - Loads configuration entities (services, settings, etc.)
  *   <li>{@link org.geoserver.config.datadir.XStreamLoader} - Thread-safe XML deserialization
+ *   <li>{@link org.geoserver.config.datadir.DataDirectorySnapshot} - Binary snapshot of the loaded XML files
  * </ul>
  *
  * <p>The implementation uses parallel streams and a fork-join pool to maximize throughput, especially when loading from
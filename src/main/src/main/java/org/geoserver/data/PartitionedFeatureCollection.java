@@ -0,0 +1,256 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.data;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.geoserver.catalog.FeatureTypeInfo;
+import org.geoserver.catalog.StoreInfo;
+import org.geoserver.threadlocals.ThreadLocalsTransfer;
+import org.geotools.api.feature.FeatureVisitor;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.data.collection.ListFeatureCollection;
+import org.geotools.data.simple.SimpleFeatureCollection;
+import org.geotools.data.simple.SimpleFeatureIterator;
+import org.geotools.feature.collection.DecoratingSimpleFeatureCollection;
+import org.geotools.util.Converters;
+
+/**
+ * A feature collection that has been split in disjoint partitions (e.g., primary key ranges), which output formats can
+ * read and encode in parallel. Used as a plain collection, it behaves just like the collection it wraps.
+ *
+ * <p>Output formats supporting it call {@link #encode(PartitionEncoder, ChunkWriter)}: each partition is read on a
+ * shared and bounded thread pool, and encoded in chunks of at most {@link #CHUNK_SIZE} features, which are handed back
+ * in order to the calling thread, which writes them to the output. Each partition can only get a couple of chunks
+ * ahead of the output, and at most {@link #READERS} partitions of a request are read at the same time, so the memory
+ * used does not depend on the size of the results. As each partition being read holds a store connection, the readers
+ * are also capped to a fraction of the store connection pool. The request thread locals are transferred to the pool
+ * threads.
+ */
+public class PartitionedFeatureCollection extends DecoratingSimpleFeatureCollection
+        implements TypeInfoCollectionWrapper {
+
+    /** Number of threads encoding partitions, shared by all requests */
+    public static final int THREADS = Integer.getInteger(
+            "org.geoserver.data.partitionThreads", Runtime.getRuntime().availableProcessors());
+
+    /** Max number of partitions of a single request read at the same time */
+    public static final int READERS = Integer.getInteger("org.geoserver.data.partitionReaders", 2);
+
+    /** The connection pool size parameter of the JDBC stores */
+    static final String MAX_CONNECTIONS = "max connections";
+
+    /** Max number of features encoded in a single chunk */
+    public static final int CHUNK_SIZE = Integer.getInteger("org.geoserver.data.partitionChunkSize", 1000);
+
+    /** Number of encoded chunks a partition can get ahead of the output */
+    static final int QUEUE_SIZE = 2;
+
+    private static ExecutorService executor;
+
+    /** Encodes a chunk of features of a partition */
+    @FunctionalInterface
+    public interface PartitionEncoder<R> {
+        R encode(SimpleFeatureCollection chunk) throws IOException;
+    }
+
+    /** Writes an encoded chunk to the output, called in partition order */
+    @FunctionalInterface
+    public interface ChunkWriter<R> {
+        void write(R chunk) throws IOException;
+    }
+
+    private final FeatureTypeInfo featureTypeInfo;
+
+    private final List<SimpleFeatureCollection> partitions;
+
+    private final int readers;
+
+    public PartitionedFeatureCollection(
+            SimpleFeatureCollection delegate,
+            FeatureTypeInfo featureTypeInfo,
+            List<SimpleFeatureCollection> partitions) {
+        super(delegate);
+        this.featureTypeInfo = featureTypeInfo;
+        this.partitions = partitions;
+        this.readers = getReaders(featureTypeInfo);
+    }
+
+    /**
+     * Returns the number of partitions read at the same time, leaving most of the store connection pool, if any, to the
+     * other requests
+     */
+    static int getReaders(FeatureTypeInfo featureTypeInfo) {
+        int readers = Math.min(THREADS, READERS);
+        StoreInfo store = featureTypeInfo != null ? featureTypeInfo.getStore() : null;
+        if (store != null && store.getConnectionParameters() != null) {
+            Integer maxConnections = Converters.convert(
+                    store.getConnectionParameters().get(MAX_CONNECTIONS), Integer.class);
+            if (maxConnections != null && maxConnections > 0) {
+                readers = Math.min(readers, maxConnections / 4);
+            }
+        }
+        return Math.max(readers, 1);
+    }
+
+    @Override
+    public FeatureTypeInfo getFeatureTypeInfo() {
+        return featureTypeInfo;
+    }
+
+    /** The partitions, which together contain the same features as this collection */
+    public List<SimpleFeatureCollection> getPartitions() {
+        return partitions;
+    }
+
+    @Override
+    protected boolean canDelegate(FeatureVisitor visitor) {
+        return true;
+    }
+
+    /**
+     * Encodes the partitions in parallel, in chunks of features, and writes the resulting chunks in order. Encoders
+     * must not share any unsynchronized state, as they are called concurrently.
+     */
+    public <R> void encode(PartitionEncoder<R> encoder, ChunkWriter<R> writer) throws IOException {
+        ExecutorService executor = getExecutor();
+        ThreadLocalsTransfer transfer = new ThreadLocalsTransfer();
+        Deque<PartitionReader<R>> pending = new ArrayDeque<>();
+        Iterator<SimpleFeatureCollection> it = partitions.iterator();
+        try {
+            while (it.hasNext() || !pending.isEmpty()) {
+                while (it.hasNext() && pending.size() < readers) {
+                    PartitionReader<R> reader = new PartitionReader<>(it.next(), encoder, transfer);
+                    reader.future = executor.submit(reader);
+                    pending.add(reader);
+                }
+                PartitionReader<R> reader = pending.getFirst();
+                for (Chunk<R> chunk = take(reader); chunk != END; chunk = take(reader)) {
+                    writer.write(chunk.encoded());
+                }
+                pending.removeFirst();
+            }
+        } finally {
+            // in case of failure, don't keep on encoding partitions nobody will write
+            for (PartitionReader<R> reader : pending) {
+                reader.cancel();
+            }
+        }
+    }
+
+    /** An encoded chunk, or the failure that prevented the partition from being encoded */
+    private record Chunk<R>(R encoded, Throwable failure) {}
+
+    /** Marks the end of a partition */
+    @SuppressWarnings("rawtypes")
+    private static final Chunk END = new Chunk<>(null, null);
+
+    /** Reads a partition, and queues its encoded chunks */
+    private static class PartitionReader<R> implements Callable<Void> {
+
+        final SimpleFeatureCollection partition;
+
+        final PartitionEncoder<R> encoder;
+
+        final ThreadLocalsTransfer transfer;
+
+        final BlockingQueue<Chunk<R>> chunks = new ArrayBlockingQueue<>(QUEUE_SIZE);
+
+        Future<Void> future;
+
+        volatile boolean cancelled;
+
+        PartitionReader(SimpleFeatureCollection partition, PartitionEncoder<R> encoder, ThreadLocalsTransfer transfer) {
+            this.partition = partition;
+            this.encoder = encoder;
+            this.transfer = transfer;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Void call() throws InterruptedException {
+            transfer.apply();
+            try (SimpleFeatureIterator features = partition.features()) {
+                List<SimpleFeature> chunk = new ArrayList<>();
+                while (features.hasNext() && !cancelled) {
+                    chunk.add(features.next());
+                    if (chunk.size() >= CHUNK_SIZE || !features.hasNext()) {
+                        put(new Chunk<>(encoder.encode(new ListFeatureCollection(partition.getSchema(), chunk)), null));
+                        chunk = new ArrayList<>();
+                    }
+                }
+                put(END);
+            } catch (InterruptedException e) {
+                // cancelled, nobody is waiting for the chunks
+                throw e;
+            } catch (Throwable t) {
+                put(new Chunk<>(null, t));
+            } finally {
+                transfer.cleanup();
+            }
+            return null;
+        }
+
+        /** Waits for the output to catch up, unless cancelled */
+        private void put(Chunk<R> chunk) throws InterruptedException {
+            while (!chunks.offer(chunk, 100, TimeUnit.MILLISECONDS)) {
+                if (cancelled) {
+                    throw new InterruptedException("Partition encoding cancelled");
+                }
+            }
+        }
+
+        void cancel() {
+            cancelled = true;
+            future.cancel(true);
+        }
+    }
+
+    private static <R> Chunk<R> take(PartitionReader<R> reader) throws IOException {
+        Chunk<R> chunk;
+        try {
+            chunk = reader.chunks.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a partition to be encoded");
+        }
+        Throwable failure = chunk.failure();
+        if (failure == null) {
+            return chunk;
+        } else if (failure instanceof IOException exception) {
+            throw exception;
+        } else if (failure instanceof RuntimeException exception) {
+            throw exception;
+        } else if (failure instanceof Error error) {
+            throw error;
+        }
+        throw new IOException("Failed to encode a partition", failure);
+    }
+
+    private static synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(
+                    THREADS,
+                    new ThreadFactoryBuilder()
+                            .setDaemon(true)
+                            .setNameFormat("gs-partition-encoder-%d")
+                            .build());
+        }
+        return executor;
+    }
+}
@@ -8,37 +8,58 @@
 import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.WriteListener;
 import jakarta.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.util.Iterator;
 import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
  * A response stream that figures out whether or not to compress the output just before the first write. The decision is
- * based on the mimetype set for the output request.
+ * based on the mimetype set for the output request, and on the response size: when the content length is not known
+ * upfront, output is buffered up to the minimum size configured for the mimetype, and sent as is if the response
+ * turns out to be smaller. Responses already carrying a {@code Content-Encoding} (e.g., precompressed static files)
+ * are never compressed again.
  *
  * @author David Winslow
  */
 public class AlternativesResponseStream extends ServletOutputStream {
     HttpServletResponse myResponse;
     ServletOutputStream myStream;
-    Set myCompressibleTypes;
+    ContentEncoder myEncoder;
+    CompressionRules myRules;
     Logger logger = org.geotools.util.logging.Logging.getLogger("org.geoserver.filters");
     long contentLength;
 
-    public AlternativesResponseStream(HttpServletResponse response, Set compressible, long contentLength)
+    /** Output waiting for the minimum size to be reached, before deciding whether to compress it */
+    ByteArrayOutputStream buffer;
+
+    long bufferLimit;
+
+    public AlternativesResponseStream(HttpServletResponse response, Set<Pattern> compressible, long contentLength)
+            throws IOException {
+        this(response, GZIPResponseStream.GZIP, new CompressionRules(compressible), contentLength);
+    }
+
+    public AlternativesResponseStream(
+            HttpServletResponse response, ContentEncoder encoder, CompressionRules rules, long contentLength)
             throws IOException {
         super();
         myResponse = response;
-        myCompressibleTypes = compressible;
+        myEncoder = encoder;
+        myRules = rules;
         this.contentLength = contentLength;
     }
 
     @Override
     public void close() throws IOException {
+        if (myStream == null && buffer != null) {
+            // the whole output is smaller than the minimum size, send it as is
+            logger.log(Level.FINE, "Not compressing output smaller than {0} bytes", bufferLimit);
+            myStream = getUncompressedStream(buffer.size());
+            writeBuffer();
+        }
         if (isDirty()) getStream().close();
     }
 
@@ -49,17 +70,48 @@ public void flush() throws IOException {
 
     @Override
     public void write(int b) throws IOException {
-        getStream().write(b);
+        if (myStream == null && buffer(1)) {
+            buffer.write(b);
+        } else {
+            getStream().write(b);
+        }
     }
 
     @Override
     public void write(byte[] b) throws IOException {
-        getStream().write(b);
+        write(b, 0, b.length);
     }
 
     @Override
     public void write(byte[] b, int off, int len) throws IOException {
-        getStream().write(b, off, len);
+        if (myStream == null && buffer(len)) {
+            buffer.write(b, off, len);
+        } else {
+            getStream().write(b, off, len);
+        }
+    }
+
+    /** Returns true if the next bytes should be buffered, as the minimum size for compression is not yet reached */
+    private boolean buffer(int len) {
+        if (buffer == null) {
+            String type = myResponse.getContentType();
+            if (type == null || contentLength >= 0 || !shouldCompress(type)) {
+                return false;
+            }
+            bufferLimit = myRules.getMinSize(type);
+            if (bufferLimit <= 0) {
+                return false;
+            }
+            buffer = new ByteArrayOutputStream((int) Math.min(bufferLimit, 8192));
+        }
+        return buffer.size() + len < bufferLimit;
+    }
+
+    private void writeBuffer() throws IOException {
+        if (buffer != null) {
+            buffer.writeTo(myStream);
+            buffer = null;
+        }
     }
 
     protected ServletOutputStream getStream() throws IOException {
@@ -70,47 +122,46 @@ protected ServletOutputStream getStream() throws IOException {
         //            logger.warning("Mime type was not set before first write!");
         //        }
 
-        if (type != null && isCompressible(type)) {
+        if (type != null && shouldCompress(type) && (contentLength < 0 || contentLength >= myRules.getMinSize(type))) {
             logger.log(Level.FINE, "Compressing output for mimetype: {0}", type);
-            myResponse.addHeader("Content-Encoding", "gzip");
-            myStream = new GZIPResponseStream(myResponse);
+            myResponse.addHeader("Content-Encoding", myEncoder.getName());
+            myResponse.addHeader("Vary", "Accept-Encoding");
+            int level = myRules.getLevel(type, myEncoder);
+            if (myEncoder instanceof GZIPContentEncoder) {
+                myStream = new GZIPResponseStream(myResponse, level);
+            } else {
+                myStream = new EncodedResponseStream(myResponse.getOutputStream(), myEncoder, level);
+            }
         } else {
             logger.log(Level.FINE, "Not compressing output for mimetype: {0}", type);
-            if (contentLength >= 0) {
-                myResponse.setContentLengthLong(contentLength);
-            }
-            myStream = myResponse.getOutputStream();
+            myStream = getUncompressedStream(contentLength);
         }
+        writeBuffer();
 
         return myStream;
     }
 
+    private ServletOutputStream getUncompressedStream(long length) throws IOException {
+        if (length >= 0) {
+            myResponse.setContentLengthLong(length);
+        }
+        return myResponse.getOutputStream();
+    }
+
+    private boolean shouldCompress(String type) {
+        return isCompressible(type) && myResponse.getHeader("Content-Encoding") == null;
+    }
+
     protected boolean isDirty() {
         return myStream != null;
     }
 
     protected boolean isCompressible(String mimetype) {
-        String stripped = stripParams(mimetype);
-
-        Iterator it = myCompressibleTypes.iterator();
-
-        while (it.hasNext()) {
-            Pattern pat = (Pattern) it.next();
-            Matcher matcher = pat.matcher(stripped);
-            if (matcher.matches()) return true;
-        }
-
-        return false;
+        return myRules.isCompressible(mimetype);
     }
 
     protected String stripParams(String mimetype) {
-        int firstSemicolon = mimetype.indexOf(";");
-
-        if (firstSemicolon != -1) {
-            return mimetype.substring(0, firstSemicolon);
-        }
-
-        return mimetype;
+        return CompressionRules.stripParams(mimetype);
     }
 
     @Override
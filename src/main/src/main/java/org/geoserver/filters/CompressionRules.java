@@ -0,0 +1,147 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.filters;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * The rules deciding which responses the {@link GZIPFilter} compresses, and how, based on their mime type:
+ *
+ * <ul>
+ *   <li>the compressed types, a list of mime type regular expressions
+ *   <li>the compression levels, as a list of {@code [coding:]regex=level} entries, where the optional coding limits the
+ *       entry to a single content coding. When no entry matches, the content coding default level is used
+ *   <li>the minimum sizes, as a list of {@code regex=bytes} entries, plus an optional plain {@code bytes} entry used
+ *       for all other types. Responses smaller than the minimum size are not worth compressing, and are sent as is
+ * </ul>
+ *
+ * Mime type parameters are ignored when matching.
+ */
+public class CompressionRules {
+
+    private record LevelRule(String coding, Pattern type, int level) {}
+
+    private record SizeRule(Pattern type, long minSize) {}
+
+    private final Set<Pattern> compressedTypes;
+
+    private final List<LevelRule> levels = new ArrayList<>();
+
+    private final List<SizeRule> sizes = new ArrayList<>();
+
+    private long defaultMinSize = 0;
+
+    /** Compresses the given types at the default level, regardless of their size */
+    public CompressionRules(Set<Pattern> compressedTypes) {
+        this.compressedTypes = compressedTypes;
+    }
+
+    /**
+     * Parses the rules from their textual representation, each a comma separated list
+     *
+     * @param compressedTypes the compressed mime type regular expressions, may be null
+     * @param levels the compression level entries, may be null
+     * @param minSizes the minimum size entries, may be null
+     * @throws IllegalArgumentException if any entry is not valid
+     */
+    public static CompressionRules parse(String compressedTypes, String levels, String minSizes) {
+        Set<Pattern> types = new HashSet<>();
+        for (String type : split(compressedTypes)) {
+            types.add(Pattern.compile(type));
+        }
+        CompressionRules rules = new CompressionRules(types);
+        for (String entry : split(levels)) {
+            int idx = entry.lastIndexOf('=');
+            if (idx <= 0) {
+                throw new IllegalArgumentException("Invalid compression level entry: " + entry);
+            }
+            String key = entry.substring(0, idx).trim();
+            String coding = null;
+            int colon = key.indexOf(':');
+            if (colon > 0 && key.lastIndexOf('/', colon) < 0) {
+                coding = key.substring(0, colon).trim();
+                key = key.substring(colon + 1).trim();
+            }
+            int level = Integer.parseInt(entry.substring(idx + 1).trim());
+            rules.levels.add(new LevelRule(coding, Pattern.compile(key), level));
+        }
+        for (String entry : split(minSizes)) {
+            int idx = entry.lastIndexOf('=');
+            if (idx < 0) {
+                rules.defaultMinSize = Long.parseLong(entry);
+            } else {
+                Pattern type = Pattern.compile(entry.substring(0, idx).trim());
+                rules.sizes.add(new SizeRule(type, Long.parseLong(entry.substring(idx + 1).trim())));
+            }
+        }
+        return rules;
+    }
+
+    private static List<String> split(String list) {
+        List<String> result = new ArrayList<>();
+        if (list != null) {
+            // TODO: Are commas allowed in mimetypes?
+            for (String item : list.split(",")) {
+                if (!item.isBlank()) {
+                    result.add(item.trim());
+                }
+            }
+        }
+        return result;
+    }
+
+    /** The compressed mime type patterns */
+    public Set<Pattern> getCompressedTypes() {
+        return compressedTypes;
+    }
+
+    /** Returns true if responses of the given mime type should be compressed */
+    public boolean isCompressible(String mimetype) {
+        String stripped = stripParams(mimetype);
+        for (Pattern pattern : compressedTypes) {
+            if (pattern.matcher(stripped).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Returns the compression level for the given mime type and content coding */
+    public int getLevel(String mimetype, ContentEncoder encoder) {
+        String stripped = stripParams(mimetype);
+        for (LevelRule rule : levels) {
+            if ((rule.coding() == null || rule.coding().equalsIgnoreCase(encoder.getName()))
+                    && rule.type().matcher(stripped).matches()) {
+                return rule.level();
+            }
+        }
+        return encoder.getDefaultLevel();
+    }
+
+    /** Returns the minimum size, in bytes, of the responses of the given mime type worth compressing */
+    public long getMinSize(String mimetype) {
+        String stripped = stripParams(mimetype);
+        for (SizeRule rule : sizes) {
+            if (rule.type().matcher(stripped).matches()) {
+                return rule.minSize();
+            }
+        }
+        return defaultMinSize;
+    }
+
+    static String stripParams(String mimetype) {
+        int firstSemicolon = mimetype.indexOf(";");
+
+        if (firstSemicolon != -1) {
+            return mimetype.substring(0, firstSemicolon);
+        }
+
+        return mimetype;
+    }
+}
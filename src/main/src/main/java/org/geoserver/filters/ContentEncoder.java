@@ -0,0 +1,31 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.filters;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * A HTTP content coding the {@link GZIPFilter} can compress responses with. The gzip coding is built-in, others (e.g.
+ * zstd, br) can be contributed by plugins shipping the native libraries they need, by declaring an implementation as a
+ * Spring bean or as a SPI service.
+ */
+public interface ContentEncoder {
+
+    /** The content coding name, as used in the {@code Accept-Encoding} and {@code Content-Encoding} headers */
+    String getName();
+
+    /** The compression level used when none is configured for the response mime type */
+    int getDefaultLevel();
+
+    /**
+     * Wraps the output into a compressing stream. Closing the returned stream must complete the compressed output and
+     * close the wrapped one.
+     *
+     * @param output the response output
+     * @param level the compression level, in the range supported by the coding
+     */
+    OutputStream encode(OutputStream output, int level) throws IOException;
+}
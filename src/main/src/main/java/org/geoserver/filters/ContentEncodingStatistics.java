@@ -0,0 +1,102 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.filters;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import org.geoserver.util.JMXUtils;
+
+/**
+ * Byte and CPU time counters of the response compression, by content coding, exposed via JMX as {@link #OBJECT_NAME}.
+ * CPU time is measured on the request thread, around the calls to the compressing streams, and falls back to wall
+ * clock time if the JVM does not support thread CPU time measurement.
+ */
+public class ContentEncodingStatistics implements ContentEncodingStatisticsMXBean {
+
+    public static final String OBJECT_NAME = "org.geoserver:type=ContentEncoding";
+
+    static final ContentEncodingStatistics INSTANCE = new ContentEncodingStatistics();
+
+    static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    static final boolean CPU_TIME_SUPPORTED = isCpuTimeSupported();
+
+    /** The counters of a single content coding */
+    static class Counters {
+        final LongAdder responses = new LongAdder();
+        final LongAdder bytesIn = new LongAdder();
+        final LongAdder bytesOut = new LongAdder();
+        final LongAdder cpuTime = new LongAdder();
+    }
+
+    private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+
+    /** Returns the shared statistics */
+    public static ContentEncodingStatistics getInstance() {
+        return INSTANCE;
+    }
+
+    private static boolean isCpuTimeSupported() {
+        try {
+            return THREADS.isCurrentThreadCpuTimeSupported() && THREADS.isThreadCpuTimeEnabled();
+        } catch (UnsupportedOperationException e) {
+            return false;
+        }
+    }
+
+    /** Current thread CPU time, in nanoseconds */
+    static long cpuTime() {
+        return CPU_TIME_SUPPORTED ? THREADS.getCurrentThreadCpuTime() : System.nanoTime();
+    }
+
+    Counters getCounters(String coding) {
+        return counters.computeIfAbsent(coding, c -> new Counters());
+    }
+
+    void register() {
+        JMXUtils.register(this, OBJECT_NAME);
+    }
+
+    void unregister() {
+        JMXUtils.unregister(OBJECT_NAME);
+    }
+
+    private Map<String, Long> collect(Function<Counters, Long> getter) {
+        Map<String, Long> result = new TreeMap<>();
+        counters.forEach((coding, c) -> result.put(coding, getter.apply(c)));
+        return result;
+    }
+
+    @Override
+    public Map<String, Long> getResponseCount() {
+        return collect(c -> c.responses.sum());
+    }
+
+    @Override
+    public Map<String, Long> getBytesIn() {
+        return collect(c -> c.bytesIn.sum());
+    }
+
+    @Override
+    public Map<String, Long> getBytesOut() {
+        return collect(c -> c.bytesOut.sum());
+    }
+
+    @Override
+    public Map<String, Long> getCpuTime() {
+        return collect(c -> TimeUnit.NANOSECONDS.toMillis(c.cpuTime.sum()));
+    }
+
+    @Override
+    public void reset() {
+        counters.clear();
+    }
+}
@@ -0,0 +1,29 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.filters;
+
+import java.util.Map;
+
+/**
+ * Management interface of the {@link ContentEncodingStatistics}, exposed via JMX as
+ * {@link ContentEncodingStatistics#OBJECT_NAME}. All maps are keyed by content coding name.
+ */
+public interface ContentEncodingStatisticsMXBean {
+
+    /** Number of responses compressed */
+    Map<String, Long> getResponseCount();
+
+    /** Number of bytes before compression */
+    Map<String, Long> getBytesIn();
+
+    /** Number of bytes after compression */
+    Map<String, Long> getBytesOut();
+
+    /** CPU time spent compressing, in milliseconds */
+    Map<String, Long> getCpuTime();
+
+    /** Resets all counters */
+    void reset();
+}
@@ -0,0 +1,123 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.filters;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import org.apache.commons.io.output.CloseShieldOutputStream;
+
+/**
+ * A streaming servlet output stream wrapper compressing the output with a {@link ContentEncoder}, and keeping track of
+ * the bytes and CPU time involved in the {@link ContentEncodingStatistics}
+ */
+public class EncodedResponseStream extends ServletOutputStream {
+    protected final ServletOutputStream delegateStream;
+    protected final OutputStream encodedStream;
+    protected final String encoding;
+
+    protected boolean closed = false;
+
+    private final ContentEncodingStatistics.Counters counters;
+
+    public EncodedResponseStream(ServletOutputStream delegate, ContentEncoder encoder, int level) throws IOException {
+        super();
+        this.delegateStream = delegate;
+        this.encoding = encoder.getName();
+        this.counters = ContentEncodingStatistics.getInstance().getCounters(encoding);
+        long start = ContentEncodingStatistics.cpuTime();
+        // the servlet container owns the response stream, closing the encoder must not close it
+        this.encodedStream = encoder.encode(new CountingStream(CloseShieldOutputStream.wrap(delegate)), level);
+        counters.cpuTime.add(ContentEncodingStatistics.cpuTime() - start);
+        counters.responses.increment();
+    }
+
+    /** The content coding name */
+    public String getEncoding() {
+        return encoding;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            throw new IOException("This output stream has already been closed");
+        }
+        long start = ContentEncodingStatistics.cpuTime();
+        encodedStream.close();
+        counters.cpuTime.add(ContentEncodingStatistics.cpuTime() - start);
+        closed = true;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (!closed) {
+            long start = ContentEncodingStatistics.cpuTime();
+            encodedStream.flush();
+            counters.cpuTime.add(ContentEncodingStatistics.cpuTime() - start);
+        }
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (closed) {
+            throw new IOException("Cannot write to a closed output stream");
+        }
+        // single bytes are buffered by the encoders, not worth timing
+        encodedStream.write((byte) b);
+        counters.bytesIn.increment();
+    }
+
+    @Override
+    public void write(byte[] b) throws IOException {
+        write(b, 0, b.length);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (closed) {
+            throw new IOException("Cannot write to a closed output stream");
+        }
+        long start = ContentEncodingStatistics.cpuTime();
+        encodedStream.write(b, off, len);
+        counters.cpuTime.add(ContentEncodingStatistics.cpuTime() - start);
+        counters.bytesIn.add(len);
+    }
+
+    public boolean closed() {
+        return (this.closed);
+    }
+
+    @Override
+    public boolean isReady() {
+        return delegateStream.isReady();
+    }
+
+    @Override
+    public void setWriteListener(WriteListener writeListener) {
+        delegateStream.setWriteListener(writeListener);
+    }
+
+    /** Counts the compressed bytes */
+    private class CountingStream extends FilterOutputStream {
+
+        CountingStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            counters.bytesOut.increment();
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            counters.bytesOut.add(len);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.filters;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/** The built-in gzip content coding, levels go from 1 (fastest) to 9 (best compression) */
+public class GZIPContentEncoder implements ContentEncoder {
+
+    public static final String GZIP = "gzip";
+
+    @Override
+    public String getName() {
+        return GZIP;
+    }
+
+    @Override
+    public int getDefaultLevel() {
+        return Deflater.DEFAULT_COMPRESSION;
+    }
+
+    @Override
+    public OutputStream encode(OutputStream output, int level) throws IOException {
+        return new LevelGZIPOutputStream(output, level);
+    }
+
+    /** A syncing GZIPOutputStream with a configurable compression level */
+    static class LevelGZIPOutputStream extends GZIPOutputStream {
+
+        LevelGZIPOutputStream(OutputStream out, int level) throws IOException {
+            super(out, 4096, true);
+            def.setLevel(Math.max(Deflater.DEFAULT_COMPRESSION, Math.min(Deflater.BEST_COMPRESSION, level)));
+        }
+    }
+}
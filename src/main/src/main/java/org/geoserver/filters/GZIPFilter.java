@@ -26,23 +26,50 @@
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.HashSet;
-import java.util.Set;
-import java.util.regex.Pattern;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.geoserver.ows.util.AcceptEncoding;
+import org.geoserver.platform.GeoServerExtensions;
 
+/**
+ * Compresses the responses, negotiating the content coding with the client {@code Accept-Encoding} header. The filter
+ * is configured with the following init parameters:
+ *
+ * <ul>
+ *   <li>{@code compressed-types}: comma separated list of regular expressions matching the mime types to compress
+ *   <li>{@code compression-levels}: comma separated list of {@code [coding:]regex=level} entries, setting the
+ *       compression level by mime type, and optionally by content coding. Defaults to the content coding default level
+ *   <li>{@code min-size}: comma separated list of {@code regex=bytes} entries, plus an optional plain {@code bytes}
+ *       entry for all other types, below which responses are not compressed. Defaults to 0
+ *   <li>{@code encodings}: the content codings the server prefers, in order, defaults to {@code zstd,br,gzip}
+ * </ul>
+ *
+ * <p>The gzip coding is built-in, other codings need a {@link ContentEncoder} to be available, either as a Spring bean
+ * or a SPI service. Codings without an encoder are skipped. See {@link CompressionRules} for more details on the rule
+ * syntax, and {@link ContentEncodingStatistics} for the compression counters exposed via JMX.
+ */
 public class GZIPFilter implements Filter {
 
-    private Set<Pattern> myCompressedTypes;
+    static final String DEFAULT_ENCODINGS = "zstd,br,gzip";
+
+    private CompressionRules rules;
+
+    private Map<String, ContentEncoder> encoders;
+
+    private List<String> encodings;
 
     @Override
     public void doFilter(ServletRequest req, ServletResponse res, FilterChain chain)
             throws IOException, ServletException {
         if (req instanceof HttpServletRequest request) {
             HttpServletResponse response = (HttpServletResponse) res;
-            String ae = request.getHeader("accept-encoding");
-            if (ae != null && ae.indexOf("gzip") != -1) {
+            String coding = AcceptEncoding.parse(request.getHeader("accept-encoding")).negotiate(encodings);
+            if (coding != null) {
                 GZIPResponseWrapper wrappedResponse = new GZIPResponseWrapper(
-                        response, myCompressedTypes, request.getRequestURL().toString());
+                        response, encoders.get(coding), rules, request.getRequestURL().toString());
                 chain.doFilter(req, wrappedResponse);
                 wrappedResponse.finishResponse();
                 return;
@@ -55,18 +82,32 @@ public void doFilter(ServletRequest req, ServletResponse res, FilterChain chain)
     @Override
     public void init(FilterConfig filterConfig) {
         try {
-            String compressedTypes = filterConfig.getInitParameter("compressed-types");
-            String[] typeNames = (compressedTypes == null ? new String[0] : compressedTypes.split(","));
-            // TODO: Are commas allowed in mimetypes?
-            myCompressedTypes = new HashSet<>();
-            for (String typeName : typeNames) {
-                myCompressedTypes.add(Pattern.compile(typeName));
+            rules = CompressionRules.parse(
+                    filterConfig.getInitParameter("compressed-types"),
+                    filterConfig.getInitParameter("compression-levels"),
+                    filterConfig.getInitParameter("min-size"));
+
+            encoders = new HashMap<>();
+            encoders.put(GZIPContentEncoder.GZIP, GZIPResponseStream.GZIP);
+            for (ContentEncoder encoder : GeoServerExtensions.extensions(ContentEncoder.class)) {
+                encoders.put(encoder.getName().toLowerCase(Locale.ENGLISH), encoder);
+            }
+            String preferred = filterConfig.getInitParameter("encodings");
+            encodings = new ArrayList<>();
+            for (String coding : (preferred == null ? DEFAULT_ENCODINGS : preferred).split(",")) {
+                coding = coding.trim().toLowerCase(Locale.ENGLISH);
+                if (encoders.containsKey(coding) && !encodings.contains(coding)) {
+                    encodings.add(coding);
+                }
             }
         } catch (Exception e) {
             throw new RuntimeException("Error while setting up GZIPFilter; " + e);
         }
+        ContentEncodingStatistics.getInstance().register();
     }
 
     @Override
-    public void destroy() {}
+    public void destroy() {
+        ContentEncodingStatistics.getInstance().unregister();
+    }
 }
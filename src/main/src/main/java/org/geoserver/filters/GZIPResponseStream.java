@@ -4,10 +4,9 @@
  */
 package org.geoserver.filters;
 
-import jakarta.servlet.ServletOutputStream;
-import jakarta.servlet.WriteListener;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.zip.Deflater;
 import java.util.zip.GZIPOutputStream;
 
 /**
@@ -15,67 +14,17 @@
  *
  * @author Andrea Aime - GeoSolutions
  */
-public class GZIPResponseStream extends ServletOutputStream {
-    protected final ServletOutputStream delegateStream;
-    protected GZIPOutputStream gzipstream = null;
+public class GZIPResponseStream extends EncodedResponseStream {
+    static final ContentEncoder GZIP = new GZIPContentEncoder();
 
-    protected boolean closed = false;
+    protected GZIPOutputStream gzipstream = null;
 
     public GZIPResponseStream(HttpServletResponse response) throws IOException {
-        super();
-        closed = false;
-        delegateStream = response.getOutputStream();
-        gzipstream = new GZIPOutputStream(delegateStream, 4096, true);
-    }
-
-    @Override
-    public void close() throws IOException {
-        if (closed) {
-            throw new IOException("This output stream has already been closed");
-        }
-        gzipstream.finish();
-        closed = true;
-    }
-
-    @Override
-    public void flush() throws IOException {
-        if (!closed) {
-            gzipstream.flush();
-        }
-    }
-
-    @Override
-    public void write(int b) throws IOException {
-        if (closed) {
-            throw new IOException("Cannot write to a closed output stream");
-        }
-        gzipstream.write((byte) b);
-    }
-
-    @Override
-    public void write(byte[] b) throws IOException {
-        write(b, 0, b.length);
-    }
-
-    @Override
-    public void write(byte[] b, int off, int len) throws IOException {
-        if (closed) {
-            throw new IOException("Cannot write to a closed output stream");
-        }
-        gzipstream.write(b, off, len);
-    }
-
-    public boolean closed() {
-        return (this.closed);
-    }
-
-    @Override
-    public boolean isReady() {
-        return delegateStream.isReady();
+        this(response, Deflater.DEFAULT_COMPRESSION);
     }
 
-    @Override
-    public void setWriteListener(WriteListener writeListener) {
-        delegateStream.setWriteListener(writeListener);
+    public GZIPResponseStream(HttpServletResponse response, int level) throws IOException {
+        super(response.getOutputStream(), GZIP, level);
+        gzipstream = (GZIPOutputStream) encodedStream;
     }
 }
@@ -26,26 +26,35 @@
 import java.nio.charset.StandardCharsets;
 import java.util.Set;
 import java.util.logging.Logger;
+import java.util.regex.Pattern;
 
 public class GZIPResponseWrapper extends HttpServletResponseWrapper {
     protected HttpServletResponse origResponse = null;
     protected AlternativesResponseStream stream = null;
     protected PrintWriter writer = null;
-    protected Set formatsToCompress;
+    protected Set<Pattern> formatsToCompress;
+    protected ContentEncoder encoder;
+    protected CompressionRules rules;
     protected String requestedURL;
     protected Logger logger = org.geotools.util.logging.Logging.getLogger("org.geoserver.filters");
     private long contentLength = -1;
 
-    public GZIPResponseWrapper(HttpServletResponse response, Set toCompress, String url) {
+    public GZIPResponseWrapper(HttpServletResponse response, Set<Pattern> toCompress, String url) {
+        this(response, GZIPResponseStream.GZIP, new CompressionRules(toCompress), url);
+    }
+
+    public GZIPResponseWrapper(
+            HttpServletResponse response, ContentEncoder encoder, CompressionRules rules, String url) {
         super(response);
         requestedURL = url;
         origResponse = response;
-        // TODO: allow user-configured format list here
-        formatsToCompress = toCompress;
+        formatsToCompress = rules.getCompressedTypes();
+        this.encoder = encoder;
+        this.rules = rules;
     }
 
     protected AlternativesResponseStream createOutputStream() throws IOException {
-        return new AlternativesResponseStream(origResponse, formatsToCompress, contentLength);
+        return new AlternativesResponseStream(origResponse, encoder, rules, contentLength);
     }
 
     /**
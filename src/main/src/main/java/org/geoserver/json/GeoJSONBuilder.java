@@ -5,12 +5,15 @@
  */
 package org.geoserver.json;
 
+import java.io.IOException;
 import java.io.Writer;
 import java.util.Calendar;
 import java.util.List;
 import java.util.Map;
 import net.sf.json.JSONException;
+import net.sf.json.JSONString;
 import net.sf.json.util.JSONBuilder;
+import org.geoserver.platform.GeoServerExtensions;
 import org.geotools.referencing.CRS;
 import org.geotools.util.Converters;
 import org.locationtech.jts.geom.CoordinateSequence;
@@ -28,16 +31,30 @@
  * This class extends the JSONBuilder to be able to write out geometric types. It is coded against the draft 5 version
  * of the spec on http://geojson.org
  *
+ * <p>Geometries, bounding boxes, strings, booleans and primitive wrapper numbers are streamed directly to the writer by
+ * a dedicated encoder, which produces the same output as the generic builder machinery at a fraction of the cost. The
+ * legacy, builder based, encoding can be restored by setting the {@link #LEGACY_ENCODING} property to {@code true}.
+ *
  * @author Chris Holmes, The Open Planning Project
  */
 public class GeoJSONBuilder extends JSONBuilder {
 
+    /** System/environment property enabling the legacy, builder based, encoding of geometries and values */
+    public static final String LEGACY_ENCODING = "GEOSERVER_GEOJSON_LEGACY_ENCODING";
+
+    /** An empty value, used to have the builder write the separators that precede a value streamed by the encoder */
+    private static final JSONString STREAMED_VALUE = () -> "";
+
     private CRS.AxisOrder axisOrder = CRS.AxisOrder.EAST_NORTH;
 
     private int numDecimals = 6;
 
     private boolean encodeMeasures = false;
 
+    private boolean streaming = !Boolean.parseBoolean(GeoServerExtensions.getProperty(LEGACY_ENCODING));
+
+    private GeoJSONStreamEncoder encoder;
+
     public GeoJSONBuilder(Writer w) {
         super(w);
     }
@@ -51,6 +68,15 @@ public GeoJSONBuilder(Writer w) {
      * @throws JSONException If anything goes wrong
      */
     public JSONBuilder writeGeom(Geometry geometry) throws JSONException {
+        if (streaming) {
+            GeoJSONStreamEncoder encoder = beginStreamedValue();
+            try {
+                encoder.writeGeometry(geometry);
+            } catch (IOException e) {
+                throw new JSONException(e);
+            }
+            return this;
+        }
         this.object();
         this.key("type");
         this.value(getGeometryName(geometry));
@@ -231,6 +257,15 @@ private void roundedValue(double value) {
      */
     public JSONBuilder writeBoundingBox(Envelope env) {
         this.key("bbox");
+        if (streaming && isFinite(env)) {
+            GeoJSONStreamEncoder encoder = beginStreamedValue();
+            try {
+                encoder.writeBoundingBox(env);
+            } catch (IOException e) {
+                throw new JSONException(e);
+            }
+            return this;
+        }
         this.array();
         if (axisOrder == CRS.AxisOrder.NORTH_EAST) {
             roundedValue(env.getMinY());
@@ -246,6 +281,31 @@ public JSONBuilder writeBoundingBox(Envelope env) {
         return this.endArray();
     }
 
+    private static boolean isFinite(Envelope env) {
+        return Double.isFinite(env.getMinX())
+                && Double.isFinite(env.getMinY())
+                && Double.isFinite(env.getMaxX())
+                && Double.isFinite(env.getMaxY());
+    }
+
+    /**
+     * Gets the builder ready for a value streamed by the encoder, writing the separators that precede it, and returns
+     * the configured encoder.
+     */
+    private GeoJSONStreamEncoder beginStreamedValue() {
+        if (mode == 'i') {
+            // a geometry as the whole document, nothing to separate it from
+            mode = 'd';
+        } else {
+            super.value(STREAMED_VALUE);
+        }
+        if (encoder == null) {
+            encoder = new GeoJSONStreamEncoder(writer);
+        }
+        encoder.configure(axisOrder, numDecimals, encodeMeasures);
+        return encoder;
+    }
+
     /**
      * Writes a polygon
      *
@@ -373,7 +433,8 @@ public JSONBuilder writeMap(final Map map) {
      * {@code java.util.Calendar} instances as ISO 8601 strings. In addition handles rounding numbers to the specified
      * number of decimal points.
      *
-     * <p>Overrides the handling of java.util.Map, java.util.List, and Geometry objects as well.
+     * <p>Overrides the handling of java.util.Map, java.util.List, and Geometry objects as well. Strings, booleans and
+     * primitive wrapper numbers, including the converted dates, are streamed, see {@link #setStreaming(boolean)}.
      *
      * @see net.sf.json.util.JSONBuilder#value(java.lang.Object)
      */
@@ -391,7 +452,17 @@ public GeoJSONBuilder value(Object value) {
             if (value instanceof java.util.Date || value instanceof Calendar) {
                 value = Converters.convert(value, String.class);
             }
-            super.value(value);
+            // a value as the whole document is left to the builder, as in the legacy encoding
+            if (streaming && mode != 'i' && GeoJSONStreamEncoder.canWrite(value)) {
+                GeoJSONStreamEncoder encoder = beginStreamedValue();
+                try {
+                    encoder.writeValue(value);
+                } catch (IOException e) {
+                    throw new JSONException(e);
+                }
+            } else {
+                super.value(value);
+            }
         }
         return this;
     }
@@ -408,6 +479,14 @@ public void setNumberOfDecimals(int numberOfDecimals) {
         this.numDecimals = numberOfDecimals;
     }
 
+    /**
+     * Sets if geometries, bounding boxes and simple values should be streamed directly to the writer (the default), or
+     * written through the generic builder machinery.
+     */
+    public void setStreaming(boolean streaming) {
+        this.streaming = streaming;
+    }
+
     /**
      * Sets if coordinates measures (M) should be encoded.
      *
@@ -9,6 +9,7 @@
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.io.StringWriter;
 import java.io.Writer;
 import java.math.BigInteger;
 import java.nio.charset.Charset;
@@ -25,6 +26,7 @@
 import org.geoserver.catalog.ResourcePool;
 import org.geoserver.config.GeoServer;
 import org.geoserver.config.SettingsInfo;
+import org.geoserver.data.PartitionedFeatureCollection;
 import org.geoserver.data.TypeInfoCollectionWrapper;
 import org.geoserver.data.util.TemporalUtils;
 import org.geoserver.ows.Dispatcher;
@@ -127,7 +129,14 @@ public void write(
             jsonWriter.key("features");
             jsonWriter.array();
             boolean isComplex = isComplexFeature(featureCollections);
-            FeaturesInfo featuresInfo = writeFeatures(featureCollections, isComplex, jsonWriter);
+            FeaturesInfo featuresInfo;
+            if (!isComplex
+                    && featureCollections.size() == 1
+                    && featureCollections.get(0) instanceof PartitionedFeatureCollection partitioned) {
+                featuresInfo = writePartitionedFeatures(featureCollections, partitioned, outWriter);
+            } else {
+                featuresInfo = writeFeatures(featureCollections, isComplex, jsonWriter);
+            }
             jsonWriter.endArray(); // end features
             boolean hasGeom = featuresInfo.hasGeometry;
             CoordinateReferenceSystem crs = featuresInfo.crs;
@@ -282,6 +291,46 @@ protected void writeExtraFeatureProperties(Feature feature, boolean topLevelFeat
         return featuresInfo;
     }
 
+    /**
+     * Writes the features of a partitioned collection straight into the features array. The partitions are encoded in
+     * parallel, in bounded chunks of features, each one with its own {@link GeoJSONBuilder}, and stitched in order, so
+     * the feature level hooks of this class may be called concurrently.
+     */
+    protected FeaturesInfo writePartitionedFeatures(
+            List<FeatureCollection<T, F>> featureCollections,
+            PartitionedFeatureCollection partitioned,
+            Writer outWriter)
+            throws IOException {
+        boolean featureBounding = isFeatureBounding();
+        FeaturesInfo total = new FeaturesInfo(null, false, 0);
+        partitioned.encode(
+                chunk -> {
+                    StringWriter json = new StringWriter();
+                    GeoJSONBuilder jsonWriter = getGeoJSONBuilder(featureCollections, json);
+                    jsonWriter.array();
+                    @SuppressWarnings("unchecked")
+                    FeatureCollection<T, F> features = (FeatureCollection<T, F>) (FeatureCollection<?, ?>) chunk;
+                    FeaturesInfo info = encodeSimpleFeatures(jsonWriter, List.of(features), featureBounding);
+                    jsonWriter.endArray();
+                    return new EncodedChunk(json.getBuffer(), info);
+                },
+                encoded -> {
+                    // strip the array brackets, and separate from the previous features
+                    StringBuffer json = encoded.json();
+                    if (json.length() > 2) {
+                        if (total.featureCount > 0) {
+                            outWriter.write(',');
+                        }
+                        outWriter.append(json, 1, json.length() - 1);
+                    }
+                    total.merge(encoded.info());
+                });
+        return total;
+    }
+
+    /** A chunk of features encoded as a JSON array */
+    private record EncodedChunk(StringBuffer json, FeaturesInfo info) {}
+
     private <O> O getFeatureTypeInfoProperty(
             Catalog catalog, FeatureCollection<T, F> features, Function<FeatureTypeInfo, O> callback) {
         FeatureTypeInfo fti;
@@ -374,8 +423,8 @@ protected void writeCollectionCRS(GeoJSONBuilder jsonWriter, CoordinateReference
     /** Container class for information related with a group of features. */
     public static class FeaturesInfo {
 
-        final CoordinateReferenceSystem crs;
-        final boolean hasGeometry;
+        CoordinateReferenceSystem crs;
+        boolean hasGeometry;
         public long featureCount;
 
         protected FeaturesInfo(CoordinateReferenceSystem crs, boolean hasGeometry, long featureCount) {
@@ -383,6 +432,15 @@ protected FeaturesInfo(CoordinateReferenceSystem crs, boolean hasGeometry, long
             this.hasGeometry = hasGeometry;
             this.featureCount = featureCount;
         }
+
+        /** Adds up the information about features written after the current ones */
+        void merge(FeaturesInfo other) {
+            if (crs == null) {
+                crs = other.crs;
+            }
+            hasGeometry |= other.hasGeometry;
+            featureCount += other.featureCount;
+        }
     }
 
     protected FeaturesInfo encodeSimpleFeatures(
@@ -392,6 +450,9 @@ protected FeaturesInfo encodeSimpleFeatures(
         CoordinateReferenceSystem crs = null;
         boolean hasGeom = false;
         long featureCount = 0;
+        // the axis order lookup is not cheap, reuse it as long as the geometry descriptor stays the same
+        GeometryDescriptor lastGeomType = null;
+        CRS.AxisOrder axisOrder = CRS.AxisOrder.EAST_NORTH;
         for (FeatureCollection collection : resultsList) {
             try (FeatureIterator iterator = collection.features()) {
                 SimpleFeatureType fType;
@@ -419,7 +480,11 @@ protected FeaturesInfo encodeSimpleFeatures(
                     GeometryDescriptor defaultGeomType = fType.getGeometryDescriptor();
                     if (defaultGeomType != null) {
                         CoordinateReferenceSystem featureCrs = defaultGeomType.getCoordinateReferenceSystem();
-                        jsonWriter.setAxisOrder(CRS.getAxisOrder(featureCrs));
+                        if (defaultGeomType != lastGeomType) {
+                            axisOrder = CRS.getAxisOrder(featureCrs);
+                            lastGeomType = defaultGeomType;
+                        }
+                        jsonWriter.setAxisOrder(axisOrder);
                         if (crs == null) {
                             crs = featureCrs;
                         }
@@ -482,9 +547,11 @@ protected FeaturesInfo encodeSimpleFeatures(
                     jsonWriter.endObject(); // end the properties
 
                     // Bounding box for feature in properties
-                    ReferencedEnvelope refenv = ReferencedEnvelope.reference(simpleFeature.getBounds());
-                    if (featureBounding && !refenv.isEmpty()) {
-                        jsonWriter.writeBoundingBox(refenv);
+                    if (featureBounding) {
+                        ReferencedEnvelope refenv = ReferencedEnvelope.reference(simpleFeature.getBounds());
+                        if (!refenv.isEmpty()) {
+                            jsonWriter.writeBoundingBox(refenv);
+                        }
                     }
 
                     writeExtraFeatureProperties(simpleFeature, jsonWriter);
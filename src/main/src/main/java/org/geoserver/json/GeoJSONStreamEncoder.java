@@ -0,0 +1,433 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.json;
+
+import static org.geoserver.json.GeoJSONBuilder.LINESTRING;
+import static org.geoserver.json.GeoJSONBuilder.MULTIGEOMETRY;
+import static org.geoserver.json.GeoJSONBuilder.MULTILINESTRING;
+import static org.geoserver.json.GeoJSONBuilder.MULTIPOINT;
+import static org.geoserver.json.GeoJSONBuilder.MULTIPOLYGON;
+import static org.geoserver.json.GeoJSONBuilder.POINT;
+import static org.geoserver.json.GeoJSONBuilder.POLYGON;
+
+import java.io.IOException;
+import java.io.Writer;
+import net.sf.json.util.JSONUtils;
+import org.geotools.referencing.CRS;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.Polygon;
+
+/**
+ * Streams geometries and simple values as GeoJSON straight to a {@link Writer}, on behalf of {@link GeoJSONBuilder}.
+ *
+ * <p>The coordinate sequences are traversed directly and the ordinates are formatted into a reusable char buffer,
+ * without going through the generic JSON builder machinery, which boxes, converts to string and validates each
+ * ordinate in turn. The output is the same as the one of the builder: ordinates are rounded with {@link RoundingUtil}
+ * and printed like {@link Double#toString(double)} does, minus the trailing zeros and decimal point.
+ *
+ * <p>Attribute values that are strings, booleans or primitive wrapper numbers are written the same way, skipping the
+ * per value string building of the builder, and escaping strings as it does. Anything else is left to the builder.
+ */
+final class GeoJSONStreamEncoder {
+
+    static final int BUFFER_SIZE = 4096;
+
+    /** Room for the longest token written in one go, a double in scientific notation, or a geometry type name */
+    private static final int MAX_TOKEN_LENGTH = 32;
+
+    /** Powers of ten, as longs and doubles, up to the max number of decimals formatted without Double.toString */
+    private static final long[] POWERS = {1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L, 100000000L};
+
+    private static final double[] SCALES = {1d, 10d, 100d, 1000d, 10000d, 100000d, 1000000d, 10000000d, 100000000d};
+
+    /** Scaled values up to 15 digits are decoded back to a single double, so their decimal form is also the shortest */
+    private static final double MAX_EXACT_UNITS = 1e15;
+
+    /** Double.toString uses the plain notation in this range, and the scientific one outside of it */
+    private static final double MIN_PLAIN = 1e-3;
+
+    private static final double MAX_PLAIN = 1e7;
+
+    private final Writer writer;
+
+    private final char[] buffer = new char[BUFFER_SIZE];
+
+    private int position;
+
+    private CRS.AxisOrder axisOrder = CRS.AxisOrder.EAST_NORTH;
+
+    private int numDecimals = 6;
+
+    private boolean encodeMeasures;
+
+    GeoJSONStreamEncoder(Writer writer) {
+        this.writer = writer;
+    }
+
+    /** Sets up the encoding parameters, see the corresponding {@link GeoJSONBuilder} setters */
+    void configure(CRS.AxisOrder axisOrder, int numDecimals, boolean encodeMeasures) {
+        this.axisOrder = axisOrder;
+        this.numDecimals = numDecimals;
+        this.encodeMeasures = encodeMeasures;
+    }
+
+    /**
+     * Returns true if the value can be written by {@link #writeValue(Object)}. The strings the builder writes unquoted,
+     * "null" and JavaScript functions, and the non finite numbers it rejects, are left to the builder.
+     */
+    static boolean canWrite(Object value) {
+        if (value instanceof String s) {
+            return !"null".equals(s) && !JSONUtils.isFunction(s);
+        } else if (value instanceof Double d) {
+            return Double.isFinite(d);
+        } else if (value instanceof Float f) {
+            return Float.isFinite(f);
+        }
+        return value instanceof Boolean
+                || value instanceof Integer
+                || value instanceof Long
+                || value instanceof Short
+                || value instanceof Byte;
+    }
+
+    /** Writes a value accepted by {@link #canWrite(Object)}, and flushes it to the writer */
+    void writeValue(Object value) throws IOException {
+        if (value instanceof String s) {
+            string(s);
+        } else if (value instanceof Boolean b) {
+            append(b ? "true" : "false");
+        } else if (value instanceof Double d) {
+            number(d);
+        } else if (value instanceof Float f) {
+            ensure(MAX_TOKEN_LENGTH);
+            plainNumber(Float.toString(f));
+        } else {
+            integer(((Number) value).longValue());
+        }
+        flush();
+    }
+
+    /** Writes a geometry object, and flushes it to the writer */
+    void writeGeometry(Geometry geometry) throws IOException {
+        geometry(geometry);
+        flush();
+    }
+
+    /** Writes the [minX,minY,maxX,maxY] array of an envelope with finite bounds, and flushes it to the writer */
+    void writeBoundingBox(Envelope envelope) throws IOException {
+        append('[');
+        if (axisOrder == CRS.AxisOrder.NORTH_EAST) {
+            number(RoundingUtil.round(envelope.getMinY(), numDecimals));
+            append(',');
+            number(RoundingUtil.round(envelope.getMinX(), numDecimals));
+            append(',');
+            number(RoundingUtil.round(envelope.getMaxY(), numDecimals));
+            append(',');
+            number(RoundingUtil.round(envelope.getMaxX(), numDecimals));
+        } else {
+            number(RoundingUtil.round(envelope.getMinX(), numDecimals));
+            append(',');
+            number(RoundingUtil.round(envelope.getMinY(), numDecimals));
+            append(',');
+            number(RoundingUtil.round(envelope.getMaxX(), numDecimals));
+            append(',');
+            number(RoundingUtil.round(envelope.getMaxY(), numDecimals));
+        }
+        append(']');
+        flush();
+    }
+
+    private void geometry(Geometry geometry) throws IOException {
+        String name = GeoJSONBuilder.getGeometryName(geometry);
+        final int geometryType = GeoJSONBuilder.getGeometryType(geometry);
+        append("{\"type\":\"");
+        append(name);
+        append('"');
+        if (geometryType != MULTIGEOMETRY) {
+            append(",\"coordinates\":");
+            switch (geometryType) {
+                case POINT:
+                    point((Point) geometry);
+                    break;
+                case LINESTRING:
+                    coordinates(((LineString) geometry).getCoordinateSequence());
+                    break;
+                case MULTIPOINT:
+                    append('[');
+                    for (int i = 0, n = geometry.getNumGeometries(); i < n; i++) {
+                        if (i > 0) append(',');
+                        point((Point) geometry.getGeometryN(i));
+                    }
+                    append(']');
+                    break;
+                case POLYGON:
+                    polygon((Polygon) geometry);
+                    break;
+                case MULTILINESTRING:
+                    append('[');
+                    for (int i = 0, n = geometry.getNumGeometries(); i < n; i++) {
+                        if (i > 0) append(',');
+                        coordinates(((LineString) geometry.getGeometryN(i)).getCoordinateSequence());
+                    }
+                    append(']');
+                    break;
+                case MULTIPOLYGON:
+                    append('[');
+                    for (int i = 0, n = geometry.getNumGeometries(); i < n; i++) {
+                        if (i > 0) append(',');
+                        polygon((Polygon) geometry.getGeometryN(i));
+                    }
+                    append(']');
+                    break;
+            }
+        } else {
+            append(",\"geometries\":[");
+            for (int i = 0, n = geometry.getNumGeometries(); i < n; i++) {
+                if (i > 0) append(',');
+                geometry(geometry.getGeometryN(i));
+            }
+            append(']');
+        }
+        append('}');
+    }
+
+    private void polygon(Polygon polygon) throws IOException {
+        append('[');
+        coordinates(polygon.getExteriorRing().getCoordinateSequence());
+        for (int i = 0, n = polygon.getNumInteriorRing(); i < n; i++) {
+            append(',');
+            coordinates(polygon.getInteriorRingN(i).getCoordinateSequence());
+        }
+        append(']');
+    }
+
+    private void point(Point point) throws IOException {
+        coordinate(point.getCoordinateSequence(), 0);
+    }
+
+    private void coordinates(CoordinateSequence coordinates) throws IOException {
+        append('[');
+        for (int i = 0, n = coordinates.size(); i < n; i++) {
+            if (i > 0) append(',');
+            coordinate(coordinates, i);
+        }
+        append(']');
+    }
+
+    /** Same rules as the builder: NaN ordinates are skipped, and Z is set to zero when only M is available */
+    private void coordinate(CoordinateSequence coordinates, int index) throws IOException {
+        double x = coordinates.getX(index);
+        double y = coordinates.getY(index);
+        double z = coordinates.getZ(index);
+        double m = encodeMeasures ? coordinates.getM(index) : Double.NaN;
+        if (Double.isNaN(z) && !Double.isNaN(m)) {
+            z = 0;
+        }
+        append('[');
+        boolean first;
+        if (axisOrder == CRS.AxisOrder.NORTH_EAST) {
+            first = ordinate(y, true);
+            first = ordinate(x, first);
+        } else {
+            first = ordinate(x, true);
+            first = ordinate(y, first);
+        }
+        first = ordinate(z, first);
+        ordinate(m, first);
+        append(']');
+    }
+
+    /** Writes an ordinate, unless NaN, returning whether it's still the first one of the coordinate */
+    private boolean ordinate(double value, boolean first) throws IOException {
+        if (Double.isNaN(value)) {
+            return first;
+        }
+        if (!first) {
+            append(',');
+        }
+        if (Double.isInfinite(value)) {
+            append(value > 0 ? "\"Infinity\"" : "\"-Infinity\"");
+        } else {
+            number(RoundingUtil.round(value, numDecimals));
+        }
+        return false;
+    }
+
+    /** Formats a finite number like the JSON builder does */
+    private void number(double value) throws IOException {
+        ensure(MAX_TOKEN_LENGTH);
+        if (value == 0) {
+            if (Double.doubleToRawLongBits(value) < 0) {
+                buffer[position++] = '-';
+            }
+            buffer[position++] = '0';
+            return;
+        }
+        if (numDecimals >= 0 && numDecimals < POWERS.length) {
+            double abs = Math.abs(value);
+            if (abs >= MIN_PLAIN && abs < MAX_PLAIN) {
+                // rounded ordinates are the double closest to units / 10^numDecimals, attribute values may not be
+                double scaled = Math.rint(abs * SCALES[numDecimals]);
+                if (scaled < MAX_EXACT_UNITS && scaled / SCALES[numDecimals] == abs) {
+                    if (value < 0) {
+                        buffer[position++] = '-';
+                    }
+                    decimal((long) scaled, numDecimals);
+                    return;
+                }
+            }
+        }
+        plainNumber(Double.toString(value));
+    }
+
+    /** Writes the string form of a finite number, the buffer having room for it */
+    private void plainNumber(String s) throws IOException {
+        if (s.indexOf('E') < 0) {
+            // shave off the trailing zeros and decimal point, as JSONUtils.numberToString does
+            int end = s.length();
+            while (s.charAt(end - 1) == '0') end--;
+            if (s.charAt(end - 1) == '.') end--;
+            s.getChars(0, end, buffer, position);
+            position += end;
+        } else {
+            append(s);
+        }
+    }
+
+    private void integer(long value) throws IOException {
+        ensure(MAX_TOKEN_LENGTH);
+        if (value < 0) {
+            if (value == Long.MIN_VALUE) {
+                append(Long.toString(value));
+                return;
+            }
+            buffer[position++] = '-';
+            value = -value;
+        }
+        digits(value, 1);
+    }
+
+    /** Writes a quoted string, escaping the quotes, backslashes, control chars and the slash of "</" as the builder */
+    private void string(String s) throws IOException {
+        append('"');
+        char previous = 0;
+        for (int i = 0, n = s.length(); i < n; i++) {
+            char c = s.charAt(i);
+            // room for the longest escape, a backslash, a u and four hex digits
+            ensure(6);
+            switch (c) {
+                case '\\':
+                case '"':
+                    buffer[position++] = '\\';
+                    buffer[position++] = c;
+                    break;
+                case '/':
+                    if (previous == '<') {
+                        buffer[position++] = '\\';
+                    }
+                    buffer[position++] = c;
+                    break;
+                case '\b':
+                    escape('b');
+                    break;
+                case '\t':
+                    escape('t');
+                    break;
+                case '\n':
+                    escape('n');
+                    break;
+                case '\f':
+                    escape('f');
+                    break;
+                case '\r':
+                    escape('r');
+                    break;
+                default:
+                    if (c < ' ') {
+                        escape('u');
+                        buffer[position++] = '0';
+                        buffer[position++] = '0';
+                        buffer[position++] = Character.forDigit(c >> 4, 16);
+                        buffer[position++] = Character.forDigit(c & 0xF, 16);
+                    } else {
+                        buffer[position++] = c;
+                    }
+            }
+            previous = c;
+        }
+        append('"');
+    }
+
+    private void escape(char c) {
+        buffer[position++] = '\\';
+        buffer[position++] = c;
+    }
+
+    /** Writes units / 10^decimals, without trailing zeros */
+    private void decimal(long units, int decimals) {
+        long integer = units / POWERS[decimals];
+        long fraction = units % POWERS[decimals];
+        digits(integer, 1);
+        if (fraction != 0) {
+            while (fraction % 10 == 0) {
+                fraction /= 10;
+                decimals--;
+            }
+            buffer[position++] = '.';
+            digits(fraction, decimals);
+        }
+    }
+
+    /** Writes a positive long, left padded with zeros up to the given number of digits */
+    private void digits(long value, int minDigits) {
+        int count = 1;
+        for (long v = value / 10; v > 0; v /= 10) {
+            count++;
+        }
+        count = Math.max(count, minDigits);
+        for (int i = position + count - 1; i >= position; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        position += count;
+    }
+
+    private void append(char c) throws IOException {
+        if (position == buffer.length) {
+            flush();
+        }
+        buffer[position++] = c;
+    }
+
+    private void append(String s) throws IOException {
+        int length = s.length();
+        if (length > buffer.length - position) {
+            flush();
+            if (length > buffer.length) {
+                writer.write(s);
+                return;
+            }
+        }
+        s.getChars(0, length, buffer, position);
+        position += length;
+    }
+
+    private void ensure(int length) throws IOException {
+        if (buffer.length - position < length) {
+            flush();
+        }
+    }
+
+    private void flush() throws IOException {
+        if (position > 0) {
+            writer.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.security;
+
+import org.geoserver.catalog.CatalogInfo;
+import org.geoserver.catalog.util.CloseableIterator;
+import org.springframework.security.core.Authentication;
+
+/**
+ * A {@link ResourceAccessManager} able to filter a whole sequence of catalog objects at once, used by the
+ * {@link SecureCatalogImpl} when listing the catalog contents, before checking and wrapping the objects one by one.
+ */
+public interface BulkResourceAccessManager extends ResourceAccessManager {
+
+    /**
+     * Filters out, in a single pass, the objects {@code user} cannot see at all when listing the catalog contents.
+     * Implementations can evaluate their rules once for the whole sequence, instead of object by object, and are free
+     * to leave in objects they are unsure about: the objects returned still go through the usual per object access
+     * limits checks.
+     */
+    <T extends CatalogInfo> CloseableIterator<T> filter(
+            Authentication user, Class<T> clazz, CloseableIterator<T> objects);
+
+    /**
+     * Returns true if the {@link #getSecurityFilter(Authentication, Class) security filter} already excludes all the
+     * objects {@link #filter} would drop, in which case paged listings are paged by the catalog as is. Otherwise the
+     * catalog is asked to check the visibility of each object before paging.
+     */
+    boolean isSecurityFilterExact(Authentication user, Class<? extends CatalogInfo> clazz);
+}
@@ -1498,31 +1498,57 @@ public <T extends CatalogInfo> CloseableIterator<T> list(Class<T> of, Filter fil
     @Override
     public <T extends CatalogInfo> CloseableIterator<T> list(
             Class<T> of, Filter filter, Integer offset, Integer count, SortBy sortBy) {
-        Filter securityFilter = securityFilter(of, filter);
+        Filter securityFilter = pagingSecurityFilter(of, filter, offset, count);
 
         @SuppressWarnings("PMD.CloseResource") // wrapped and returned
-        CloseableIterator<T> filtered = delegate.list(of, securityFilter, offset, count, sortBy);
-
-        // create secured decorators on-demand. Assume this method is used only for listing, not
-        // for accessing a single resource by name/id, thus use hide policy for mixed mode
-        final Function<T, T> securityWrapper = securityWrapper(of, MixedModeBehavior.HIDE);
-        final CloseableIterator<T> filteredWrapped = CloseableIteratorAdapter.transform(filtered, securityWrapper);
-
-        // wrap the iterator in a notNull filter to ensure any filtered
-        // layers (result is null) don't get passed on from the securityWrapper
-        // Function. When the AccessLevel is HIDDEN and a layer gets filtered
-        // out via a CatalogFilter - for example, this can happen with a
-        // LocalWorkspaceCatalogFilter and a virtual service request
-        return CloseableIteratorAdapter.filter(filteredWrapped, com.google.common.base.Predicates.notNull());
+        CloseableIterator<T> objects = delegate.list(of, securityFilter, offset, count, sortBy);
+        return secure(of, objects);
     }
 
     public <T extends CatalogInfo> CloseableIterator<T> list(
             Class<T> of, Filter filter, Integer offset, Integer count, SortBy... sortBy) {
-        Filter securityFilter = securityFilter(of, filter);
+        Filter securityFilter = pagingSecurityFilter(of, filter, offset, count);
 
         @SuppressWarnings("PMD.CloseResource") // wrapped and returned
         // HACK here, go straigth to the facade of the delegate to get a method supporting sortby[]
-        CloseableIterator<T> filtered = delegate.getFacade().list(of, securityFilter, offset, count, sortBy);
+        CloseableIterator<T> objects = delegate.getFacade().list(of, securityFilter, offset, count, sortBy);
+        return secure(of, objects);
+    }
+
+    /**
+     * Returns the {@link #securityFilter(Class, Filter) security filter} for a listing. When paging, and the access
+     * manager reports its security filter misses objects its bulk filter drops, the filter is extended with the per
+     * object visibility check, so that the delegate pages the visible objects only.
+     */
+    private <T extends CatalogInfo> Filter pagingSecurityFilter(
+            Class<T> of, Filter filter, Integer offset, Integer count) {
+        Filter securityFilter = securityFilter(of, filter);
+        if ((offset != null || count != null)
+                && isBulkFiltered(of)
+                && !((BulkResourceAccessManager) accessManager).isSecurityFilterExact(user(), of)) {
+            Filter visible = InMemorySecurityFilter.buildUserAccessFilter(accessManager, user());
+            securityFilter = Predicates.and(securityFilter, visible);
+        }
+        return securityFilter;
+    }
+
+    /**
+     * Checks if the access manager drops the objects the current user cannot see in bulk, before they get checked and
+     * wrapped one by one
+     */
+    private boolean isBulkFiltered(Class<? extends CatalogInfo> of) {
+        return accessManager instanceof BulkResourceAccessManager
+                && !MapInfo.class.isAssignableFrom(of)
+                && !isAdmin(user());
+    }
+
+    /** Filters and wraps the objects listed by the delegate */
+    private <T extends CatalogInfo> CloseableIterator<T> secure(Class<T> of, CloseableIterator<T> objects) {
+        @SuppressWarnings("PMD.CloseResource") // wrapped and returned
+        CloseableIterator<T> filtered = objects;
+        if (isBulkFiltered(of)) {
+            filtered = ((BulkResourceAccessManager) accessManager).filter(user(), of, objects);
+        }
 
         // create secured decorators on-demand. Assume this method is used only for listing, not
         // for accessing a single resource by name/id, thus use hide policy for mixed mode
@@ -7,6 +7,7 @@
 
 import static org.geoserver.security.impl.DataAccessRule.ANY;
 
+import com.google.common.base.Predicate;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import java.util.ArrayList;
@@ -16,13 +17,17 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.tuple.Pair;
 import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.CatalogException;
 import org.geoserver.catalog.CatalogInfo;
 import org.geoserver.catalog.CoverageInfo;
 import org.geoserver.catalog.FeatureTypeInfo;
@@ -32,18 +37,28 @@
 import org.geoserver.catalog.Predicates;
 import org.geoserver.catalog.PublishedInfo;
 import org.geoserver.catalog.ResourceInfo;
+import org.geoserver.catalog.StoreInfo;
 import org.geoserver.catalog.StyleInfo;
 import org.geoserver.catalog.WMSLayerInfo;
 import org.geoserver.catalog.WMTSLayerInfo;
 import org.geoserver.catalog.WorkspaceInfo;
+import org.geoserver.catalog.event.CatalogAddEvent;
+import org.geoserver.catalog.event.CatalogListener;
+import org.geoserver.catalog.event.CatalogModifyEvent;
+import org.geoserver.catalog.event.CatalogPostModifyEvent;
+import org.geoserver.catalog.event.CatalogRemoveEvent;
+import org.geoserver.catalog.util.CloseableIterator;
+import org.geoserver.catalog.util.CloseableIteratorAdapter;
 import org.geoserver.ows.Dispatcher;
 import org.geoserver.ows.Request;
 import org.geoserver.platform.GeoServerExtensions;
 import org.geoserver.security.AccessMode;
 import org.geoserver.security.AdminRequest;
+import org.geoserver.security.BulkResourceAccessManager;
 import org.geoserver.security.CatalogMode;
 import org.geoserver.security.CoverageAccessLimits;
 import org.geoserver.security.DataAccessLimits;
+import org.geoserver.security.GeoServerSecurityFilterChainProxy;
 import org.geoserver.security.InMemorySecurityFilter;
 import org.geoserver.security.LayerGroupAccessLimits;
 import org.geoserver.security.ResourceAccessManager;
@@ -56,6 +71,7 @@
 import org.geotools.api.filter.Filter;
 import org.geotools.util.logging.Logging;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 
 /**
  * Default implementation of {@link ResourceAccessManager}, loads simple access rules from a properties file or a
@@ -83,7 +99,7 @@
  *
  * @author Andrea Aime - TOPP
  */
-public class DefaultResourceAccessManager implements ResourceAccessManager {
+public class DefaultResourceAccessManager implements BulkResourceAccessManager {
     static final Logger LOGGER = Logging.getLogger(DefaultResourceAccessManager.class);
 
     static final int FILTERCACHE_SIZE = 100;
@@ -96,6 +112,35 @@ public class DefaultResourceAccessManager implements ResourceAccessManager {
     static final Boolean RESOURCE_EQUALITY_FILTER_ENABLED =
             Boolean.getBoolean("geoserver.access.resourceEqualityFilterEnabled");
 
+    /**
+     * Maximum number of access decisions cached, across all users and resources. Zero disables the decision cache.
+     * Defaults to 100000.
+     */
+    static final long DECISION_CACHE_SIZE = Long.getLong("geoserver.access.decisionCacheSize", 100_000);
+
+    /**
+     * The user and request state the access decisions depend on, evaluated once and reused for all the checks
+     * performed on behalf of the same user
+     */
+    record AccessContext(Authentication user, Set<String> roles, boolean groupCheck, boolean cacheable) {}
+
+    /**
+     * Key of a cached access decision. Besides the roles and request state, the decisions depend only on the location
+     * of the object in the authorization tree, and on its id, used to look up the groups containing it. The generation
+     * is bumped every time the rules or the catalog change, so that decisions computed concurrently with a change are
+     * never served afterwards.
+     */
+    record AccessDecisionKey(
+            long generation,
+            Set<String> roles,
+            Class<?> type,
+            String workspace,
+            String name,
+            String id,
+            AccessMode mode,
+            boolean directAccess,
+            boolean groupCheck) {}
+
     /** A {@link LayerGroupSummary} extended with the associated secure tree node */
     static class SecuredGroupSummary extends LayerGroupSummary {
 
@@ -130,6 +175,16 @@ public SecureTreeNode getNode() {
             .expireAfterAccess(FILTERCACHE_EXPIRY_TIME, TimeUnit.MINUTES)
             .build();
 
+    /** The access decisions, by user roles and resource, null if disabled */
+    Cache<AccessDecisionKey, Boolean> decisionCache = DECISION_CACHE_SIZE > 0
+            ? CacheBuilder.newBuilder()
+                    .maximumSize(DECISION_CACHE_SIZE)
+                    .expireAfterAccess(FILTERCACHE_EXPIRY_TIME, TimeUnit.MINUTES)
+                    .build()
+            : null;
+
+    AtomicLong decisionGeneration = new AtomicLong();
+
     /**
      * Pass a reference to the raw, unsecured catalog. The reference is used to evaluate the relationship between layers
      * and the groups containing them
@@ -138,6 +193,9 @@ public DefaultResourceAccessManager(DataAccessRuleDAO dao, Catalog rawCatalog) {
         this.dao = dao;
         this.rawCatalog = rawCatalog;
         this.root = buildAuthorizationTree(dao);
+        if (decisionCache != null && rawCatalog != null) {
+            rawCatalog.addListener(new DecisionCacheInvalidator());
+        }
     }
 
     /**
@@ -155,20 +213,24 @@ public CatalogMode getMode() {
 
     public boolean canAccess(Authentication user, WorkspaceInfo workspace, AccessMode mode) {
         checkPropertyFile();
-        SecureTreeNode node = root.getDeepestNode(new String[] {workspace.getName()});
-        if (node.canAccess(user, mode)) {
-            return true;
-        }
+        return canAccess(context(user), workspace, mode);
+    }
 
-        // perform a drill down search, we still allow access to the workspace
-        // if there is anything inside the workspace that can be read (otherwise
-        // we are denying access to everything below it, which is not the spirit of the
-        // tree override design)
-        if (mode == AccessMode.READ && canAccessChild(node, user, mode)) {
-            return true;
-        } else {
-            return false;
-        }
+    private boolean canAccess(AccessContext access, WorkspaceInfo workspace, AccessMode mode) {
+        String name = workspace.getName();
+        return decide(access, WorkspaceInfo.class, name, null, null, mode, false, () -> {
+            Authentication user = access.user();
+            SecureTreeNode node = root.getDeepestNode(new String[] {name});
+            if (node.canAccess(user, mode)) {
+                return true;
+            }
+
+            // perform a drill down search, we still allow access to the workspace
+            // if there is anything inside the workspace that can be read (otherwise
+            // we are denying access to everything below it, which is not the spirit of the
+            // tree override design)
+            return mode == AccessMode.READ && canAccessChild(node, user, mode);
+        });
     }
 
     /**
@@ -191,6 +253,10 @@ private boolean canAccessChild(SecureTreeNode node, Authentication user, AccessM
 
     public boolean canAccess(Authentication user, LayerInfo layer, AccessMode mode, boolean directAccess) {
         checkPropertyFile();
+        return canAccess(context(user), layer, mode, directAccess);
+    }
+
+    private boolean canAccess(AccessContext access, LayerInfo layer, AccessMode mode, boolean directAccess) {
         if (layer.getResource() == null) {
             LOGGER.log(
                     Level.FINE,
@@ -198,12 +264,16 @@ public boolean canAccess(Authentication user, LayerInfo layer, AccessMode mode,
             // it's a layer whose resource we don't know about
             return true;
         } else {
-            return canAccess(user, layer.getResource(), mode, directAccess);
+            return canAccess(access, layer.getResource(), mode, directAccess);
         }
     }
 
     public boolean canAccess(Authentication user, ResourceInfo resource, AccessMode mode, boolean directAccess) {
         checkPropertyFile();
+        return canAccess(context(user), resource, mode, directAccess);
+    }
+
+    private boolean canAccess(AccessContext access, ResourceInfo resource, AccessMode mode, boolean directAccess) {
         String workspace;
         final String resourceName = resource.getName();
         try {
@@ -214,12 +284,31 @@ public boolean canAccess(Authentication user, ResourceInfo resource, AccessMode
             return true;
         }
 
+        return decide(
+                access,
+                ResourceInfo.class,
+                workspace,
+                resourceName,
+                resource.getId(),
+                mode,
+                directAccess,
+                () -> canAccess(access, resource, workspace, resourceName, mode, directAccess));
+    }
+
+    private boolean canAccess(
+            AccessContext access,
+            ResourceInfo resource,
+            String workspace,
+            String resourceName,
+            AccessMode mode,
+            boolean directAccess) {
+        Authentication user = access.user();
         // if we have a catalog rule that is at resource level, it's the most specific type,
         // it wins. Or it could be that we do not need to check layer groups at all
         SecureTreeNode securityNode = root.getDeepestNode(new String[] {workspace, resourceName});
         int catalogNodeDepth = securityNode.getDepth();
         boolean rulesAllowAccess = securityNode.canAccess(user, mode);
-        if (catalogNodeDepth == SecureTreeNode.RESOURCE_DEPTH || !layerGroupContainmentCheckRequired()) {
+        if (catalogNodeDepth == SecureTreeNode.RESOURCE_DEPTH || !access.groupCheck()) {
             return rulesAllowAccess;
         }
 
@@ -251,7 +340,7 @@ public boolean canAccess(Authentication user, ResourceInfo resource, AccessMode
                 }
                 LayerGroupInfo gi = rawCatalog.getLayerGroup(sg.getId());
                 return gi != null
-                        && canAccess(user, gi, directAccess)
+                        && canAccess(access, gi, directAccess)
                         && (!directAccess || allowsAccessViaNonOpaqueGroup(gi, resource));
             });
         }
@@ -272,7 +361,7 @@ && canAccess(user, gi, directAccess)
             }
             SecureTreeNode node = getNodeForGroup(gi);
             return node == null
-                    && canAccess(user, gi, directAccess)
+                    && canAccess(access, gi, directAccess)
                     && (!directAccess || allowsAccessViaNonOpaqueGroup(gi, resource));
         });
     }
@@ -319,6 +408,59 @@ private boolean layerGroupContainmentCheckRequired() {
         return "WMS".equalsIgnoreCase(service) || "gwc".equalsIgnoreCase(service);
     }
 
+    /** Evaluates the roles of the user and the request state the access decisions depend on */
+    AccessContext context(Authentication user) {
+        Set<String> roles = new HashSet<>();
+        if (user != null && user.getAuthorities() != null) {
+            for (GrantedAuthority authority : user.getAuthorities()) {
+                roles.add(authority.getAuthority());
+            }
+        }
+        // when security is disabled for the request everything is accessible, don't pollute the cache
+        boolean cacheable =
+                decisionCache != null && GeoServerSecurityFilterChainProxy.isSecurityEnabledForCurrentRequest();
+        return new AccessContext(user, roles, layerGroupContainmentCheckRequired(), cacheable);
+    }
+
+    /** Returns the cached access decision for the object, computing it if missing */
+    private boolean decide(
+            AccessContext access,
+            Class<?> type,
+            String workspace,
+            String name,
+            String id,
+            AccessMode mode,
+            boolean directAccess,
+            BooleanSupplier decision) {
+        if (!access.cacheable()) {
+            return decision.getAsBoolean();
+        }
+        AccessDecisionKey key = new AccessDecisionKey(
+                decisionGeneration.get(),
+                access.roles(),
+                type,
+                workspace,
+                name,
+                id,
+                mode,
+                directAccess,
+                access.groupCheck());
+        Boolean result = decisionCache.getIfPresent(key);
+        if (result == null) {
+            result = decision.getAsBoolean();
+            decisionCache.put(key, result);
+        }
+        return result;
+    }
+
+    /** Drops all the cached access decisions, called when the rules or the catalog change */
+    public void invalidateDecisions() {
+        decisionGeneration.incrementAndGet();
+        if (decisionCache != null) {
+            decisionCache.invalidateAll();
+        }
+    }
+
     void checkPropertyFile() {
         rebuildAuthorizationTree(false);
     }
@@ -338,6 +480,7 @@ private void rebuildAuthorizationTree(boolean force) {
             lastLoaded = daoLastModified;
             // The filter cache must be invalidated, since the security rules have changed!!!
             filterCache.invalidateAll();
+            invalidateDecisions();
         }
     }
 
@@ -392,8 +535,10 @@ SecureTreeNode buildAuthorizationTree(DataAccessRuleDAO dao) {
     @Override
     public DataAccessLimits getAccessLimits(Authentication user, LayerInfo layer, List<LayerGroupInfo> context) {
         final boolean directAccess = context == null || context.isEmpty();
-        boolean read = canAccess(user, layer, AccessMode.READ, directAccess);
-        boolean write = canAccess(user, layer, AccessMode.WRITE, directAccess);
+        checkPropertyFile();
+        AccessContext access = context(user);
+        boolean read = canAccess(access, layer, AccessMode.READ, directAccess);
+        boolean write = canAccess(access, layer, AccessMode.WRITE, directAccess);
         Filter readFilter = read ? Filter.INCLUDE : Filter.EXCLUDE;
         Filter writeFilter = write ? Filter.INCLUDE : Filter.EXCLUDE;
         return buildLimits(layer.getResource().getClass(), readFilter, writeFilter);
@@ -401,8 +546,10 @@ public DataAccessLimits getAccessLimits(Authentication user, LayerInfo layer, Li
 
     @Override
     public DataAccessLimits getAccessLimits(Authentication user, ResourceInfo resource) {
-        boolean read = canAccess(user, resource, AccessMode.READ, true);
-        boolean write = canAccess(user, resource, AccessMode.WRITE, true);
+        checkPropertyFile();
+        AccessContext access = context(user);
+        boolean read = canAccess(access, resource, AccessMode.READ, true);
+        boolean write = canAccess(access, resource, AccessMode.WRITE, true);
         Filter readFilter = read ? Filter.INCLUDE : Filter.EXCLUDE;
         Filter writeFilter = write ? Filter.INCLUDE : Filter.EXCLUDE;
         return buildLimits(resource.getClass(), readFilter, writeFilter);
@@ -440,9 +587,11 @@ DataAccessLimits buildLimits(Class<? extends ResourceInfo> resourceClass, Filter
 
     @Override
     public WorkspaceAccessLimits getAccessLimits(Authentication user, WorkspaceInfo workspace) {
-        boolean readable = canAccess(user, workspace, AccessMode.READ);
-        boolean writable = canAccess(user, workspace, AccessMode.WRITE);
-        boolean adminable = canAccess(user, workspace, AccessMode.ADMIN);
+        checkPropertyFile();
+        AccessContext access = context(user);
+        boolean readable = canAccess(access, workspace, AccessMode.READ);
+        boolean writable = canAccess(access, workspace, AccessMode.WRITE);
+        boolean adminable = canAccess(access, workspace, AccessMode.ADMIN);
 
         CatalogMode mode = getMode();
 
@@ -463,14 +612,30 @@ public StyleAccessLimits getAccessLimits(Authentication user, StyleInfo style) {
     @Override
     public LayerGroupAccessLimits getAccessLimits(
             Authentication user, LayerGroupInfo layerGroup, List<LayerGroupInfo> containers) {
-        boolean allowAccess = canAccess(user, layerGroup, containers == null || containers.isEmpty());
+        checkPropertyFile();
+        boolean allowAccess = canAccess(context(user), layerGroup, containers == null || containers.isEmpty());
         return allowAccess ? null : new LayerGroupAccessLimits(getMode());
     }
 
-    private boolean canAccess(Authentication user, LayerGroupInfo layerGroup, boolean directAccess) {
+    private boolean canAccess(AccessContext access, LayerGroupInfo layerGroup, boolean directAccess) {
         String[] path = getLayerGroupPath(layerGroup);
+        String workspace = path.length > 1 ? path[0] : null;
+        String name = path[path.length - 1];
+        return decide(
+                access,
+                LayerGroupInfo.class,
+                workspace,
+                name,
+                layerGroup.getId(),
+                AccessMode.READ,
+                directAccess,
+                () -> canAccess(access, layerGroup, path, directAccess));
+    }
+
+    private boolean canAccess(
+            AccessContext access, LayerGroupInfo layerGroup, String[] path, boolean directAccess) {
         SecureTreeNode node = root.getDeepestNode(path);
-        boolean catalogNodeAllowsAccess = node.canAccess(user, AccessMode.READ);
+        boolean catalogNodeAllowsAccess = node.canAccess(access.user(), AccessMode.READ);
         boolean allowAccess;
         if (node != null && !catalogNodeAllowsAccess) {
             allowAccess = false;
@@ -489,7 +654,7 @@ private boolean canAccess(Authentication user, LayerGroupInfo layerGroup, boolea
                         return false;
                     }
                     LayerGroupInfo gi = rawCatalog.getLayerGroup(sg.getId());
-                    return gi != null && canAccess(user, gi, directAccess);
+                    return gi != null && canAccess(access, gi, directAccess);
                 });
             }
         }
@@ -809,6 +974,52 @@ public LayerGroupAccessLimits getAccessLimits(Authentication user, LayerGroupInf
         return getAccessLimits(user, layerGroup, Collections.emptyList());
     }
 
+    /**
+     * Drops the resources, layers and layer groups the user cannot see at all, evaluating the user roles and request
+     * state once for the whole sequence, and using the cached access decisions. In {@link CatalogMode#CHALLENGE} mode
+     * nothing is dropped, as the metadata of the objects that cannot be read is still visible.
+     */
+    @Override
+    public <T extends CatalogInfo> CloseableIterator<T> filter(
+            Authentication user, Class<T> clazz, CloseableIterator<T> objects) {
+        checkPropertyFile();
+        if (getMode() == CatalogMode.CHALLENGE) {
+            return objects;
+        }
+        AccessContext access = context(user);
+        return CloseableIteratorAdapter.filter(objects, (Predicate<T>) info -> isVisible(access, info));
+    }
+
+    /**
+     * The security prefilter follows the rules tree only, it misses the layer group containment rules, applied to layer
+     * groups, and to resources and layers in WMS requests. The in memory security filter checks each object instead.
+     */
+    @Override
+    public boolean isSecurityFilterExact(Authentication user, Class<? extends CatalogInfo> clazz) {
+        checkPropertyFile();
+        if (!supportsPrefilter(user, clazz)) {
+            return true;
+        } else if (LayerGroupInfo.class.isAssignableFrom(clazz) || clazz.isAssignableFrom(LayerGroupInfo.class)) {
+            return false;
+        } else if (ResourceInfo.class.isAssignableFrom(clazz) || LayerInfo.class.isAssignableFrom(clazz)) {
+            return !layerGroupContainmentCheckRequired();
+        }
+        // workspaces and styles are not dropped by the bulk filter
+        return true;
+    }
+
+    private boolean isVisible(AccessContext access, CatalogInfo info) {
+        if (info instanceof ResourceInfo resource) {
+            return canAccess(access, resource, AccessMode.READ, true);
+        } else if (info instanceof LayerInfo layer) {
+            return canAccess(access, layer, AccessMode.READ, true);
+        } else if (info instanceof LayerGroupInfo group) {
+            return canAccess(access, group, true);
+        }
+        // other objects are checked one by one by the caller
+        return true;
+    }
+
     /**
      * Retrieves the layer group containment cache. If empty, it will fetch it from the context
      *
@@ -820,4 +1031,46 @@ protected LayerGroupContainmentCache getLayerGroupsCache() {
         }
         return groupsCache;
     }
+
+    /**
+     * Drops the cached access decisions when the objects they depend on change: the name and workspace of resources
+     * and groups, and the group contents
+     */
+    final class DecisionCacheInvalidator implements CatalogListener {
+
+        @Override
+        public void handleAddEvent(CatalogAddEvent event) throws CatalogException {
+            invalidate(event.getSource());
+        }
+
+        @Override
+        public void handleRemoveEvent(CatalogRemoveEvent event) throws CatalogException {
+            invalidate(event.getSource());
+        }
+
+        @Override
+        public void handleModifyEvent(CatalogModifyEvent event) throws CatalogException {
+            invalidate(event.getSource());
+        }
+
+        @Override
+        public void handlePostModifyEvent(CatalogPostModifyEvent event) throws CatalogException {
+            // decisions might have been computed while the change was being applied
+            invalidate(event.getSource());
+        }
+
+        @Override
+        public void reloaded() {
+            invalidateDecisions();
+        }
+
+        private void invalidate(CatalogInfo source) {
+            if (source instanceof WorkspaceInfo
+                    || source instanceof StoreInfo
+                    || source instanceof ResourceInfo
+                    || source instanceof PublishedInfo) {
+                invalidateDecisions();
+            }
+        }
+    }
 }
@@ -0,0 +1,51 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.util;
+
+import java.lang.management.ManagementFactory;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.geotools.util.logging.Logging;
+
+/** Registers the GeoServer MBeans in the platform MBean server, logging failures instead of throwing them */
+public final class JMXUtils {
+
+    static final Logger LOGGER = Logging.getLogger(JMXUtils.class);
+
+    private JMXUtils() {}
+
+    /**
+     * Registers the MBean under the given name, replacing the one registered under the same name, if any, as left
+     * behind by a previous application context
+     */
+    public static void register(Object mbean, String objectName) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(objectName);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(mbean, name);
+        } catch (JMException e) {
+            LOGGER.log(Level.WARNING, "Failed to register " + objectName + " in JMX", e);
+        }
+    }
+
+    /** Unregisters the MBean with the given name, if registered */
+    public static void unregister(String objectName) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(objectName);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (JMException e) {
+            LOGGER.log(Level.FINE, "Failed to unregister " + objectName + " from JMX", e);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.catalog.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import org.geoserver.catalog.CoverageStoreInfo;
+import org.geoserver.catalog.DataStoreInfo;
+import org.geoserver.catalog.StoreInfo;
+import org.geoserver.catalog.WorkspaceInfo;
+import org.junit.Before;
+import org.junit.Test;
+
+/** Test suite for the {@link CatalogInfoIndex} support in {@link CatalogInfoLookup} */
+public class CatalogInfoIndexTest {
+
+    private WorkspaceInfo ws1, ws2;
+
+    private StoreInfo ds1, ds2, cs1;
+
+    private CatalogInfoLookup<StoreInfo> lookup;
+
+    @Before
+    public void setUp() {
+        ws1 = workspace("ws1");
+        ws2 = workspace("ws2");
+        ds1 = store(new DataStoreInfoImpl(null, "ds1-id"), "ds1", ws1);
+        ds2 = store(new DataStoreInfoImpl(null, "ds2-id"), "ds2", ws1);
+        cs1 = store(new CoverageStoreInfoImpl(null, "cs1-id"), "cs1", ws2);
+        lookup = DefaultCatalogFacade.newStoreLookup();
+    }
+
+    private WorkspaceInfo workspace(String name) {
+        WorkspaceInfoImpl ws = new WorkspaceInfoImpl();
+        ws.setId(name + "-id");
+        ws.setName(name);
+        return ws;
+    }
+
+    private StoreInfo store(StoreInfoImpl store, String name, WorkspaceInfo ws) {
+        store.setName(name);
+        store.setWorkspace(ws);
+        return store;
+    }
+
+    private List<StoreInfo> byWorkspace(WorkspaceInfo ws) {
+        return lookup.listByIndex(StoreInfo.class, DefaultCatalogFacade.WORKSPACE_ID, ws.getId(), s -> true);
+    }
+
+    @Test
+    public void testIndexedProperties() {
+        assertTrue(lookup.isIndexed(DefaultCatalogFacade.WORKSPACE_ID));
+        assertFalse(lookup.isIndexed("workspace.name"));
+        assertNull(lookup.listByIndex(StoreInfo.class, "workspace.name", "ws1", s -> true));
+    }
+
+    @Test
+    public void testAdd() {
+        lookup.add(ds2);
+        lookup.add(cs1);
+        lookup.add(ds1);
+
+        // same order as a full scan
+        assertEquals(List.of(ds1, ds2), byWorkspace(ws1));
+        assertEquals(List.of(cs1), byWorkspace(ws2));
+        assertEquals(
+                List.of(ds1, ds2),
+                lookup.listByIndex(DataStoreInfo.class, DefaultCatalogFacade.WORKSPACE_ID, ws1.getId(), s -> true));
+        assertEquals(
+                List.of(),
+                lookup.listByIndex(
+                        CoverageStoreInfo.class, DefaultCatalogFacade.WORKSPACE_ID, ws1.getId(), s -> true));
+        // the predicate is still applied
+        assertEquals(
+                List.of(ds2),
+                lookup.listByIndex(
+                        StoreInfo.class, DefaultCatalogFacade.WORKSPACE_ID, ws1.getId(), s -> "ds2".equals(s.getName())));
+    }
+
+    @Test
+    public void testRemove() {
+        lookup.add(ds1);
+        lookup.add(ds2);
+        lookup.add(cs1);
+
+        lookup.remove(ds1);
+        assertEquals(List.of(ds2), byWorkspace(ws1));
+        lookup.remove(ds2);
+        assertEquals(List.of(), byWorkspace(ws1));
+        assertEquals(List.of(cs1), byWorkspace(ws2));
+    }
+
+    @Test
+    public void testUpdate() {
+        lookup.add(ds1);
+        lookup.add(ds2);
+
+        StoreInfo proxy = ModificationProxy.create(ds1, StoreInfo.class);
+        proxy.setWorkspace(ws2);
+        lookup.update(proxy);
+        ((ModificationProxy) Proxy.getInvocationHandler(proxy)).commit();
+
+        assertEquals(List.of(ds2), byWorkspace(ws1));
+        assertEquals(List.of(ds1), byWorkspace(ws2));
+    }
+
+    @Test
+    public void testClear() {
+        lookup.add(ds1);
+        lookup.add(cs1);
+        lookup.clear();
+        assertEquals(List.of(), byWorkspace(ws1));
+        assertEquals(List.of(), byWorkspace(ws2));
+    }
+}
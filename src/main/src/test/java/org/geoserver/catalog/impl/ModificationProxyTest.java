@@ -7,9 +7,11 @@
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThrows;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -169,6 +171,46 @@ public void testRewrapCommitToNew() throws Exception {
         assertThat(newBean.getListValue(), contains("Cunning", "Plan"));
     }
 
+    @Test
+    public void testPrimitiveAndBooleanProperties() throws Exception {
+        WorkspaceInfoImpl ws = new WorkspaceInfoImpl();
+        ws.setName("ws");
+        WorkspaceInfo proxy = ModificationProxy.create(ws, WorkspaceInfo.class);
+
+        // read through the generated accessors
+        assertThat(proxy.getName(), equalTo("ws"));
+        assertThat(proxy.isIsolated(), equalTo(false));
+
+        proxy.setIsolated(true);
+        proxy.setName("ws2");
+        assertThat(proxy.isIsolated(), equalTo(true));
+        assertThat(ws.isIsolated(), equalTo(false));
+
+        ModificationProxy handler = ModificationProxy.handler(proxy);
+        assertThat(handler.isDirty(), equalTo(true));
+        assertThat(handler.getPropertyNames(), containsInAnyOrder("isolated", "name"));
+        assertThat(handler.getOldValues(), containsInAnyOrder(false, "ws"));
+
+        handler.commit();
+        assertThat(ws.isIsolated(), equalTo(true));
+        assertThat(ws.getName(), equalTo("ws2"));
+        assertThat(handler.isDirty(), equalTo(false));
+    }
+
+    @Test
+    public void testGetterExceptionsNotWrapped() throws Exception {
+        TestBean bean = new TestBeanImpl(null, "Uhh") {
+            @Override
+            public String getValue() {
+                throw new IllegalStateException("No value");
+            }
+        };
+        TestBean proxy = ModificationProxy.create(bean, TestBean.class);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, proxy::getValue);
+        assertThat(e.getMessage(), equalTo("No value"));
+    }
+
     @Test
     public void testCatalogVisitorCalledWithProxyObject() {
         CatalogFactory factory = new CatalogImpl().getFactory();
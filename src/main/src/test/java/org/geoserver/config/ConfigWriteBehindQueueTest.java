@@ -0,0 +1,206 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.geoserver.catalog.CatalogException;
+import org.geoserver.catalog.WorkspaceInfo;
+import org.geoserver.catalog.impl.WorkspaceInfoImpl;
+import org.geoserver.config.util.XStreamPersister;
+import org.geoserver.config.util.XStreamPersisterFactory;
+import org.geoserver.platform.GeoServerResourceLoader;
+import org.geoserver.platform.resource.Resource;
+import org.geoserver.platform.resource.Resources;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ConfigWriteBehindQueueTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    GeoServerResourceLoader loader;
+
+    XStreamPersister xp = new XStreamPersisterFactory().createXMLPersister();
+
+    @Before
+    public void setupLoader() {
+        loader = new GeoServerResourceLoader(folder.getRoot());
+    }
+
+    private WorkspaceInfo workspace(String name) {
+        WorkspaceInfoImpl ws = new WorkspaceInfoImpl();
+        ws.setId(name);
+        ws.setName(name);
+        return ws;
+    }
+
+    private String contents(Resource resource) throws IOException {
+        return new String(resource.getContents(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testDisabled() {
+        assertFalse(new ConfigWriteBehindQueue(0, 10, 10).isEnabled());
+        assertTrue(new ConfigWriteBehindQueue(10, 10, 10).isEnabled());
+    }
+
+    @Test
+    public void testCoalesce() throws Exception {
+        // a long delay, nothing gets written until the flush
+        ConfigWriteBehindQueue queue = new ConfigWriteBehindQueue(10, 10, 60000);
+        try {
+            Resource a = loader.get("workspaces/a/workspace.xml");
+            Resource b = loader.get("workspaces/b/workspace.xml");
+            queue.submit(workspace("a1"), a, xp);
+            queue.submit(workspace("b"), b, xp);
+            queue.submit(workspace("a2"), a, xp);
+            assertEquals(2, queue.getQueueDepth());
+            assertEquals(1, queue.getCoalescedCount());
+            assertFalse(Resources.exists(a));
+
+            queue.flush();
+            assertEquals(0, queue.getQueueDepth());
+            assertEquals(2, queue.getWrittenCount());
+            assertTrue(contents(a).contains("<name>a2</name>"));
+            assertTrue(contents(b).contains("<name>b</name>"));
+        } finally {
+            queue.close();
+        }
+    }
+
+    @Test
+    public void testSerializedOnSubmit() throws Exception {
+        ConfigWriteBehindQueue queue = new ConfigWriteBehindQueue(10, 10, 60000);
+        try {
+            Resource a = loader.get("workspaces/a/workspace.xml");
+            WorkspaceInfo ws = workspace("a");
+            queue.submit(ws, a, xp);
+            // changes made after the save, e.g. by an uncommitted modification proxy, are not written
+            ws.setName("changed");
+            queue.flush();
+            assertTrue(contents(a).contains("<name>a</name>"));
+        } finally {
+            queue.close();
+        }
+    }
+
+    @Test
+    public void testBackgroundFlush() throws Exception {
+        // the batch fills up right away, no need to wait for the delay
+        ConfigWriteBehindQueue queue = new ConfigWriteBehindQueue(10, 2, 60000);
+        try {
+            Resource a = loader.get("workspaces/a/workspace.xml");
+            Resource b = loader.get("workspaces/b/workspace.xml");
+            queue.submit(workspace("a"), a, xp);
+            queue.submit(workspace("b"), b, xp);
+            long timeout = System.currentTimeMillis() + 10000;
+            while (queue.getWrittenCount() < 2 && System.currentTimeMillis() < timeout) {
+                Thread.sleep(10);
+            }
+            assertEquals(2, queue.getWrittenCount());
+            assertEquals(1, queue.getFlushCount());
+            assertTrue(Resources.exists(a));
+            assertTrue(Resources.exists(b));
+        } finally {
+            queue.close();
+        }
+    }
+
+    @Test
+    public void testBoundedQueue() throws Exception {
+        ConfigWriteBehindQueue queue = new ConfigWriteBehindQueue(2, 2, 0);
+        try {
+            for (int i = 0; i < 20; i++) {
+                queue.submit(workspace("ws" + i), loader.get("workspaces/ws" + i + "/workspace.xml"), xp);
+                assertTrue(queue.getQueueDepth() <= 2);
+            }
+            queue.flush();
+            assertEquals(20, queue.getWrittenCount());
+            for (int i = 0; i < 20; i++) {
+                assertTrue(Resources.exists(loader.get("workspaces/ws" + i + "/workspace.xml")));
+            }
+        } finally {
+            queue.close();
+        }
+    }
+
+    @Test
+    public void testFailedWritesAreRetried() throws Exception {
+        ConfigWriteBehindQueue queue = new ConfigWriteBehindQueue(10, 10, 60000);
+        try {
+            Resource a = mock(Resource.class);
+            when(a.path()).thenReturn("workspaces/a/workspace.xml");
+            doThrow(new IOException("disk full")).doNothing().when(a).setContents(any(byte[].class));
+            queue.submit(workspace("a"), a, xp);
+            // the failure is reported to the caller, and the write kept in the queue
+            assertThrows(CatalogException.class, queue::flush);
+            assertEquals(1, queue.getFailedCount());
+            assertEquals(1, queue.getQueueDepth());
+
+            // while there are failed writes saves are synchronous, and retry the failed ones
+            Resource b = loader.get("workspaces/b/workspace.xml");
+            queue.submit(workspace("b"), b, xp);
+            assertEquals(0, queue.getQueueDepth());
+            assertTrue(contents(b).contains("<name>b</name>"));
+            verify(a, times(2)).setContents(any(byte[].class));
+
+            // once everything is written, saves are queued again
+            queue.submit(workspace("c"), loader.get("workspaces/c/workspace.xml"), xp);
+            assertEquals(1, queue.getQueueDepth());
+        } finally {
+            queue.close();
+        }
+    }
+
+    @Test
+    public void testSaveFailsWhilePreviousWritesFail() throws Exception {
+        ConfigWriteBehindQueue queue = new ConfigWriteBehindQueue(10, 10, 60000);
+        Resource a = mock(Resource.class);
+        when(a.path()).thenReturn("workspaces/a/workspace.xml");
+        doThrow(new IOException("disk full")).when(a).setContents(any(byte[].class));
+        queue.submit(workspace("a"), a, xp);
+        assertThrows(CatalogException.class, queue::flush);
+
+        // the next save is written, but the caller is told the configuration is not fully persisted
+        Resource b = loader.get("workspaces/b/workspace.xml");
+        assertThrows(CatalogException.class, () -> queue.submit(workspace("b"), b, xp));
+        assertTrue(contents(b).contains("<name>b</name>"));
+        assertEquals(1, queue.getQueueDepth());
+
+        // the failed write is not dropped on close either
+        assertThrows(CatalogException.class, queue::close);
+        assertEquals(1, queue.getQueueDepth());
+    }
+
+    @Test
+    public void testCloseFlushes() throws Exception {
+        ConfigWriteBehindQueue queue = new ConfigWriteBehindQueue(10, 10, 60000);
+        Resource a = loader.get("workspaces/a/workspace.xml");
+        queue.submit(workspace("a"), a, xp);
+        queue.close();
+        assertTrue(contents(a).contains("<name>a</name>"));
+
+        // once closed, writes are synchronous
+        Resource b = loader.get("workspaces/b/workspace.xml");
+        queue.submit(workspace("b"), b, xp);
+        assertEquals(0, queue.getQueueDepth());
+        assertTrue(contents(b).contains("<name>b</name>"));
+    }
+}
@@ -0,0 +1,177 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.config.datadir;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import org.geoserver.catalog.DataStoreInfo;
+import org.geoserver.catalog.Info;
+import org.geoserver.catalog.WorkspaceInfo;
+import org.geoserver.catalog.impl.DataStoreInfoImpl;
+import org.geoserver.catalog.impl.ResolvingProxy;
+import org.geoserver.catalog.impl.WorkspaceInfoImpl;
+import org.geoserver.config.util.XStreamPersister;
+import org.geoserver.config.util.XStreamPersisterFactory;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DataDirectorySnapshotTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    XStreamPersisterFactory xpf = new XStreamPersisterFactory();
+
+    Path root;
+
+    Path snapshotFile;
+
+    Path ws1;
+
+    Path ws2;
+
+    Path store;
+
+    @Before
+    public void setupDataDirectory() throws IOException {
+        root = folder.getRoot().toPath();
+        snapshotFile = root.resolve(DataDirectoryGeoServerLoader.SNAPSHOT_FILE_NAME);
+        ws1 = save(workspace("ws1"), "workspaces/ws1/workspace.xml");
+        ws2 = save(workspace("ws2"), "workspaces/ws2/workspace.xml");
+
+        DataStoreInfoImpl ds = new DataStoreInfoImpl(null);
+        ds.setId("ds-id");
+        ds.setName("ds");
+        ds.setWorkspace(workspace("ws1"));
+        ds.getConnectionParameters().put("dbtype", "h2");
+        store = save(ds, "workspaces/ws1/ds/datastore.xml");
+    }
+
+    private WorkspaceInfo workspace(String name) {
+        WorkspaceInfoImpl ws = new WorkspaceInfoImpl();
+        ws.setId(name + "-id");
+        ws.setName(name);
+        return ws;
+    }
+
+    private Path save(Info info, String path) throws IOException {
+        Path file = root.resolve(path);
+        Files.createDirectories(file.getParent());
+        XStreamPersister xp = xpf.createXMLPersister();
+        xp.setEncryptPasswordFields(false);
+        try (OutputStream out = Files.newOutputStream(file)) {
+            xp.save(info, out);
+        }
+        return file;
+    }
+
+    private XStreamLoader loader(boolean checksums) {
+        XStreamLoader loader = new XStreamLoader(xpf);
+        loader.setSnapshot(new DataDirectorySnapshot(root, snapshotFile, checksums));
+        return loader;
+    }
+
+    private <C extends Info> C load(XStreamLoader loader, Path file) {
+        return loader.<C>depersist(file).orElseThrow();
+    }
+
+    @Test
+    public void testBuildAndReuse() throws Exception {
+        XStreamLoader loader = loader(false);
+        WorkspaceInfo parsed = load(loader, ws1);
+        DataStoreInfo parsedStore = load(loader, store);
+        load(loader, ws2);
+        DataDirectorySnapshot snapshot = loader.getSnapshot();
+        assertEquals(0, snapshot.getHits());
+        assertEquals(3, snapshot.getMisses());
+        snapshot.save();
+        assertTrue(Files.isRegularFile(snapshotFile));
+
+        loader = loader(false);
+        WorkspaceInfo decoded = load(loader, ws1);
+        DataStoreInfo decodedStore = load(loader, store);
+        load(loader, ws2);
+        snapshot = loader.getSnapshot();
+        assertEquals(3, snapshot.getHits());
+        assertEquals(0, snapshot.getMisses());
+        assertFalse(snapshot.isModified());
+
+        assertEquals(parsed, decoded);
+        assertEquals(parsedStore.getName(), decodedStore.getName());
+        assertEquals(parsedStore.getConnectionParameters(), decodedStore.getConnectionParameters());
+        // references are left unresolved, as when parsing the XML files
+        assertEquals("ws1-id", ResolvingProxy.getRef(decodedStore.getWorkspace()));
+
+        // nothing changed, the snapshot is not rewritten
+        FileTime lastSaved = Files.getLastModifiedTime(snapshotFile);
+        snapshot.save();
+        assertEquals(lastSaved, Files.getLastModifiedTime(snapshotFile));
+    }
+
+    @Test
+    public void testIncrementalRebuild() throws Exception {
+        XStreamLoader loader = loader(false);
+        load(loader, ws1);
+        load(loader, ws2);
+        loader.getSnapshot().save();
+
+        // change one file, and load only that one
+        save(workspace("ws2-renamed"), "workspaces/ws2/workspace.xml");
+        Files.setLastModifiedTime(ws2, FileTime.fromMillis(Files.getLastModifiedTime(ws2).toMillis() + 10000));
+        loader = loader(false);
+        WorkspaceInfo changed = load(loader, ws2);
+        assertEquals("ws2-renamed", changed.getName());
+        assertEquals(0, loader.getSnapshot().getHits());
+        assertEquals(1, loader.getSnapshot().getMisses());
+        loader.getSnapshot().save();
+
+        loader = loader(false);
+        assertEquals("ws2-renamed", this.<WorkspaceInfo>load(loader, ws2).getName());
+        assertEquals(1, loader.getSnapshot().getHits());
+        // the entry of the file not loaded was dropped
+        load(loader, ws1);
+        assertEquals(1, loader.getSnapshot().getMisses());
+    }
+
+    @Test
+    public void testChecksumValidation() throws Exception {
+        XStreamLoader loader = loader(true);
+        load(loader, ws1);
+        loader.getSnapshot().save();
+
+        // same size and modification time, different contents
+        FileTime lastModified = Files.getLastModifiedTime(ws1);
+        String xml = Files.readString(ws1, StandardCharsets.UTF_8).replace("<name>ws1</name>", "<name>wsX</name>");
+        Files.writeString(ws1, xml, StandardCharsets.UTF_8);
+        Files.setLastModifiedTime(ws1, lastModified);
+
+        loader = loader(true);
+        assertEquals("wsX", this.<WorkspaceInfo>load(loader, ws1).getName());
+        assertEquals(1, loader.getSnapshot().getMisses());
+    }
+
+    @Test
+    public void testCorruptedSnapshotIgnored() throws Exception {
+        Files.write(snapshotFile, new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13});
+        XStreamLoader loader = loader(false);
+        assertEquals("ws1", this.<WorkspaceInfo>load(loader, ws1).getName());
+        assertEquals(1, loader.getSnapshot().getMisses());
+        loader.getSnapshot().save();
+
+        loader = loader(false);
+        assertEquals("ws1", this.<WorkspaceInfo>load(loader, ws1).getName());
+        assertEquals(1, loader.getSnapshot().getHits());
+    }
+}
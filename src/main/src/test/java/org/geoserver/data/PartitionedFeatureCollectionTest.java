@@ -0,0 +1,126 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.geoserver.catalog.DataStoreInfo;
+import org.geoserver.catalog.FeatureTypeInfo;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.data.DataUtilities;
+import org.geotools.data.collection.ListFeatureCollection;
+import org.geotools.data.simple.SimpleFeatureCollection;
+import org.geotools.data.simple.SimpleFeatureIterator;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PartitionedFeatureCollectionTest {
+
+    private SimpleFeatureType type;
+
+    private PartitionedFeatureCollection collection;
+
+    private int total;
+
+    @Before
+    public void setUp() throws Exception {
+        type = DataUtilities.createType("test", "id:Integer");
+        // partitions of different sizes, some larger than a chunk, some empty
+        List<SimpleFeatureCollection> partitions = new ArrayList<>();
+        for (int size : new int[] {0, 1, PartitionedFeatureCollection.CHUNK_SIZE * 2 + 1, 10, 0, 3}) {
+            partitions.add(partition(total, size));
+            total += size;
+        }
+        collection = new PartitionedFeatureCollection(partition(0, total), null, partitions);
+    }
+
+    private SimpleFeatureCollection partition(int start, int size) {
+        ListFeatureCollection features = new ListFeatureCollection(type);
+        for (int i = start; i < start + size; i++) {
+            features.add(SimpleFeatureBuilder.build(type, new Object[] {i}, "test." + i));
+        }
+        return features;
+    }
+
+    private static List<Integer> ids(SimpleFeatureCollection chunk) {
+        List<Integer> ids = new ArrayList<>();
+        try (SimpleFeatureIterator it = chunk.features()) {
+            while (it.hasNext()) {
+                SimpleFeature feature = it.next();
+                ids.add((Integer) feature.getAttribute("id"));
+            }
+        }
+        return ids;
+    }
+
+    @Test
+    public void testEncodeInOrderAndInChunks() throws Exception {
+        List<Integer> written = new ArrayList<>();
+        List<Integer> chunkSizes = new ArrayList<>();
+        collection.encode(PartitionedFeatureCollectionTest::ids, chunk -> {
+            chunkSizes.add(chunk.size());
+            written.addAll(chunk);
+        });
+
+        assertEquals(total, written.size());
+        for (int i = 0; i < total; i++) {
+            assertEquals(Integer.valueOf(i), written.get(i));
+        }
+        // no chunk is empty or larger than the chunk size, the large partition is split
+        assertTrue(chunkSizes.stream().allMatch(s -> s > 0 && s <= PartitionedFeatureCollection.CHUNK_SIZE));
+        assertEquals(6, chunkSizes.size());
+    }
+
+    @Test
+    public void testEncoderFailure() {
+        IOException e = assertThrows(
+                IOException.class,
+                () -> collection.encode(
+                        chunk -> {
+                            throw new IOException("encoding failed");
+                        },
+                        chunk -> {}));
+        assertEquals("encoding failed", e.getMessage());
+    }
+
+    @Test
+    public void testWriterFailure() {
+        IOException e = assertThrows(
+                IOException.class,
+                () -> collection.encode(PartitionedFeatureCollectionTest::ids, chunk -> {
+                    throw new IOException("client went away");
+                }));
+        assertEquals("client went away", e.getMessage());
+    }
+
+    @Test
+    public void testReadersCappedByConnectionPool() {
+        int readers = Math.min(PartitionedFeatureCollection.THREADS, PartitionedFeatureCollection.READERS);
+        assertEquals(readers, PartitionedFeatureCollection.getReaders(null));
+
+        FeatureTypeInfo info = mock(FeatureTypeInfo.class);
+        DataStoreInfo store = mock(DataStoreInfo.class);
+        when(info.getStore()).thenReturn(store);
+        Map<String, Serializable> params = new HashMap<>();
+        when(store.getConnectionParameters()).thenReturn(params);
+        assertEquals(readers, PartitionedFeatureCollection.getReaders(info));
+
+        // a small pool, one reader at most
+        params.put(PartitionedFeatureCollection.MAX_CONNECTIONS, "5");
+        assertEquals(1, PartitionedFeatureCollection.getReaders(info));
+    }
+}
@@ -7,13 +7,23 @@
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import jakarta.servlet.ServletException;
 import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.ServletRequest;
 import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
 import org.hamcrest.CoreMatchers;
 import org.junit.Test;
 import org.springframework.mock.web.DelegatingServletOutputStream;
@@ -210,4 +220,161 @@ public void doFilter(ServletRequest request, ServletResponse response)
         filter.doFilter(request, response, chain);
         assertFalse(response.containsHeader("Content-Length"));
     }
+
+    @Test
+    public void testNegotiation() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "http://www.geoserver.org");
+        request.addHeader("accept-encoding", "zstd, br, gzip;q=0");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        GZIPFilter filter = new GZIPFilter();
+        MockFilterConfig config = new MockFilterConfig(new MockServletContext());
+        config.addInitParameter("compressed-types", "text/plain");
+        filter.init(config);
+
+        MockFilterChain chain = new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest request, ServletResponse response) {
+                // no acceptable coding, the response is not wrapped
+                assertFalse(response instanceof GZIPResponseWrapper);
+            }
+        };
+        filter.doFilter(request, response, chain);
+    }
+
+    @Test
+    public void testMinSize() throws Exception {
+        GZIPFilter filter = new GZIPFilter();
+        MockFilterConfig config = new MockFilterConfig(new MockServletContext());
+        config.addInitParameter("compressed-types", "text/.*");
+        config.addInitParameter("min-size", "text/css=10, 100");
+        config.addInitParameter("compression-levels", "text/.*=9, gzip:text/css=1");
+        filter.init(config);
+
+        // too small, sent as is with the content length
+        MockHttpServletResponse response = filter(filter, "text/plain", "small".repeat(19));
+        assertNull(response.getHeader("Content-Encoding"));
+        assertEquals(95, response.getContentLength());
+        assertEquals("small".repeat(19), response.getContentAsString());
+
+        // large enough to be compressed
+        response = filter(filter, "text/plain", "small".repeat(20));
+        assertEquals("gzip", response.getHeader("Content-Encoding"));
+        assertEquals("Accept-Encoding", response.getHeader("Vary"));
+        assertFalse(response.containsHeader("Content-Length"));
+        assertEquals("small".repeat(20), gunzip(response.getContentAsByteArray()));
+
+        // a type with a specific minimum size
+        response = filter(filter, "text/css", "small".repeat(2));
+        assertEquals("gzip", response.getHeader("Content-Encoding"));
+        assertEquals("small".repeat(2), gunzip(response.getContentAsByteArray()));
+    }
+
+    @Test
+    public void testRules() {
+        CompressionRules rules = CompressionRules.parse(
+                "text/.*,application/json", "text/.*=9, zstd:application/json=19, application/json=6", "text/css=10");
+        ContentEncoder gzip = new GZIPContentEncoder();
+        assertTrue(rules.isCompressible("text/plain; charset=UTF-8"));
+        assertFalse(rules.isCompressible("image/png"));
+        assertEquals(9, rules.getLevel("text/plain", gzip));
+        assertEquals(6, rules.getLevel("application/json", gzip));
+        assertEquals(Deflater.DEFAULT_COMPRESSION, rules.getLevel("image/svg+xml", gzip));
+        assertEquals(10, rules.getMinSize("text/css"));
+        assertEquals(0, rules.getMinSize("text/plain"));
+    }
+
+    @Test
+    public void testAlreadyEncoded() throws Exception {
+        GZIPFilter filter = new GZIPFilter();
+        MockFilterConfig config = new MockFilterConfig(new MockServletContext());
+        config.addInitParameter("compressed-types", "text/plain");
+        filter.init(config);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "http://www.geoserver.org");
+        request.addHeader("accept-encoding", "gzip");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain() {
+            @Override
+            @SuppressWarnings("PMD.CloseResource")
+            public void doFilter(ServletRequest request, ServletResponse response) throws IOException {
+                // e.g., a precompressed static file
+                response.setContentType("text/plain");
+                ((HttpServletResponse) response).setHeader("Content-Encoding", "br");
+                response.setContentLength(3);
+                response.getOutputStream().write(new byte[] {1, 2, 3});
+            }
+        };
+        filter.doFilter(request, response, chain);
+        assertEquals("br", response.getHeader("Content-Encoding"));
+        assertEquals(3, response.getContentLength());
+        assertEquals(3, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    public void testPluggableEncoder() throws Exception {
+        ContentEncoder deflate = new ContentEncoder() {
+            @Override
+            public String getName() {
+                return "deflate";
+            }
+
+            @Override
+            public int getDefaultLevel() {
+                return Deflater.BEST_SPEED;
+            }
+
+            @Override
+            public OutputStream encode(OutputStream output, int level) {
+                return new DeflaterOutputStream(output, new Deflater(level), true);
+            }
+        };
+        ContentEncodingStatistics statistics = ContentEncodingStatistics.getInstance();
+        statistics.reset();
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setContentType("text/plain");
+        CompressionRules rules = CompressionRules.parse("text/plain", null, null);
+        GZIPResponseWrapper wrapper = new GZIPResponseWrapper(response, deflate, rules, "http://www.geoserver.org");
+        byte[] content = "Hello world! ".repeat(100).getBytes(StandardCharsets.UTF_8);
+        wrapper.getOutputStream().write(content);
+        wrapper.finishResponse();
+
+        assertEquals("deflate", response.getHeader("Content-Encoding"));
+        byte[] compressed = response.getContentAsByteArray();
+        try (InputStream is = new InflaterInputStream(new ByteArrayInputStream(compressed))) {
+            assertEquals("Hello world! ".repeat(100), new String(is.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertEquals(Long.valueOf(1), statistics.getResponseCount().get("deflate"));
+        assertEquals(Long.valueOf(content.length), statistics.getBytesIn().get("deflate"));
+        assertEquals(Long.valueOf(compressed.length), statistics.getBytesOut().get("deflate"));
+        assertTrue(statistics.getCpuTime().containsKey("deflate"));
+    }
+
+    private MockHttpServletResponse filter(GZIPFilter filter, String type, String content) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "http://www.geoserver.org");
+        request.addHeader("accept-encoding", "gzip");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain() {
+            @Override
+            @SuppressWarnings("PMD.CloseResource")
+            public void doFilter(ServletRequest request, ServletResponse response) throws IOException {
+                response.setContentType(type);
+                // written in small chunks, as a writer would do
+                ServletOutputStream os = response.getOutputStream();
+                for (byte b : content.getBytes(StandardCharsets.UTF_8)) {
+                    os.write(b);
+                }
+                os.flush();
+            }
+        };
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private String gunzip(byte[] zipped) throws IOException {
+        try (InputStream is = new GZIPInputStream(new ByteArrayInputStream(zipped))) {
+            return new String(is.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
 }
@@ -9,17 +9,21 @@
 import static org.junit.Assert.assertEquals;
 
 import java.io.StringWriter;
+import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import java.util.TimeZone;
 import java.util.UUID;
 import net.sf.json.JSONArray;
 import net.sf.json.JSONObject;
+import org.geotools.referencing.CRS;
 import org.junit.Before;
 import org.junit.Test;
 import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.geom.Point;
@@ -485,6 +489,147 @@ public void testWrite3DLineWithInfiniteCoordinates() throws Exception {
                 writer.toString());
     }
 
+    @Test
+    public void testStreamingSameAsLegacy() throws Exception {
+        Random random = new Random(42);
+        String[] templates = {
+            "POINT(%s %s)",
+            "POINT Z (%s %s %s)",
+            "LINESTRING ZM (%s %s %s %s, %s %s %s %s)",
+            "POLYGON((%s %s, %s %s, %s %s, %s %s),(%s %s, %s %s, %s %s, %s %s))",
+            "MULTIPOINT M ((%s %s %s),(%s %s %s))",
+            "MULTILINESTRING((%s %s, %s %s),(%s %s, %s %s))",
+            "MULTIPOLYGON(((%s %s, %s %s, %s %s, %s %s)),((%s %s, %s %s, %s %s, %s %s)))",
+            "GEOMETRYCOLLECTION(POINT(%s %s),LINESTRING(%s %s, %s %s),GEOMETRYCOLLECTION(POINT(%s %s)))",
+            "POLYGON EMPTY"
+        };
+        WKTReader reader = new WKTReader();
+        for (int decimals = 0; decimals < 12; decimals++) {
+            for (String template : templates) {
+                for (int i = 0; i < 20; i++) {
+                    Object[] ordinates = new Object[16];
+                    for (int j = 0; j < ordinates.length; j++) {
+                        ordinates[j] = randomOrdinate(random);
+                    }
+                    Geometry g = reader.read(String.format(template, ordinates));
+                    Envelope envelope = g.getEnvelopeInternal();
+                    for (CRS.AxisOrder order : CRS.AxisOrder.values()) {
+                        assertEquals(
+                                encode(g, envelope, decimals, order, false),
+                                encode(g, envelope, decimals, order, true));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testStreamingNumbers() throws Exception {
+        double[] values = {
+            0, -0d, 1, -1, 0.5, 1e-3, 9.99e-4, 1e-4, 1e7, 9999999.5, 1e15, 1e20, 123.456, -0.001, Double.MIN_VALUE,
+            Double.MAX_VALUE, 0.1 + 0.2, 1 / 3d, 12345678.12345678
+        };
+        for (int decimals = 0; decimals < 12; decimals++) {
+            for (double value : values) {
+                Point p = new GeometryFactory().createPoint(new Coordinate(value, value));
+                assertEquals(
+                        encode(p, null, decimals, CRS.AxisOrder.EAST_NORTH, false),
+                        encode(p, null, decimals, CRS.AxisOrder.EAST_NORTH, true));
+            }
+        }
+    }
+
+    @Test
+    public void testStreamingValuesSameAsLegacy() throws Exception {
+        Calendar calendar = Calendar.getInstance(TimeZone.getTimeZone("GMT"));
+        calendar.setTimeInMillis(1234567890123L);
+        Object[] values = {
+            "",
+            "plain",
+            "quote \" backslash \\ slash / script </script>",
+            "\b\t\n\f\r\u0001\u001f\u007f",
+            "unicode \u00e9 \u2713 \u2028",
+            "null",
+            "function(){ return 1; }",
+            0,
+            -7,
+            Integer.MIN_VALUE,
+            Long.MAX_VALUE,
+            Long.MIN_VALUE,
+            (short) 3,
+            (byte) -4,
+            1.5d,
+            -0d,
+            1e-3,
+            1e7,
+            1e20,
+            1 / 3d,
+            123.456,
+            1.5f,
+            1e-10f,
+            123456.79f,
+            new BigDecimal("1.50"),
+            true,
+            false,
+            new java.util.Date(1234567890123L),
+            new java.sql.Timestamp(1234567890123L),
+            calendar
+        };
+        for (int decimals : new int[] {0, 2, 6, 10}) {
+            for (Object value : values) {
+                assertEquals(encode(value, decimals, false), encode(value, decimals, true));
+            }
+        }
+    }
+
+    /** Encodes the value as a property, and in an array, to check the separators are written too */
+    private String encode(Object value, int decimals, boolean streaming) {
+        StringWriter writer = new StringWriter();
+        GeoJSONBuilder builder = new GeoJSONBuilder(writer);
+        builder.setStreaming(streaming);
+        builder.setNumberOfDecimals(decimals);
+        builder.object().key("value").value(value);
+        builder.key("values").array().value(value).value(value).endArray();
+        builder.key("after").value(true).endObject();
+        return writer.toString();
+    }
+
+    private String randomOrdinate(Random random) {
+        switch (random.nextInt(6)) {
+            case 0:
+                return String.valueOf(random.nextInt(1000) - 500);
+            case 1:
+                return String.valueOf((random.nextDouble() - 0.5) * 1e-5);
+            case 2:
+                return String.valueOf((random.nextDouble() - 0.5) * 4e7);
+            case 3:
+                return String.valueOf(random.nextDouble() * 1e18);
+            default:
+                return String.valueOf((random.nextDouble() - 0.5) * 360);
+        }
+    }
+
+    /** Encodes the geometry and bounds as a property, and in an array, to check the separators are written too */
+    private String encode(Geometry g, Envelope envelope, int decimals, CRS.AxisOrder order, boolean streaming) {
+        StringWriter writer = new StringWriter();
+        GeoJSONBuilder builder = new GeoJSONBuilder(writer);
+        builder.setStreaming(streaming);
+        builder.setNumberOfDecimals(decimals);
+        builder.setAxisOrder(order);
+        builder.setEncodeMeasures(true);
+        builder.object().key("id").value("f1").key("geometry");
+        builder.writeGeom(g);
+        if (envelope != null && !envelope.isNull()) {
+            builder.writeBoundingBox(envelope);
+        }
+        builder.key("geometries").array().value(1);
+        builder.writeGeom(g);
+        builder.writeGeom(g);
+        builder.endArray();
+        builder.key("after").value(true).endObject();
+        return writer.toString();
+    }
+
     private void addLevels(final GeoJSONBuilder builder, int level, final int max) {
         if (level >= max) return;
         level++;
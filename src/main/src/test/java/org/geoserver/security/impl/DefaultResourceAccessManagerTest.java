@@ -5,22 +5,34 @@
 package org.geoserver.security.impl;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 
 import com.google.common.collect.Lists;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.LayerGroupInfo;
 import org.geoserver.catalog.LayerInfo;
 import org.geoserver.catalog.Predicates;
+import org.geoserver.catalog.PublishedInfo;
 import org.geoserver.catalog.ResourceInfo;
+import org.geoserver.catalog.StoreInfo;
 import org.geoserver.catalog.WorkspaceInfo;
+import org.geoserver.catalog.event.CatalogListener;
+import org.geoserver.catalog.event.impl.CatalogModifyEventImpl;
+import org.geoserver.catalog.util.CloseableIterator;
+import org.geoserver.catalog.util.CloseableIteratorAdapter;
 import org.geoserver.security.AccessMode;
+import org.geoserver.security.CatalogMode;
 import org.geoserver.security.WorkspaceAccessLimits;
 import org.geotools.api.filter.Filter;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
@@ -92,4 +104,110 @@ public void testSecurityFilterCache() {
         fil = defaultResourceAccessManager.getSecurityFilter(authentication, ResourceInfo.class);
         assertEquals(Predicates.acceptAll(), fil);
     }
+
+    private ResourceInfo resource(String workspace, String name) {
+        WorkspaceInfo ws = mock(WorkspaceInfo.class);
+        Mockito.when(ws.getName()).thenReturn(workspace);
+        StoreInfo store = mock(StoreInfo.class);
+        Mockito.when(store.getWorkspace()).thenReturn(ws);
+        ResourceInfo resource = mock(ResourceInfo.class);
+        Mockito.when(resource.getName()).thenReturn(name);
+        Mockito.when(resource.getId()).thenReturn(name + "-id");
+        Mockito.when(resource.getStore()).thenReturn(store);
+        return resource;
+    }
+
+    private Authentication user(String role) {
+        Authentication authentication = mock(Authentication.class);
+        Collection<? extends GrantedAuthority> grantedAuthorities = Collections.singletonList(new GeoServerRole(role));
+        Mockito.<Collection<? extends GrantedAuthority>>when(authentication.getAuthorities())
+                .thenReturn(grantedAuthorities);
+        return authentication;
+    }
+
+    @Test
+    public void testDecisionCache() {
+        Catalog catalog = mock(Catalog.class);
+        DataAccessRuleDAO dataAccessRuleDAO = mock(DataAccessRuleDAO.class);
+        DataAccessRule rule = new DataAccessRule("ws", "layer1", AccessMode.READ, "MY_ROLE");
+        Mockito.when(dataAccessRuleDAO.getRules()).thenReturn(Lists.newArrayList(rule));
+        DefaultResourceAccessManager manager = new DefaultResourceAccessManager(dataAccessRuleDAO, catalog);
+        ArgumentCaptor<CatalogListener> listener = ArgumentCaptor.forClass(CatalogListener.class);
+        Mockito.verify(catalog).addListener(listener.capture());
+
+        ResourceInfo layer1 = resource("ws", "layer1");
+        Authentication myRole = user("MY_ROLE");
+        Authentication otherRole = user("OTHER_ROLE");
+        assertTrue(manager.canAccess(myRole, layer1, AccessMode.READ, true));
+        assertFalse(manager.canAccess(otherRole, layer1, AccessMode.READ, true));
+        assertEquals(2, manager.decisionCache.size());
+
+        // same roles, different authentication object, the decision is reused
+        assertTrue(manager.canAccess(user("MY_ROLE"), layer1, AccessMode.READ, true));
+        assertEquals(2, manager.decisionCache.size());
+
+        // rules reload
+        rule = new DataAccessRule("ws", "layer1", AccessMode.READ, "OTHER_ROLE");
+        Mockito.when(dataAccessRuleDAO.getRules()).thenReturn(Lists.newArrayList(rule));
+        manager.reload();
+        assertEquals(0, manager.decisionCache.size());
+        assertFalse(manager.canAccess(myRole, layer1, AccessMode.READ, true));
+        assertTrue(manager.canAccess(otherRole, layer1, AccessMode.READ, true));
+
+        // catalog changes
+        CatalogModifyEventImpl event = new CatalogModifyEventImpl();
+        event.setSource(layer1);
+        listener.getValue().handleModifyEvent(event);
+        assertEquals(0, manager.decisionCache.size());
+    }
+
+    @Test
+    public void testBulkFilter() {
+        Catalog catalog = mock(Catalog.class);
+        DataAccessRuleDAO dataAccessRuleDAO = mock(DataAccessRuleDAO.class);
+        Mockito.when(dataAccessRuleDAO.getMode()).thenReturn(CatalogMode.HIDE);
+        DataAccessRule rule1 = new DataAccessRule("ws", "layer1", AccessMode.READ, "MY_ROLE");
+        DataAccessRule rule2 = new DataAccessRule("ws", "layer2", AccessMode.READ, "OTHER_ROLE");
+        Mockito.when(dataAccessRuleDAO.getRules()).thenReturn(Lists.newArrayList(rule1, rule2));
+        DefaultResourceAccessManager manager = new DefaultResourceAccessManager(dataAccessRuleDAO, catalog);
+
+        ResourceInfo layer1 = resource("ws", "layer1");
+        ResourceInfo layer2 = resource("ws", "layer2");
+        ResourceInfo layer3 = resource("ws", "layer3");
+        List<ResourceInfo> resources = List.of(layer1, layer2, layer3);
+        try (CloseableIterator<ResourceInfo> filtered = manager.filter(
+                user("MY_ROLE"), ResourceInfo.class, new CloseableIteratorAdapter<>(resources.iterator()))) {
+            assertEquals(List.of(layer1, layer3), Lists.newArrayList(filtered));
+        }
+
+        // in challenge mode the metadata of everything is visible
+        Mockito.when(dataAccessRuleDAO.getMode()).thenReturn(CatalogMode.CHALLENGE);
+        try (CloseableIterator<ResourceInfo> filtered = manager.filter(
+                user("MY_ROLE"), ResourceInfo.class, new CloseableIteratorAdapter<>(resources.iterator()))) {
+            assertEquals(resources, Lists.newArrayList(filtered));
+        }
+    }
+
+    @Test
+    public void testSecurityFilterExact() {
+        Catalog catalog = mock(Catalog.class);
+        DataAccessRuleDAO dataAccessRuleDAO = mock(DataAccessRuleDAO.class);
+        Mockito.when(dataAccessRuleDAO.getMode()).thenReturn(CatalogMode.HIDE);
+        DataAccessRule rule = new DataAccessRule("ws", "layer1", AccessMode.READ, "MY_ROLE");
+        Mockito.when(dataAccessRuleDAO.getRules()).thenReturn(Lists.newArrayList(rule));
+        DefaultResourceAccessManager manager = new DefaultResourceAccessManager(dataAccessRuleDAO, catalog);
+
+        // outside of WMS requests the rules tree decides on resources and layers
+        Authentication myRole = user("MY_ROLE");
+        assertTrue(manager.isSecurityFilterExact(myRole, ResourceInfo.class));
+        assertTrue(manager.isSecurityFilterExact(myRole, LayerInfo.class));
+        assertTrue(manager.isSecurityFilterExact(myRole, WorkspaceInfo.class));
+        // groups can also be hidden by their containers
+        assertFalse(manager.isSecurityFilterExact(myRole, LayerGroupInfo.class));
+        assertFalse(manager.isSecurityFilterExact(myRole, PublishedInfo.class));
+
+        // in challenge mode objects are checked one by one
+        Mockito.when(dataAccessRuleDAO.getMode()).thenReturn(CatalogMode.CHALLENGE);
+        assertTrue(manager.isSecurityFilterExact(myRole, LayerGroupInfo.class));
+    }
 }
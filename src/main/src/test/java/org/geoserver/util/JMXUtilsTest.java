@@ -0,0 +1,66 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.lang.management.ManagementFactory;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.junit.After;
+import org.junit.Test;
+
+public class JMXUtilsTest {
+
+    static final String OBJECT_NAME = "org.geoserver:type=JMXUtilsTest";
+
+    public interface CounterMXBean {
+        int getValue();
+    }
+
+    static class Counter implements CounterMXBean {
+        int value;
+
+        Counter(int value) {
+            this.value = value;
+        }
+
+        @Override
+        public int getValue() {
+            return value;
+        }
+    }
+
+    @After
+    public void cleanup() {
+        JMXUtils.unregister(OBJECT_NAME);
+    }
+
+    @Test
+    public void testRegisterReplaces() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(OBJECT_NAME);
+
+        JMXUtils.register(new Counter(1), OBJECT_NAME);
+        assertEquals(1, server.getAttribute(name, "Value"));
+
+        // a second registration, as done by a reloaded application context, replaces the first
+        JMXUtils.register(new Counter(2), OBJECT_NAME);
+        assertEquals(2, server.getAttribute(name, "Value"));
+
+        JMXUtils.unregister(OBJECT_NAME);
+        assertFalse(server.isRegistered(name));
+    }
+
+    @Test
+    public void testFailuresAreLogged() throws Exception {
+        // not a MBean, and not registered, the failures are logged and not thrown
+        JMXUtils.register(new Object(), OBJECT_NAME);
+        JMXUtils.unregister(OBJECT_NAME);
+        JMXUtils.register(new Counter(1), "not a valid name");
+        assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(new ObjectName(OBJECT_NAME)));
+    }
+}
@@ -16,12 +16,17 @@
 import java.net.URLDecoder;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.TimeZone;
+import org.geoserver.ows.util.AcceptEncoding;
 import org.geoserver.ows.util.EncodingInfo;
 import org.geoserver.ows.util.XmlCharsetDetector;
 import org.geotools.util.URLs;
@@ -51,11 +56,24 @@
  * </code>
  * </pre>
  *
+ * <p>If the client accepts it, a precompressed variant of the file found next to it (e.g., {@code app.js.zst} or
+ * {@code app.js.gz} for {@code app.js}) is served instead, with the matching {@code Content-Encoding}, saving the cost
+ * of compressing static resources on each request.
+ *
  * @author Justin Deoliveira, The Open Planning Project
  * @author Andrea Aime - GeoSolutions
  */
 public abstract class AbstractURLPublisher extends AbstractController {
 
+    /** File extensions of the precompressed variants, by content coding, in order of preference */
+    static final Map<String, String> PRECOMPRESSED_EXTENSIONS = new LinkedHashMap<>();
+
+    static {
+        PRECOMPRESSED_EXTENSIONS.put("zstd", ".zst");
+        PRECOMPRESSED_EXTENSIONS.put("br", ".br");
+        PRECOMPRESSED_EXTENSIONS.put("gzip", ".gz");
+    }
+
     protected boolean replaceWindowsFileSeparator = false;
 
     @Override
@@ -99,10 +117,17 @@ protected ModelAndView handleRequestInternal(HttpServletRequest request, HttpSer
 
         // set the content length and content type
         URLConnection connection = url.openConnection();
-        long length = connection.getContentLength();
+        Precompressed precompressed = getPrecompressed(request, url, file);
+        long length = precompressed != null
+                ? precompressed.connection().getContentLength()
+                : connection.getContentLength();
         if (length > 0 && length <= Integer.MAX_VALUE) {
             response.setContentLength((int) length);
         }
+        if (precompressed != null) {
+            response.setHeader("Content-Encoding", precompressed.coding());
+            response.addHeader("Vary", "Accept-Encoding");
+        }
 
         long lastModified = connection.getLastModified();
         if (lastModified > 0) {
@@ -120,21 +145,66 @@ protected ModelAndView handleRequestInternal(HttpServletRequest request, HttpSer
             response.setCharacterEncoding(encInfo.getEncoding() != null ? encInfo.getEncoding() : "UTF-8");
 
             // count < 1 -> empty file
-            if (count > 0) {
+            if (count > 0 && precompressed == null) {
                 // send out the first four bytes read
                 @SuppressWarnings("PMD.CloseResource") // managed by servlet container
                 OutputStream output = response.getOutputStream();
                 output.write(b4, 0, count);
 
                 // copy the content to the output
-                byte[] buffer = new byte[8192];
-                int n = -1;
-                while ((n = input.read(buffer)) != -1) {
-                    output.write(buffer, 0, n);
-                }
+                copy(input, output);
             }
         }
 
+        // the charset has been guessed from the original file, send out the precompressed one
+        if (precompressed != null) {
+            try (InputStream input = precompressed.connection().getInputStream()) {
+                @SuppressWarnings("PMD.CloseResource") // managed by servlet container
+                OutputStream output = response.getOutputStream();
+                copy(input, output);
+            }
+        }
+
+        return null;
+    }
+
+    private static void copy(InputStream input, OutputStream output) throws IOException {
+        byte[] buffer = new byte[8192];
+        int n = -1;
+        while ((n = input.read(buffer)) != -1) {
+            output.write(buffer, 0, n);
+        }
+    }
+
+    /** A precompressed variant of a published file */
+    private record Precompressed(String coding, URLConnection connection) {}
+
+    /**
+     * Looks up the best precompressed variant of the file acceptable by the client, returns null if there is none.
+     * Variants on the file system older than the file are ignored, as they are likely stale.
+     */
+    private Precompressed getPrecompressed(HttpServletRequest request, URL url, File file) throws IOException {
+        AcceptEncoding accept = AcceptEncoding.parse(request.getHeader("Accept-Encoding"));
+        List<String> codings = new ArrayList<>(PRECOMPRESSED_EXTENSIONS.keySet());
+        String coding;
+        while ((coding = accept.negotiate(codings)) != null) {
+            String extension = PRECOMPRESSED_EXTENSIONS.get(coding);
+            if (file != null) {
+                File variant = new File(file.getPath() + extension);
+                if (variant.isFile() && variant.lastModified() >= file.lastModified()) {
+                    return new Precompressed(coding, URLs.fileToUrl(variant).openConnection());
+                }
+            } else {
+                URLConnection connection = new URL(url.toExternalForm() + extension).openConnection();
+                try {
+                    connection.connect();
+                    return new Precompressed(coding, connection);
+                } catch (IOException e) {
+                    // no such variant
+                }
+            }
+            codings.remove(coding);
+        }
         return null;
     }
 
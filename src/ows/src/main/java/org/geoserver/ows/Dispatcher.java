@@ -287,6 +287,42 @@ protected ModelAndView handleRequestInternal(HttpServletRequest httpRequest, Htt
         return null;
     }
 
+    /**
+     * Executes a KVP request in process, for callers that already know the request parameters and want the operation
+     * result instead of its encoded response.
+     *
+     * <p>The HTTP request parsing, the response encoding and the exception reporting are skipped, the callbacks are
+     * fired as for a HTTP request, save for {@link DispatcherCallback#responseDispatched}. Exceptions are thrown back
+     * to the caller.
+     *
+     * @param request the request, with its HTTP request, its context and its parsed and raw KVP maps set
+     * @return the result of the operation
+     */
+    public Object dispatchDirect(Request request) throws Exception {
+        try {
+            // allow callbacks to override the request, as init does
+            request = fireInitCallback(request);
+            REQUEST.set(request);
+
+            Service service = service(request);
+            if (request.getError() != null) {
+                throw request.getError();
+            }
+
+            Operation operation = dispatch(request, service);
+            request.setOperation(operation);
+
+            return execute(request, operation);
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new ServiceException(t);
+        } finally {
+            fireFinishedCallback(request);
+            REQUEST.remove();
+        }
+    }
+
     void flagAsSOAP(Operation op) {
         for (Object reqObj : op.getParameters()) {
             if (OwsUtils.has(reqObj, "formatOptions")) {
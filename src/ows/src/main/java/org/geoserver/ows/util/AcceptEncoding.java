@@ -0,0 +1,96 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.ows.util;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A parsed HTTP {@code Accept-Encoding} header, used to negotiate the content coding of a response among the ones the
+ * server supports. Quality values are honored, with {@code q=0} marking a coding as not acceptable, and the {@code *}
+ * wildcard matching any coding not explicitly listed. Ties are broken using the server preference order.
+ */
+public class AcceptEncoding {
+
+    private final Map<String, Double> qualities = new HashMap<>();
+
+    private double wildcard = 0;
+
+    private AcceptEncoding() {}
+
+    /**
+     * Parses the header value
+     *
+     * @param header the {@code Accept-Encoding} header value, may be null
+     * @return the parsed header, accepting no content coding if the header is null or empty
+     */
+    public static AcceptEncoding parse(String header) {
+        AcceptEncoding result = new AcceptEncoding();
+        if (header == null) {
+            return result;
+        }
+        for (String element : header.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ENGLISH);
+            if (coding.isEmpty()) {
+                continue;
+            }
+            double quality = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("q=") || param.startsWith("Q=")) {
+                    try {
+                        quality = Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        // malformed values are ignored, as if no quality was specified
+                    }
+                }
+            }
+            if ("*".equals(coding)) {
+                result.wildcard = quality;
+            } else {
+                result.qualities.put(normalize(coding), quality);
+            }
+        }
+        return result;
+    }
+
+    private static String normalize(String coding) {
+        // RFC 9110 recommends treating x-gzip as an alias of gzip
+        return "x-gzip".equals(coding) ? "gzip" : coding;
+    }
+
+    /** Returns the quality of the given content coding, zero if the client does not accept it */
+    public double getQuality(String coding) {
+        Double quality = qualities.get(normalize(coding.toLowerCase(Locale.ENGLISH)));
+        return quality != null ? quality : wildcard;
+    }
+
+    /** Returns true if the client accepts the given content coding */
+    public boolean accepts(String coding) {
+        return getQuality(coding) > 0;
+    }
+
+    /**
+     * Picks the content coding to use for the response
+     *
+     * @param supported the codings supported by the server, in order of preference
+     * @return the acceptable coding with the highest quality, or null if none is acceptable
+     */
+    public String negotiate(List<String> supported) {
+        String best = null;
+        double bestQuality = 0;
+        for (String coding : supported) {
+            double quality = getQuality(coding);
+            if (quality > bestQuality) {
+                best = coding;
+                bestQuality = quality;
+            }
+        }
+        return best;
+    }
+}
@@ -36,8 +36,10 @@
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.custommonkey.xmlunit.XMLUnit;
+import org.geoserver.ows.util.KvpMap;
 import org.geoserver.platform.Operation;
 import org.geoserver.platform.Service;
+import org.geoserver.platform.ServiceException;
 import org.geoserver.test.CodeExpectingHttpServletResponse;
 import org.geotools.util.Version;
 import org.junit.Assert;
@@ -733,6 +735,47 @@ public void testDispatcherCallback() throws Exception {
         }
     }
 
+    @Test
+    public void testDispatchDirect() throws Exception {
+        URL url = getClass().getResource("applicationContext.xml");
+
+        try (FileSystemXmlApplicationContext context = new FileSystemXmlApplicationContext(url.toString())) {
+
+            Dispatcher dispatcher = (Dispatcher) context.getBean("dispatcher");
+            TestDispatcherCallback callback = new TestDispatcherCallback() {
+                @Override
+                public Response responseDispatched(
+                        Request request, Operation operation, Object result, Response response) {
+                    throw new RuntimeException("No response expected");
+                }
+            };
+            dispatcher.callbacks.add(callback);
+
+            Request request = new Request();
+            request.setHttpRequest(setupRequest());
+            request.setHttpResponse(new MockHttpServletResponse());
+            Map<String, Object> kvp = new KvpMap<>();
+            kvp.put("service", "hello");
+            kvp.put("request", "Hello");
+            kvp.put("version", "1.0.0");
+            kvp.put("message", "Hello world!");
+            request.setKvp(kvp);
+            request.setRawKvp(new KvpMap<>(kvp));
+
+            Object result = dispatcher.dispatchDirect(request);
+            assertTrue(result instanceof Message);
+            Assert.assertEquals("Hello world!", ((Message) result).message);
+            Assert.assertEquals(TestDispatcherCallback.Status.FINISHED, callback.dispatcherStatus.get());
+            Assert.assertNull(Dispatcher.REQUEST.get());
+
+            // errors are thrown back to the caller instead of being encoded
+            kvp.put("request", "NoSuchOperation");
+            ServiceException e = assertThrows(ServiceException.class, () -> dispatcher.dispatchDirect(request));
+            Assert.assertEquals("OperationNotSupported", e.getCode());
+            Assert.assertEquals(TestDispatcherCallback.Status.FINISHED, callback.dispatcherStatus.get());
+        }
+    }
+
     @Test
     public void testDispatcherCallbackFailInit() throws Exception {
         URL url = getClass().getResource("applicationContext.xml");
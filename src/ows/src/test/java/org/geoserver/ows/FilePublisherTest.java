@@ -10,15 +10,21 @@
 import static org.hamcrest.Matchers.startsWith;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 
 import java.io.File;
+import java.io.ByteArrayInputStream;
 import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 import org.geoserver.platform.GeoServerResourceLoader;
 import org.junit.After;
 import org.junit.AfterClass;
@@ -56,6 +62,11 @@ public static void create() throws Exception {
         Files.write(loader.createFile("index.html").toPath(), "BAD".getBytes());
         loader.createFile("www/test.foo");
         loader.createFile("www/test.bar");
+        Files.write(loader.createFile("www/precompressed.txt").toPath(), "plain".getBytes());
+        File gzipped = loader.createFile("www/precompressed.txt.gz");
+        try (OutputStream os = new GZIPOutputStream(new FileOutputStream(gzipped))) {
+            os.write("plain".getBytes());
+        }
     }
 
     static String[] create(File parent, String... path) throws Exception {
@@ -82,6 +93,11 @@ public void resetProperty() {
     public static void destroy() {}
 
     private MockHttpServletResponse request(String[] path, String modifiedSince) throws Exception {
+        return request(path, modifiedSince, null);
+    }
+
+    private MockHttpServletResponse request(String[] path, String modifiedSince, String acceptEncoding)
+            throws Exception {
         MockHttpServletRequest request = new MockHttpServletRequest();
         request.setContextPath("/geoserver");
         request.setMethod("GET");
@@ -94,6 +110,9 @@ private MockHttpServletResponse request(String[] path, String modifiedSince) thr
         if (modifiedSince != null) {
             request.addHeader("If-Modified-Since", modifiedSince);
         }
+        if (acceptEncoding != null) {
+            request.addHeader("Accept-Encoding", acceptEncoding);
+        }
         MockHttpServletResponse response = new MockHttpServletResponse();
         publisher.handleRequest(request, response);
         return response;
@@ -129,6 +148,28 @@ public void testLastModified() throws Exception {
         }
     }
 
+    @Test
+    public void testPrecompressed() throws Exception {
+        String[] path = {"www", "precompressed.txt"};
+        MockHttpServletResponse response = request(path, null, "gzip, deflate, br, zstd");
+        assertEquals(200, response.getStatus());
+        assertEquals("gzip", response.getHeader("Content-Encoding"));
+        assertEquals("Accept-Encoding", response.getHeader("Vary"));
+        byte[] compressed = response.getContentAsByteArray();
+        assertEquals(compressed.length, response.getContentLength());
+        try (InputStream is = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertEquals("plain", new String(is.readAllBytes()));
+        }
+
+        // no acceptable variant, the plain file is served
+        response = request(path, null, "zstd, gzip;q=0");
+        assertNull(response.getHeader("Content-Encoding"));
+        assertEquals("plain", response.getContentAsString());
+        response = request(path, null, null);
+        assertNull(response.getHeader("Content-Encoding"));
+        assertEquals("plain", response.getContentAsString());
+    }
+
     @Test
     public void testMimeDefault() throws Exception {
         // test that the application/octect-stream content type is used if
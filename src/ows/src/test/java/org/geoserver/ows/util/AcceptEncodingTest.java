@@ -0,0 +1,51 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.ows.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import org.junit.Test;
+
+public class AcceptEncodingTest {
+
+    static final List<String> SUPPORTED = List.of("zstd", "br", "gzip");
+
+    @Test
+    public void testMissingHeader() {
+        AcceptEncoding ae = AcceptEncoding.parse(null);
+        assertFalse(ae.accepts("gzip"));
+        assertNull(ae.negotiate(SUPPORTED));
+    }
+
+    @Test
+    public void testServerPreference() {
+        assertEquals("zstd", AcceptEncoding.parse("gzip, deflate, br, zstd").negotiate(SUPPORTED));
+        assertEquals("br", AcceptEncoding.parse("gzip, deflate, br").negotiate(SUPPORTED));
+        assertEquals("gzip", AcceptEncoding.parse("gzip, deflate").negotiate(SUPPORTED));
+        assertEquals("gzip", AcceptEncoding.parse("x-gzip").negotiate(SUPPORTED));
+    }
+
+    @Test
+    public void testQualities() {
+        AcceptEncoding ae = AcceptEncoding.parse("zstd;q=0.5, gzip;q=0.8, br;q=0");
+        assertFalse(ae.accepts("br"));
+        assertEquals(0.5, ae.getQuality("ZSTD"), 0d);
+        assertEquals("gzip", ae.negotiate(SUPPORTED));
+        assertNull(AcceptEncoding.parse("gzip;q=0").negotiate(SUPPORTED));
+    }
+
+    @Test
+    public void testWildcard() {
+        assertEquals("zstd", AcceptEncoding.parse("*").negotiate(SUPPORTED));
+        AcceptEncoding ae = AcceptEncoding.parse("*;q=0, gzip");
+        assertTrue(ae.accepts("gzip"));
+        assertFalse(ae.accepts("zstd"));
+        assertEquals("gzip", ae.negotiate(SUPPORTED));
+    }
+}
@@ -431,6 +431,26 @@ public static String getProperty(String propertyName) {
         return getProperty(propertyName, context);
     }
 
+    /**
+     * Looks up for a named numeric property as {@link #getProperty(String)} does, logging a warning and returning the
+     * default value if the property is not a valid long.
+     *
+     * @param propertyName The property name to lookup.
+     * @param defaultValue The value returned if the property is not found or invalid
+     * @return The property value, or the default value
+     */
+    public static long getLongProperty(String propertyName, long defaultValue) {
+        String value = getProperty(propertyName);
+        if (value != null) {
+            try {
+                return Long.parseLong(value.trim());
+            } catch (NumberFormatException e) {
+                LOGGER.warning("Invalid value for " + propertyName + ": " + value + ", using " + defaultValue);
+            }
+        }
+        return defaultValue;
+    }
+
     /**
      * Looks up for a named string property into the following contexts (in order):
      *
@@ -262,6 +262,19 @@ public void testSystemProperty() {
         assertEquals("ABC", GeoServerExtensions.getProperty("TEST_PROPERTY", (ServletContext) null));
     }
 
+    @Test
+    public void testLongProperty() {
+        assertEquals(5, GeoServerExtensions.getLongProperty("TEST_LONG_PROPERTY", 5));
+        System.setProperty("TEST_LONG_PROPERTY", "42");
+        try {
+            assertEquals(42, GeoServerExtensions.getLongProperty("TEST_LONG_PROPERTY", 5));
+            // invalid values fall back on the default
+            assertEquals(5, GeoServerExtensions.getLongProperty("TEST_PROPERTY", 5));
+        } finally {
+            System.clearProperty("TEST_LONG_PROPERTY");
+        }
+    }
+
     @Test
     public void testWebProperty() {
         ServletContext servletContext = createMock(ServletContext.class);
@@ -5,10 +5,12 @@
  */
 package org.geoserver.security.impl;
 
+import static org.easymock.EasyMock.anyObject;
 import static org.easymock.EasyMock.capture;
 import static org.easymock.EasyMock.createMock;
 import static org.easymock.EasyMock.eq;
 import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.getCurrentArgument;
 import static org.easymock.EasyMock.isNull;
 import static org.easymock.EasyMock.replay;
 import static org.easymock.EasyMock.verify;
@@ -17,6 +19,8 @@
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasProperty;
 import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -32,12 +36,17 @@
 import org.geoserver.catalog.WorkspaceInfo;
 import org.geoserver.catalog.util.CloseableIterator;
 import org.geoserver.catalog.util.CloseableIteratorAdapter;
+import org.geoserver.security.BulkResourceAccessManager;
 import org.geoserver.security.CatalogMode;
+import org.geoserver.security.InMemorySecurityFilter;
 import org.geoserver.security.ResourceAccessManager;
 import org.geoserver.security.SecureCatalogImpl;
 import org.geoserver.security.VectorAccessLimits;
 import org.geoserver.security.WorkspaceAccessLimits;
+import org.geotools.api.filter.And;
 import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.PropertyIsEqualTo;
+import org.geotools.api.filter.sort.SortBy;
 import org.hamcrest.Matcher;
 import org.junit.Test;
 import org.springframework.security.authentication.TestingAuthenticationToken;
@@ -145,4 +154,81 @@ protected <T extends CatalogInfo> T checkAccess(
 
         verify(catalog, manager);
     }
+
+    @Test
+    public void testPagingWithExactSecurityFilter() throws Exception {
+        Catalog catalog = createMock(Catalog.class);
+        BulkResourceAccessManager bulkManager = createMock(BulkResourceAccessManager.class);
+        expect(bulkManager.getSecurityFilter(eq(anonymous), eq(FeatureTypeInfo.class)))
+                .andStubReturn(Predicates.acceptAll());
+        expect(bulkManager.isSecurityFilterExact(anonymous, FeatureTypeInfo.class)).andStubReturn(true);
+
+        final List<FeatureTypeInfo> source = new ArrayList<>();
+        for (String name : new String[] {"a", "b", "c", "d"}) {
+            FeatureTypeInfo ft = createMock(FeatureTypeInfo.class);
+            expect(ft.getName()).andStubReturn(name);
+            replay(ft);
+            source.add(ft);
+        }
+
+        // the paging is left to the delegate, and the bulk filter still runs before the per object checks
+        expect(catalog.list(eq(FeatureTypeInfo.class), eq(Predicates.acceptAll()), eq(1), eq(2), isNull()))
+                .andReturn(new CloseableIteratorAdapter<>(source.subList(1, 3).iterator()));
+        expect(bulkManager.filter(eq(anonymous), eq(FeatureTypeInfo.class), anyObject()))
+                .andAnswer(() -> getCurrentArgument(2));
+        replay(catalog, bulkManager);
+
+        SecureCatalogImpl sc = createBulkFilteredCatalog(catalog, bulkManager);
+        List<FeatureTypeInfo> page =
+                collectAndClose(sc.list(FeatureTypeInfo.class, Predicates.acceptAll(), 1, 2, (SortBy) null));
+        assertEquals(List.of("b", "c"), page.stream().map(FeatureTypeInfo::getName).toList());
+
+        verify(catalog, bulkManager);
+    }
+
+    @Test
+    public void testPagingWithInexactSecurityFilter() throws Exception {
+        Catalog catalog = createMock(Catalog.class);
+        BulkResourceAccessManager bulkManager = createMock(BulkResourceAccessManager.class);
+        expect(bulkManager.getSecurityFilter(eq(anonymous), eq(FeatureTypeInfo.class)))
+                .andStubReturn(Predicates.acceptAll());
+        expect(bulkManager.isSecurityFilterExact(anonymous, FeatureTypeInfo.class)).andStubReturn(false);
+
+        // the paging is still left to the delegate, with the per object visibility check added to the filter
+        Capture<Filter> filter = Capture.newInstance();
+        expect(catalog.list(eq(FeatureTypeInfo.class), capture(filter), eq(1), eq(2), isNull()))
+                .andReturn(new CloseableIteratorAdapter<>(new ArrayList<FeatureTypeInfo>().iterator()));
+        expect(bulkManager.filter(eq(anonymous), eq(FeatureTypeInfo.class), anyObject()))
+                .andAnswer(() -> getCurrentArgument(2));
+        replay(catalog, bulkManager);
+
+        SecureCatalogImpl sc = createBulkFilteredCatalog(catalog, bulkManager);
+        collectAndClose(sc.list(FeatureTypeInfo.class, Predicates.acceptAll(), 1, 2, (SortBy) null));
+
+        And and = (And) filter.getValue();
+        assertEquals(2, and.getChildren().size());
+        PropertyIsEqualTo visible = (PropertyIsEqualTo) and.getChildren().get(1);
+        assertTrue(visible.getExpression2() instanceof InMemorySecurityFilter);
+
+        verify(catalog, bulkManager);
+    }
+
+    /** A secure catalog for a non admin user, skipping the per object checks */
+    private SecureCatalogImpl createBulkFilteredCatalog(Catalog catalog, BulkResourceAccessManager bulkManager) {
+        SecurityContextHolder.getContext().setAuthentication(anonymous);
+        @SuppressWarnings("serial")
+        SecureCatalogImpl sc = new SecureCatalogImpl(catalog, bulkManager) {
+            @Override
+            protected boolean isAdmin(Authentication authentication) {
+                return false;
+            }
+
+            @Override
+            protected <T extends CatalogInfo> T checkAccess(
+                    Authentication user, T info, MixedModeBehavior mixedModeBehavior) {
+                return info;
+            }
+        };
+        return sc;
+    }
 }
@@ -21,10 +21,13 @@
 import org.apache.wicket.model.StringResourceModel;
 import org.apache.wicket.validation.validator.RangeValidator;
 import org.geoserver.catalog.LayerInfo;
+import org.geoserver.catalog.MetadataMap;
 import org.geoserver.web.publish.PublishedConfigurationPanel;
+import org.geoserver.web.util.MetadataMapModel;
 import org.geoserver.web.wicket.GeoServerDialog;
 import org.geoserver.web.wicket.LiveCollectionModel;
 import org.geoserver.web.wicket.SRSListTextArea;
+import org.geoserver.wfs.CountStrategy;
 
 public class WFSLayerConfig extends PublishedConfigurationPanel<LayerInfo> {
 
@@ -60,6 +63,11 @@ public WFSLayerConfig(String id, IModel<LayerInfo> model) {
         CheckBox skipNumberMatched =
                 new CheckBox("skipNumberMatched", new PropertyModel<>(model, "resource.skipNumberMatched"));
         add(skipNumberMatched);
+        PropertyModel<MetadataMap> metadata = new PropertyModel<>(model, "resource.metadata");
+        CheckBox estimateNumberMatched = new CheckBox(
+                "estimateNumberMatched",
+                new MetadataMapModel<>(metadata, CountStrategy.ESTIMATE_NUMBER_MATCHED, Boolean.class));
+        add(estimateNumberMatched);
 
         // coordinates measures encoding
         CheckBox encodeMeasures = new CheckBox("encodeMeasures", new PropertyModel<>(model, "resource.encodeMeasures"));
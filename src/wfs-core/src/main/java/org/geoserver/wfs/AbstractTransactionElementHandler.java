@@ -6,6 +6,8 @@
 package org.geoserver.wfs;
 
 import org.geoserver.config.GeoServer;
+import org.geoserver.wfs.lock.FeatureLockManager;
+import org.geoserver.wfs.lock.FeatureLocks;
 
 /**
  * Base class for transaction element handlers.
@@ -25,4 +27,9 @@ protected AbstractTransactionElementHandler(GeoServer geoServer) {
     protected WFSInfo getInfo() {
         return geoServer.getService(WFSInfo.class);
     }
+
+    /** The lock manager the modified features are checked against */
+    protected FeatureLockManager getLockManager() {
+        return FeatureLocks.getManager(geoServer.getCatalog());
+    }
 }
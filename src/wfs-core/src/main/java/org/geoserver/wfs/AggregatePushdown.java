@@ -0,0 +1,98 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wfs;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import org.geotools.api.data.FeatureSource;
+import org.geotools.api.data.Query;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.api.filter.sort.SortBy;
+import org.geotools.api.filter.sort.SortOrder;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.feature.visitor.CalcResult;
+import org.geotools.feature.visitor.CountVisitor;
+import org.geotools.feature.visitor.UniqueVisitor;
+
+/**
+ * Computes feature counts and distinct values with feature visitors, which the stores able to optimize them, like the
+ * JDBC ones, turn into aggregate queries instead of returning the features.
+ */
+class AggregatePushdown {
+
+    static final FilterFactory FF = CommonFactoryFinder.getFilterFactory();
+
+    private AggregatePushdown() {}
+
+    /**
+     * Counts the features matched by the query, using {@link FeatureSource#getCount(Query)} when the store has a fast
+     * way to count, and a {@link CountVisitor} otherwise
+     */
+    static int count(FeatureSource<?, ?> source, Query query) throws IOException {
+        int count = source.getCount(query);
+        if (count >= 0) {
+            return count;
+        }
+        CountVisitor visitor = new CountVisitor();
+        source.getFeatures(query).accepts(visitor, null);
+        return visitor.getCount();
+    }
+
+    /** Returns a copy of the query without sorting and paging, matching the same features */
+    static Query unpaged(Query query) {
+        Query unpaged = new Query(query);
+        unpaged.setSortBy((SortBy[]) null);
+        unpaged.setStartIndex(null);
+        unpaged.setMaxFeatures(Query.DEFAULT_MAX);
+        return unpaged;
+    }
+
+    /** Returns how many of the matched features fall in the page requested by the query */
+    static int getPageSize(int matched, Query query) {
+        int start = query.getStartIndex() != null ? query.getStartIndex() : 0;
+        return Math.max(0, Math.min(matched - start, query.getMaxFeatures()));
+    }
+
+    /**
+     * Returns the distinct values of an attribute among the features matched by the query, in ascending order, paged
+     * according to the query start index and max features
+     */
+    @SuppressWarnings("unchecked")
+    static List<Object> getUniqueValues(FeatureSource<?, ?> source, Query query, String attribute) throws IOException {
+        UniqueVisitor visitor = new UniqueVisitor(attribute);
+        visitor.setPreserveOrder(true);
+        if (query.getStartIndex() != null) {
+            visitor.setStartIndex(query.getStartIndex());
+        }
+        if (query.getMaxFeatures() != Query.DEFAULT_MAX) {
+            visitor.setMaxFeatures(query.getMaxFeatures());
+        }
+        // sorting makes the paging stable, also for the stores visiting the features in memory
+        Query sorted = unpaged(query);
+        sorted.setSortBy(FF.sort(attribute, SortOrder.ASCENDING));
+        source.getFeatures(sorted).accepts(visitor, null);
+
+        CalcResult result = visitor.getResult();
+        if (result == null || result == CalcResult.NULL_RESULT) {
+            return Collections.emptyList();
+        }
+        List<Object> values = new ArrayList<>(result.toList());
+        if (!visitor.hasLimits()) {
+            // without limits the stores are not required to return the values sorted, but they are all here
+            sort(values);
+        }
+        return values;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static void sort(List<Object> values) {
+        if (values.stream().allMatch(v -> v == null || v instanceof Comparable)) {
+            values.sort(Comparator.nullsFirst((a, b) -> ((Comparable) a).compareTo(b)));
+        }
+    }
+}
@@ -11,7 +11,8 @@
 
 /**
  * A class executing a feature count, but also able to return a pre-computed one. Used as an accessory to compute the
- * numberMatched attribute for WFS 2.0, and running the actual counts only when strictly necessary
+ * numberMatched attribute for WFS 2.0, and running the actual counts only when strictly necessary. Counts follow the
+ * feature type {@link CountStrategy}, and are cached in the {@link FeatureCountCache}, if available.
  *
  * @author Andrea Aime - GeoSolutions
  */
@@ -25,11 +26,21 @@ class CountExecutor {
 
     int providedCount = COUNT_UNSET;
 
+    CountStrategy strategy = CountStrategy.EXACT;
+
+    FeatureCountCache cache;
+
     public CountExecutor(FeatureSource source, Query query) {
         this.source = source;
         this.query = query;
     }
 
+    public CountExecutor(FeatureSource source, Query query, CountStrategy strategy, FeatureCountCache cache) {
+        this(source, query);
+        this.strategy = strategy;
+        this.cache = cache;
+    }
+
     public CountExecutor(int providedCount) {
         this.providedCount = providedCount;
     }
@@ -37,11 +48,26 @@ public CountExecutor(int providedCount) {
     public int getCount() throws IOException {
         if (isCountSet()) {
             return providedCount;
+        } else if (cache != null) {
+            return cache.getCount(source, query, strategy, this::count);
         } else {
-            // make sure we get a count by getting a feature colleciton
-            // FeatureSource.getCount(...) can return -1
-            return source.getFeatures(query).size();
+            return count();
+        }
+    }
+
+    private int count() throws IOException {
+        if (strategy == CountStrategy.OMITTED) {
+            return -1;
+        } else if (strategy == CountStrategy.ESTIMATED) {
+            // count one more than the limit, stores supporting limits won't scan the whole table
+            int limit = GetFeature.ESTIMATE_LIMIT;
+            Query bounded = new Query(query);
+            bounded.setMaxFeatures(Math.min(limit, Integer.MAX_VALUE - 1) + 1);
+            int count = source.getFeatures(bounded).size();
+            return count <= limit ? count : -1;
         }
+        // FeatureSource.getCount(...) can return -1, falls back on a count visitor
+        return AggregatePushdown.count(source, query);
     }
 
     public boolean isCountSet() {
@@ -0,0 +1,43 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wfs;
+
+import org.geoserver.catalog.FeatureTypeInfo;
+import org.geoserver.catalog.MetadataMap;
+
+/**
+ * How the numberMatched attribute of paged GetFeature responses (WFS 2.0 and OGC API Features) is computed for a given
+ * feature type.
+ */
+public enum CountStrategy {
+    /** The matching features are counted exactly, the default */
+    EXACT,
+    /**
+     * The matching features are counted up to {@link GetFeature#setEstimateLimit(int) a limit}, beyond that the count
+     * is reported as unknown. The bounded count is pushed down to the stores supporting limits, making it cheap even
+     * on large tables.
+     */
+    ESTIMATED,
+    /** The count is not computed at all, and reported as unknown */
+    OMITTED;
+
+    /** Feature type metadata key enabling the {@link #ESTIMATED} strategy */
+    public static final String ESTIMATE_NUMBER_MATCHED = "estimateNumberMatched";
+
+    /**
+     * Returns the strategy configured for the feature type: {@link #OMITTED} if the count is skipped, {@link #ESTIMATED}
+     * if the {@link #ESTIMATE_NUMBER_MATCHED} metadata is set, {@link #EXACT} otherwise.
+     */
+    public static CountStrategy of(FeatureTypeInfo info) {
+        if (info.getSkipNumberMatched()) {
+            return OMITTED;
+        }
+        MetadataMap metadata = info.getMetadata();
+        if (metadata != null && Boolean.TRUE.equals(metadata.get(ESTIMATE_NUMBER_MATCHED, Boolean.class))) {
+            return ESTIMATED;
+        }
+        return EXACT;
+    }
+}
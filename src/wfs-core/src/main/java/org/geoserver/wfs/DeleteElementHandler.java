@@ -15,6 +15,8 @@
 import javax.xml.namespace.QName;
 import org.geoserver.config.GeoServer;
 import org.geoserver.platform.ServiceException;
+import org.geoserver.wfs.lock.FeatureLockManager;
+import org.geoserver.wfs.lock.FeatureLocks;
 import org.geoserver.wfs.request.Delete;
 import org.geoserver.wfs.request.TransactionElement;
 import org.geoserver.wfs.request.TransactionRequest;
@@ -132,6 +134,16 @@ public void execute(
                 damaged = store.getFeatures(filter).getBounds();
             }
 
+            // locks not kept in the store are checked here, before removing the features
+            FeatureLockManager lockManager = getLockManager();
+            QName lockedType = FeatureLocks.getTypeName(store.getSchema());
+            Set<String> lockedIds = null;
+            if (lockManager.hasLocks(lockedType)) {
+                lockedIds = FeatureLocks.getIds(
+                        store.getFeatures(new Query(elementName.getLocalPart(), filter, Query.NO_NAMES)));
+                FeatureLocks.checkUnlocked(lockManager, lockedType, lockedIds, request.getLockId());
+            }
+
             if ((request.getLockId() != null) && store instanceof FeatureLocking && (request.isReleaseActionSome())) {
                 SimpleFeatureLocking locking = (SimpleFeatureLocking) store;
 
@@ -167,6 +179,11 @@ public void execute(
                 if (deletedCount > 0) deleted += deletedCount;
                 store.removeFeatures(filter);
             }
+
+            // deleted features cannot stay locked
+            if (lockedIds != null && request.getLockId() != null) {
+                lockManager.unlockFeatures(request.getLockId(), lockedType, lockedIds);
+            }
         } catch (IOException e) {
             String eHandle = delete.getHandle();
             String code = null;
@@ -0,0 +1,171 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wfs;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.event.AbstractCatalogListener;
+import org.geoserver.catalog.event.CatalogModifyEvent;
+import org.geoserver.catalog.event.CatalogRemoveEvent;
+import org.geoserver.config.impl.GeoServerLifecycleHandler;
+import org.geoserver.data.DataModifiedEvent;
+import org.geoserver.platform.GeoServerExtensions;
+import org.geotools.api.data.FeatureSource;
+import org.geotools.api.data.Query;
+import org.geotools.api.feature.type.Name;
+import org.geotools.api.filter.Filter;
+import org.geotools.util.factory.Hints;
+import org.springframework.context.ApplicationListener;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Caches the numberMatched counts computed by {@link GetFeature}, keyed by feature source, filter, view parameters,
+ * count strategy and user, so that paging through the results of a query counts them only once.
+ *
+ * <p>The cache is wiped out when data is modified via WFS transactions (see {@link DataModifiedEvent}), on catalog
+ * changes, and on configuration reset and reload. Changes made to the data outside of GeoServer cannot be tracked,
+ * entries hence expire after a while. The cache can be configured with the following system, environment or servlet
+ * context variables:
+ *
+ * <ul>
+ *   <li>{@code WFS_COUNT_CACHE_SIZE}: the maximum number of counts cached, defaults to 1000
+ *   <li>{@code WFS_COUNT_CACHE_TTL}: time, in seconds, after which a count expires, defaults to 60. Zero disables the
+ *       cache
+ * </ul>
+ */
+public class FeatureCountCache extends AbstractCatalogListener
+        implements GeoServerLifecycleHandler, ApplicationListener<DataModifiedEvent> {
+
+    static final long DEFAULT_SIZE = 1000;
+
+    static final long DEFAULT_TTL = 60;
+
+    /** Computes a count on cache misses */
+    @FunctionalInterface
+    public interface Counter {
+        int count() throws IOException;
+    }
+
+    private final Cache<CountKey, Integer> counts;
+
+    private final boolean enabled;
+
+    /** Bumped on each invalidation, avoids caching counts started before it */
+    private final AtomicLong generation = new AtomicLong();
+
+    public FeatureCountCache(Catalog catalog) {
+        this();
+        catalog.addListener(this);
+    }
+
+    /** Builds a cache with the limits configured in the system variables, used directly for testing only */
+    FeatureCountCache() {
+        this(
+                GeoServerExtensions.getLongProperty("WFS_COUNT_CACHE_SIZE", DEFAULT_SIZE),
+                GeoServerExtensions.getLongProperty("WFS_COUNT_CACHE_TTL", DEFAULT_TTL));
+    }
+
+    /** For testing only */
+    FeatureCountCache(long size, long ttl) {
+        this.enabled = size > 0 && ttl > 0;
+        this.counts = CacheBuilder.newBuilder()
+                .maximumSize(Math.max(size, 0))
+                .expireAfterWrite(Math.max(ttl, 0), TimeUnit.SECONDS)
+                .build();
+    }
+
+    /**
+     * Returns the cached count of the features matching the query, or computes it with the counter and caches it.
+     * Negative counts (unknown) are not cached, neither are the counts of queries with joins.
+     */
+    public int getCount(FeatureSource<?, ?> source, Query query, CountStrategy strategy, Counter counter)
+            throws IOException {
+        if (!enabled || (query.getJoins() != null && !query.getJoins().isEmpty())) {
+            return counter.count();
+        }
+        CountKey key = new CountKey(
+                source.getName(),
+                query.getFilter(),
+                query.getHints() != null ? query.getHints().get(Hints.VIRTUAL_TABLE_PARAMETERS) : null,
+                query.getVersion(),
+                strategy,
+                getUserName());
+        Integer cached = counts.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        long start = generation.get();
+        int count = counter.count();
+        if (count >= 0 && generation.get() == start) {
+            counts.put(key, count);
+        }
+        return count;
+    }
+
+    /** Counts depend on the data security limits of the user */
+    private static String getUserName() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : null;
+    }
+
+    /** Drops all the cached counts */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        counts.invalidateAll();
+    }
+
+    /** The number of counts currently cached */
+    public long size() {
+        return counts.size();
+    }
+
+    @Override
+    public void onApplicationEvent(DataModifiedEvent event) {
+        invalidateAll();
+    }
+
+    @Override
+    public void handleModifyEvent(CatalogModifyEvent event) {
+        invalidateAll();
+    }
+
+    @Override
+    public void handleRemoveEvent(CatalogRemoveEvent event) {
+        invalidateAll();
+    }
+
+    @Override
+    public void reloaded() {
+        invalidateAll();
+    }
+
+    @Override
+    public void onReset() {
+        invalidateAll();
+    }
+
+    @Override
+    public void onDispose() {
+        invalidateAll();
+    }
+
+    @Override
+    public void beforeReload() {
+        // nothing to do
+    }
+
+    @Override
+    public void onReload() {
+        invalidateAll();
+    }
+
+    private record CountKey(
+            Name source, Filter filter, Object viewParams, String version, CountStrategy strategy, String user) {}
+}
@@ -34,6 +34,7 @@
 import org.geoserver.catalog.Predicates;
 import org.geoserver.catalog.ProjectionPolicy;
 import org.geoserver.catalog.ResourcePool;
+import org.geoserver.data.PartitionedFeatureCollection;
 import org.geoserver.data.TypeInfoCollectionWrapper;
 import org.geoserver.feature.TypeNameExtractingVisitor;
 import org.geoserver.ows.Dispatcher;
@@ -49,6 +50,7 @@
 import org.geoserver.wfs.request.LockFeatureResponse;
 import org.geoserver.wfs.request.Query;
 import org.geoserver.wfs.request.RequestObject;
+import org.geoserver.wfs.response.PartitionAwareFormat;
 import org.geotools.api.data.FeatureSource;
 import org.geotools.api.data.Join;
 import org.geotools.api.feature.Feature;
@@ -104,6 +106,8 @@
 import org.geotools.feature.FeatureCollection;
 import org.geotools.feature.NameImpl;
 import org.geotools.feature.SchemaException;
+import org.geotools.feature.visitor.MaxVisitor;
+import org.geotools.feature.visitor.MinVisitor;
 import org.geotools.filter.FilterCapabilities;
 import org.geotools.filter.expression.AbstractExpressionVisitor;
 import org.geotools.filter.v2_0.FES;
@@ -187,6 +191,18 @@ public class GetFeature {
         joinFilterCapabilities.addType(Not.class);
     }
 
+    /**
+     * Feature type metadata key naming the integral attribute (e.g., the exposed primary key) used to split large
+     * results in partitions, see {@link #setPartitions(int)}
+     */
+    public static final String PARTITION_ATTRIBUTE = "partitionAttribute";
+
+    /** Number of partitions large results are split into, for parallel encoding, or 0 if disabled */
+    static int PARTITIONS = Integer.getInteger("org.geoserver.wfs.getfeature.partitions", 0);
+
+    /** Max number of features counted by the {@link CountStrategy#ESTIMATED} strategy */
+    static int ESTIMATE_LIMIT = Integer.getInteger("org.geoserver.wfs.getfeature.estimateLimit", 10000);
+
     /** The catalog */
     protected Catalog catalog;
 
@@ -480,17 +496,9 @@ public FeatureCollectionResponse run(GetFeatureRequest request) throws WFSExcept
                     }
 
                     // allow extensions to alter the query being run
-                    GetFeatureContext context = new GetFeatureContext(request, meta, source, gtQuery);
-                    List<GetFeatureCallback> callbacks = GeoServerExtensions.extensions(GetFeatureCallback.class);
-                    if (!callbacks.isEmpty()) {
-                        for (GetFeatureCallback callback : callbacks) {
-                            callback.beforeQuerying(context);
-                        }
-                        if (gtQuery != context.getQuery() && LOGGER.isLoggable(Level.FINE)) {
-                            LOGGER.fine("Query after GetFeatureCallback changes: " + source);
-                        }
-                        gtQuery = context.getQuery();
-                    }
+                    org.geotools.api.data.Query callbackQuery = applyCallbacks(request, meta, source, gtQuery);
+                    boolean queryAltered = gtQuery != callbackQuery;
+                    gtQuery = callbackQuery;
 
                     FeatureCollection<? extends FeatureType, ? extends Feature> features =
                             getFeatures(request, source, gtQuery);
@@ -517,7 +525,17 @@ public FeatureCollectionResponse run(GetFeatureRequest request) throws WFSExcept
                     }
 
                     int size = 0;
-                    if (calculateSize) {
+                    int matched = -1;
+                    if (calculateSize && request.isResultTypeHits() && (joins == null || joins.isEmpty())) {
+                        // hits only need counts, have the store compute them without sorting and paging
+                        CountExecutor hits = new CountExecutor(
+                                source,
+                                AggregatePushdown.unpaged(gtQuery),
+                                CountStrategy.EXACT,
+                                GeoServerExtensions.bean(FeatureCountCache.class));
+                        matched = hits.getCount();
+                        size = AggregatePushdown.getPageSize(matched, gtQuery);
+                    } else if (calculateSize) {
                         size = features.size();
                     }
 
@@ -529,7 +547,10 @@ public FeatureCollectionResponse run(GetFeatureRequest request) throws WFSExcept
                     // calculated above
                     isNumberMatchedSkipped = meta.getSkipNumberMatched() && !request.isResultTypeHits();
                     if (!isNumberMatchedSkipped) {
-                        if (calculateSize
+                        if (matched >= 0 && !queryAltered) {
+                            // the hits count is the total one
+                            totalCountExecutors.add(new CountExecutor(matched));
+                        } else if (calculateSize
                                 && (queryMaxFeatures == Integer.MAX_VALUE || size < queryMaxFeatures)
                                 && offset <= 0) {
                             totalCountExecutors.add(new CountExecutor(size));
@@ -546,7 +567,10 @@ public FeatureCollectionResponse run(GetFeatureRequest request) throws WFSExcept
                                     joins,
                                     primaryTypeName,
                                     primaryAlias);
-                            totalCountExecutors.add(new CountExecutor(source, qTotal));
+                            CountStrategy strategy =
+                                    request.isResultTypeHits() ? CountStrategy.EXACT : CountStrategy.of(meta);
+                            totalCountExecutors.add(new CountExecutor(
+                                    source, qTotal, strategy, GeoServerExtensions.bean(FeatureCountCache.class)));
                         }
                     }
 
@@ -585,9 +609,10 @@ public FeatureCollectionResponse run(GetFeatureRequest request) throws WFSExcept
                     // computation happy
                     // TODO: support non-SimpleFeature geometry shaving
                     List<PropertyName> metaPropNames = propNames.get(0);
-                    if (features.getSchema() instanceof SimpleFeatureType
+                    boolean retyped = features.getSchema() instanceof SimpleFeatureType
                             && metaPropNames != null
-                            && metaPropNames.size() < allPropNames.get(0).size()) {
+                            && metaPropNames.size() < allPropNames.get(0).size();
+                    if (retyped) {
                         features = retypeToRequestedProperties(features, metaPropNames);
                     }
 
@@ -596,6 +621,15 @@ public FeatureCollectionResponse run(GetFeatureRequest request) throws WFSExcept
                         features = TypeInfoCollectionWrapper.wrap(features, primaryMeta);
                     }
 
+                    // allow encoders to read and encode large results in parallel
+                    if (PARTITIONS > 1
+                            && !retyped
+                            && (joins == null || joins.isEmpty())
+                            && !request.isResultTypeHits()
+                            && isPartitionAware(request.getOutputFormat())) {
+                        features = partition(request, meta, source, gtQuery, features);
+                    }
+
                     results.add(features);
                 } catch (WFSException e) {
                     // intercept and set locator to query handle if one was set, or if it simply set
@@ -1184,6 +1218,27 @@ void encodeQueryAsKvp(
         }
     }
 
+    /** Lets the {@link GetFeatureCallback} extensions alter the query about to be run, returns the resulting query */
+    org.geotools.api.data.Query applyCallbacks(
+            GetFeatureRequest request,
+            FeatureTypeInfo meta,
+            FeatureSource<? extends FeatureType, ? extends Feature> source,
+            org.geotools.api.data.Query gtQuery)
+            throws IOException {
+        List<GetFeatureCallback> callbacks = GeoServerExtensions.extensions(GetFeatureCallback.class);
+        if (callbacks.isEmpty()) {
+            return gtQuery;
+        }
+        GetFeatureContext context = new GetFeatureContext(request, meta, source, gtQuery);
+        for (GetFeatureCallback callback : callbacks) {
+            callback.beforeQuerying(context);
+        }
+        if (gtQuery != context.getQuery() && LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine("Query after GetFeatureCallback changes: " + source);
+        }
+        return context.getQuery();
+    }
+
     /**
      * Allows subclasses to poke with the feature collection extraction. The default behavior attempts to wrap the
      * feature collectio into a {@link FeatureSizeFeatureCollection}.
@@ -1199,6 +1254,153 @@ void encodeQueryAsKvp(
         return features;
     }
 
+    /**
+     * Sets the number of partitions the results of unpaged, unsorted queries are split into, so that the output
+     * formats supporting it can read and encode them in parallel. Applies only to the feature types declaring a
+     * {@link #PARTITION_ATTRIBUTE}. Zero or one disable partitioning.
+     */
+    public static void setPartitions(int partitions) {
+        PARTITIONS = partitions;
+    }
+
+    /**
+     * Sets the max number of features counted for numberMatched by the feature types using the
+     * {@link CountStrategy#ESTIMATED} strategy, beyond which the count is reported as unknown.
+     */
+    public static void setEstimateLimit(int limit) {
+        ESTIMATE_LIMIT = limit;
+    }
+
+    /** Returns true if the output formats handling the requested one can all encode partitioned collections */
+    static boolean isPartitionAware(String outputFormat) {
+        if (outputFormat == null) {
+            return false;
+        }
+        boolean found = false;
+        for (WFSGetFeatureOutputFormat format : GeoServerExtensions.extensions(WFSGetFeatureOutputFormat.class)) {
+            if (format.getOutputFormats().stream().anyMatch(outputFormat::equalsIgnoreCase)) {
+                if (!(format instanceof PartitionAwareFormat)) {
+                    return false;
+                }
+                found = true;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Splits the features in ranges of values of the feature type partition attribute, plus the features where it is
+     * null, wrapping them in a {@link PartitionedFeatureCollection}. The features are returned unchanged if the query
+     * is paged, sorted, or limited below its number of results, or if no usable partition attribute is configured.
+     */
+    protected FeatureCollection<? extends FeatureType, ? extends Feature> partition(
+            Object request,
+            FeatureTypeInfo meta,
+            FeatureSource<? extends FeatureType, ? extends Feature> source,
+            org.geotools.api.data.Query gtQuery,
+            FeatureCollection<? extends FeatureType, ? extends Feature> features)
+            throws IOException {
+        String attribute = meta.getMetadata().get(PARTITION_ATTRIBUTE, String.class);
+        if (attribute == null
+                || !(features instanceof SimpleFeatureCollection collection)
+                || !(source.getSchema() instanceof SimpleFeatureType schema)
+                || (gtQuery.getStartIndex() != null && gtQuery.getStartIndex() > 0)
+                || (gtQuery.getSortBy() != null && gtQuery.getSortBy().length > 0)) {
+            return features;
+        }
+        AttributeDescriptor descriptor = schema.getDescriptor(attribute);
+        if (descriptor == null || !isIntegral(descriptor.getType().getBinding())) {
+            LOGGER.warning("Partition attribute " + attribute + " of " + meta.prefixedName()
+                    + " is not an integral attribute, results won't be partitioned");
+            return features;
+        }
+        // the partitions are read independently, so the limit must not cut the results
+        PropertyName property = filterFactory.property(attribute);
+        org.geotools.api.data.Query rangeQuery = new org.geotools.api.data.Query(gtQuery);
+        rangeQuery.setPropertyNames(attribute);
+        int maxFeatures = gtQuery.getMaxFeatures();
+        if (maxFeatures != org.geotools.api.data.Query.DEFAULT_MAX) {
+            org.geotools.api.data.Query countQuery = new org.geotools.api.data.Query(rangeQuery);
+            countQuery.setMaxFeatures(maxFeatures + 1);
+            if (source.getFeatures(countQuery).size() > maxFeatures) {
+                return features;
+            }
+            rangeQuery.setMaxFeatures(org.geotools.api.data.Query.DEFAULT_MAX);
+        }
+        long[] range = getRange(source, rangeQuery, property);
+        if (range == null) {
+            return features;
+        }
+        long min = range[0];
+        long max = range[1];
+        long step;
+        try {
+            step = Math.subtractExact(max, min) / PARTITIONS + 1;
+        } catch (ArithmeticException e) {
+            return features;
+        }
+
+        List<SimpleFeatureCollection> partitions = new ArrayList<>();
+        for (long start = min; ; start += step) {
+            if (max - start < step) {
+                Filter last = filterFactory.and(
+                        filterFactory.greaterOrEqual(property, filterFactory.literal(start)),
+                        filterFactory.lessOrEqual(property, filterFactory.literal(max)));
+                partitions.add(getPartition(request, source, gtQuery, last));
+                break;
+            }
+            Filter slice = filterFactory.and(
+                    filterFactory.greaterOrEqual(property, filterFactory.literal(start)),
+                    filterFactory.less(property, filterFactory.literal(start + step)));
+            partitions.add(getPartition(request, source, gtQuery, slice));
+        }
+        partitions.add(getPartition(request, source, gtQuery, filterFactory.isNull(property)));
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine("Split " + meta.prefixedName() + " results in " + partitions.size() + " partitions");
+        }
+        return new PartitionedFeatureCollection(collection, meta, partitions);
+    }
+
+    private SimpleFeatureCollection getPartition(
+            Object request,
+            FeatureSource<? extends FeatureType, ? extends Feature> source,
+            org.geotools.api.data.Query gtQuery,
+            Filter partitionFilter)
+            throws IOException {
+        org.geotools.api.data.Query partitionQuery = new org.geotools.api.data.Query(gtQuery);
+        Filter filter = gtQuery.getFilter();
+        partitionQuery.setFilter(
+                filter == null || filter == Filter.INCLUDE
+                        ? partitionFilter
+                        : filterFactory.and(filter, partitionFilter));
+        return (SimpleFeatureCollection) getFeatures(request, source, partitionQuery);
+    }
+
+    /**
+     * Returns the min and max values of an integral attribute in the query results, or null if there are no values.
+     * Uses the min and max visitors, which stores can optimize out.
+     */
+    static long[] getRange(
+            FeatureSource<? extends FeatureType, ? extends Feature> source,
+            org.geotools.api.data.Query query,
+            PropertyName property)
+            throws IOException {
+        FeatureCollection<? extends FeatureType, ? extends Feature> values = source.getFeatures(query);
+        MinVisitor minVisitor = new MinVisitor(property);
+        MaxVisitor maxVisitor = new MaxVisitor(property);
+        values.accepts(minVisitor, null);
+        values.accepts(maxVisitor, null);
+        if (minVisitor.getResult().getValue() instanceof Number min
+                && maxVisitor.getResult().getValue() instanceof Number max) {
+            return new long[] {min.longValue(), max.longValue()};
+        }
+        return null;
+    }
+
+    private static boolean isIntegral(Class<?> binding) {
+        return binding == Long.class || binding == Integer.class || binding == Short.class || binding == Byte.class;
+    }
+
     /**
      * Get this query as a geotools Query.
      *
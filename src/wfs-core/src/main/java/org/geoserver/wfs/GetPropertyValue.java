@@ -6,23 +6,41 @@
 package org.geoserver.wfs;
 
 import java.io.IOException;
+import java.math.BigInteger;
+import java.util.Calendar;
 import java.util.Iterator;
+import java.util.List;
 import java.util.regex.Pattern;
 import javax.xml.namespace.QName;
 import net.opengis.wfs20.FeatureCollectionType;
 import net.opengis.wfs20.GetFeatureType;
 import net.opengis.wfs20.GetPropertyValueType;
 import net.opengis.wfs20.QueryType;
+import net.opengis.wfs20.ResultTypeType;
 import net.opengis.wfs20.ValueCollectionType;
 import net.opengis.wfs20.Wfs20Factory;
+import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.geoserver.catalog.Catalog;
 import org.geoserver.catalog.FeatureTypeInfo;
 import org.geoserver.catalog.NamespaceInfo;
+import org.geoserver.ows.Dispatcher;
+import org.geoserver.ows.Request;
 import org.geoserver.platform.ServiceException;
 import org.geoserver.wfs.request.GetFeatureRequest;
+import org.geoserver.wfs.request.Query;
+import org.geotools.api.data.FeatureSource;
+import org.geotools.api.feature.Feature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
 import org.geotools.api.feature.type.AttributeDescriptor;
+import org.geotools.api.feature.type.FeatureType;
+import org.geotools.api.feature.type.GeometryDescriptor;
+import org.geotools.api.filter.Filter;
 import org.geotools.api.filter.FilterFactory;
 import org.geotools.api.filter.expression.PropertyName;
+import org.geotools.data.collection.ListFeatureCollection;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
+import org.geotools.feature.visitor.UniqueVisitor;
 import org.geotools.wfs.PropertyValueCollection;
 import org.xml.sax.helpers.NamespaceSupport;
 
@@ -30,8 +48,13 @@ public class GetPropertyValue {
 
     Pattern FEATURE_ID_PATTERN = Pattern.compile("@(\\w+:)?id");
 
+    /** Vendor parameter asking for the distinct values of the value reference */
+    static final String DISTINCT = "DISTINCT";
+
     GetFeature delegate;
 
+    WFSInfo wfs;
+
     Catalog catalog;
 
     FilterFactory filterFactory;
@@ -40,6 +63,7 @@ public GetPropertyValue(WFSInfo info, Catalog catalog, FilterFactory filterFacto
         delegate = new GetFeature(info, catalog);
         delegate.setFilterFactory(filterFactory);
 
+        this.wfs = info;
         this.catalog = catalog;
         this.filterFactory = filterFactory;
     }
@@ -65,48 +89,166 @@ public ValueCollectionType run(GetPropertyValueType request) throws WFSException
                     .locator("valueReference");
         }
 
-        // do a getFeature request
-        GetFeatureType getFeature = Wfs20Factory.eINSTANCE.createGetFeatureType();
-        getFeature.setBaseUrl(request.getBaseUrl());
-        getFeature.getAbstractQueryExpression().add(request.getAbstractQueryExpression());
-        getFeature.setResolve(request.getResolve());
-        getFeature.setResolveDepth(request.getResolveDepth());
-        getFeature.setResolveTimeout(request.getResolveTimeout());
-        getFeature.setCount(request.getCount());
-
-        FeatureCollectionType fc = (FeatureCollectionType)
-                delegate.run(GetFeatureRequest.adapt(getFeature)).getAdaptee();
-
         QueryType query = (QueryType) request.getAbstractQueryExpression();
         QName typeName = (QName) query.getTypeNames().iterator().next();
         FeatureTypeInfo featureType = catalog.getFeatureTypeByName(typeName.getNamespaceURI(), typeName.getLocalPart());
+        boolean hits = request.getResultType() == ResultTypeType.HITS;
 
         try {
-
             PropertyName propertyName = filterFactory.property(request.getValueReference(), getNamespaceSupport());
-            PropertyName propertyNameNoIndexes = filterFactory.property(
-                    request.getValueReference().replaceAll("\\[.*\\]", ""), getNamespaceSupport());
-            AttributeDescriptor descriptor =
-                    (AttributeDescriptor) propertyNameNoIndexes.evaluate(featureType.getFeatureType());
-            boolean featureIdRequest =
-                    FEATURE_ID_PATTERN.matcher(request.getValueReference()).matches();
-            if (descriptor == null && !featureIdRequest) {
-                throw new WFSException(request, "No such attribute: " + request.getValueReference());
+            AttributeDescriptor descriptor = null;
+            if (featureType != null) {
+                descriptor = getDescriptor(request, featureType);
+            }
+
+            // a simple attribute can be read alone, or its distinct values computed by the store
+            QueryType featureQuery = query;
+            if (descriptor != null && isSimpleAttribute(request, featureType)) {
+                if (isDistinct() && !(descriptor instanceof GeometryDescriptor)) {
+                    return getDistinctValues(request, query, featureType, descriptor, propertyName, hits);
+                }
+                if (query.getAbstractProjectionClause().isEmpty()) {
+                    featureQuery = EcoreUtil.copy(query);
+                    Query.adapt(featureQuery).setPropertyNames(List.of(descriptor.getLocalName()));
+                }
             }
 
+            // do a getFeature request
+            FeatureCollectionType fc = (FeatureCollectionType)
+                    delegate.run(toGetFeature(request, featureQuery)).getAdaptee();
+
             // create value collection type from feature collection
             ValueCollectionType vc = Wfs20Factory.eINSTANCE.createValueCollectionType();
             vc.setTimeStamp(fc.getTimeStamp());
             vc.setNumberMatched(fc.getNumberMatched());
-            vc.setNumberReturned(fc.getNumberReturned());
-            vc.getMember()
-                    .add(new PropertyValueCollection(fc.getMember().iterator().next(), descriptor, propertyName));
+            vc.setNumberReturned(hits ? BigInteger.ZERO : fc.getNumberReturned());
+            if (!hits) {
+                vc.getMember()
+                        .add(new PropertyValueCollection(fc.getMember().iterator().next(), descriptor, propertyName));
+            }
             return vc;
         } catch (IOException e) {
             throw new WFSException(request, e);
         }
     }
 
+    /** Builds a GetFeature request for the query, with the same options as the GetPropertyValue one */
+    GetFeatureRequest toGetFeature(GetPropertyValueType request, QueryType query) {
+        GetFeatureType getFeature = Wfs20Factory.eINSTANCE.createGetFeatureType();
+        getFeature.setBaseUrl(request.getBaseUrl());
+        getFeature.getAbstractQueryExpression().add(query);
+        getFeature.setResolve(request.getResolve());
+        getFeature.setResolveDepth(request.getResolveDepth());
+        getFeature.setResolveTimeout(request.getResolveTimeout());
+        getFeature.setCount(request.getCount());
+        getFeature.setStartIndex(request.getStartIndex());
+        getFeature.setResultType(request.getResultType());
+        return GetFeatureRequest.adapt(getFeature);
+    }
+
+    /** Returns the descriptor of the attribute referenced by the request, or null for feature id references */
+    AttributeDescriptor getDescriptor(GetPropertyValueType request, FeatureTypeInfo featureType) throws IOException {
+        PropertyName propertyNameNoIndexes = filterFactory.property(
+                request.getValueReference().replaceAll("\\[.*\\]", ""), getNamespaceSupport());
+        AttributeDescriptor descriptor =
+                (AttributeDescriptor) propertyNameNoIndexes.evaluate(featureType.getFeatureType());
+        boolean featureIdRequest = FEATURE_ID_PATTERN.matcher(request.getValueReference()).matches();
+        if (descriptor == null && !featureIdRequest) {
+            throw new WFSException(request, "No such attribute: " + request.getValueReference());
+        }
+        return descriptor;
+    }
+
+    /** Checks the request references a top level attribute of a simple feature type */
+    boolean isSimpleAttribute(GetPropertyValueType request, FeatureTypeInfo featureType) throws IOException {
+        String reference = request.getValueReference();
+        return featureType.getFeatureType() instanceof SimpleFeatureType
+                && reference.indexOf('/') == -1
+                && reference.indexOf('[') == -1;
+    }
+
+    /** Checks if the distinct values are requested, using the {@code distinct} vendor parameter */
+    boolean isDistinct() {
+        Request request = Dispatcher.REQUEST.get();
+        if (request == null || request.getRawKvp() == null) {
+            return false;
+        }
+        return Boolean.parseBoolean(String.valueOf(request.getRawKvp().get(DISTINCT)));
+    }
+
+    /**
+     * Returns the distinct values of a simple attribute, in ascending order. The values are computed with a
+     * {@link UniqueVisitor}, that JDBC stores turn into a SELECT DISTINCT, the features are not read. The query is
+     * prepared like GetFeature does, including the changes of the {@link GetFeatureCallback} extensions.
+     */
+    ValueCollectionType getDistinctValues(
+            GetPropertyValueType request,
+            QueryType query,
+            FeatureTypeInfo featureType,
+            AttributeDescriptor descriptor,
+            PropertyName propertyName,
+            boolean hits)
+            throws IOException {
+        FeatureSource<? extends FeatureType, ? extends Feature> source = featureType.getFeatureSource(null, null);
+        FeatureType schema = source.getSchema();
+        GetFeatureRequest getFeature = toGetFeature(request, query);
+        Query wfsQuery = getFeature.getQueries().get(0);
+
+        Filter filter = wfsQuery.getFilter();
+        if (filter != null) {
+            delegate.validateFilter(filter, wfsQuery, featureType, getFeature);
+        }
+        int maxFeatures = wfs.getMaxFeatures();
+        if (featureType.getMaxFeatures() > 0) {
+            maxFeatures = Math.min(maxFeatures, featureType.getMaxFeatures());
+        }
+        if (request.getCount() != null) {
+            maxFeatures = Math.min(maxFeatures, request.getCount().intValue());
+        }
+        // hits count all the values
+        int offset = !hits && request.getStartIndex() != null ? request.getStartIndex().intValue() : -1;
+        String attribute = descriptor.getLocalName();
+        org.geotools.api.data.Query unique = delegate.toDataQuery(
+                wfsQuery,
+                filter,
+                offset,
+                hits ? org.geotools.api.data.Query.DEFAULT_MAX : maxFeatures,
+                source,
+                getFeature,
+                List.of(filterFactory.property(attribute)),
+                null,
+                null,
+                wfsQuery.getTypeNames().get(0),
+                null);
+        unique = delegate.applyCallbacks(getFeature, featureType, source, unique);
+        List<Object> values = AggregatePushdown.getUniqueValues(source, unique, attribute);
+
+        // the number matched needs all the values, compute them only if not paging through them already
+        int matched = values.size();
+        boolean paged = unique.getStartIndex() != null && unique.getStartIndex() > 0;
+        if (!hits && (paged || values.size() == unique.getMaxFeatures())) {
+            matched = AggregatePushdown.getUniqueValues(source, AggregatePushdown.unpaged(unique), attribute)
+                    .size();
+        }
+
+        ValueCollectionType vc = Wfs20Factory.eINSTANCE.createValueCollectionType();
+        vc.setTimeStamp(Calendar.getInstance());
+        vc.setNumberMatched(BigInteger.valueOf(matched));
+        vc.setNumberReturned(BigInteger.valueOf(hits ? 0 : values.size()));
+        if (!hits) {
+            SimpleFeatureTypeBuilder tb = new SimpleFeatureTypeBuilder();
+            tb.setName(schema.getName());
+            tb.add(descriptor);
+            SimpleFeatureType valueType = tb.buildFeatureType();
+            ListFeatureCollection features = new ListFeatureCollection(valueType);
+            for (Object value : values) {
+                features.add(SimpleFeatureBuilder.build(valueType, new Object[] {value}, null));
+            }
+            vc.getMember().add(new PropertyValueCollection(features, descriptor, propertyName));
+        }
+        return vc;
+    }
+
     public void setFilterFactory(FilterFactory filterFactory) {
         this.filterFactory = filterFactory;
     }
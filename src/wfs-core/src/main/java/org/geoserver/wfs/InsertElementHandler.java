@@ -23,6 +23,7 @@
 import org.geoserver.wfs.request.TransactionElement;
 import org.geoserver.wfs.request.TransactionRequest;
 import org.geoserver.wfs.request.TransactionResponse;
+import org.geoserver.wfs.xml.StreamedInsertFeatures;
 import org.geotools.api.data.FeatureStore;
 import org.geotools.api.data.SimpleFeatureStore;
 import org.geotools.api.feature.simple.SimpleFeature;
@@ -83,147 +84,183 @@ public void execute(
 
         long inserted = response.getTotalInserted().longValue();
 
+        StreamedInsertFeatures streamed = StreamedInsertFeatures.get(insert.getAdaptee());
         try {
-            // group features by their schema
-            HashMap /* <SimpleFeatureType,FeatureCollection> */ schema2features = new LinkedHashMap<>();
-
-            List featureList = insert.getFeatures();
-            for (Object item : featureList) {
-                SimpleFeature feature = (SimpleFeature) item;
-                SimpleFeatureType schema = feature.getFeatureType();
-                ListFeatureCollection collection = (ListFeatureCollection) schema2features.get(schema);
-
-                if (collection == null) {
-                    collection = new ListFeatureCollection(schema);
-                    schema2features.put(schema, collection);
+            if (streamed == null) {
+                inserted += insert(insert, insert.getFeatures(), request, featureStores, response, listener);
+            } else {
+                // parse and insert the spooled features a batch at a time, to keep memory usage bounded
+                try (streamed) {
+                    for (List<?> batch = streamed.nextBatch(); !batch.isEmpty(); batch = streamed.nextBatch()) {
+                        for (Object feature : batch) {
+                            if (!(feature instanceof SimpleFeature)) {
+                                throw couldNotParse(request);
+                            }
+                        }
+                        inserted += insert(insert, batch, request, featureStores, response, listener);
+                    }
                 }
+            }
+        } catch (Exception e) {
+            throw exceptionFactory.newWFSTransactionException("Insert error: " + e.getMessage(), e, insert.getHandle());
+        }
 
-                // do a check for idegen = useExisting, if set try to tell the datastore to use
-                // the provided fid
-                if (insert.isIdGenUseExisting()) {
+        // update transaction summary
+        response.setTotalInserted(BigInteger.valueOf(inserted));
+    }
+
+    /** Inserts the features, reporting the inserted feature ids in the response, and returns their number */
+    @SuppressWarnings("unchecked")
+    private int insert(
+            Insert insert,
+            List<?> featureList,
+            TransactionRequest request,
+            Map featureStores,
+            TransactionResponse response,
+            TransactionListener listener)
+            throws Exception {
+        // group features by their schema
+        HashMap /* <SimpleFeatureType,FeatureCollection> */ schema2features = new LinkedHashMap<>();
+
+        for (Object item : featureList) {
+            SimpleFeature feature = (SimpleFeature) item;
+            SimpleFeatureType schema = feature.getFeatureType();
+            ListFeatureCollection collection = (ListFeatureCollection) schema2features.get(schema);
+
+            if (collection == null) {
+                collection = new ListFeatureCollection(schema);
+                schema2features.put(schema, collection);
+            }
+
+            // do a check for idegen = useExisting, if set try to tell the datastore to use
+            // the provided fid
+            if (insert.isIdGenUseExisting()) {
+                feature.getUserData().put(Hints.USE_PROVIDED_FID, true);
+            } else {
+                Object identifier = feature.getAttribute(new NameImpl(GML.NAMESPACE, "identifier"));
+                if (WFSInfo.Version.V_20.compareTo(insert.getVersion()) >= 0 && identifier instanceof String string) {
+                    SimpleFeatureBuilder fb = new SimpleFeatureBuilder(feature.getFeatureType());
+                    fb.init(feature);
+                    feature = fb.buildFeature(string);
                     feature.getUserData().put(Hints.USE_PROVIDED_FID, true);
-                } else {
-                    Object identifier = feature.getAttribute(new NameImpl(GML.NAMESPACE, "identifier"));
-                    if (WFSInfo.Version.V_20.compareTo(insert.getVersion()) >= 0
-                            && identifier instanceof String string) {
-                        SimpleFeatureBuilder fb = new SimpleFeatureBuilder(feature.getFeatureType());
-                        fb.init(feature);
-                        feature = fb.buildFeature(string);
-                        feature.getUserData().put(Hints.USE_PROVIDED_FID, true);
-                    }
                 }
-
-                collection.add(feature);
             }
 
-            // JD: change from set fo list because if inserting
-            // features into different feature stores, they could very well
-            // get given the same id
-            // JD: change from list to map so that the map can later be
-            // processed and we can report the fids back in the same order
-            // as they were supplied
-            Map<String, List<FeatureId>> schema2fids = new HashMap<>();
+            collection.add(feature);
+        }
 
-            for (Object value : schema2features.values()) {
-                SimpleFeatureCollection collection = (SimpleFeatureCollection) value;
-                SimpleFeatureType schema = collection.getSchema();
+        // JD: change from set fo list because if inserting
+        // features into different feature stores, they could very well
+        // get given the same id
+        // JD: change from list to map so that the map can later be
+        // processed and we can report the fids back in the same order
+        // as they were supplied
+        Map<String, List<FeatureId>> schema2fids = new HashMap<>();
 
-                final QName elementName = new QName(schema.getName().getNamespaceURI(), schema.getTypeName());
-                SimpleFeatureStore store = DataUtilities.simple((FeatureStore) featureStores.get(elementName));
+        for (Object value : schema2features.values()) {
+            SimpleFeatureCollection collection = (SimpleFeatureCollection) value;
+            SimpleFeatureType schema = collection.getSchema();
 
-                if (store == null) {
-                    throw new WFSException(request, "Could not locate FeatureStore for '" + elementName + "'");
-                }
+            final QName elementName = new QName(schema.getName().getNamespaceURI(), schema.getTypeName());
+            SimpleFeatureStore store = DataUtilities.simple((FeatureStore) featureStores.get(elementName));
 
-                if (collection != null) {
-                    // if we really need to, make sure we are inserting coordinates that do
-                    // match the CRS area of validity
-                    if (getInfo().isCiteCompliant()) {
-                        checkFeatureCoordinatesRange(collection);
-                    }
+            if (store == null) {
+                throw new WFSException(request, "Could not locate FeatureStore for '" + elementName + "'");
+            }
 
-                    // reprojection
-                    final GeometryDescriptor defaultGeometry = store.getSchema().getGeometryDescriptor();
-                    if (defaultGeometry != null) {
-                        CoordinateReferenceSystem target = defaultGeometry.getCoordinateReferenceSystem();
-                        if (target != null /* && !CRS.equalsIgnoreMetadata(collection.getSchema()
-                                        .getCoordinateReferenceSystem(), target) */) {
-                            collection = new ReprojectingFeatureCollection(collection, target);
-                        }
-                    }
+            if (collection != null) {
+                // if we really need to, make sure we are inserting coordinates that do
+                // match the CRS area of validity
+                if (getInfo().isCiteCompliant()) {
+                    checkFeatureCoordinatesRange(collection);
+                }
 
-                    // Need to use the namespace here for the
-                    // lookup, due to our weird
-                    // prefixed internal typenames. see
-                    // https://osgeo-org.atlassian.net/browse/GEOS-143
-
-                    // Once we get our datastores making features
-                    // with the correct namespaces
-                    // we can do something like this:
-                    // FeatureTypeInfo typeInfo =
-                    // catalog.getFeatureTypeInfo(schema.getTypeName(),
-                    // schema.getNamespace());
-                    // until then (when geos-144 is resolved) we're
-                    // stuck with:
-                    // QName qName = (QName) typeNames.get( i );
-                    // FeatureTypeInfo typeInfo =
-                    // catalog.featureType( qName.getPrefix(),
-                    // qName.getLocalPart() );
-
-                    // this is possible with the insert hack above.
-                    LOGGER.finer("Use featureValidation to check contents of insert");
-
-                    // featureValidation(
-                    // typeInfo.getDataStore().getId(), schema,
-                    // collection );
-                    List<FeatureId> fids = schema2fids.get(schema.getTypeName());
-
-                    if (fids == null) {
-                        fids = new LinkedList<>();
-                        schema2fids.put(schema.getTypeName(), fids);
+                // reprojection
+                final GeometryDescriptor defaultGeometry = store.getSchema().getGeometryDescriptor();
+                if (defaultGeometry != null) {
+                    CoordinateReferenceSystem target = defaultGeometry.getCoordinateReferenceSystem();
+                    if (target != null /* && !CRS.equalsIgnoreMetadata(collection.getSchema()
+                                    .getCoordinateReferenceSystem(), target) */) {
+                        collection = new ReprojectingFeatureCollection(collection, target);
                     }
+                }
 
-                    // fire pre insert event
-                    TransactionEvent event =
-                            new TransactionEvent(TransactionEventType.PRE_INSERT, request, elementName, collection);
-                    event.setSource(Insert.WFS11.unadapt(insert));
-
-                    listener.dataStoreChange(event);
-                    fids.addAll(store.addFeatures(collection));
-
-                    // fire post insert event
-                    SimpleFeatureCollection features = store.getFeatures(filterFactory.id(new HashSet<>(fids)));
-                    event = new TransactionEvent(
-                            TransactionEventType.POST_INSERT,
-                            request,
-                            elementName,
-                            features,
-                            Insert.WFS11.unadapt(insert));
-                    listener.dataStoreChange(event);
+                // Need to use the namespace here for the
+                // lookup, due to our weird
+                // prefixed internal typenames. see
+                // https://osgeo-org.atlassian.net/browse/GEOS-143
+
+                // Once we get our datastores making features
+                // with the correct namespaces
+                // we can do something like this:
+                // FeatureTypeInfo typeInfo =
+                // catalog.getFeatureTypeInfo(schema.getTypeName(),
+                // schema.getNamespace());
+                // until then (when geos-144 is resolved) we're
+                // stuck with:
+                // QName qName = (QName) typeNames.get( i );
+                // FeatureTypeInfo typeInfo =
+                // catalog.featureType( qName.getPrefix(),
+                // qName.getLocalPart() );
+
+                // this is possible with the insert hack above.
+                LOGGER.finer("Use featureValidation to check contents of insert");
+
+                // featureValidation(
+                // typeInfo.getDataStore().getId(), schema,
+                // collection );
+                List<FeatureId> fids = schema2fids.get(schema.getTypeName());
+
+                if (fids == null) {
+                    fids = new LinkedList<>();
+                    schema2fids.put(schema.getTypeName(), fids);
                 }
+
+                // fire pre insert event
+                TransactionEvent event =
+                        new TransactionEvent(TransactionEventType.PRE_INSERT, request, elementName, collection);
+                event.setSource(Insert.WFS11.unadapt(insert));
+
+                listener.dataStoreChange(event);
+                fids.addAll(store.addFeatures(collection));
+
+                // fire post insert event
+                SimpleFeatureCollection features = store.getFeatures(filterFactory.id(new HashSet<>(fids)));
+                event = new TransactionEvent(
+                        TransactionEventType.POST_INSERT,
+                        request,
+                        elementName,
+                        features,
+                        Insert.WFS11.unadapt(insert));
+                listener.dataStoreChange(event);
             }
+        }
 
-            // report back fids, we need to keep the same order the
-            // fids were reported in the original feature collection
-            for (Object o : featureList) {
-                SimpleFeature feature = (SimpleFeature) o;
-                SimpleFeatureType schema = feature.getFeatureType();
+        // report back fids, we need to keep the same order the
+        // fids were reported in the original feature collection
+        for (Object o : featureList) {
+            SimpleFeature feature = (SimpleFeature) o;
+            SimpleFeatureType schema = feature.getFeatureType();
 
-                // get the next fid
-                LinkedList<FeatureId> fids = (LinkedList<FeatureId>) schema2fids.get(schema.getTypeName());
-                FeatureId fid = fids.removeFirst();
+            // get the next fid
+            LinkedList<FeatureId> fids = (LinkedList<FeatureId>) schema2fids.get(schema.getTypeName());
+            FeatureId fid = fids.removeFirst();
 
-                response.addInsertedFeature(insert.getHandle(), fid);
-            }
-
-            // update the insert counter
-            inserted += featureList.size();
-        } catch (Exception e) {
-            throw exceptionFactory.newWFSTransactionException("Insert error: " + e.getMessage(), e, insert.getHandle());
+            response.addInsertedFeature(insert.getHandle(), fid);
         }
 
-        // update transaction summary
-        response.setTotalInserted(BigInteger.valueOf(inserted));
+        return featureList.size();
+    }
+
+    private WFSException couldNotParse(TransactionRequest request) {
+        String version = request.getVersion();
+        String code;
+        if (version == null || new Version(version).compareTo(WFSInfo.Version.V_20.getVersion()) >= 0) {
+            code = WFSException.INVALID_VALUE;
+        } else {
+            code = ServiceException.INVALID_PARAMETER_VALUE;
+        }
+        return new WFSException(request, "Could not parse input features", code);
     }
 
     /** Checks that all features coordinates are within the expected coordinate range */
@@ -254,6 +291,15 @@ public Class<Insert> getElementClass() {
     public QName[] getTypeNames(TransactionRequest request, TransactionElement element) throws WFSTransactionException {
         Insert insert = (Insert) element;
 
+        StreamedInsertFeatures streamed = StreamedInsertFeatures.get(insert.getAdaptee());
+        if (streamed != null) {
+            // not parsed yet, use the feature element names, unqualified ones being in the default namespace
+            String defaultURI = geoServer.getCatalog().getDefaultNamespace().getURI();
+            return streamed.getTypeNames().stream()
+                    .map(n -> n.getNamespaceURI().isEmpty() ? new QName(defaultURI, n.getLocalPart()) : n)
+                    .toArray(QName[]::new);
+        }
+
         List<QName> typeNames = new ArrayList<>();
 
         List features = insert.getFeatures();
@@ -261,14 +307,7 @@ public QName[] getTypeNames(TransactionRequest request, TransactionElement eleme
             for (Object next : features) {
                 // if parsing fails the parser just returns a Map, do throw an error in this case
                 if (!(next instanceof SimpleFeature)) {
-                    String version = request.getVersion();
-                    String code;
-                    if (version == null || new Version(version).compareTo(WFSInfo.Version.V_20.getVersion()) >= 0) {
-                        code = WFSException.INVALID_VALUE;
-                    } else {
-                        code = ServiceException.INVALID_PARAMETER_VALUE;
-                    }
-                    throw new WFSException(request, "Could not parse input features", code);
+                    throw couldNotParse(request);
                 }
                 SimpleFeature feature = (SimpleFeature) next;
 
@@ -7,37 +7,28 @@
 
 import java.io.IOException;
 import java.math.BigInteger;
-import java.util.HashSet;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.xml.namespace.QName;
 import org.geoserver.catalog.Catalog;
-import org.geoserver.catalog.DataStoreInfo;
 import org.geoserver.catalog.FeatureTypeInfo;
 import org.geoserver.platform.ServiceException;
+import org.geoserver.wfs.lock.FeatureLockManager;
+import org.geoserver.wfs.lock.FeatureLocks;
 import org.geoserver.wfs.request.Lock;
 import org.geoserver.wfs.request.LockFeatureRequest;
 import org.geoserver.wfs.request.LockFeatureResponse;
-import org.geotools.api.data.DataAccess;
-import org.geotools.api.data.DataStore;
 import org.geotools.api.data.FeatureLock;
-import org.geotools.api.data.FeatureLocking;
 import org.geotools.api.data.FeatureSource;
-import org.geotools.api.data.LockingManager;
-import org.geotools.api.data.Query;
-import org.geotools.api.data.Transaction;
 import org.geotools.api.feature.Feature;
-import org.geotools.api.feature.simple.SimpleFeature;
 import org.geotools.api.feature.type.FeatureType;
 import org.geotools.api.filter.Filter;
 import org.geotools.api.filter.FilterFactory;
-import org.geotools.api.filter.Id;
 import org.geotools.api.filter.identity.FeatureId;
 import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
-import org.geotools.data.DefaultTransaction;
-import org.geotools.data.InProcessLockingManager;
 import org.geotools.feature.FeatureCollection;
 import org.geotools.feature.FeatureIterator;
 
@@ -59,6 +50,9 @@ public class LockFeature {
     /** Filter factory */
     FilterFactory filterFactory;
 
+    /** The lock manager */
+    FeatureLockManager lockManager;
+
     /** */
     public LockFeature(WFSInfo wfs, Catalog catalog) {
         this(wfs, catalog, null);
@@ -68,6 +62,7 @@ public LockFeature(WFSInfo wfs, Catalog catalog, FilterFactory filterFactory) {
         this.wfs = wfs;
         this.catalog = catalog;
         this.filterFactory = filterFactory;
+        this.lockManager = FeatureLocks.getManager(catalog);
     }
 
     public void setFilterFactory(FilterFactory filterFactory) {
@@ -145,89 +140,30 @@ public LockFeatureResponse lockFeature(LockFeatureRequest request) throws WFSExc
 
                     // now gather the features
                     features = source.getFeatures(filter);
-
-                    if (source instanceof FeatureLocking locking) {
-                        locking.setFeatureLock(fLock);
-                    }
                 } catch (IOException e) {
                     throw new WFSException(request, e);
                 }
 
-                int numberLocked = -1;
+                List<String> fids = new ArrayList<>();
                 try (FeatureIterator fi = features.features()) {
                     while (fi.hasNext()) {
-                        SimpleFeature feature = (SimpleFeature) fi.next();
-
-                        FeatureId fid = fid(feature.getID());
-                        Id fidFilter = fidFilter(fid);
-
-                        if (!(source instanceof FeatureLocking)) {
-                            LOGGER.fine("Lock "
-                                    + fid
-                                    + " not supported by data store (authID:"
-                                    + fLock.getAuthorization()
-                                    + ")");
-
-                            response.addNotLockedFeature(fid);
-                            // lockFailedFids.add(fid);
-                        } else {
-                            // DEFQuery is just some indirection, should be in
-                            // the locking interface.
-                            // int numberLocked =
-                            // ((DEFQueryFeatureLocking)source).lockFeature(feature);
-                            // HACK: Query.NO_NAMES isn't working in postgis
-                            // right now,
-                            // so we'll just use all.
-                            Query query = new Query(
-                                    meta.getName(), fidFilter, Query.DEFAULT_MAX, Query.ALL_NAMES, lock.getHandle());
-
-                            numberLocked = ((FeatureLocking) source).lockFeatures(query);
-
-                            if (numberLocked == 1) {
-                                LOGGER.fine("Lock " + fid + " (authID:" + fLock.getAuthorization() + ")");
-                                response.addLockedFeature(fid);
-
-                                // lockedFids.add(fid);
-                            } else if (numberLocked == 0) {
-                                LOGGER.fine("Lock " + fid + " conflict (authID:" + fLock.getAuthorization() + ")");
-                                response.addNotLockedFeature(fid);
-
-                                // lockFailedFids.add(fid);
-                            } else {
-                                LOGGER.warning("Lock "
-                                        + numberLocked
-                                        + " "
-                                        + fid
-                                        + " (authID:"
-                                        + fLock.getAuthorization()
-                                        + ") duplicated FeatureID!");
-                                response.addLockedFeature(fid);
-
-                                // lockedFids.add(fid);
-                            }
-                        }
+                        fids.add(fi.next().getIdentifier().getID());
                     }
-                } catch (IOException ioe) {
-                    throw new WFSException(request, ioe);
                 }
 
-                // refresh lock times, so they all start the same instant and we
-                // are nearer
-                // to the spec when it says the expiry should start when the
-                // lock
-                // feature response has been totally written
-                if (numberLocked > 0) {
-                    try (Transaction t = new DefaultTransaction()) {
-                        try {
-                            t.addAuthorization(fLock.getAuthorization());
-                            DataStore dataStore = (DataStore) source.getDataStore();
-                            dataStore.getLockingManager().refresh(fLock.getAuthorization(), t);
-                        } finally {
-                            t.commit();
+                try {
+                    QName lockedType = FeatureLocks.getTypeName(source.getSchema());
+                    Set<String> notLocked = lockManager.lockFeatures(fLock, lockedType, fids);
+                    for (String fid : fids) {
+                        if (notLocked.contains(fid)) {
+                            response.addNotLockedFeature(fid(fid));
+                        } else {
+                            LOGGER.fine("Lock " + fid + " (authID:" + fLock.getAuthorization() + ")");
+                            response.addLockedFeature(fid(fid));
                         }
-                    } catch (IOException e) {
-                        throw new WFSException(request, e);
                     }
+                } catch (IOException e) {
+                    throw new WFSException(request, e);
                 }
             }
 
@@ -263,40 +199,8 @@ public LockFeatureResponse lockFeature(LockFeatureRequest request) throws WFSExc
     /** Release lock by authorization */
     public void release(String lockId) throws WFSException {
         try {
-            List dataStores = catalog.getDataStores();
-
-            for (Object store : dataStores) {
-                DataStoreInfo meta = (DataStoreInfo) store;
-                DataStore dataStore = null;
-
-                // TODO: support locking for DataAccess
-                if (meta.isEnabled()) {
-                    DataAccess da = meta.getDataStore(null);
-                    if (da instanceof DataStore dataStore1) {
-                        dataStore = dataStore1;
-                    }
-                }
-
-                if (dataStore == null) {
-                    continue; // disabled or not a DataStore
-                }
-
-                LockingManager lockingManager = dataStore.getLockingManager();
-
-                if (lockingManager == null) {
-                    continue; // locks not supported
-                }
-
-                try (Transaction t =
-                        new DefaultTransaction("Refresh " + meta.getWorkspace().getName())) {
-                    t.addAuthorization(lockId);
-                    lockingManager.release(lockId, t);
-
-                } catch (IOException e) {
-                    LOGGER.log(Level.WARNING, e.getMessage(), e);
-                }
-            }
-        } catch (Exception e) {
+            lockManager.release(lockId);
+        } catch (IOException e) {
             throw new WFSException(e);
         }
     }
@@ -308,134 +212,31 @@ public void release(String lockId) throws WFSException {
      */
     public void releaseAll() throws WFSException {
         try {
-            List dataStores = catalog.getDataStores();
-
-            for (Object store : dataStores) {
-                DataStoreInfo meta = (DataStoreInfo) store;
-                DataStore dataStore = null;
-
-                // TODO: support locking for DataAccess
-                if (meta.isEnabled()) {
-                    DataAccess da = meta.getDataStore(null);
-                    if (da instanceof DataStore dataStore1) {
-                        dataStore = dataStore1;
-                    }
-                }
-
-                if (dataStore == null) {
-                    continue; // disabled or not a DataStore
-                }
-
-                LockingManager lockingManager = dataStore.getLockingManager();
-
-                if (lockingManager == null) {
-                    continue; // locks not supported
-                }
-
-                // TODO: implement LockingManger.releaseAll()
-                // count += lockingManager.releaseAll();
-            }
-        } catch (Exception e) {
+            lockManager.releaseAll();
+        } catch (IOException e) {
             throw new WFSException(e);
         }
     }
 
     public boolean exists(String lockId) throws WFSException {
         try {
-            List dataStores = catalog.getDataStores();
-
-            for (Object store : dataStores) {
-                DataStoreInfo meta = (DataStoreInfo) store;
-                DataStore dataStore = null;
-
-                // TODO: support locking for DataAccess
-                if (meta.isEnabled()) {
-                    DataAccess da = meta.getDataStore(null);
-                    if (da instanceof DataStore dataStore1) {
-                        dataStore = dataStore1;
-                    }
-                }
-
-                if (dataStore == null) {
-                    continue; // disabled or not a DataStore
-                }
-
-                LockingManager lockingManager = dataStore.getLockingManager();
-
-                if (lockingManager == null) {
-                    continue; // locks not supported
-                }
-
-                if (lockingManager.exists(lockId)) {
-                    return true;
-                }
-            }
-
-            return false;
-        } catch (Exception e) {
+            return lockManager.getStatus(lockId) == FeatureLockManager.Status.ACTIVE;
+        } catch (IOException e) {
             throw new WFSException(e);
         }
     }
 
     public void refresh(String lockId, boolean throwOnRefreshFail) throws WFSException {
-        boolean refresh = false;
-        boolean lockFound = false;
+        FeatureLockManager.Status status;
         try {
-            List dataStores = catalog.getDataStores();
-
-            // check for lock existance
-
-            for (Object store : dataStores) {
-                DataStoreInfo meta = (DataStoreInfo) store;
-                DataStore dataStore = null;
-
-                // TODO: support locking for DataAccess
-                if (meta.isEnabled()) {
-                    DataAccess da = meta.getDataStore(null);
-                    if (da instanceof DataStore dataStore1) {
-                        dataStore = dataStore1;
-                    }
-                }
-
-                if (dataStore == null) {
-                    continue; // disabled or not a DataStore
-                }
-
-                LockingManager lockingManager = dataStore.getLockingManager();
-
-                if (lockingManager == null) {
-                    continue; // locks not supported
-                }
-
-                // calling "exists" clears an expired lock, do this instead to verify existence
-                // since for the past 10+ years InProcessLockingManager has been the only game in
-                // town
-                if (lockingManager instanceof InProcessLockingManager ip) {
-                    Set<InProcessLockingManager.Lock> locks = ip.allLocks();
-                    if (locks != null) {
-                        lockFound |= locks.stream().anyMatch(l -> l.isMatch(lockId));
-                    }
-                }
-
-                try (Transaction t =
-                        new DefaultTransaction("Refresh " + meta.getWorkspace().getName())) {
-                    t.addAuthorization(lockId);
-
-                    if (lockingManager.refresh(lockId, t)) {
-                        refresh = true;
-                    }
-                } catch (IOException e) {
-                    LOGGER.log(Level.WARNING, e.getMessage(), e);
-                }
-            }
-        } catch (Exception e) {
+            status = lockManager.refresh(lockId);
+        } catch (IOException e) {
             throw new WFSException(e);
         }
 
-        // the API does not give us a way to check if a lock exists but it's expired, but WFS 2.0
-        // requires to send back a different response... we'll make a guess
-        if (!refresh && throwOnRefreshFail) {
-            if (!lockFound) {
+        // WFS 2.0 requires to send back a different response for unknown and expired locks
+        if (status != FeatureLockManager.Status.ACTIVE && throwOnRefreshFail) {
+            if (status == FeatureLockManager.Status.UNKNOWN) {
                 throw new ServiceException("Unknown lock id", WFSException.INVALID_LOCK_ID, "lockId");
             } else {
                 throw new ServiceException("Lock has expired", WFSException.LOCK_HAS_EXPIRED, "lockId");
@@ -447,13 +248,6 @@ private FeatureId fid(String fid) {
         return filterFactory.featureId(fid);
     }
 
-    private Id fidFilter(FeatureId fid) {
-        Set<FeatureId> ids = new HashSet<>();
-        ids.add(fid);
-
-        return filterFactory.id(ids);
-    }
-
     protected FeatureLock newFeatureLock(LockFeatureRequest request) {
         String handle = request.getHandle();
         if ((handle == null) || handle.equals("")) {
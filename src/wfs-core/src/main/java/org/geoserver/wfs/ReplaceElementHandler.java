@@ -16,6 +16,8 @@
 import java.util.logging.Logger;
 import javax.xml.namespace.QName;
 import org.geoserver.config.GeoServer;
+import org.geoserver.wfs.lock.FeatureLockManager;
+import org.geoserver.wfs.lock.FeatureLocks;
 import org.geoserver.wfs.request.Replace;
 import org.geoserver.wfs.request.TransactionElement;
 import org.geoserver.wfs.request.TransactionRequest;
@@ -128,6 +130,13 @@ public void execute(
                 }
             }
 
+            // locks not kept in the store are checked here, before replacing the features
+            FeatureLockManager lockManager = getLockManager();
+            QName lockedType = FeatureLocks.getTypeName(featureStore.getSchema());
+            if (lockManager.hasLocks(lockedType)) {
+                FeatureLocks.checkUnlocked(lockManager, lockedType, oldFeatures.keySet(), request.getLockId());
+            }
+
             // first pass update all the features that match by id
             List<SimpleFeature> leftovers = new ArrayList<>();
 
@@ -11,9 +11,11 @@
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -28,16 +30,25 @@
 import org.geoserver.platform.ServiceException;
 import org.geoserver.wfs.request.Delete;
 import org.geoserver.wfs.request.Insert;
+import org.geoserver.wfs.request.Property;
 import org.geoserver.wfs.request.TransactionElement;
 import org.geoserver.wfs.request.TransactionRequest;
 import org.geoserver.wfs.request.TransactionResponse;
+import org.geoserver.wfs.request.Update;
+import org.geoserver.wfs.xml.StreamedInsertFeatures;
 import org.geotools.api.data.FeatureLockException;
 import org.geotools.api.data.FeatureSource;
 import org.geotools.api.data.FeatureStore;
 import org.geotools.api.feature.Feature;
 import org.geotools.api.feature.type.FeatureType;
+import org.geotools.api.filter.Filter;
 import org.geotools.api.filter.FilterFactory;
+import org.geotools.api.filter.Id;
+import org.geotools.api.filter.Or;
+import org.geotools.api.filter.identity.Identifier;
 import org.geotools.data.DefaultTransaction;
+import org.geotools.factory.CommonFactoryFinder;
+import org.locationtech.jts.geom.Geometry;
 import org.springframework.context.ApplicationContext;
 
 /**
@@ -51,6 +62,8 @@ public class Transaction {
 
     private static final int DELETE_BATCH_SIZE = Integer.getInteger("org.geoserver.wfs.deleteBatchSize", 100);
 
+    private static final int UPDATE_BATCH_SIZE = Integer.getInteger("org.geoserver.wfs.updateBatchSize", 100);
+
     /** WFS configuration */
     protected WFSInfo wfs;
 
@@ -411,7 +424,7 @@ protected TransactionResponse execute(TransactionRequest request) throws Excepti
      * @param stores
      * @param elementHandlers
      * @param result
-     * @return a new {@link BatchManager} batching INSERT and DELETE operations where possible.
+     * @return a new {@link BatchManager} batching INSERT, UPDATE and DELETE operations where possible.
      */
     protected BatchManager createBatchManager(
             TransactionRequest request,
@@ -419,7 +432,8 @@ protected BatchManager createBatchManager(
             Map<QName, FeatureStore> stores,
             Map<TransactionElement, TransactionElementHandler> elementHandlers,
             TransactionResponse result) {
-        return new BatchManager(request, multiplexer, stores, result, elementHandlers, DELETE_BATCH_SIZE);
+        return new BatchManager(
+                request, multiplexer, stores, result, elementHandlers, DELETE_BATCH_SIZE, UPDATE_BATCH_SIZE);
     }
 
     private TransactionRequest fireBeforeTransaction(TransactionRequest request) {
@@ -611,16 +625,24 @@ public void dataStoreChange(TransactionEvent event) throws WFSException {
 
     /**
      * {@link BatchManager} restructures the contents of the transaction in order to enable batched execution in the
-     * data stores. When processing the {@link TransactionElement}s it aggregates INSERT and DELETE operations where
-     * possible before calling the corresponding {@link TransactionElementHandler}s.
+     * data stores. When processing the {@link TransactionElement}s it aggregates INSERT, UPDATE and DELETE operations
+     * where possible before calling the corresponding {@link TransactionElementHandler}s.
+     *
+     * <p>Consecutive UPDATEs are aggregated when they target the same type, with the same handle, and set the same
+     * properties to the same values, the aggregated UPDATE filter matching the features of all of them. Since all the
+     * matched features end up with the same values, the result does not depend on the order of the original UPDATEs,
+     * while the data store gets a single modification, and the listeners a single pair of events, for the whole batch.
      */
     protected static class BatchManager {
+        private static final FilterFactory FF = CommonFactoryFinder.getFilterFactory();
+
         private TransactionRequest request;
         private TransactionListener multiplexer;
         private Map<QName, FeatureStore> stores;
         private TransactionResponse result;
         private Map<TransactionElement, TransactionElementHandler> elementHandlers;
         private int maxDeleteCount;
+        private int maxUpdateCount;
 
         /**
          * Creates a new {@link BatchManager}, ready to {@link #run()} and process the transactions content.
@@ -640,17 +662,42 @@ public BatchManager(
                 TransactionResponse result,
                 Map<TransactionElement, TransactionElementHandler> elementHandlers,
                 int maxDeleteCount) {
+            this(request, multiplexer, stores, result, elementHandlers, maxDeleteCount, UPDATE_BATCH_SIZE);
+        }
+
+        /**
+         * Creates a new {@link BatchManager}, ready to {@link #run()} and process the transactions content.
+         *
+         * @param request The current request
+         * @param multiplexer the current transaction listener
+         * @param stores The map of stores
+         * @param result The result
+         * @param elementHandlers Mapping of {@link TransactionElement} to its corresponding
+         *     {@link TransactionElementHandler}
+         * @param maxDeleteCount Maximum number of deletes to be aggregated into and existing delete
+         * @param maxUpdateCount Maximum number of updates to be aggregated into an existing update
+         */
+        public BatchManager(
+                TransactionRequest request,
+                TransactionListener multiplexer,
+                Map<QName, FeatureStore> stores,
+                TransactionResponse result,
+                Map<TransactionElement, TransactionElementHandler> elementHandlers,
+                int maxDeleteCount,
+                int maxUpdateCount) {
             this.request = request;
             this.multiplexer = multiplexer;
             this.stores = stores;
             this.result = result;
             this.elementHandlers = elementHandlers;
             this.maxDeleteCount = maxDeleteCount;
+            this.maxUpdateCount = maxUpdateCount;
         }
 
         private TransactionElement aggrTargetElement;
         private TransactionElementHandler aggrTargetHandler;
         private int aggrDeleteCount = 0;
+        private int aggrUpdateCount = 0;
 
         /**
          * Runs the aggregation of the {@link TransactionElement}s and invokes the required
@@ -685,7 +732,10 @@ public void run() {
          */
         private boolean canAggregate(TransactionElement pElem) {
             if (aggrTargetElement instanceof Insert insert && pElem instanceof Insert insert1) {
-                return idGenEquals(getIdGen(insert), getIdGen(insert1));
+                // streamed inserts are read in batches by the handler, and cannot be merged
+                return idGenEquals(getIdGen(insert), getIdGen(insert1))
+                        && StreamedInsertFeatures.get(insert.getAdaptee()) == null
+                        && StreamedInsertFeatures.get(insert1.getAdaptee()) == null;
             }
             if (aggrTargetElement instanceof Delete lTarget && pElem instanceof Delete lElem) {
                 if (aggrDeleteCount >= maxDeleteCount - 1) {
@@ -697,9 +747,63 @@ private boolean canAggregate(TransactionElement pElem) {
                     return true;
                 }
             }
+            if (aggrTargetElement instanceof Update lTarget && pElem instanceof Update lElem) {
+                if (aggrUpdateCount >= maxUpdateCount - 1) {
+                    return false;
+                }
+                QName lTargetType = lTarget.getTypeName();
+                // a missing filter updates all features, nothing to gain in aggregating
+                return lTargetType != null
+                        && lTargetType.equals(lElem.getTypeName())
+                        && Objects.equals(lTarget.getHandle(), lElem.getHandle())
+                        && lTarget.getFilter() != null
+                        && lElem.getFilter() != null
+                        && propertiesEqual(lTarget.getUpdateProperties(), lElem.getUpdateProperties());
+            }
             return false;
         }
 
+        private boolean propertiesEqual(List<Property> p1, List<Property> p2) {
+            if (p1.size() != p2.size()) {
+                return false;
+            }
+            for (int i = 0; i < p1.size(); i++) {
+                if (!Objects.equals(p1.get(i).getName(), p2.get(i).getName())
+                        || !valueEquals(p1.get(i).getValue(), p2.get(i).getValue())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean valueEquals(Object v1, Object v2) {
+            if (v1 instanceof Geometry g1 && v2 instanceof Geometry g2) {
+                // the parsers store the geometry CRS in the user data
+                return g1.equalsExact(g2) && Objects.equals(g1.getUserData(), g2.getUserData());
+            }
+            return Objects.equals(v1, v2);
+        }
+
+        /** Ors the two filters, flattening nested ors and merging the feature id filters in a single one */
+        private Filter orFilters(Filter f1, Filter f2) {
+            List<Filter> filters = new ArrayList<>();
+            Set<Identifier> ids = new LinkedHashSet<>();
+            for (Filter filter : List.of(f1, f2)) {
+                List<Filter> children = filter instanceof Or or ? or.getChildren() : List.of(filter);
+                for (Filter child : children) {
+                    if (child instanceof Id id) {
+                        ids.addAll(id.getIdentifiers());
+                    } else {
+                        filters.add(child);
+                    }
+                }
+            }
+            if (!ids.isEmpty()) {
+                filters.add(0, FF.id(ids));
+            }
+            return filters.size() == 1 ? filters.get(0) : FF.or(filters);
+        }
+
         private IdentifierGenerationOptionType getIdGen(Insert insert) {
             EObject adaptee = insert.getAdaptee();
             if (adaptee instanceof InsertElementType type) {
@@ -731,6 +835,10 @@ private void aggregate(TransactionElement pElem) {
                 lTarget.addFilter(lElem.getFilter());
                 aggrDeleteCount++;
                 lRemoveFromRequest = true;
+            } else if (aggrTargetElement instanceof Update lTarget) {
+                lTarget.setFilter(orFilters(lTarget.getFilter(), pElem.getFilter()));
+                aggrUpdateCount++;
+                lRemoveFromRequest = true;
             }
             if (lRemoveFromRequest) {
                 // contents of the element have been added to target element. To avoid contents
@@ -740,10 +848,11 @@ private void aggregate(TransactionElement pElem) {
             }
         }
 
-        /** Calls the current handler with the current element, resetting the delete counter. */
+        /** Calls the current handler with the current element, resetting the delete and update counters. */
         private void runAggregated() {
             aggrTargetHandler.execute(aggrTargetElement, request, stores, result, multiplexer);
             aggrDeleteCount = 0;
+            aggrUpdateCount = 0;
         }
     }
 }
@@ -29,6 +29,18 @@ public interface TransactionCallback extends ExtensionPriority, TransactionListe
      */
     void afterTransaction(TransactionRequest request, TransactionResponse result, boolean committed);
 
+    /**
+     * Returns true if the callback does not need the features of the Insert elements in
+     * {@link #beforeTransaction(TransactionRequest)} and {@link #beforeCommit(TransactionRequest)}. Large inserts are
+     * streamed, without their features in the request, only if all the callbacks support it. The streamed features are
+     * still notified to {@link #dataStoreChange(TransactionEvent)}, a batch at a time.
+     *
+     * @see org.geoserver.wfs.xml.StreamingTransactionReader
+     */
+    default boolean supportsStreamedInserts() {
+        return false;
+    }
+
     @Override
     default int getPriority() {
         return ExtensionPriority.LOWEST;
@@ -19,6 +19,8 @@
 import org.geoserver.catalog.FeatureTypeInfo;
 import org.geoserver.config.GeoServer;
 import org.geoserver.platform.ServiceException;
+import org.geoserver.wfs.lock.FeatureLockManager;
+import org.geoserver.wfs.lock.FeatureLocks;
 import org.geoserver.wfs.request.Property;
 import org.geoserver.wfs.request.TransactionElement;
 import org.geoserver.wfs.request.TransactionRequest;
@@ -341,6 +343,13 @@ public void execute(
                 throw new WFSException(request, "Could not aquire FeatureIDs", e);
             }
 
+            // locks not kept in the store are checked here, before modifying the features
+            FeatureLockManager lockManager = getLockManager();
+            QName lockedType = FeatureLocks.getTypeName(store.getSchema());
+            if (!fids.isEmpty() && lockManager.hasLocks(lockedType)) {
+                FeatureLocks.checkUnlocked(lockManager, lockedType, getIds(fids), request.getLockId());
+            }
+
             try {
                 store.modifyFeatures(names, values, filter);
             } catch (Exception e) {
@@ -358,6 +367,9 @@ public void execute(
                     SimpleFeatureLocking locking = (SimpleFeatureLocking) store;
                     locking.unLockFeatures(filter);
                 }
+                if (request.getLockId() != null && request.isReleaseActionSome()) {
+                    lockManager.unlockFeatures(request.getLockId(), lockedType, getIds(fids));
+                }
             }
 
             // Post process - gather the same features after the update, and
@@ -403,6 +415,14 @@ public void execute(
         response.setTotalUpdated(BigInteger.valueOf(updated));
     }
 
+    private static Set<String> getIds(Set<FeatureId> fids) {
+        Set<String> ids = new HashSet<>();
+        for (FeatureId fid : fids) {
+            ids.add(fid.getID());
+        }
+        return ids;
+    }
+
     private String cleanupXPath(String name) {
         // saying foo or foo[1] is the same
         if (name.endsWith("[1]")) {
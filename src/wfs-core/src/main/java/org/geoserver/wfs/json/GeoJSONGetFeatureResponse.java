@@ -20,6 +20,7 @@
 import org.geoserver.wfs.WFSGetFeatureOutputFormat;
 import org.geoserver.wfs.request.FeatureCollectionResponse;
 import org.geoserver.wfs.response.ComplexFeatureAwareFormat;
+import org.geoserver.wfs.response.PartitionAwareFormat;
 import org.geotools.api.feature.Feature;
 import org.geotools.api.feature.type.FeatureType;
 import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
@@ -32,7 +33,8 @@
  * @author Carlo Cancellieri - GeoSolutions
  * @author Carsten Klein, DataGis
  */
-public class GeoJSONGetFeatureResponse extends WFSGetFeatureOutputFormat implements ComplexFeatureAwareFormat {
+public class GeoJSONGetFeatureResponse extends WFSGetFeatureOutputFormat
+        implements ComplexFeatureAwareFormat, PartitionAwareFormat {
     private final Logger LOGGER = org.geotools.util.logging.Logging.getLogger(this.getClass());
 
     // store the response type
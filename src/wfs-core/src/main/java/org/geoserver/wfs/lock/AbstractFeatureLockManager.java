@@ -0,0 +1,91 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wfs.lock;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geoserver.platform.GeoServerExtensions;
+import org.geotools.util.logging.Logging;
+import org.springframework.beans.factory.DisposableBean;
+
+/**
+ * Base class for lock managers, removing the expired locks in the background. The purge task is started on first use,
+ * so that managers that are registered but not in use do not consume resources, and runs every
+ * {@code WFS_LOCK_PURGE_INTERVAL} seconds, 60 by default.
+ */
+public abstract class AbstractFeatureLockManager implements FeatureLockManager, DisposableBean {
+
+    static final Logger LOGGER = Logging.getLogger(AbstractFeatureLockManager.class);
+
+    public static final String PURGE_INTERVAL_PROPERTY = "WFS_LOCK_PURGE_INTERVAL";
+
+    static final long DEFAULT_PURGE_INTERVAL = 60;
+
+    private volatile ScheduledExecutorService purger;
+
+    /** Returns the expiry time of a lock with the given duration, {@link Long#MAX_VALUE} if it does not expire */
+    protected static long getExpiry(long duration, long now) {
+        // negative durations are used to test the features can be locked, the lock is expired right away
+        return duration == 0 ? Long.MAX_VALUE : now + duration;
+    }
+
+    /** Starts the background purge of expired locks, if not already running */
+    protected void schedulePurge() {
+        if (purger == null) {
+            synchronized (this) {
+                if (purger == null) {
+                    long interval = getPurgeInterval();
+                    ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+                            new ThreadFactoryBuilder()
+                                    .setNameFormat(getClass().getSimpleName() + " purge")
+                                    .setDaemon(true)
+                                    .build());
+                    executor.scheduleWithFixedDelay(this::purge, interval, interval, TimeUnit.SECONDS);
+                    purger = executor;
+                }
+            }
+        }
+    }
+
+    /** Returns the interval between two purges, in seconds */
+    protected long getPurgeInterval() {
+        String value = GeoServerExtensions.getProperty(PURGE_INTERVAL_PROPERTY);
+        if (value != null) {
+            try {
+                long interval = Long.parseLong(value);
+                if (interval > 0) {
+                    return interval;
+                }
+            } catch (NumberFormatException e) {
+                // fall through
+            }
+            LOGGER.warning("Invalid value for " + PURGE_INTERVAL_PROPERTY + ": " + value + ", using the default");
+        }
+        return DEFAULT_PURGE_INTERVAL;
+    }
+
+    void purge() {
+        try {
+            purgeExpired(System.currentTimeMillis());
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Failed to remove the expired feature locks", e);
+        }
+    }
+
+    /** Removes the locks expired at the given time, and the features they hold */
+    protected abstract void purgeExpired(long now) throws IOException;
+
+    @Override
+    public void destroy() {
+        if (purger != null) {
+            purger.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,252 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wfs.lock;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.xml.namespace.QName;
+import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.DataStoreInfo;
+import org.geoserver.catalog.FeatureTypeInfo;
+import org.geotools.api.data.DataAccess;
+import org.geotools.api.data.DataStore;
+import org.geotools.api.data.FeatureLock;
+import org.geotools.api.data.FeatureLocking;
+import org.geotools.api.data.FeatureSource;
+import org.geotools.api.data.LockingManager;
+import org.geotools.api.data.Query;
+import org.geotools.api.data.Transaction;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.data.DefaultTransaction;
+import org.geotools.data.InProcessLockingManager;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.util.logging.Logging;
+
+/**
+ * The default lock manager, keeping the locks in the data stores by means of their {@link LockingManager}, which also
+ * enforce them when features are modified. Locks are lost on restart, and are not shared among cluster nodes.
+ *
+ * <p>The stores holding each lock are tracked, so that looking up, refreshing and releasing a lock does not require
+ * scanning all the stores in the catalog. Locks not tracked, for example because they were created by another
+ * manager instance, are looked up in all the stores.
+ */
+public class DataStoreFeatureLockManager extends AbstractFeatureLockManager {
+
+    static final Logger LOGGER = Logging.getLogger(DataStoreFeatureLockManager.class);
+
+    static final FilterFactory FF = CommonFactoryFinder.getFilterFactory();
+
+    /** The stores holding the features of a lock */
+    static class LockedStores {
+        final Set<String> storeIds = ConcurrentHashMap.newKeySet();
+
+        final long duration;
+
+        volatile long expiry;
+
+        LockedStores(long duration, long now) {
+            this.duration = duration;
+            this.expiry = getExpiry(duration, now);
+        }
+    }
+
+    /** A store and its locking manager */
+    record StoreLocking(DataStoreInfo store, LockingManager lockingManager) {}
+
+    final Catalog catalog;
+
+    final Map<String, LockedStores> storesByLock = new ConcurrentHashMap<>();
+
+    public DataStoreFeatureLockManager(Catalog catalog) {
+        this.catalog = catalog;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Set<String> lockFeatures(FeatureLock lock, QName typeName, Collection<String> fids) throws IOException {
+        FeatureTypeInfo meta = catalog.getFeatureTypeByName(typeName.getNamespaceURI(), typeName.getLocalPart());
+        if (meta == null) {
+            throw new IOException("Unknown feature type " + typeName);
+        }
+        FeatureSource source = meta.getFeatureSource(null, null);
+        String authorization = lock.getAuthorization();
+        if (!(source instanceof FeatureLocking locking)) {
+            LOGGER.fine("Locks not supported by the data store of " + typeName + " (authID:" + authorization + ")");
+            return new LinkedHashSet<>(fids);
+        }
+
+        locking.setFeatureLock(lock);
+        Set<String> notLocked = new LinkedHashSet<>();
+        boolean locked = false;
+        for (String fid : fids) {
+            // HACK: Query.NO_NAMES isn't working in postgis right now, so we'll just use all
+            Query query = new Query(meta.getName(), FF.id(FF.featureId(fid)), Query.DEFAULT_MAX, Query.ALL_NAMES, null);
+            int numberLocked = locking.lockFeatures(query);
+            if (numberLocked == 0) {
+                LOGGER.fine("Lock " + fid + " conflict (authID:" + authorization + ")");
+                notLocked.add(fid);
+            } else {
+                if (numberLocked > 1) {
+                    LOGGER.warning("Lock " + numberLocked + " " + fid + " (authID:" + authorization
+                            + ") duplicated FeatureID!");
+                }
+                locked = true;
+            }
+        }
+
+        if (locked) {
+            schedulePurge();
+            long now = System.currentTimeMillis();
+            LockedStores stores =
+                    storesByLock.computeIfAbsent(authorization, k -> new LockedStores(lock.getDuration(), now));
+            stores.storeIds.add(meta.getStore().getId());
+
+            // refresh lock times, so they all start the same instant and we are nearer to the spec when it says the
+            // expiry should start when the lock feature response has been totally written
+            try (Transaction t = new DefaultTransaction()) {
+                try {
+                    t.addAuthorization(authorization);
+                    DataStore dataStore = (DataStore) source.getDataStore();
+                    dataStore.getLockingManager().refresh(authorization, t);
+                } finally {
+                    t.commit();
+                }
+            }
+        }
+
+        return notLocked;
+    }
+
+    @Override
+    public void unlockFeatures(String lockId, QName typeName, Collection<String> fids) {
+        // the transaction element handlers unlock the features directly in the stores
+    }
+
+    @Override
+    public boolean hasLocks(QName typeName) {
+        // the stores enforce their locks
+        return false;
+    }
+
+    @Override
+    public Set<String> getLockedFeatures(QName typeName, Collection<String> fids, String lockId) {
+        // the stores enforce their locks
+        return Collections.emptySet();
+    }
+
+    @Override
+    public Status getStatus(String lockId) throws IOException {
+        boolean found = false;
+        for (StoreLocking locking : getLockingManagers(lockId)) {
+            found |= isInProcessLock(locking.lockingManager(), lockId);
+            if (locking.lockingManager().exists(lockId)) {
+                return Status.ACTIVE;
+            }
+        }
+        storesByLock.remove(lockId);
+        return found ? Status.EXPIRED : Status.UNKNOWN;
+    }
+
+    @Override
+    public Status refresh(String lockId) throws IOException {
+        boolean refreshed = false;
+        boolean found = false;
+        for (StoreLocking locking : getLockingManagers(lockId)) {
+            found |= isInProcessLock(locking.lockingManager(), lockId);
+            try (Transaction t = new DefaultTransaction("Refresh " + locking.store().getWorkspace().getName())) {
+                t.addAuthorization(lockId);
+                if (locking.lockingManager().refresh(lockId, t)) {
+                    refreshed = true;
+                }
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, e.getMessage(), e);
+            }
+        }
+
+        if (refreshed) {
+            LockedStores stores = storesByLock.get(lockId);
+            if (stores != null) {
+                stores.expiry = getExpiry(stores.duration, System.currentTimeMillis());
+            }
+            return Status.ACTIVE;
+        }
+        storesByLock.remove(lockId);
+        return found ? Status.EXPIRED : Status.UNKNOWN;
+    }
+
+    /**
+     * Checks if the lock is known to an in process locking manager, even if expired. Calling
+     * {@link LockingManager#exists(String)} clears an expired lock, so it cannot be used to tell expired and unknown
+     * locks apart.
+     */
+    private boolean isInProcessLock(LockingManager lockingManager, String lockId) {
+        if (lockingManager instanceof InProcessLockingManager ip) {
+            Set<InProcessLockingManager.Lock> locks = ip.allLocks();
+            return locks != null && locks.stream().anyMatch(l -> l.isMatch(lockId));
+        }
+        return false;
+    }
+
+    @Override
+    public void release(String lockId) throws IOException {
+        for (StoreLocking locking : getLockingManagers(lockId)) {
+            try (Transaction t = new DefaultTransaction("Refresh " + locking.store().getWorkspace().getName())) {
+                t.addAuthorization(lockId);
+                locking.lockingManager().release(lockId, t);
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, e.getMessage(), e);
+            }
+        }
+        storesByLock.remove(lockId);
+    }
+
+    @Override
+    public void releaseAll() throws IOException {
+        // the LockingManager API cannot list the locks, only the tracked ones can be released
+        for (String lockId : new ArrayList<>(storesByLock.keySet())) {
+            release(lockId);
+        }
+    }
+
+    @Override
+    protected void purgeExpired(long now) {
+        // the stores take care of their own locks, just stop tracking the expired ones
+        storesByLock.entrySet().removeIf(e -> e.getValue().expiry < now);
+    }
+
+    /** Returns the locking managers of the enabled stores that may hold the lock */
+    List<StoreLocking> getLockingManagers(String lockId) throws IOException {
+        LockedStores tracked = storesByLock.get(lockId);
+        Collection<DataStoreInfo> stores = tracked == null
+                ? catalog.getDataStores()
+                : tracked.storeIds.stream()
+                        .map(catalog::getDataStore)
+                        .filter(Objects::nonNull)
+                        .toList();
+
+        List<StoreLocking> result = new ArrayList<>();
+        for (DataStoreInfo store : stores) {
+            // TODO: support locking for DataAccess
+            if (!store.isEnabled()) {
+                continue;
+            }
+            DataAccess<?, ?> da = store.getDataStore(null);
+            if (da instanceof DataStore dataStore && dataStore.getLockingManager() != null) {
+                result.add(new StoreLocking(store, dataStore.getLockingManager()));
+            }
+        }
+        return result;
+    }
+}
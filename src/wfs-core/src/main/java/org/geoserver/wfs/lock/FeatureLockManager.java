@@ -0,0 +1,84 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wfs.lock;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Set;
+import javax.xml.namespace.QName;
+import org.geotools.api.data.FeatureLock;
+
+/**
+ * Keeps track of the feature locks acquired by LockFeature and GetFeatureWithLock, and checked by Transaction.
+ *
+ * <p>The manager in use is the Spring bean named by the {@code WFS_LOCK_MANAGER} system, environment or servlet context
+ * variable, see {@link FeatureLocks#getManager}. The default one, {@link DataStoreFeatureLockManager}, keeps the locks
+ * in the data stores, which also enforce them. Other managers keep the locks on their own, the transaction element
+ * handlers check the modified features against them using {@link #hasLocks(QName)} and
+ * {@link #getLockedFeatures(QName, Collection, String)}.
+ *
+ * <p>Managers are called on the request path, concurrently: they should avoid global synchronization, look up locks
+ * and features in constant time, and remove expired locks in the background.
+ *
+ * <p>Feature types are identified by their qualified name, features by their id.
+ */
+public interface FeatureLockManager {
+
+    /** The state of a lock */
+    enum Status {
+        /** The lock exists and has not expired */
+        ACTIVE,
+        /** The lock exists but has expired, its features are not locked anymore */
+        EXPIRED,
+        /** The lock is not known, it never existed, has been released, or expired long ago */
+        UNKNOWN
+    }
+
+    /**
+     * Locks the given features on behalf of the lock. Features already locked by the same lock stay locked.
+     *
+     * @param lock the lock, providing the authorization id and the duration in milliseconds, zero meaning no expiry
+     * @param typeName the feature type name
+     * @param fids the ids of the features to lock
+     * @return the ids of the features that could not be locked, because locked by another lock
+     */
+    Set<String> lockFeatures(FeatureLock lock, QName typeName, Collection<String> fids) throws IOException;
+
+    /** Releases the given features from the lock, the other features stay locked */
+    void unlockFeatures(String lockId, QName typeName, Collection<String> fids) throws IOException;
+
+    /**
+     * Returns true if the manager may hold locks on features of the given type, which then need to be checked with
+     * {@link #getLockedFeatures(QName, Collection, String)} before being modified. Called for every modification, it
+     * should be answered locally: managers keeping the locks in shared storage return true, so that only the modified
+     * features get looked up. Returns false if the locks are enforced by the data stores.
+     */
+    boolean hasLocks(QName typeName);
+
+    /**
+     * Returns the ids of the given features that are locked by a lock other than the given one
+     *
+     * @param typeName the feature type name
+     * @param fids the ids of the features to check
+     * @param lockId the lock used by the caller, or null if none
+     */
+    Set<String> getLockedFeatures(QName typeName, Collection<String> fids, String lockId) throws IOException;
+
+    /** Returns the status of the lock */
+    Status getStatus(String lockId) throws IOException;
+
+    /**
+     * Restarts the expiry countdown of the lock, if still active
+     *
+     * @return the status of the lock before the refresh, only active locks are refreshed
+     */
+    Status refresh(String lockId) throws IOException;
+
+    /** Releases the lock, and all the features it holds */
+    void release(String lockId) throws IOException;
+
+    /** Releases all the locks */
+    void releaseAll() throws IOException;
+}
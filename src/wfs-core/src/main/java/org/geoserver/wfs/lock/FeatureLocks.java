@@ -0,0 +1,86 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wfs.lock;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.logging.Logger;
+import javax.xml.namespace.QName;
+import org.geoserver.catalog.Catalog;
+import org.geoserver.platform.GeoServerExtensions;
+import org.geotools.api.data.FeatureLockException;
+import org.geotools.api.feature.Feature;
+import org.geotools.api.feature.type.FeatureType;
+import org.geotools.api.feature.type.Name;
+import org.geotools.feature.FeatureCollection;
+import org.geotools.feature.FeatureIterator;
+import org.geotools.util.logging.Logging;
+
+/** Utilities to look up the {@link FeatureLockManager} in use, and check features against it */
+public class FeatureLocks {
+
+    static final Logger LOGGER = Logging.getLogger(FeatureLocks.class);
+
+    /** The variable holding the name of the lock manager bean */
+    public static final String MANAGER_PROPERTY = "WFS_LOCK_MANAGER";
+
+    /** The name of the default lock manager bean */
+    public static final String DEFAULT_MANAGER = "dataStoreFeatureLockManager";
+
+    private FeatureLocks() {}
+
+    /**
+     * Returns the lock manager named by the {@code WFS_LOCK_MANAGER} system, environment or servlet context variable,
+     * or the {@link DataStoreFeatureLockManager} if not set, or not found
+     */
+    public static FeatureLockManager getManager(Catalog catalog) {
+        String name = GeoServerExtensions.getProperty(MANAGER_PROPERTY);
+        if (name != null && !DEFAULT_MANAGER.equals(name)) {
+            Object manager = GeoServerExtensions.bean(name);
+            if (manager instanceof FeatureLockManager lockManager) {
+                return lockManager;
+            }
+            LOGGER.warning("Could not find the " + name + " feature lock manager, using the data store one");
+        }
+        Object manager = GeoServerExtensions.bean(DEFAULT_MANAGER);
+        if (manager instanceof FeatureLockManager lockManager) {
+            return lockManager;
+        }
+        // not running in a application context, the locks are found by scanning the stores
+        return new DataStoreFeatureLockManager(catalog);
+    }
+
+    /** Returns the name used to identify the feature type in the lock managers */
+    public static QName getTypeName(FeatureType schema) {
+        Name name = schema.getName();
+        return new QName(name.getNamespaceURI(), name.getLocalPart());
+    }
+
+    /** Returns the ids of the features in the collection */
+    public static Set<String> getIds(FeatureCollection<? extends FeatureType, ? extends Feature> features) {
+        Set<String> ids = new LinkedHashSet<>();
+        try (FeatureIterator<? extends Feature> it = features.features()) {
+            while (it.hasNext()) {
+                ids.add(it.next().getIdentifier().getID());
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Checks the features are not locked by a lock other than the given one
+     *
+     * @throws FeatureLockException if any of the features is locked
+     */
+    public static void checkUnlocked(FeatureLockManager manager, QName typeName, Collection<String> fids, String lockId)
+            throws IOException {
+        Set<String> locked = manager.getLockedFeatures(typeName, fids, lockId);
+        if (!locked.isEmpty()) {
+            throw new FeatureLockException("Features are locked by another lock: " + locked);
+        }
+    }
+}
@@ -0,0 +1,368 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wfs.lock;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.naming.InitialContext;
+import javax.naming.NamingException;
+import javax.sql.DataSource;
+import javax.xml.namespace.QName;
+import org.geoserver.platform.GeoServerExtensions;
+import org.geotools.api.data.FeatureLock;
+
+/**
+ * A lock manager keeping the locks in a database, so that they survive restarts and are shared among the nodes of a
+ * cluster connected to the same database. The node clocks are expected to be synchronized, as lock expiry times are
+ * computed locally.
+ *
+ * <p>The database is looked up in JNDI, using the name in the {@code WFS_LOCK_JDBC_JNDI} system, environment or servlet
+ * context variable, {@code java:comp/env/jdbc/wfs-locks} by default, unless a data source is set directly. Two tables
+ * are created on first use if missing, {@code wfs_lock} with the lock ids and their expiry, and
+ * {@code wfs_lock_feature} with the locked features, whose primary key makes sure a feature is never held by two
+ * locks. Lookups use the primary keys, and the features are looked up in batches.
+ */
+public class JDBCFeatureLockManager extends AbstractFeatureLockManager {
+
+    public static final String JNDI_PROPERTY = "WFS_LOCK_JDBC_JNDI";
+
+    static final String DEFAULT_JNDI_NAME = "java:comp/env/jdbc/wfs-locks";
+
+    /** Max number of features looked up in a single statement */
+    static final int BATCH_SIZE = 100;
+
+    static final String[] CREATE_TABLES = {
+        "CREATE TABLE wfs_lock (lock_id VARCHAR(255) NOT NULL PRIMARY KEY, duration BIGINT NOT NULL, "
+                + "expiry BIGINT NOT NULL)",
+        "CREATE INDEX wfs_lock_expiry ON wfs_lock (expiry)",
+        "CREATE TABLE wfs_lock_feature (feature_key VARCHAR(1024) NOT NULL PRIMARY KEY, "
+                + "lock_id VARCHAR(255) NOT NULL)",
+        "CREATE INDEX wfs_lock_feature_lock ON wfs_lock_feature (lock_id)"
+    };
+
+    private volatile DataSource dataSource;
+
+    private volatile boolean initialized;
+
+    /** Sets the data source, in alternative to the JNDI lookup */
+    public void setDataSource(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /** Returns a connection, looking up the data source and creating the tables on first use */
+    Connection getConnection() throws IOException {
+        try {
+            if (dataSource == null) {
+                String name = GeoServerExtensions.getProperty(JNDI_PROPERTY);
+                dataSource = (DataSource) new InitialContext().lookup(name != null ? name : DEFAULT_JNDI_NAME);
+            }
+            Connection cx = dataSource.getConnection();
+            if (!initialized) {
+                initialize(cx);
+            }
+            return cx;
+        } catch (NamingException | SQLException e) {
+            throw new IOException("Could not connect to the WFS lock database", e);
+        }
+    }
+
+    private synchronized void initialize(Connection cx) throws SQLException {
+        if (initialized) {
+            return;
+        }
+        boolean exists;
+        try (Statement st = cx.createStatement();
+                ResultSet rs = st.executeQuery("SELECT COUNT(*) FROM wfs_lock WHERE 1 = 0")) {
+            exists = true;
+        } catch (SQLException e) {
+            exists = false;
+        }
+        if (!exists) {
+            LOGGER.info("Creating the WFS lock tables");
+            for (String sql : CREATE_TABLES) {
+                try (Statement st = cx.createStatement()) {
+                    st.execute(sql);
+                }
+            }
+        }
+        initialized = true;
+    }
+
+    @Override
+    public Set<String> lockFeatures(FeatureLock lock, QName typeName, Collection<String> fids) throws IOException {
+        String lockId = lock.getAuthorization();
+        schedulePurge();
+        try (Connection cx = getConnection()) {
+            long now = System.currentTimeMillis();
+            // the lock is registered before its features, in its own transaction, see purgeExpired
+            if (getExpiry(cx, lockId) == null) {
+                try (PreparedStatement ps =
+                        cx.prepareStatement("INSERT INTO wfs_lock (lock_id, duration, expiry) VALUES (?, ?, ?)")) {
+                    ps.setString(1, lockId);
+                    ps.setLong(2, lock.getDuration());
+                    ps.setLong(3, getExpiry(lock.getDuration(), now));
+                    ps.executeUpdate();
+                }
+            }
+
+            Set<String> notLocked = new LinkedHashSet<>();
+            for (Map<String, String> batch : getKeyBatches(typeName, fids)) {
+                try {
+                    lockBatch(cx, lockId, batch, now, notLocked);
+                } catch (SQLException e) {
+                    // another node locked some of the features in the meantime, the second attempt will see them
+                    LOGGER.fine("Retrying feature lock after " + e.getMessage());
+                    lockBatch(cx, lockId, batch, now, notLocked);
+                }
+            }
+            return notLocked;
+        } catch (SQLException e) {
+            throw new IOException("Failed to lock features", e);
+        }
+    }
+
+    /** Locks a batch of features in a single transaction, feature keys are mapped to feature ids */
+    private void lockBatch(Connection cx, String lockId, Map<String, String> batch, long now, Set<String> notLocked)
+            throws SQLException {
+        boolean autoCommit = cx.getAutoCommit();
+        cx.setAutoCommit(false);
+        try {
+            Map<String, Owner> owners = getOwners(cx, batch.keySet());
+            List<String> inserts = new ArrayList<>();
+            Set<String> batchNotLocked = new LinkedHashSet<>();
+            try (PreparedStatement update = cx.prepareStatement(
+                    "UPDATE wfs_lock_feature SET lock_id = ? WHERE feature_key = ? AND lock_id = ?")) {
+                for (Map.Entry<String, String> entry : batch.entrySet()) {
+                    Owner owner = owners.get(entry.getKey());
+                    if (owner == null) {
+                        inserts.add(entry.getKey());
+                    } else if (owner.isActive(now)) {
+                        if (!owner.lockId().equals(lockId)) {
+                            batchNotLocked.add(entry.getValue());
+                        }
+                    } else {
+                        // the owner expired or was released, take over if nobody else did in the meantime
+                        update.setString(1, lockId);
+                        update.setString(2, entry.getKey());
+                        update.setString(3, owner.lockId());
+                        if (update.executeUpdate() == 0) {
+                            batchNotLocked.add(entry.getValue());
+                        }
+                    }
+                }
+            }
+            if (!inserts.isEmpty()) {
+                try (PreparedStatement insert =
+                        cx.prepareStatement("INSERT INTO wfs_lock_feature (feature_key, lock_id) VALUES (?, ?)")) {
+                    for (String key : inserts) {
+                        insert.setString(1, key);
+                        insert.setString(2, lockId);
+                        insert.addBatch();
+                    }
+                    insert.executeBatch();
+                }
+            }
+            cx.commit();
+            notLocked.addAll(batchNotLocked);
+        } catch (SQLException e) {
+            cx.rollback();
+            throw e;
+        } finally {
+            cx.setAutoCommit(autoCommit);
+        }
+    }
+
+    /** The lock holding a feature, with its expiry, null if the lock is gone */
+    record Owner(String lockId, Long expiry) {
+        boolean isActive(long now) {
+            return expiry != null && expiry >= now;
+        }
+    }
+
+    /** Returns the owners of the given feature keys, if locked */
+    private Map<String, Owner> getOwners(Connection cx, Set<String> keys) throws SQLException {
+        String sql = "SELECT f.feature_key, f.lock_id, l.expiry FROM wfs_lock_feature f "
+                + "LEFT JOIN wfs_lock l ON f.lock_id = l.lock_id WHERE f.feature_key IN ("
+                + String.join(", ", Collections.nCopies(keys.size(), "?"))
+                + ")";
+        Map<String, Owner> owners = new HashMap<>();
+        try (PreparedStatement ps = cx.prepareStatement(sql)) {
+            int i = 1;
+            for (String key : keys) {
+                ps.setString(i++, key);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    long expiry = rs.getLong(3);
+                    owners.put(rs.getString(1), new Owner(rs.getString(2), rs.wasNull() ? null : expiry));
+                }
+            }
+        }
+        return owners;
+    }
+
+    /** Splits the features in batches, mapping the feature keys to the feature ids */
+    private List<Map<String, String>> getKeyBatches(QName typeName, Collection<String> fids) {
+        List<Map<String, String>> batches = new ArrayList<>();
+        Map<String, String> batch = new LinkedHashMap<>();
+        for (String fid : fids) {
+            batch.put(MapFeatureLockManager.getFeatureKey(typeName, fid), fid);
+            if (batch.size() == BATCH_SIZE) {
+                batches.add(batch);
+                batch = new LinkedHashMap<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+        return batches;
+    }
+
+    /** Returns the expiry of the lock, or null if not found */
+    private Long getExpiry(Connection cx, String lockId) throws SQLException {
+        try (PreparedStatement ps = cx.prepareStatement("SELECT expiry FROM wfs_lock WHERE lock_id = ?")) {
+            ps.setString(1, lockId);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : null;
+            }
+        }
+    }
+
+    @Override
+    public void unlockFeatures(String lockId, QName typeName, Collection<String> fids) throws IOException {
+        try (Connection cx = getConnection();
+                PreparedStatement ps =
+                        cx.prepareStatement("DELETE FROM wfs_lock_feature WHERE feature_key = ? AND lock_id = ?")) {
+            for (String fid : fids) {
+                ps.setString(1, MapFeatureLockManager.getFeatureKey(typeName, fid));
+                ps.setString(2, lockId);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        } catch (SQLException e) {
+            throw new IOException("Failed to unlock features", e);
+        }
+    }
+
+    @Override
+    public boolean hasLocks(QName typeName) {
+        // asking the database would cost a query per modification, the modified features are looked up instead
+        return true;
+    }
+
+    @Override
+    public Set<String> getLockedFeatures(QName typeName, Collection<String> fids, String lockId) throws IOException {
+        Set<String> locked = new LinkedHashSet<>();
+        try (Connection cx = getConnection()) {
+            long now = System.currentTimeMillis();
+            for (Map<String, String> batch : getKeyBatches(typeName, fids)) {
+                Map<String, Owner> owners = getOwners(cx, batch.keySet());
+                for (Map.Entry<String, String> entry : batch.entrySet()) {
+                    Owner owner = owners.get(entry.getKey());
+                    if (owner != null && owner.isActive(now) && !owner.lockId().equals(lockId)) {
+                        locked.add(entry.getValue());
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new IOException("Failed to check the feature locks", e);
+        }
+        return locked;
+    }
+
+    @Override
+    public Status getStatus(String lockId) throws IOException {
+        try (Connection cx = getConnection()) {
+            Long expiry = getExpiry(cx, lockId);
+            if (expiry == null) {
+                return Status.UNKNOWN;
+            }
+            return expiry >= System.currentTimeMillis() ? Status.ACTIVE : Status.EXPIRED;
+        } catch (SQLException e) {
+            throw new IOException("Failed to look up lock " + lockId, e);
+        }
+    }
+
+    @Override
+    public Status refresh(String lockId) throws IOException {
+        try (Connection cx = getConnection();
+                PreparedStatement ps = cx.prepareStatement("UPDATE wfs_lock SET expiry = ? + duration "
+                        + "WHERE lock_id = ? AND expiry >= ? AND duration > 0")) {
+            long now = System.currentTimeMillis();
+            ps.setLong(1, now);
+            ps.setString(2, lockId);
+            ps.setLong(3, now);
+            if (ps.executeUpdate() > 0) {
+                return Status.ACTIVE;
+            }
+            // not refreshed, either missing, expired, or never expiring
+            Long expiry = getExpiry(cx, lockId);
+            if (expiry == null) {
+                return Status.UNKNOWN;
+            }
+            return expiry >= now ? Status.ACTIVE : Status.EXPIRED;
+        } catch (SQLException e) {
+            throw new IOException("Failed to refresh lock " + lockId, e);
+        }
+    }
+
+    @Override
+    public void release(String lockId) throws IOException {
+        try (Connection cx = getConnection()) {
+            execute(cx, "DELETE FROM wfs_lock_feature WHERE lock_id = ?", lockId);
+            execute(cx, "DELETE FROM wfs_lock WHERE lock_id = ?", lockId);
+        } catch (SQLException e) {
+            throw new IOException("Failed to release lock " + lockId, e);
+        }
+    }
+
+    private static void execute(Connection cx, String sql, Object... params) throws SQLException {
+        try (PreparedStatement ps = cx.prepareStatement(sql)) {
+            for (int i = 0; i < params.length; i++) {
+                ps.setObject(i + 1, params[i]);
+            }
+            ps.executeUpdate();
+        }
+    }
+
+    @Override
+    public void releaseAll() throws IOException {
+        try (Connection cx = getConnection()) {
+            execute(cx, "DELETE FROM wfs_lock_feature");
+            execute(cx, "DELETE FROM wfs_lock");
+        } catch (SQLException e) {
+            throw new IOException("Failed to release the locks", e);
+        }
+    }
+
+    @Override
+    protected void purgeExpired(long now) throws IOException {
+        try (Connection cx = getConnection()) {
+            // features first, a lock is registered before its features
+            execute(
+                    cx,
+                    "DELETE FROM wfs_lock_feature WHERE lock_id IN (SELECT lock_id FROM wfs_lock WHERE expiry < ?)",
+                    now);
+            execute(cx, "DELETE FROM wfs_lock WHERE expiry < ?", now);
+            // features of locks released while being acquired
+            execute(cx, "DELETE FROM wfs_lock_feature WHERE lock_id NOT IN (SELECT lock_id FROM wfs_lock)");
+        } catch (SQLException e) {
+            throw new IOException("Failed to remove the expired locks", e);
+        }
+    }
+}
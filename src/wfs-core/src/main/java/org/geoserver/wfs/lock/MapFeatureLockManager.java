@@ -0,0 +1,208 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wfs.lock;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.xml.namespace.QName;
+import org.geotools.api.data.FeatureLock;
+
+/**
+ * A lock manager keeping the locks in two concurrent maps, one from the lock ids to their expiry, and one from the
+ * locked features to their lock id. Lookups take constant time, and features are acquired with the atomic operations
+ * of {@link ConcurrentMap}, without any global lock. Releasing a lock only removes it from the first map: its features
+ * are available right away, and are removed from the second map in the background.
+ *
+ * <p>As is, the locks are kept in memory, and enforced for all stores, including the ones not supporting locks.
+ * Subclasses can return distributed maps from {@link #getLocks()} and {@link #getFeatures()} to share the locks among
+ * cluster nodes.
+ */
+public class MapFeatureLockManager extends AbstractFeatureLockManager {
+
+    /** A lock, immutable and serializable so that it can be stored in distributed maps */
+    public record LockEntry(long duration, long expiry) implements Serializable {
+
+        boolean isActive(long now) {
+            return expiry >= now;
+        }
+
+        LockEntry refresh(long now) {
+            return new LockEntry(duration, getExpiry(duration, now));
+        }
+    }
+
+    private final ConcurrentMap<String, LockEntry> locks = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, String> features = new ConcurrentHashMap<>();
+
+    /** The locks, by id */
+    protected ConcurrentMap<String, LockEntry> getLocks() {
+        return locks;
+    }
+
+    /** The lock ids, by feature key, see {@link #getFeatureKey(QName, String)} */
+    protected ConcurrentMap<String, String> getFeatures() {
+        return features;
+    }
+
+    /** Returns the lock ids of the given feature keys, if locked. Subclasses can look them up in bulk */
+    protected Map<String, String> getOwners(Set<String> keys) {
+        ConcurrentMap<String, String> features = getFeatures();
+        Map<String, String> owners = new HashMap<>();
+        for (String key : keys) {
+            String owner = features.get(key);
+            if (owner != null) {
+                owners.put(key, owner);
+            }
+        }
+        return owners;
+    }
+
+    /** Returns the key of a feature in {@link #getFeatures()} */
+    protected static String getFeatureKey(QName typeName, String fid) {
+        return typeName + "#" + fid;
+    }
+
+    @Override
+    public Set<String> lockFeatures(FeatureLock lock, QName typeName, Collection<String> fids) {
+        String lockId = lock.getAuthorization();
+        long now = System.currentTimeMillis();
+        // the lock is registered before its features, see purgeExpired
+        getLocks().putIfAbsent(lockId, new LockEntry(lock.getDuration(), getExpiry(lock.getDuration(), now)));
+        schedulePurge();
+
+        ConcurrentMap<String, String> features = getFeatures();
+        Set<String> notLocked = new LinkedHashSet<>();
+        for (String fid : fids) {
+            String key = getFeatureKey(typeName, fid);
+            String owner = features.putIfAbsent(key, lockId);
+            while (owner != null && !owner.equals(lockId)) {
+                if (isActive(owner, now)) {
+                    notLocked.add(fid);
+                    break;
+                }
+                // the owner expired or was released, take over
+                if (features.replace(key, owner, lockId)) {
+                    break;
+                }
+                owner = features.putIfAbsent(key, lockId);
+            }
+        }
+        if (!getLocks().containsKey(lockId)) {
+            // released or purged while locking, do not leave its features behind
+            unlockFeatures(lockId, typeName, fids);
+        }
+        return notLocked;
+    }
+
+    private boolean isActive(String lockId, long now) {
+        LockEntry entry = getLocks().get(lockId);
+        return entry != null && entry.isActive(now);
+    }
+
+    @Override
+    public void unlockFeatures(String lockId, QName typeName, Collection<String> fids) {
+        ConcurrentMap<String, String> features = getFeatures();
+        for (String fid : fids) {
+            features.remove(getFeatureKey(typeName, fid), lockId);
+        }
+    }
+
+    @Override
+    public boolean hasLocks(QName typeName) {
+        // features whose lock is gone are not locked
+        return !getLocks().isEmpty();
+    }
+
+    @Override
+    public Set<String> getLockedFeatures(QName typeName, Collection<String> fids, String lockId) {
+        if (!hasLocks(typeName)) {
+            return Collections.emptySet();
+        }
+        Map<String, String> keys = new LinkedHashMap<>();
+        for (String fid : fids) {
+            keys.put(getFeatureKey(typeName, fid), fid);
+        }
+        Map<String, String> owners = getOwners(keys.keySet());
+
+        long now = System.currentTimeMillis();
+        Map<String, Boolean> active = new HashMap<>();
+        Set<String> locked = new LinkedHashSet<>();
+        for (Map.Entry<String, String> entry : keys.entrySet()) {
+            String owner = owners.get(entry.getKey());
+            if (owner != null && !owner.equals(lockId) && active.computeIfAbsent(owner, id -> isActive(id, now))) {
+                locked.add(entry.getValue());
+            }
+        }
+        return locked;
+    }
+
+    @Override
+    public Status getStatus(String lockId) {
+        LockEntry entry = getLocks().get(lockId);
+        if (entry == null) {
+            return Status.UNKNOWN;
+        }
+        return entry.isActive(System.currentTimeMillis()) ? Status.ACTIVE : Status.EXPIRED;
+    }
+
+    @Override
+    public Status refresh(String lockId) {
+        ConcurrentMap<String, LockEntry> locks = getLocks();
+        while (true) {
+            long now = System.currentTimeMillis();
+            LockEntry entry = locks.get(lockId);
+            if (entry == null) {
+                return Status.UNKNOWN;
+            } else if (!entry.isActive(now)) {
+                return Status.EXPIRED;
+            } else if (locks.replace(lockId, entry, entry.refresh(now))) {
+                return Status.ACTIVE;
+            }
+        }
+    }
+
+    @Override
+    public void release(String lockId) {
+        // the features are removed in the background
+        getLocks().remove(lockId);
+    }
+
+    @Override
+    public void releaseAll() {
+        getLocks().clear();
+        getFeatures().clear();
+    }
+
+    @Override
+    protected void purgeExpired(long now) {
+        ConcurrentMap<String, LockEntry> locks = getLocks();
+        for (Map.Entry<String, LockEntry> entry : new HashMap<>(locks).entrySet()) {
+            if (!entry.getValue().isActive(now)) {
+                locks.remove(entry.getKey(), entry.getValue());
+            }
+        }
+
+        // the features are copied before the lock ids: since a lock is registered before its features, the
+        // features copied belong to locks registered before the copy, if not found they have been removed
+        ConcurrentMap<String, String> features = getFeatures();
+        Map<String, String> owners = new HashMap<>(features);
+        Set<String> lockIds = new HashSet<>(locks.keySet());
+        for (Map.Entry<String, String> entry : owners.entrySet()) {
+            if (!lockIds.contains(entry.getValue())) {
+                features.remove(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+}
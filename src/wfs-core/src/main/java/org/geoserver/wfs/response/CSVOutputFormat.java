@@ -11,6 +11,8 @@
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.security.InvalidParameterException;
 import java.text.NumberFormat;
 import java.util.Arrays;
@@ -27,6 +29,7 @@
 import org.eclipse.xsd.XSDElementDeclaration;
 import org.geoserver.catalog.NamespaceInfo;
 import org.geoserver.config.GeoServer;
+import org.geoserver.data.PartitionedFeatureCollection;
 import org.geoserver.data.util.TemporalUtils;
 import org.geoserver.feature.FlatteningFeatureCollection;
 import org.geoserver.platform.Operation;
@@ -55,7 +58,7 @@
  * @author Sebastian Benthall, OpenGeo, seb@opengeo.org
  * @author Andrea Aime, OpenGeo
  */
-public class CSVOutputFormat extends WFSGetFeatureOutputFormat {
+public class CSVOutputFormat extends WFSGetFeatureOutputFormat implements PartitionAwareFormat {
 
     static Pattern CSV_ESCAPES;
 
@@ -102,6 +105,8 @@ protected void write(FeatureCollectionResponse featureCollection, OutputStream o
 
         // get the feature collection
         FeatureCollection<?, ?> fc = featureCollection.getFeature().get(0);
+        // partitioned collections are never joins, nothing to flatten
+        PartitionedFeatureCollection partitioned = fc instanceof PartitionedFeatureCollection pfc ? pfc : null;
 
         if (fc.getSchema() instanceof SimpleFeatureType) {
             // Flatten the collection if necessary (the request was a WFS 2.0 joining GetFeature
@@ -146,6 +151,25 @@ protected void write(FeatureCollectionResponse featureCollection, OutputStream o
         // by RFC each line is terminated by CRLF
         w.write("\r\n");
 
+        if (partitioned != null) {
+            // encode the partitions in parallel, a chunk of rows at a time, each with its own (not thread safe)
+            // formatters
+            partitioned.encode(
+                    chunk -> {
+                        StringWriter rows = new StringWriter();
+                        writeFeatures(chunk, rows, csvSeparator);
+                        return rows.getBuffer();
+                    },
+                    w::append);
+        } else {
+            writeFeatures(fc, w, csvSeparator);
+        }
+
+        w.flush();
+    }
+
+    /** Writes the features rows */
+    private void writeFeatures(FeatureCollection<?, ?> fc, Writer w, String csvSeparator) throws IOException {
         // prepare the formatter for numbers
         NumberFormat coordFormatter = NumberFormat.getInstance(Locale.US);
         coordFormatter.setMaximumFractionDigits(
@@ -220,8 +244,6 @@ protected void write(FeatureCollectionResponse featureCollection, OutputStream o
                 w.write("\r\n");
             }
         }
-
-        w.flush();
     }
 
     @SuppressWarnings("unchecked")
@@ -0,0 +1,12 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wfs.response;
+
+/**
+ * Marks output format implementations able to encode the partitions of a
+ * {@link org.geoserver.data.PartitionedFeatureCollection} in parallel. GetFeature splits the results in partitions only
+ * for the output formats implementing it, as computing the partitions costs extra queries.
+ */
+public interface PartitionAwareFormat {}
@@ -14,13 +14,11 @@
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.FilenameFilter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
@@ -34,9 +32,11 @@
 import java.util.Properties;
 import java.util.SimpleTimeZone;
 import java.util.logging.Logger;
+import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 import javax.xml.namespace.QName;
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.output.CloseShieldOutputStream;
 import org.geoserver.catalog.Catalog;
 import org.geoserver.catalog.CatalogBuilder;
 import org.geoserver.catalog.FeatureTypeInfo;
@@ -97,6 +97,7 @@ public class ShapeZipOutputFormat extends WFSGetFeatureOutputFormat implements A
     private GeoServerResourceLoader resourceLoader;
     private long maxShpSize = Long.getLong("GS_SHP_MAX_SIZE", Integer.MAX_VALUE);
     private long maxDbfSize = Long.getLong("GS_DBF_MAX_SIZE", Integer.MAX_VALUE);
+    private boolean streaming = Boolean.getBoolean("GS_SHP_STREAMING");
 
     public ShapeZipOutputFormat(GeoServer gs, Catalog catalog, GeoServerResourceLoader resourceLoader) {
         super(gs, "SHAPE-ZIP");
@@ -182,8 +183,73 @@ public void write(
             OutputStream output,
             final GetFeatureRequest request)
             throws IOException, ServiceException {
+        ZipOutputStream zipOut = new ZipOutputStream(output);
+
+        // in streaming mode, write what we can straight to the zip, and dump the rest
+        List<SimpleFeatureCollection> dumped = collections;
+        boolean shapefileCreated = false;
+        if (streaming) {
+            dumped = new ArrayList<>();
+            StreamingShapefileWriter writer = new StreamingShapefileWriter(zipOut, charset, maxShpSize, maxDbfSize);
+            for (SimpleFeatureCollection collection : collections) {
+                if (stream(writer, collection, request)) {
+                    shapefileCreated = true;
+                } else {
+                    dumped.add(collection);
+                }
+            }
+        }
+
         // We might get multiple feature collections in our response (multiple queries?) so we need
         // to write out multiple shapefile sets, one for each query response.
+        if (!dumped.isEmpty() || !shapefileCreated) {
+            shapefileCreated |= dump(dumped, charset, zipOut, request);
+        }
+
+        // take care of the case the output is completely empty
+        if (!shapefileCreated) {
+            createEmptyZipWarning(zipOut);
+        }
+
+        // dump the request
+        if (this.gs.getService(WFSInfo.class).getIncludeWFSRequestDumpFile()) {
+            createRequestDump(zipOut, request, collections.get(0));
+        }
+        zipOut.finish();
+
+        // This is an error, because this closes the output stream too... it's
+        // not the right place to do so
+        // zipOut.close();
+    }
+
+    /** Writes the collection straight to the zip, if possible, returns false otherwise */
+    private boolean stream(
+            StreamingShapefileWriter writer, SimpleFeatureCollection collection, GetFeatureRequest request)
+            throws IOException {
+        SimpleFeatureType schema = collection.getSchema();
+        if (StreamingShapefileWriter.getShapeType(schema) == null) {
+            return false;
+        }
+        FeatureTypeInfo ftInfo = getFeatureTypeInfo(schema);
+        String shapeName = new FileNameSource(getClass()).getShapeName(ftInfo, null, null);
+        String prj = null;
+        try {
+            if (isESRIFormat(request)) {
+                prj = getESRIWKT(schema);
+            }
+        } catch (FactoryException e) {
+            throw new IOException("Failed to write out the ESRI style prj file", e);
+        }
+        return writer.write(collection, shapeName, prj);
+    }
+
+    /** Dumps the collections in a temporary directory, and zips the result */
+    private boolean dump(
+            List<SimpleFeatureCollection> collections,
+            Charset charset,
+            ZipOutputStream zipOut,
+            final GetFeatureRequest request)
+            throws IOException {
         final File tempDir = IOUtils.createTempDirectory("shpziptemp");
         ShapefileDumper dumper = new ShapefileDumper(tempDir) {
 
@@ -217,15 +283,6 @@ protected void shapefileDumped(String fileName, SimpleFeatureType remappedSchema
                 shapefileCreated |= dumper.dump(collection);
             }
 
-            // take care of the case the output is completely empty
-            if (!shapefileCreated) {
-                createEmptyZipWarning(tempDir);
-            }
-
-            // dump the request
-            if (this.gs.getService(WFSInfo.class).getIncludeWFSRequestDumpFile()) {
-                createRequestDump(tempDir, request, collections.get(0));
-            }
             // zip all the files produced
             final FilenameFilter filter = (dir, name) -> {
                 name = name.toLowerCase();
@@ -233,16 +290,10 @@ protected void shapefileDumped(String fileName, SimpleFeatureType remappedSchema
                         || name.endsWith(".shx")
                         || name.endsWith(".dbf")
                         || name.endsWith(".prj")
-                        || name.endsWith(".cst")
-                        || name.endsWith(".txt");
+                        || name.endsWith(".cst");
             };
-            ZipOutputStream zipOut = new ZipOutputStream(output);
             IOUtils.zipDirectory(tempDir, zipOut, filter);
-            zipOut.finish();
-
-            // This is an error, because this closes the output stream too... it's
-            // not the right place to do so
-            // zipOut.close();
+            return shapefileCreated;
         } finally {
             // make sure we remove the temp directory and its contents completely now
             try {
@@ -255,17 +306,18 @@ protected void shapefileDumped(String fileName, SimpleFeatureType remappedSchema
     }
 
     /** Dumps the request */
-    private void createRequestDump(File tempDir, GetFeatureRequest gft, SimpleFeatureCollection fc) {
+    private void createRequestDump(ZipOutputStream zipOut, GetFeatureRequest gft, SimpleFeatureCollection fc)
+            throws IOException {
         final Request request = Dispatcher.REQUEST.get();
         if (request == null || gft == null) {
             // we're probably running in a unit test
             return;
         }
 
-        // build the target file
+        // build the target entry
         FeatureTypeInfo ftInfo = getFeatureTypeInfo(fc.getSchema());
         String fileName = new FileNameSource(getClass()).getRequestDumpName(ftInfo) + ".txt";
-        File target = new File(tempDir, fileName);
+        zipOut.putNextEntry(new ZipEntry(fileName));
 
         try {
             if (request.isGet()) {
@@ -277,7 +329,7 @@ private void createRequestDump(File tempDir, GetFeatureRequest gft, SimpleFeatur
                 StringBuilder url = new StringBuilder();
                 String parameters = httpRequest.getQueryString();
                 url.append(mangledUrl).append("?").append(parameters);
-                FileUtils.writeStringToFile(target, url.toString(), "UTF-8");
+                zipOut.write(url.toString().getBytes(StandardCharsets.UTF_8));
             } else {
                 org.geotools.xsd.Configuration cfg = null;
                 QName elementName = null;
@@ -288,23 +340,23 @@ private void createRequestDump(File tempDir, GetFeatureRequest gft, SimpleFeatur
                     cfg = new WFSConfiguration_1_0();
                     elementName = org.geotools.wfs.v1_0.WFS.GetFeature;
                 }
-                try (FileOutputStream fos = new FileOutputStream(target)) {
-                    Encoder encoder = new Encoder(cfg);
-                    encoder.setIndenting(true);
-                    encoder.setIndentSize(2);
-                    encoder.encode(gft, elementName, fos);
-                }
+                Encoder encoder = new Encoder(cfg);
+                encoder.setIndenting(true);
+                encoder.setIndentSize(2);
+                encoder.encode(gft, elementName, CloseShieldOutputStream.wrap(zipOut));
             }
         } catch (IOException e) {
             throw new WFSException(gft, "Failed to dump the WFS request");
         }
+        zipOut.closeEntry();
     }
 
-    private void createEmptyZipWarning(File tempDir) throws IOException {
-        try (PrintWriter pw = new PrintWriter(new File(tempDir, "README.TXT"))) {
-            pw.print("The query result is empty, and the geometric type of the features is unknown:"
-                    + "an empty point shapefile has been created to fill the zip file");
-        }
+    private void createEmptyZipWarning(ZipOutputStream zipOut) throws IOException {
+        zipOut.putNextEntry(new ZipEntry("README.TXT"));
+        zipOut.write(("The query result is empty, and the geometric type of the features is unknown:"
+                        + "an empty point shapefile has been created to fill the zip file")
+                .getBytes(Charset.defaultCharset()));
+        zipOut.closeEntry();
     }
 
     /**
@@ -334,12 +386,16 @@ private FeatureTypeInfo getFeatureTypeInfo(SimpleFeatureType schema) {
     private void changeWKTFormatIfFileFormatIsESRI(
             File tempDir, GetFeatureRequest request, String fileName, SimpleFeatureType remappedSchema)
             throws FactoryException, IOException, FileNotFoundException {
+        if (isESRIFormat(request)) {
+            replaceOGCPrjFileByESRIPrjFile(tempDir, fileName, remappedSchema);
+        }
+    }
 
-        boolean useEsriFormat = false;
-
+    /** Returns true if the .prj files should use the ESRI WKT format, see {@link #changeWKTFormatIfFileFormatIsESRI} */
+    private boolean isESRIFormat(GetFeatureRequest request) {
         // if the request originates from the WPS we won't actually have any GetFeatureType request
         if (request == null) {
-            return;
+            return false;
         }
 
         Map<String, ?> formatOptions = request.getFormatOptions();
@@ -348,25 +404,34 @@ private void changeWKTFormatIfFileFormatIsESRI(
             WFSInfo bean = gs.getService(WFSInfo.class);
             MetadataMap metadata = bean.getMetadata();
             Boolean defaultIsEsri = metadata.get(SHAPE_ZIP_DEFAULT_PRJ_IS_ESRI, Boolean.class);
-            useEsriFormat = defaultIsEsri != null && defaultIsEsri.booleanValue();
+            return defaultIsEsri != null && defaultIsEsri.booleanValue();
         } else {
-            useEsriFormat = "ESRI".equalsIgnoreCase(requestedPrjFileFormat);
-        }
-
-        if (useEsriFormat) {
-            replaceOGCPrjFileByESRIPrjFile(tempDir, fileName, remappedSchema);
+            return "ESRI".equalsIgnoreCase(requestedPrjFileFormat);
         }
     }
 
     private void replaceOGCPrjFileByESRIPrjFile(File tempDir, String fileName, SimpleFeatureType remappedSchema)
             throws FactoryException, IOException, FileNotFoundException {
+        String data = getESRIWKT(remappedSchema);
+        if (data != null) {
+            File prjShapeFile = new File(tempDir, fileName + ".prj");
+            prjShapeFile.delete();
+
+            try (BufferedWriter out = new BufferedWriter(new FileWriter(prjShapeFile))) {
+                out.write(data);
+            }
+        }
+    }
+
+    /** Looks up the ESRI WKT of the schema CRS in user_projections/esri.properties, returns null if not found */
+    private String getESRIWKT(SimpleFeatureType remappedSchema) throws FactoryException, IOException {
         // The ESRI replacement property file is keyed by code only, so it's ok to simply
         // lookup the code for the remapped schema, if not found the WKT1 will be just dumped as is
         final Integer epsgCode =
                 CRS.lookupEpsgCode(remappedSchema.getGeometryDescriptor().getCoordinateReferenceSystem(), true);
         if (epsgCode == null) {
             LOGGER.info("Can't find the EPSG code for the shapefile CRS");
-            return;
+            return null;
         }
         Resource file = resourceLoader.get("user_projections/esri.properties");
 
@@ -378,21 +443,16 @@ private void replaceOGCPrjFileByESRIPrjFile(File tempDir, String fileName, Simpl
 
             String data = (String) properties.get(epsgCode.toString());
 
-            if (data != null) {
-                File prjShapeFile = new File(tempDir, fileName + ".prj");
-                prjShapeFile.delete();
-
-                try (BufferedWriter out = new BufferedWriter(new FileWriter(prjShapeFile))) {
-                    out.write(data);
-                }
-            } else {
+            if (data == null) {
                 LOGGER.info("Requested shapefile with ESRI WKT .prj format but couldn't find an entry for ESPG code "
                         + epsgCode
                         + " in esri.properties");
             }
+            return data;
         } else {
             LOGGER.info(
                     "Requested shapefile with ESRI WKT .prj format but the esri.properties file does not exist in the user_projections directory");
+            return null;
         }
     }
 
@@ -439,6 +499,19 @@ public void setMaxDbfSize(long maxDbfSize) {
         this.maxDbfSize = maxDbfSize;
     }
 
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    /**
+     * Enables writing the shapefiles straight into the zip output, without a temporary directory, at the cost of
+     * reading the features three times: to plan the shapefiles, then to write their attributes and their geometries.
+     * Off by default, can also be enabled with the GS_SHP_STREAMING system property.
+     */
+    public void setStreaming(boolean streaming) {
+        this.streaming = streaming;
+    }
+
     class FileNameSource {
 
         private Class<?> clazz;
@@ -0,0 +1,506 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wfs.response;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.apache.commons.io.output.CloseShieldOutputStream;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.feature.type.AttributeDescriptor;
+import org.geotools.api.feature.type.GeometryDescriptor;
+import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
+import org.geotools.data.shapefile.dbf.DbaseFileHeader;
+import org.geotools.data.shapefile.dbf.DbaseFileWriter;
+import org.geotools.data.shapefile.shp.ShapeHandler;
+import org.geotools.data.shapefile.shp.ShapeType;
+import org.geotools.data.simple.SimpleFeatureCollection;
+import org.geotools.data.simple.SimpleFeatureIterator;
+import org.geotools.feature.FeatureTypes;
+import org.geotools.referencing.wkt.Formattable;
+import org.geotools.util.factory.Hints;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.MultiLineString;
+import org.locationtech.jts.geom.MultiPoint;
+import org.locationtech.jts.geom.MultiPolygon;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.Polygon;
+
+/**
+ * Writes feature collections as shapefiles straight into a zip stream, without going through a temporary directory.
+ *
+ * <p>The .dbf header needs the number of records, and the .shp one the bounds and the file length, which also decide
+ * where the features roll over to a new shapefile past the max .shp or .dbf size, named after the first one with a
+ * counter like the {@code ShapefileDumper} does. So the geometries are read a first time to plan the shapefiles,
+ * without writing anything, keeping only the small .shx records, in memory up to {@link #SPOOL_THRESHOLD} bytes and in
+ * a temporary file past it. Then the .shx entries are written, the features are read again to stream the .dbf records
+ * straight into the zip, and once more for the .shp records, followed by the .prj and .cst entries.
+ *
+ * <p>Only the collections with a single geometry attribute of a specific 2D type, and attributes of types a .dbf can
+ * hold, are written: {@link #write} returns false for the others, which are left to the {@code ShapefileDumper}.
+ */
+class StreamingShapefileWriter {
+
+    /** Max size of the .shx records kept in memory, before spooling them to a temporary file */
+    static final int SPOOL_THRESHOLD = Integer.getInteger("GS_SHP_STREAMING_BUFFER", 1024 * 1024);
+
+    private static final int HEADER_LENGTH = 100;
+
+    private static final int MAX_NAME_LENGTH = 10;
+
+    private final ZipOutputStream zip;
+
+    private final Charset charset;
+
+    private final long maxShpSize;
+
+    private final long maxDbfSize;
+
+    StreamingShapefileWriter(ZipOutputStream zip, Charset charset, long maxShpSize, long maxDbfSize) {
+        this.zip = zip;
+        this.charset = charset;
+        this.maxShpSize = maxShpSize;
+        this.maxDbfSize = maxDbfSize;
+    }
+
+    /** Returns the shape type the schema maps to, or null if the schema cannot be streamed */
+    static ShapeType getShapeType(SimpleFeatureType schema) {
+        GeometryDescriptor geometry = schema.getGeometryDescriptor();
+        if (geometry == null) {
+            return null;
+        }
+        for (AttributeDescriptor ad : schema.getAttributeDescriptors()) {
+            if (ad instanceof GeometryDescriptor && ad != geometry) {
+                // multiple geometries, the dumper writes a shapefile for each
+                return null;
+            }
+        }
+        Object dimension = geometry.getUserData().get(Hints.COORDINATE_DIMENSION);
+        if (dimension instanceof Integer d && d > 2) {
+            return null;
+        }
+        Class<?> binding = geometry.getType().getBinding();
+        if (Point.class.equals(binding)) {
+            return ShapeType.POINT;
+        } else if (MultiPoint.class.equals(binding)) {
+            return ShapeType.MULTIPOINT;
+        } else if (LineString.class.equals(binding) || MultiLineString.class.equals(binding)) {
+            return ShapeType.ARC;
+        } else if (Polygon.class.equals(binding) || MultiPolygon.class.equals(binding)) {
+            return ShapeType.POLYGON;
+        }
+        // generic geometries, the dumper splits them by type
+        return null;
+    }
+
+    /**
+     * Writes the collection as a shapefile named {@code shapeName}, or as several ones past the max sizes, returns
+     * false if it cannot be streamed, in which case nothing has been written.
+     *
+     * @param prj the contents of the .prj file, or null to use the WKT of the schema coordinate reference system
+     */
+    boolean write(SimpleFeatureCollection collection, String shapeName, String prj) throws IOException {
+        SimpleFeatureType schema = collection.getSchema();
+        ShapeType type = getShapeType(schema);
+        if (type == null) {
+            return false;
+        }
+        List<Column> columns = getColumns(schema);
+        if (columns == null) {
+            return false;
+        }
+        DbaseFileHeader header = new DbaseFileHeader();
+        for (Column column : columns) {
+            header.addColumn(column.name, column.type, column.length, column.decimals);
+        }
+        CoordinateReferenceSystem crs = schema.getCoordinateReferenceSystem();
+        if (prj == null && crs != null) {
+            prj = toSingleLineWKT(crs);
+        }
+
+        int geometryIndex = schema.indexOf(schema.getGeometryDescriptor().getLocalName());
+        List<Part> parts = new ArrayList<>();
+        try {
+            plan(collection, shapeName, type, header, geometryIndex, parts);
+            for (Part part : parts) {
+                part.writeIndex(type);
+            }
+            writeAttributes(collection, columns, header, parts);
+            writeShapes(collection, type, geometryIndex, parts);
+            for (Part part : parts) {
+                if (prj != null) {
+                    writeEntry(part.name + ".prj", prj.getBytes(StandardCharsets.ISO_8859_1));
+                }
+                writeEntry(part.name + ".cst", charset.name().getBytes(StandardCharsets.ISO_8859_1));
+            }
+        } finally {
+            for (Part part : parts) {
+                part.close();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads the geometries to split the collection in shapefiles within the max sizes, computing their lengths, bounds
+     * and index records, without writing anything in the zip yet
+     */
+    private void plan(
+            SimpleFeatureCollection collection,
+            String shapeName,
+            ShapeType type,
+            DbaseFileHeader header,
+            int geometryIndex,
+            List<Part> parts)
+            throws IOException {
+        GeometryFactory factory = new GeometryFactory();
+        ShapeHandler handler = type.getShapeHandler(factory);
+        Part part = new Part(shapeName);
+        parts.add(part);
+        try (SimpleFeatureIterator it = collection.features()) {
+            while (it.hasNext()) {
+                Geometry geometry = toShapeGeometry(it.next().getAttribute(geometryIndex), type, factory);
+                int length = geometry == null ? 4 : handler.getLength(geometry);
+
+                // roll over to a new shapefile before going past the max sizes
+                if (part.count > 0
+                        && (part.shpLength + length + 8 > maxShpSize
+                                || getDbfLength(header, part.count + 1) > maxDbfSize)) {
+                    part = new Part(shapeName + parts.size());
+                    parts.add(part);
+                }
+                part.addShape(length, geometry);
+            }
+        }
+    }
+
+    /** Writes the .dbf of each shapefile, reading the features again */
+    private void writeAttributes(
+            SimpleFeatureCollection collection, List<Column> columns, DbaseFileHeader header, List<Part> parts)
+            throws IOException {
+        Object[] values = new Object[columns.size()];
+        try (SimpleFeatureIterator it = collection.features()) {
+            for (Part part : parts) {
+                header.setNumRecords(part.count);
+                zip.putNextEntry(new ZipEntry(part.name + ".dbf"));
+                DbaseFileWriter dbf =
+                        new DbaseFileWriter(header, Channels.newChannel(CloseShieldOutputStream.wrap(zip)), charset);
+                for (int i = 0; i < part.count; i++) {
+                    SimpleFeature feature = next(it, part);
+                    for (int j = 0; j < values.length; j++) {
+                        values[j] = columns.get(j).value(feature);
+                    }
+                    dbf.write(values);
+                }
+                dbf.close();
+                zip.closeEntry();
+            }
+            if (it.hasNext()) {
+                throw new IOException("The features changed while writing " + parts.get(0).name);
+            }
+        }
+    }
+
+    /** Writes the .shp of each shapefile, reading the features once more */
+    private void writeShapes(SimpleFeatureCollection collection, ShapeType type, int geometryIndex, List<Part> parts)
+            throws IOException {
+        GeometryFactory factory = new GeometryFactory();
+        ShapeHandler handler = type.getShapeHandler(factory);
+        ByteBuffer record = ByteBuffer.allocate(1024);
+        try (SimpleFeatureIterator it = collection.features()) {
+            for (Part part : parts) {
+                zip.putNextEntry(new ZipEntry(part.name + ".shp"));
+                writeHeader(zip, type, part.shpLength, part.bounds);
+                long length = HEADER_LENGTH;
+                for (int i = 1; i <= part.count; i++) {
+                    Geometry geometry = toShapeGeometry(next(it, part).getAttribute(geometryIndex), type, factory);
+                    int contentLength = geometry == null ? 4 : handler.getLength(geometry);
+                    if (record.capacity() < contentLength + 8) {
+                        record = ByteBuffer.allocate(Math.max(contentLength + 8, record.capacity() * 2));
+                    }
+                    record.clear();
+                    record.order(ByteOrder.BIG_ENDIAN);
+                    record.putInt(i);
+                    record.putInt(contentLength / 2);
+                    record.order(ByteOrder.LITTLE_ENDIAN);
+                    if (geometry == null) {
+                        record.putInt(ShapeType.NULL.id);
+                    } else {
+                        record.putInt(type.id);
+                        handler.write(record, geometry);
+                    }
+                    zip.write(record.array(), 0, record.position());
+                    length += record.position();
+                }
+                if (length != part.shpLength) {
+                    throw new IOException("The features changed while writing " + part.name);
+                }
+                zip.closeEntry();
+            }
+        }
+    }
+
+    /** Returns the next feature of the part, failing if the collection got shorter since it was planned */
+    private static SimpleFeature next(SimpleFeatureIterator it, Part part) throws IOException {
+        if (!it.hasNext()) {
+            throw new IOException("The features changed while writing " + part.name);
+        }
+        return it.next();
+    }
+
+    /** Returns the size of a .dbf with the given number of records: header, records and end of file marker */
+    private static long getDbfLength(DbaseFileHeader header, int count) {
+        return header.getHeaderLength() + (long) header.getRecordLength() * count + 1;
+    }
+
+    private void writeEntry(String name, byte[] contents) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(contents);
+        zip.closeEntry();
+    }
+
+    /** Writes the header shared by the .shp and .shx files */
+    private static void writeHeader(OutputStream out, ShapeType type, long length, Envelope bounds)
+            throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_LENGTH);
+        buffer.order(ByteOrder.BIG_ENDIAN);
+        buffer.putInt(9994);
+        for (int i = 0; i < 5; i++) {
+            buffer.putInt(0);
+        }
+        buffer.putInt((int) (length / 2));
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(1000);
+        buffer.putInt(type.id);
+        if (bounds.isNull()) {
+            buffer.putDouble(0).putDouble(0).putDouble(0).putDouble(0);
+        } else {
+            buffer.putDouble(bounds.getMinX());
+            buffer.putDouble(bounds.getMinY());
+            buffer.putDouble(bounds.getMaxX());
+            buffer.putDouble(bounds.getMaxY());
+        }
+        // no z and m ranges in 2D shapefiles
+        buffer.putDouble(0).putDouble(0).putDouble(0).putDouble(0);
+        out.write(buffer.array());
+    }
+
+    /** Turns the value into a geometry the shape handler can write, or null for a null shape */
+    private static Geometry toShapeGeometry(Object value, ShapeType type, GeometryFactory factory)
+            throws IOException {
+        if (!(value instanceof Geometry geometry) || geometry.isEmpty()) {
+            return null;
+        }
+        if (type == ShapeType.POINT && geometry instanceof Point) {
+            return geometry;
+        } else if (type == ShapeType.MULTIPOINT) {
+            if (geometry instanceof Point point) return factory.createMultiPoint(new Point[] {point});
+            if (geometry instanceof MultiPoint) return geometry;
+        } else if (type == ShapeType.ARC) {
+            if (geometry instanceof LineString line) return factory.createMultiLineString(new LineString[] {line});
+            if (geometry instanceof MultiLineString) return geometry;
+        } else if (type == ShapeType.POLYGON) {
+            if (geometry instanceof Polygon polygon) return factory.createMultiPolygon(new Polygon[] {polygon});
+            if (geometry instanceof MultiPolygon) return geometry;
+        }
+        throw new IOException("Cannot write a " + geometry.getGeometryType() + " in a " + type + " shapefile");
+    }
+
+    /** Same as the shapefile datastore does when writing the .prj file */
+    private static String toSingleLineWKT(CoordinateReferenceSystem crs) {
+        String wkt;
+        if (crs instanceof Formattable formattable) {
+            // no indentation, all on a single line
+            wkt = formattable.toWKT(0, false);
+        } else {
+            wkt = crs.toWKT();
+        }
+        return wkt.replaceAll("\n", "").replaceAll("  ", "");
+    }
+
+    /**
+     * Maps the non geometric attributes to .dbf columns, the same way the shapefile datastore does, with names cut to
+     * 10 chars and made unique. Returns null if an attribute type cannot be stored in a .dbf.
+     */
+    private static List<Column> getColumns(SimpleFeatureType schema) {
+        List<Column> columns = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        for (int i = 0; i < schema.getAttributeCount(); i++) {
+            AttributeDescriptor ad = schema.getDescriptor(i);
+            if (ad instanceof GeometryDescriptor) {
+                continue;
+            }
+            Class<?> binding = ad.getType().getBinding();
+            int length = FeatureTypes.getFieldLength(ad);
+            if (length == FeatureTypes.ANY_LENGTH) {
+                length = 255;
+            }
+            String name = getUniqueName(ad.getLocalName(), names);
+            if (binding == Integer.class || binding == Short.class || binding == Byte.class) {
+                columns.add(new Column(i, name, 'N', Math.min(length, 9), 0, false));
+            } else if (binding == Long.class) {
+                columns.add(new Column(i, name, 'N', Math.min(length, 19), 0, false));
+            } else if (binding == BigInteger.class) {
+                columns.add(new Column(i, name, 'N', Math.min(length, 33), 0, false));
+            } else if (Number.class.isAssignableFrom(binding)) {
+                int l = Math.min(length, 33);
+                columns.add(new Column(i, name, 'N', l, Math.max(l - 2, 0), false));
+            } else if (Date.class.isAssignableFrom(binding)) {
+                char type = Boolean.getBoolean("org.geotools.shapefile.datetime") ? '@' : 'D';
+                columns.add(new Column(i, name, type, length, 0, false));
+            } else if (binding == Boolean.class) {
+                columns.add(new Column(i, name, 'L', 1, 0, false));
+            } else if (CharSequence.class.isAssignableFrom(binding) || binding == UUID.class) {
+                columns.add(new Column(i, name, 'C', Math.min(254, length), 0, true));
+            } else {
+                return null;
+            }
+        }
+        return columns;
+    }
+
+    /** Cuts the name to the max .dbf column name length, replacing its tail with a counter in case of conflicts */
+    private static String getUniqueName(String name, Set<String> names) {
+        String result = name.length() > MAX_NAME_LENGTH ? name.substring(0, MAX_NAME_LENGTH) : name;
+        for (int counter = 0; names.contains(result); counter++) {
+            String suffix = String.valueOf(counter);
+            String base = name.length() > MAX_NAME_LENGTH - suffix.length()
+                    ? name.substring(0, MAX_NAME_LENGTH - suffix.length())
+                    : name;
+            result = base + suffix;
+        }
+        names.add(result);
+        return result;
+    }
+
+    /** A .dbf column, and the attribute it's filled from */
+    private record Column(int index, String name, char type, int length, int decimals, boolean text) {
+
+        Object value(SimpleFeature feature) {
+            Object value = feature.getAttribute(index);
+            return text && value != null ? value.toString() : value;
+        }
+    }
+
+    /** A shapefile of the output, as planned from the geometries before writing it */
+    private class Part implements Closeable {
+
+        private final String name;
+
+        private final Spool shxRecords = new Spool();
+
+        private final DataOutputStream shx = new DataOutputStream(new BufferedOutputStream(shxRecords));
+
+        private final Envelope bounds = new Envelope();
+
+        private long shpLength = HEADER_LENGTH;
+
+        private int count;
+
+        Part(String name) {
+            this.name = name;
+        }
+
+        void addShape(int contentLength, Geometry geometry) throws IOException {
+            shx.writeInt((int) (shpLength / 2));
+            shx.writeInt(contentLength / 2);
+            if (geometry != null) {
+                bounds.expandToInclude(geometry.getEnvelopeInternal());
+            }
+            shpLength += contentLength + 8;
+            count++;
+        }
+
+        /** Writes the .shx entry in the zip */
+        void writeIndex(ShapeType type) throws IOException {
+            shx.flush();
+            zip.putNextEntry(new ZipEntry(name + ".shx"));
+            writeHeader(zip, type, HEADER_LENGTH + 8L * count, bounds);
+            shxRecords.writeTo(zip);
+            zip.closeEntry();
+        }
+
+        @Override
+        public void close() throws IOException {
+            shxRecords.close();
+        }
+    }
+
+    /** Collects bytes in memory up to {@link #SPOOL_THRESHOLD}, and in a temporary file past it */
+    private static class Spool extends OutputStream {
+
+        private ByteArrayOutputStream memory = new ByteArrayOutputStream();
+
+        private Path file;
+
+        private OutputStream out;
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (out == null) {
+                if (memory.size() + len <= SPOOL_THRESHOLD) {
+                    memory.write(b, off, len);
+                    return;
+                }
+                file = Files.createTempFile("shpzip", ".shx");
+                out = new BufferedOutputStream(Files.newOutputStream(file));
+                memory.writeTo(out);
+                memory = null;
+            }
+            out.write(b, off, len);
+        }
+
+        /** Copies the spooled bytes to the target stream */
+        void writeTo(OutputStream target) throws IOException {
+            if (out == null) {
+                memory.writeTo(target);
+            } else {
+                out.close();
+                Files.copy(file, target);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                if (out != null) {
+                    out.close();
+                }
+            } finally {
+                if (file != null) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+}
@@ -9,6 +9,7 @@
 import static org.geoserver.ows.util.ResponseUtils.buildURL;
 import static org.geoserver.ows.util.ResponseUtils.params;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.util.ArrayList;
@@ -45,6 +46,7 @@
 import org.eclipse.xsd.XSDTypeDefinition;
 import org.eclipse.xsd.impl.XSDSchemaImpl;
 import org.eclipse.xsd.util.XSDConstants;
+import org.eclipse.xsd.util.XSDResourceImpl;
 import org.eclipse.xsd.util.XSDSchemaLocationResolver;
 import org.eclipse.xsd.util.XSDSchemaLocator;
 import org.geoserver.catalog.Catalog;
@@ -55,6 +57,7 @@
 import org.geoserver.ows.LocalWorkspace;
 import org.geoserver.ows.URLMangler.URLType;
 import org.geoserver.ows.util.ResponseUtils;
+import org.geoserver.platform.GeoServerExtensions;
 import org.geoserver.platform.GeoServerResourceLoader;
 import org.geoserver.platform.resource.Resource;
 import org.geoserver.platform.resource.Resource.Type;
@@ -165,6 +168,38 @@ public XSDSchema build(
         return schema;
     }
 
+    /**
+     * Returns a schema for the feature types shared among requests, cached in the {@link FeatureTypeSchemaCache} if
+     * available. The schema must not be modified, use {@link #build(FeatureTypeInfo[], String)} to get a private one.
+     */
+    public XSDSchema getSharedSchema(FeatureTypeInfo[] featureTypeInfos, String baseUrl) throws IOException {
+        FeatureTypeSchemaCache cache = GeoServerExtensions.bean(FeatureTypeSchemaCache.class);
+        if (cache == null) {
+            return build(featureTypeInfos, baseUrl);
+        }
+        return cache.getSchema(this, featureTypeInfos, baseUrl, () -> build(featureTypeInfos, baseUrl, false));
+    }
+
+    /**
+     * Returns the serialized schema for the feature types, as returned by DescribeFeatureType, cached in the
+     * {@link FeatureTypeSchemaCache} if available
+     */
+    public byte[] getSchemaDocument(FeatureTypeInfo[] featureTypeInfos, String baseUrl, String encoding)
+            throws IOException {
+        FeatureTypeSchemaCache.SchemaLoader<byte[]> loader = () -> {
+            XSDSchema schema = build(featureTypeInfos, baseUrl);
+            schema.updateElement();
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            XSDResourceImpl.serialize(bos, schema.getElement(), encoding);
+            return bos.toByteArray();
+        };
+        FeatureTypeSchemaCache cache = GeoServerExtensions.bean(FeatureTypeSchemaCache.class);
+        if (cache == null) {
+            return loader.load();
+        }
+        return cache.getDocument(this, featureTypeInfos, baseUrl, encoding, loader);
+    }
+
     public final XSDSchema buildSchemaInternal(
             FeatureTypeInfo[] featureTypeInfos, String baseUrl, boolean resolveAppSchemaImports) throws IOException {
 
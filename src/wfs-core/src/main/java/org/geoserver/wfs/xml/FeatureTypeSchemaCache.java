@@ -0,0 +1,349 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wfs.xml;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.eclipse.xsd.XSDSchema;
+import org.geoserver.catalog.FeatureTypeInfo;
+import org.geoserver.catalog.StoreInfo;
+import org.geoserver.catalog.WorkspaceInfo;
+import org.geoserver.catalog.event.AbstractCatalogListener;
+import org.geoserver.catalog.event.CatalogModifyEvent;
+import org.geoserver.catalog.event.CatalogPostModifyEvent;
+import org.geoserver.catalog.event.CatalogRemoveEvent;
+import org.geoserver.config.ConfigurationListenerAdapter;
+import org.geoserver.config.GeoServer;
+import org.geoserver.config.GeoServerInfo;
+import org.geoserver.config.ServiceInfo;
+import org.geoserver.config.SettingsInfo;
+import org.geoserver.config.impl.GeoServerLifecycleHandler;
+import org.geoserver.ows.LocalWorkspace;
+import org.geoserver.ows.util.ResponseUtils;
+import org.geoserver.platform.GeoServerExtensions;
+import org.geoserver.platform.resource.Resource;
+import org.geoserver.security.decorators.SecuredFeatureTypeInfo;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.util.logging.Logging;
+import org.geotools.xsd.Schemas;
+
+/**
+ * Caches the feature type schemas built by the {@link FeatureTypeSchemaBuilder}, both as {@link XSDSchema} objects,
+ * shared by the WFS-T parsers, and as serialized DescribeFeatureType documents.
+ *
+ * <p>Entries are keyed by builder (hence GML and WFS version), feature type set, base URL (as mangled) and local
+ * workspace, and the cache is wiped out on catalog changes, on configuration changes, and on configuration reset and
+ * reload. Feature types with a customized {@code schema.xsd} are keyed by its last modification time as well. Complex
+ * feature types and feature types with data security limits are not cached. The cache size can be configured with the
+ * {@code WFS_SCHEMA_CACHE_SIZE} system, environment or servlet context variable, defaulting to 100, zero disables the
+ * cache.
+ *
+ * <p>The cached schemas are shared among threads, and must not be modified. They are released at the end of the
+ * requests using them, and disposed once evicted and no longer in use.
+ */
+public class FeatureTypeSchemaCache extends AbstractCatalogListener implements GeoServerLifecycleHandler {
+
+    static final Logger LOGGER = Logging.getLogger(FeatureTypeSchemaCache.class);
+
+    static final long DEFAULT_SIZE = 100;
+
+    /** Builds a schema on cache misses */
+    @FunctionalInterface
+    public interface SchemaLoader<T> {
+        T load() throws IOException;
+    }
+
+    private final Cache<SchemaKey, SharedSchema> schemas;
+
+    private final Cache<DocumentKey, byte[]> documents;
+
+    private final boolean enabled;
+
+    /** Bumped on each invalidation, avoids caching schemas started before it */
+    private final AtomicLong generation = new AtomicLong();
+
+    public FeatureTypeSchemaCache(GeoServer gs) {
+        this(GeoServerExtensions.getLongProperty("WFS_SCHEMA_CACHE_SIZE", DEFAULT_SIZE));
+        gs.getCatalog().addListener(this);
+        gs.addListener(new ConfigurationListenerAdapter() {
+            @Override
+            public void handlePostGlobalChange(GeoServerInfo global) {
+                invalidateAll();
+            }
+
+            @Override
+            public void handleSettingsPostModified(SettingsInfo settings) {
+                invalidateAll();
+            }
+
+            @Override
+            public void handleSettingsAdded(SettingsInfo settings) {
+                invalidateAll();
+            }
+
+            @Override
+            public void handleSettingsRemoved(SettingsInfo settings) {
+                invalidateAll();
+            }
+
+            @Override
+            public void handlePostServiceChange(ServiceInfo service) {
+                invalidateAll();
+            }
+
+            @Override
+            public void handleServiceRemove(ServiceInfo service) {
+                invalidateAll();
+            }
+        });
+    }
+
+    /** For testing only */
+    FeatureTypeSchemaCache(long size) {
+        this.enabled = size > 0;
+        this.schemas = CacheBuilder.newBuilder()
+                .maximumSize(Math.max(size, 0))
+                .removalListener(FeatureTypeSchemaCache::evicted)
+                .build();
+        this.documents = CacheBuilder.newBuilder().maximumSize(Math.max(size, 0)).build();
+    }
+
+    private static void evicted(RemovalNotification<SchemaKey, SharedSchema> notification) {
+        if (notification.getValue() != null) {
+            notification.getValue().evict();
+        }
+    }
+
+    /**
+     * Returns the cached schema for the given feature types, or builds it with the loader and caches it. The loader
+     * must not schedule the schema for cleanup at the end of the request. If the feature types cannot be cached, the
+     * loader result is scheduled for cleanup and returned. Cached schemas are in use until the end of the request.
+     */
+    public XSDSchema getSchema(
+            FeatureTypeSchemaBuilder builder,
+            FeatureTypeInfo[] featureTypes,
+            String baseUrl,
+            SchemaLoader<XSDSchema> loader)
+            throws IOException {
+        SchemaKey key = getKey(builder, featureTypes, baseUrl);
+        if (key == null) {
+            XSDSchema schema = loader.load();
+            SchemaCleanerCallback.addSchema(schema);
+            return schema;
+        }
+        SharedSchema cached = schemas.getIfPresent(key);
+        if (cached != null && cached.acquire()) {
+            return cached.schema;
+        }
+        long start = generation.get();
+        XSDSchema schema = loader.load();
+        if (schema == null) {
+            return null;
+        } else if (generation.get() != start) {
+            // the catalog changed while building, the schema might be stale already
+            SchemaCleanerCallback.addSchema(schema);
+            return schema;
+        }
+        SharedSchema shared = new SharedSchema(schema);
+        shared.acquire();
+        SharedSchema previous = schemas.asMap().putIfAbsent(key, shared);
+        if (previous != null && previous.acquire()) {
+            // built concurrently by another request, use the cached one, this one is disposed at the end of the request
+            shared.evict();
+            return previous.schema;
+        } else if (previous != null) {
+            // the cached one got evicted meanwhile, use this one privately
+            shared.evict();
+        }
+        return schema;
+    }
+
+    /**
+     * Returns the cached DescribeFeatureType document for the given feature types and encoding, or builds it with the
+     * loader and caches it
+     */
+    public byte[] getDocument(
+            FeatureTypeSchemaBuilder builder,
+            FeatureTypeInfo[] featureTypes,
+            String baseUrl,
+            String encoding,
+            SchemaLoader<byte[]> loader)
+            throws IOException {
+        SchemaKey key = getKey(builder, featureTypes, baseUrl);
+        if (key == null) {
+            return loader.load();
+        }
+        DocumentKey documentKey = new DocumentKey(key, encoding);
+        byte[] document = documents.getIfPresent(documentKey);
+        if (document != null) {
+            return document;
+        }
+        long start = generation.get();
+        document = loader.load();
+        if (generation.get() == start) {
+            documents.put(documentKey, document);
+        }
+        return document;
+    }
+
+    /** Returns the cache key for the given feature types, or null if they cannot be cached */
+    SchemaKey getKey(FeatureTypeSchemaBuilder builder, FeatureTypeInfo[] featureTypes, String baseUrl) {
+        if (!enabled) {
+            return null;
+        }
+        List<String> ids = new ArrayList<>(featureTypes.length);
+        List<Long> customSchemas = new ArrayList<>(featureTypes.length);
+        try {
+            for (FeatureTypeInfo featureType : featureTypes) {
+                // security limits depend on the user and on rules that can change without catalog events
+                if (featureType.getId() == null
+                        || featureType instanceof SecuredFeatureTypeInfo
+                        || !(featureType.getFeatureType() instanceof SimpleFeatureType)) {
+                    return null;
+                }
+                ids.add(featureType.getId());
+                customSchemas.add(getCustomSchema(builder, featureType).lastmodified());
+            }
+        } catch (Exception e) {
+            LOGGER.log(Level.FINE, "Not caching the schema of broken feature types", e);
+            return null;
+        }
+        // the base URL is mangled the same way the schema locations are (proxy base URL, headers, ...)
+        String mangledBaseUrl = baseUrl != null ? ResponseUtils.buildSchemaURL(baseUrl, "") : null;
+        WorkspaceInfo workspace = LocalWorkspace.get();
+        return new SchemaKey(
+                builder.getClass(), ids, customSchemas, mangledBaseUrl, workspace != null ? workspace.getName() : null);
+    }
+
+    /** The customized schema.xsd looked up by {@link FeatureTypeSchemaBuilder#findTypeInSchema} */
+    private static Resource getCustomSchema(FeatureTypeSchemaBuilder builder, FeatureTypeInfo featureType) {
+        StoreInfo store = featureType.getStore();
+        return builder.resourceLoader.get("workspaces/"
+                + store.getWorkspace().getName()
+                + "/"
+                + store.getName()
+                + "/"
+                + featureType.getName()
+                + "/schema.xsd");
+    }
+
+    /** Drops all the cached schemas */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        schemas.invalidateAll();
+        documents.invalidateAll();
+    }
+
+    /** The number of schemas and documents currently cached */
+    public long size() {
+        return schemas.size() + documents.size();
+    }
+
+    @Override
+    public void handleModifyEvent(CatalogModifyEvent event) {
+        invalidateAll();
+    }
+
+    @Override
+    public void handlePostModifyEvent(CatalogPostModifyEvent event) {
+        invalidateAll();
+    }
+
+    @Override
+    public void handleRemoveEvent(CatalogRemoveEvent event) {
+        invalidateAll();
+    }
+
+    @Override
+    public void reloaded() {
+        invalidateAll();
+    }
+
+    @Override
+    public void onReset() {
+        invalidateAll();
+    }
+
+    @Override
+    public void onDispose() {
+        invalidateAll();
+    }
+
+    @Override
+    public void beforeReload() {
+        // nothing to do
+    }
+
+    @Override
+    public void onReload() {
+        invalidateAll();
+    }
+
+    /**
+     * A cached schema, along with the number of requests using it. The references the imported schemas (e.g., GML) hold
+     * to it are released once it has been evicted and no request uses it anymore.
+     */
+    static class SharedSchema {
+
+        final XSDSchema schema;
+
+        private int users;
+
+        private boolean evicted;
+
+        private boolean disposed;
+
+        SharedSchema(XSDSchema schema) {
+            this.schema = schema;
+        }
+
+        /** Marks the schema as in use until the end of the request, returns false if it's been evicted already */
+        synchronized boolean acquire() {
+            if (evicted) {
+                return false;
+            }
+            users++;
+            SchemaCleanerCallback.addCleanup(this::release);
+            return true;
+        }
+
+        synchronized void release() {
+            users--;
+            disposeIfUnused();
+        }
+
+        synchronized void evict() {
+            evicted = true;
+            disposeIfUnused();
+        }
+
+        synchronized boolean isDisposed() {
+            return disposed;
+        }
+
+        private void disposeIfUnused() {
+            if (evicted && users == 0 && !disposed) {
+                disposed = true;
+                Schemas.dispose(schema);
+            }
+        }
+    }
+
+    record SchemaKey(
+            Class<?> builder,
+            List<String> featureTypes,
+            List<Long> customSchemas,
+            String baseUrl,
+            String workspace) {}
+
+    private record DocumentKey(SchemaKey schema, String encoding) {}
+}
@@ -13,35 +13,39 @@
 import org.geotools.xsd.Schemas;
 
 /**
- * Cleans up the temporarily created schemas when the request ends
+ * Cleans up the temporarily created schemas, and releases the shared ones, when the request ends
  *
  * @author Andrea Aime - GeoSolutions
  */
 public class SchemaCleanerCallback extends AbstractDispatcherCallback {
 
-    static final ThreadLocal<List<XSDSchema>> schemas = new ThreadLocal<>();
+    static final ThreadLocal<List<Runnable>> cleanups = new ThreadLocal<>();
 
     /** Schedules a XSDSchema for removal at the end of the request */
     public static void addSchema(XSDSchema schema) {
         if (schema == null) {
             return;
         }
+        addCleanup(() -> Schemas.dispose(schema));
+    }
 
-        List<XSDSchema> list = schemas.get();
+    /** Schedules a cleanup task to be run at the end of the request */
+    public static void addCleanup(Runnable cleanup) {
+        List<Runnable> list = cleanups.get();
         if (list == null) {
             list = new ArrayList<>();
-            schemas.set(list);
+            cleanups.set(list);
         }
-        list.add(schema);
+        list.add(cleanup);
     }
 
     @Override
     public void finished(Request request) {
-        List<XSDSchema> list = schemas.get();
+        List<Runnable> list = cleanups.get();
         if (list != null) {
-            schemas.remove();
-            for (XSDSchema schema : list) {
-                Schemas.dispose(schema);
+            cleanups.remove();
+            for (Runnable cleanup : list) {
+                cleanup.run();
             }
         }
     }
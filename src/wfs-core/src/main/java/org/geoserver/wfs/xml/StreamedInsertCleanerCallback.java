@@ -0,0 +1,37 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wfs.xml;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.geoserver.ows.AbstractDispatcherCallback;
+import org.geoserver.ows.Request;
+
+/** Removes the spool files of the {@link StreamedInsertFeatures} when the request ends */
+public class StreamedInsertCleanerCallback extends AbstractDispatcherCallback {
+
+    static final ThreadLocal<List<StreamedInsertFeatures>> features = new ThreadLocal<>();
+
+    /** Schedules the streamed features for removal at the end of the request */
+    public static void add(StreamedInsertFeatures streamed) {
+        List<StreamedInsertFeatures> list = features.get();
+        if (list == null) {
+            list = new ArrayList<>();
+            features.set(list);
+        }
+        list.add(streamed);
+    }
+
+    @Override
+    public void finished(Request request) {
+        List<StreamedInsertFeatures> list = features.get();
+        if (list != null) {
+            features.remove();
+            for (StreamedInsertFeatures streamed : list) {
+                streamed.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wfs.xml;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.xml.namespace.QName;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.geoserver.wfs.request.Insert;
+import org.geoserver.wfs.request.TransactionElement;
+import org.geoserver.wfs.request.TransactionRequest;
+import org.geotools.util.logging.Logging;
+
+/**
+ * The features of a Transaction Insert element spooled to disk by the {@link StreamingTransactionReader}, and parsed
+ * back a batch at a time while the insert is executed, so that the memory used depends on the batch size instead of
+ * the request size. Attached to the parsed Insert element as an EMF adapter, see {@link #get(EObject)}.
+ *
+ * <p>The spool file holds one length prefixed UTF-8 record per feature element. Each batch is parsed by wrapping the
+ * records in a copy of the original Transaction and Insert start tags, so that namespace declarations, srsName and the
+ * like apply as in the original request.
+ */
+public class StreamedInsertFeatures extends AdapterImpl implements Closeable {
+
+    static final Logger LOGGER = Logging.getLogger(StreamedInsertFeatures.class);
+
+    /** Parses a Transaction request document */
+    @FunctionalInterface
+    public interface DocumentParser {
+        Object parse(Reader document) throws Exception;
+    }
+
+    private final File spool;
+
+    private final int count;
+
+    private final Set<QName> typeNames;
+
+    private final String header;
+
+    private final String footer;
+
+    private final DocumentParser parser;
+
+    private final int batchSize;
+
+    private DataInputStream input;
+
+    private int read;
+
+    StreamedInsertFeatures(
+            File spool,
+            int count,
+            Set<QName> typeNames,
+            String header,
+            String footer,
+            DocumentParser parser,
+            int batchSize) {
+        this.spool = spool;
+        this.count = count;
+        this.typeNames = typeNames;
+        this.header = header;
+        this.footer = footer;
+        this.parser = parser;
+        this.batchSize = Math.max(batchSize, 1);
+    }
+
+    /** Returns the streamed features attached to the given Insert element, or null if it was parsed in memory */
+    public static StreamedInsertFeatures get(EObject insert) {
+        return (StreamedInsertFeatures) EcoreUtil.getExistingAdapter(insert, StreamedInsertFeatures.class);
+    }
+
+    @Override
+    public boolean isAdapterForType(Object type) {
+        return type == StreamedInsertFeatures.class;
+    }
+
+    /** The number of features in the Insert element */
+    public int size() {
+        return count;
+    }
+
+    /** The names of the feature elements found in the Insert element */
+    public Set<QName> getTypeNames() {
+        return Collections.unmodifiableSet(typeNames);
+    }
+
+    /** Parses and returns the next batch of features, or an empty list if all features have been read */
+    public List<?> nextBatch() throws Exception {
+        if (read >= count) {
+            return Collections.emptyList();
+        }
+        if (input == null) {
+            input = new DataInputStream(new BufferedInputStream(new FileInputStream(spool)));
+        }
+        int size = Math.min(batchSize, count - read);
+        StringBuilder document = new StringBuilder(header);
+        for (int i = 0; i < size; i++) {
+            byte[] record = new byte[input.readInt()];
+            input.readFully(record);
+            document.append(new String(record, StandardCharsets.UTF_8));
+        }
+        document.append(footer);
+        read += size;
+
+        Object parsed = parser.parse(new StringReader(document.toString()));
+        List<TransactionElement> elements = TransactionRequest.adapt(parsed).getElements();
+        if (elements.size() != 1 || !(elements.get(0) instanceof Insert insert)) {
+            throw new IOException("Unexpected result parsing the streamed insert features: " + elements);
+        }
+        return insert.getFeatures();
+    }
+
+    /** Releases the spool file, the features cannot be read anymore */
+    @Override
+    public void close() {
+        read = count;
+        try {
+            if (input != null) {
+                input.close();
+                input = null;
+            }
+            Files.deleteIfExists(spool.toPath());
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to remove the streamed insert spool file " + spool, e);
+        }
+    }
+}
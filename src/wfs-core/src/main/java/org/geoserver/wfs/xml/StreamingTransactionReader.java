@@ -0,0 +1,305 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wfs.xml;
+
+import static javax.xml.stream.XMLStreamConstants.CDATA;
+import static javax.xml.stream.XMLStreamConstants.CHARACTERS;
+import static javax.xml.stream.XMLStreamConstants.DTD;
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+import static javax.xml.stream.XMLStreamConstants.SPACE;
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import org.geoserver.ows.Dispatcher;
+import org.geoserver.ows.Request;
+import org.geoserver.platform.GeoServerExtensions;
+import org.geoserver.wfs.TransactionCallback;
+import org.geoserver.wfs.WFSException;
+import org.geoserver.wfs.WFSInfo;
+import org.geoserver.wfs.request.Insert;
+import org.geoserver.wfs.request.TransactionElement;
+import org.geoserver.wfs.request.TransactionRequest;
+import org.geoserver.wfs.xml.StreamedInsertFeatures.DocumentParser;
+import org.geotools.util.logging.Logging;
+
+/**
+ * Reads large Transaction requests without holding the inserted features in memory. The request is scanned with StAX,
+ * the feature elements of each Insert are spooled to disk, and the rest of the request, now small, is parsed as usual.
+ * The features are then parsed back a batch at a time by the insert handler, see {@link StreamedInsertFeatures}.
+ *
+ * <p>Streaming is disabled by default. It is enabled by setting the {@code WFS_STREAMING_TRANSACTION_THRESHOLD} system,
+ * environment or servlet context variable to a size in bytes: requests whose body is larger, or whose size is not
+ * known in advance, are streamed. The {@code WFS_STREAMING_INSERT_BATCH_SIZE} variable sets the number of features
+ * parsed and inserted at a time, defaulting to 1000. Requests that are validated against the schemas, and requests
+ * with a DTD, are not streamed.
+ *
+ * <p>The features of a streamed Insert are not in the parsed request, so streaming is also skipped unless all the
+ * {@link TransactionCallback} extensions declare they {@link TransactionCallback#supportsStreamedInserts() support
+ * it}, for example callbacks modifying the inserted features in their
+ * {@link TransactionCallback#beforeTransaction(TransactionRequest) beforeTransaction} would otherwise see none.
+ */
+public class StreamingTransactionReader {
+
+    static final Logger LOGGER = Logging.getLogger(StreamingTransactionReader.class);
+
+    public static final String THRESHOLD_PROPERTY = "WFS_STREAMING_TRANSACTION_THRESHOLD";
+
+    public static final String BATCH_SIZE_PROPERTY = "WFS_STREAMING_INSERT_BATCH_SIZE";
+
+    /** Streaming is disabled unless a threshold is configured */
+    static final long DEFAULT_THRESHOLD = -1;
+
+    static final long DEFAULT_BATCH_SIZE = 1000;
+
+    static final XMLOutputFactory OUTPUT_FACTORY = XMLOutputFactory.newFactory();
+
+    private StreamingTransactionReader() {}
+
+    /** Returns true if the current Transaction request should be streamed */
+    public static boolean isStreaming(WFSInfo wfs, Map kvp) {
+        // validation needs the whole document
+        if (wfs.isCiteCompliant() || Boolean.TRUE.equals(kvp.get("strict"))) {
+            return false;
+        }
+        long threshold = GeoServerExtensions.getLongProperty(THRESHOLD_PROPERTY, DEFAULT_THRESHOLD);
+        Request request = Dispatcher.REQUEST.get();
+        if (threshold < 0 || request == null || request.getHttpRequest() == null) {
+            return false;
+        }
+        // chunked uploads do not declare a length, and can be of any size
+        long length = request.getHttpRequest().getContentLengthLong();
+        if (length >= 0 && length < threshold) {
+            return false;
+        }
+        // callbacks would not get to see, or modify, the streamed features before the transaction
+        for (TransactionCallback callback : GeoServerExtensions.extensions(TransactionCallback.class)) {
+            if (!callback.supportsStreamedInserts()) {
+                if (LOGGER.isLoggable(Level.FINE)) {
+                    LOGGER.fine("Not streaming the transaction, " + callback + " needs the inserted features");
+                }
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads a Transaction request, spooling the features of the Insert elements to disk
+     *
+     * @param reader the request body
+     * @param transaction the Transaction element name, the Insert elements are looked up in the same namespace
+     * @param parser the parser used for the request without the insert features, and for the feature batches
+     * @return the parsed request, with a {@link StreamedInsertFeatures} attached to each Insert element
+     */
+    public static Object read(Reader reader, QName transaction, DocumentParser parser) throws Exception {
+        QName insertName = new QName(transaction.getNamespaceURI(), "Insert");
+        int batchSize = (int) GeoServerExtensions.getLongProperty(BATCH_SIZE_PROPERTY, DEFAULT_BATCH_SIZE);
+        List<StreamedInsertFeatures> inserts = new ArrayList<>();
+        try {
+            XMLStreamReader xml = createInputFactory().createXMLStreamReader(reader);
+            StringWriter skeleton = new StringWriter();
+            XMLStreamWriter out = OUTPUT_FACTORY.createXMLStreamWriter(skeleton);
+            String rootHeader = null;
+            String rootFooter = null;
+            int depth = 0;
+            try {
+                while (xml.hasNext()) {
+                    int event = xml.next();
+                    switch (event) {
+                        case START_ELEMENT -> {
+                            depth++;
+                            copyStartElement(xml, out);
+                            if (depth == 1) {
+                                rootHeader = getHeader(xml);
+                                rootFooter = getFooter(xml);
+                            } else if (depth == 2 && insertName.equals(xml.getName())) {
+                                String header = rootHeader + getHeader(xml);
+                                String footer = getFooter(xml) + rootFooter;
+                                StreamedInsertFeatures streamed = spool(xml, header, footer, parser, batchSize);
+                                StreamedInsertCleanerCallback.add(streamed);
+                                inserts.add(streamed);
+                                // the reader is now positioned on the Insert end element
+                                out.writeEndElement();
+                                depth--;
+                            }
+                        }
+                        case END_ELEMENT -> {
+                            depth--;
+                            out.writeEndElement();
+                        }
+                        case CHARACTERS, SPACE -> out.writeCharacters(
+                                xml.getTextCharacters(), xml.getTextStart(), xml.getTextLength());
+                        case CDATA -> out.writeCData(xml.getText());
+                        case DTD -> throw new WFSException(
+                                "DTDs are not supported in streamed transactions", "OperationParsingFailed");
+                        default -> {
+                            // comments and processing instructions are not relevant
+                        }
+                    }
+                }
+            } finally {
+                xml.close();
+            }
+            out.close();
+
+            Object parsed = parser.parse(new StringReader(skeleton.toString()));
+            attach(parsed, inserts);
+            return parsed;
+        } catch (Exception e) {
+            inserts.forEach(StreamedInsertFeatures::close);
+            throw e;
+        }
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        // disable DTDs and external entities
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+
+    /** Attaches the streamed features to the parsed Insert elements, in document order */
+    private static void attach(Object parsed, List<StreamedInsertFeatures> inserts) throws WFSException {
+        TransactionRequest request = TransactionRequest.adapt(parsed);
+        List<Insert> parsedInserts = new ArrayList<>();
+        if (request != null) {
+            for (TransactionElement element : request.getElements()) {
+                if (element instanceof Insert insert) {
+                    parsedInserts.add(insert);
+                }
+            }
+        }
+        if (parsedInserts.size() != inserts.size()) {
+            throw new WFSException(
+                    "Found " + inserts.size() + " Insert elements, but " + parsedInserts.size() + " were parsed",
+                    "OperationParsingFailed");
+        }
+        for (int i = 0; i < inserts.size(); i++) {
+            parsedInserts.get(i).getAdaptee().eAdapters().add(inserts.get(i));
+        }
+    }
+
+    /** Spools the features of the Insert element the reader is positioned on, up to its end element */
+    private static StreamedInsertFeatures spool(
+            XMLStreamReader xml, String header, String footer, DocumentParser parser, int batchSize)
+            throws Exception {
+        File file = File.createTempFile("wfs-insert", ".spool");
+        Set<QName> typeNames = new LinkedHashSet<>();
+        int count = 0;
+        boolean completed = false;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            while (xml.next() != END_ELEMENT) {
+                if (xml.getEventType() == START_ELEMENT) {
+                    typeNames.add(xml.getName());
+                    StringWriter feature = new StringWriter();
+                    XMLStreamWriter writer = OUTPUT_FACTORY.createXMLStreamWriter(feature);
+                    copyElement(xml, writer);
+                    writer.close();
+                    byte[] record = feature.toString().getBytes(StandardCharsets.UTF_8);
+                    out.writeInt(record.length);
+                    out.write(record);
+                    count++;
+                }
+            }
+            completed = true;
+        } finally {
+            if (!completed) {
+                Files.deleteIfExists(file.toPath());
+            }
+        }
+        return new StreamedInsertFeatures(file, count, typeNames, header, footer, parser, batchSize);
+    }
+
+    /** Copies the element the reader is positioned on, leaving the reader on its end element */
+    private static void copyElement(XMLStreamReader xml, XMLStreamWriter writer) throws XMLStreamException {
+        copyStartElement(xml, writer);
+        int depth = 1;
+        while (depth > 0) {
+            switch (xml.next()) {
+                case START_ELEMENT -> {
+                    copyStartElement(xml, writer);
+                    depth++;
+                }
+                case END_ELEMENT -> {
+                    writer.writeEndElement();
+                    depth--;
+                }
+                case CHARACTERS, SPACE -> writer.writeCharacters(
+                        xml.getTextCharacters(), xml.getTextStart(), xml.getTextLength());
+                case CDATA -> writer.writeCData(xml.getText());
+                default -> {
+                    // comments and processing instructions are not relevant
+                }
+            }
+        }
+    }
+
+    /** Copies the start tag, with its namespace declarations and attributes, keeping the original prefixes */
+    private static void copyStartElement(XMLStreamReader xml, XMLStreamWriter writer) throws XMLStreamException {
+        writer.writeStartElement(nonNull(xml.getPrefix()), xml.getLocalName(), nonNull(xml.getNamespaceURI()));
+        for (int i = 0; i < xml.getNamespaceCount(); i++) {
+            String prefix = xml.getNamespacePrefix(i);
+            if (prefix == null || prefix.isEmpty()) {
+                writer.writeDefaultNamespace(xml.getNamespaceURI(i));
+            } else {
+                writer.writeNamespace(prefix, xml.getNamespaceURI(i));
+            }
+        }
+        for (int i = 0; i < xml.getAttributeCount(); i++) {
+            String prefix = xml.getAttributePrefix(i);
+            if (prefix == null || prefix.isEmpty()) {
+                writer.writeAttribute(xml.getAttributeLocalName(i), xml.getAttributeValue(i));
+            } else {
+                writer.writeAttribute(
+                        prefix, xml.getAttributeNamespace(i), xml.getAttributeLocalName(i), xml.getAttributeValue(i));
+            }
+        }
+    }
+
+    /** Returns the start tag of the current element, as text */
+    private static String getHeader(XMLStreamReader xml) throws XMLStreamException {
+        StringWriter header = new StringWriter();
+        XMLStreamWriter writer = OUTPUT_FACTORY.createXMLStreamWriter(header);
+        copyStartElement(xml, writer);
+        // forces the start tag to be closed
+        writer.writeCharacters("");
+        writer.flush();
+        return header.toString();
+    }
+
+    /** Returns the end tag of the current element, as text */
+    private static String getFooter(XMLStreamReader xml) {
+        String prefix = xml.getPrefix();
+        String name = prefix == null || prefix.isEmpty() ? xml.getLocalName() : prefix + ":" + xml.getLocalName();
+        return "</" + name + ">";
+    }
+
+    private static String nonNull(String value) {
+        return value == null ? "" : value;
+    }
+}
@@ -60,8 +60,8 @@ public ElementHandler createElementHandler(QName name, Handler parent, ParserHan
             FeatureTypeInfo meta = catalog.getFeatureTypeByName(namespaceURI, name.getLocalPart());
 
             if (meta != null) {
-                // found it
-                XSDSchema schema = schemaBuilder.build(meta, null);
+                // found it, the schema is shared and only used for lookups
+                XSDSchema schema = schemaBuilder.getSharedSchema(new FeatureTypeInfo[] {meta}, null);
 
                 for (XSDElementDeclaration element : schema.getElementDeclarations()) {
                     if (name.getLocalPart().equals(element.getName())) {
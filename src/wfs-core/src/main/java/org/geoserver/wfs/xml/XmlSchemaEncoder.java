@@ -11,8 +11,6 @@
 import java.util.LinkedHashSet;
 import java.util.Set;
 import org.apache.commons.codec.binary.Base64;
-import org.eclipse.xsd.XSDSchema;
-import org.eclipse.xsd.util.XSDResourceImpl;
 import org.geoserver.catalog.Catalog;
 import org.geoserver.catalog.FeatureTypeInfo;
 import org.geoserver.config.GeoServer;
@@ -86,16 +84,12 @@ protected void write(FeatureTypeInfo[] featureTypeInfos, OutputStream output, Op
     protected void doWrite(FeatureTypeInfo[] featureTypeInfos, OutputStream output, Operation describeFeatureType)
             throws IOException {
 
-        // create the schema
+        // create the schema, or get it from the cache
         Object request = describeFeatureType.getParameters()[0];
         DescribeFeatureTypeRequest req = DescribeFeatureTypeRequest.adapt(request);
 
-        XSDSchema schema = schemaBuilder.build(featureTypeInfos, req.getBaseURL());
-
-        // serialize
-        schema.updateElement();
         final String encoding = gs.getSettings().getCharset();
-        XSDResourceImpl.serialize(output, schema.getElement(), encoding);
+        output.write(schemaBuilder.getSchemaDocument(featureTypeInfos, req.getBaseURL(), encoding));
     }
 
     public static class V20 extends XmlSchemaEncoder {
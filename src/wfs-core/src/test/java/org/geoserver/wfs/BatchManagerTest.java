@@ -35,6 +35,7 @@
 import org.geoserver.wfs.request.Delete;
 import org.geoserver.wfs.request.Insert;
 import org.geoserver.wfs.request.Native;
+import org.geoserver.wfs.request.Property;
 import org.geoserver.wfs.request.Replace;
 import org.geoserver.wfs.request.TransactionElement;
 import org.geoserver.wfs.request.TransactionRequest;
@@ -43,7 +44,9 @@
 import org.geotools.api.data.FeatureStore;
 import org.geotools.api.feature.simple.SimpleFeature;
 import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.FilterFactory;
 import org.geotools.api.filter.Or;
+import org.geotools.factory.CommonFactoryFinder;
 import org.geotools.util.MapEntry;
 import org.junit.Test;
 
@@ -270,6 +273,78 @@ public void testAggregationWithDifferentIdGen() {
         verify(insert4Handler, times(1)).execute(same(insertUseExisting4), any(), any(), any(), any());
     }
 
+    @Test
+    public void testUpdateAggregation() {
+        // given: updates setting the same value on type 1, a different value, and another type
+        FilterFactory ff = CommonFactoryFinder.getFilterFactory();
+        Filter fid1 = ff.id(ff.featureId("t1.1"));
+        Filter fid2 = ff.id(ff.featureId("t1.2"));
+        Update update1 = newUpdate(type1Name, fid1, "v1");
+        TransactionElementHandler update1Handler = mock(TransactionElementHandler.class);
+        Update update2 = newUpdate(type1Name, fid2, "v1");
+        TransactionElementHandler update2Handler = mock(TransactionElementHandler.class);
+        Update update3 = newUpdate(type1Name, filter1, "v1");
+        TransactionElementHandler update3Handler = mock(TransactionElementHandler.class);
+        Update update4 = newUpdate(type1Name, filter2, "v2");
+        TransactionElementHandler update4Handler = mock(TransactionElementHandler.class);
+        Update update5 = newUpdate(type2Name, filter3, "v2");
+        TransactionElementHandler update5Handler = mock(TransactionElementHandler.class);
+
+        Map<TransactionElement, TransactionElementHandler> element2Handlers = asMap( //
+                keyValue(update1, update1Handler), //
+                keyValue(update2, update2Handler), //
+                keyValue(update3, update3Handler), //
+                keyValue(update4, update4Handler), //
+                keyValue(update5, update5Handler));
+
+        TransactionRequest lTransaction = transactionRequest(element2Handlers.keySet());
+
+        // when: BatchManager runs...
+        BatchManager sut = new BatchManager(
+                lTransaction, transactionListener, stores, transactionResponse, element2Handlers, 100, 100);
+        sut.run();
+
+        // then: the first three have been merged, with the feature ids in a single filter
+        assertTrue("First 3 UPDATEs have been merged", update1.getFilter() instanceof Or);
+        List<Filter> children = ((Or) update1.getFilter()).getChildren();
+        assertEquals(2, children.size());
+        assertEquals(ff.id(ff.featureId("t1.1"), ff.featureId("t1.2")), children.get(0));
+        assertEquals(filter1, children.get(1));
+        assertEquals(filter2, update4.getFilter());
+        assertEquals(filter3, update5.getFilter());
+
+        verify(update1Handler, times(1)).execute(same(update1), any(), any(), any(), any());
+        verify(update2Handler, times(0)).execute(any(), any(), any(), any(), any());
+        verify(update3Handler, times(0)).execute(any(), any(), any(), any(), any());
+        verify(update4Handler, times(1)).execute(same(update4), any(), any(), any(), any());
+        verify(update5Handler, times(1)).execute(same(update5), any(), any(), any(), any());
+        assertEquals(3, lTransaction.getElements().size());
+    }
+
+    @Test
+    public void testUpdateAggregationBatchSize() {
+        Map<TransactionElement, TransactionElementHandler> element2Handlers = new LinkedHashMap<>();
+        List<TransactionElementHandler> handlers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            TransactionElementHandler handler = mock(TransactionElementHandler.class);
+            element2Handlers.put(newUpdate(type1Name, mock(Filter.class), "v1"), handler);
+            handlers.add(handler);
+        }
+
+        TransactionRequest lTransaction = transactionRequest(element2Handlers.keySet());
+        BatchManager sut = new BatchManager(
+                lTransaction, transactionListener, stores, transactionResponse, element2Handlers, 100, 2);
+        sut.run();
+
+        // batches of two
+        verify(handlers.get(0), times(1)).execute(any(), any(), any(), any(), any());
+        verify(handlers.get(1), times(0)).execute(any(), any(), any(), any(), any());
+        verify(handlers.get(2), times(1)).execute(any(), any(), any(), any(), any());
+        verify(handlers.get(3), times(0)).execute(any(), any(), any(), any(), any());
+        verify(handlers.get(4), times(1)).execute(any(), any(), any(), any(), any());
+        assertEquals(3, lTransaction.getElements().size());
+    }
+
     private void testAggregationWithDeleteBatchSize(int pDeleteBatchSize) {
         // given: test transactions contents...
         Insert insert1 = newInsert(feature1);
@@ -414,6 +489,17 @@ private Update newUpdate() {
         return lUpdate;
     }
 
+    private Update newUpdate(QName pTypeName, Filter pFilter, String pValue) {
+        Update lUpdate = newUpdate();
+        lUpdate.setTypeName(pTypeName);
+        lUpdate.setFilter(pFilter);
+        Property lProperty = lUpdate.createProperty();
+        lProperty.setName(new QName("name"));
+        lProperty.setValue(pValue);
+        lUpdate.setUpdateProperties(List.of(lProperty));
+        return lUpdate;
+    }
+
     private Insert newInsert(SimpleFeature pFeature) {
         InsertType lInsertType = Wfs20Factory.eINSTANCE.createInsertType();
         Insert lInsert = new Insert.WFS20(lInsertType);
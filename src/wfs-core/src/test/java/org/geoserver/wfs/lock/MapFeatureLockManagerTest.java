@@ -0,0 +1,108 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wfs.lock;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+import javax.xml.namespace.QName;
+import org.geoserver.wfs.lock.FeatureLockManager.Status;
+import org.geotools.api.data.FeatureLock;
+import org.junit.After;
+import org.junit.Test;
+
+public class MapFeatureLockManagerTest {
+
+    static final QName TYPE = new QName("http://geoserver.org/test", "Roads");
+
+    static final QName OTHER_TYPE = new QName("http://geoserver.org/test", "Lakes");
+
+    MapFeatureLockManager manager = new MapFeatureLockManager();
+
+    @After
+    public void destroy() {
+        manager.destroy();
+    }
+
+    @Test
+    public void testLockConflicts() {
+        assertFalse(manager.hasLocks(TYPE));
+
+        assertEquals(Set.of(), manager.lockFeatures(new FeatureLock("a", 60000), TYPE, List.of("1", "2")));
+        assertTrue(manager.hasLocks(TYPE));
+
+        // features held by another lock are not locked, the others are
+        Set<String> notLocked = manager.lockFeatures(new FeatureLock("b", 60000), TYPE, List.of("2", "3"));
+        assertEquals(Set.of("2"), notLocked);
+        // locking again with the same lock is fine
+        assertEquals(Set.of(), manager.lockFeatures(new FeatureLock("a", 60000), TYPE, List.of("1", "2")));
+        // same ids in another type are not locked
+        assertEquals(Set.of(), manager.lockFeatures(new FeatureLock("b", 60000), OTHER_TYPE, List.of("1")));
+
+        assertEquals(Set.of("1", "2", "3"), manager.getLockedFeatures(TYPE, List.of("1", "2", "3", "4"), null));
+        assertEquals(Set.of("3"), manager.getLockedFeatures(TYPE, List.of("1", "2", "3", "4"), "a"));
+        assertEquals(Set.of("1", "2"), manager.getLockedFeatures(TYPE, List.of("1", "2", "3", "4"), "b"));
+    }
+
+    @Test
+    public void testUnlockAndRelease() {
+        manager.lockFeatures(new FeatureLock("a", 60000), TYPE, List.of("1", "2"));
+        manager.unlockFeatures("a", TYPE, List.of("1"));
+        assertEquals(Set.of("2"), manager.getLockedFeatures(TYPE, List.of("1", "2"), null));
+        // unlocking with another lock has no effect
+        manager.unlockFeatures("b", TYPE, List.of("2"));
+        assertEquals(Set.of("2"), manager.getLockedFeatures(TYPE, List.of("1", "2"), null));
+
+        manager.release("a");
+        assertEquals(Status.UNKNOWN, manager.getStatus("a"));
+        assertEquals(Set.of(), manager.getLockedFeatures(TYPE, List.of("1", "2"), null));
+        // the features of a released lock can be locked right away
+        assertEquals(Set.of(), manager.lockFeatures(new FeatureLock("b", 60000), TYPE, List.of("2")));
+        assertEquals(Set.of("2"), manager.getLockedFeatures(TYPE, List.of("1", "2"), null));
+
+        manager.releaseAll();
+        assertEquals(Status.UNKNOWN, manager.getStatus("b"));
+        assertFalse(manager.hasLocks(TYPE));
+    }
+
+    @Test
+    public void testExpiryAndRefresh() {
+        // a negative duration expires right away
+        manager.lockFeatures(new FeatureLock("expired", -1000), TYPE, List.of("1"));
+        manager.lockFeatures(new FeatureLock("active", 60000), TYPE, List.of("2"));
+        manager.lockFeatures(new FeatureLock("forever", 0), TYPE, List.of("3"));
+
+        assertEquals(Status.EXPIRED, manager.getStatus("expired"));
+        assertEquals(Status.ACTIVE, manager.getStatus("active"));
+        assertEquals(Status.ACTIVE, manager.getStatus("forever"));
+        assertEquals(Status.UNKNOWN, manager.getStatus("unknown"));
+        assertEquals(Set.of("2", "3"), manager.getLockedFeatures(TYPE, List.of("1", "2", "3"), null));
+
+        assertEquals(Status.EXPIRED, manager.refresh("expired"));
+        assertEquals(Status.ACTIVE, manager.refresh("active"));
+        assertEquals(Status.UNKNOWN, manager.refresh("unknown"));
+
+        // the features of an expired lock can be taken over
+        assertEquals(Set.of(), manager.lockFeatures(new FeatureLock("other", 60000), TYPE, List.of("1")));
+        assertEquals(Set.of("1"), manager.getLockedFeatures(TYPE, List.of("1"), "active"));
+    }
+
+    @Test
+    public void testPurge() {
+        manager.lockFeatures(new FeatureLock("expired", -1000), TYPE, List.of("1", "2"));
+        manager.lockFeatures(new FeatureLock("active", 60000), TYPE, List.of("3"));
+        manager.lockFeatures(new FeatureLock("released", 60000), TYPE, List.of("4"));
+        manager.release("released");
+
+        manager.purgeExpired(System.currentTimeMillis());
+
+        assertEquals(Status.UNKNOWN, manager.getStatus("expired"));
+        assertEquals(Status.ACTIVE, manager.getStatus("active"));
+        assertEquals(Set.of(MapFeatureLockManager.getFeatureKey(TYPE, "3")), manager.getFeatures().keySet());
+    }
+}
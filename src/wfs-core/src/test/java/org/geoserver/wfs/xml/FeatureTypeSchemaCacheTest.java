@@ -0,0 +1,48 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wfs.xml;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.xsd.XSDFactory;
+import org.junit.After;
+import org.junit.Test;
+
+public class FeatureTypeSchemaCacheTest {
+
+    @After
+    public void clearCleanups() {
+        SchemaCleanerCallback.cleanups.remove();
+    }
+
+    @Test
+    public void testEvictedWhileInUse() {
+        FeatureTypeSchemaCache.SharedSchema shared =
+                new FeatureTypeSchemaCache.SharedSchema(XSDFactory.eINSTANCE.createXSDSchema());
+        assertTrue(shared.acquire());
+        assertTrue(shared.acquire());
+
+        // evicted while two requests use it, it's kept until they end
+        shared.evict();
+        assertFalse(shared.isDisposed());
+        assertFalse(shared.acquire());
+
+        new SchemaCleanerCallback().finished(null);
+        assertTrue(shared.isDisposed());
+    }
+
+    @Test
+    public void testEvictedUnused() {
+        FeatureTypeSchemaCache.SharedSchema shared =
+                new FeatureTypeSchemaCache.SharedSchema(XSDFactory.eINSTANCE.createXSDSchema());
+        assertTrue(shared.acquire());
+        new SchemaCleanerCallback().finished(null);
+        assertFalse(shared.isDisposed());
+
+        shared.evict();
+        assertTrue(shared.isDisposed());
+    }
+}
@@ -9,10 +9,12 @@
 import java.io.Reader;
 import java.util.Map;
 import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
 import org.geoserver.config.GeoServer;
 import org.geoserver.ows.XmlRequestReader;
 import org.geoserver.util.EntityResolverProvider;
 import org.geoserver.wfs.WFSInfo;
+import org.geoserver.wfs.xml.StreamingTransactionReader;
 import org.geoserver.wfs.xml.WFSXmlUtils;
 import org.geotools.util.Version;
 import org.geotools.xsd.Configuration;
@@ -51,6 +53,17 @@ protected WfsXmlReader(String element, GeoServer gs, Configuration configuration
 
     @Override
     public Object read(Object request, Reader reader, Map kvp) throws Exception {
+        if ("Transaction".equals(getElement().getLocalPart()) && StreamingTransactionReader.isStreaming(wfs, kvp)) {
+            try {
+                return StreamingTransactionReader.read(reader, getElement(), r -> parse(r, kvp));
+            } catch (XMLStreamException e) {
+                throw createParseException(e);
+            }
+        }
+        return parse(reader, kvp);
+    }
+
+    Object parse(Reader reader, Map kvp) throws Exception {
         Parser parser = new Parser(configuration);
         parser.setStrict(false);
         parser.setEntityResolver(entityResolverProvider.getEntityResolver());
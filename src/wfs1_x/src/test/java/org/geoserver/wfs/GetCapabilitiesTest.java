@@ -25,6 +25,7 @@
 import org.geoserver.catalog.LayerInfo;
 import org.geoserver.catalog.ResourceInfo;
 import org.geoserver.config.CapabilitiesCacheHeadersCallback;
+import org.geoserver.config.CapabilitiesDocumentCache;
 import org.geoserver.config.GeoServerInfo;
 import org.geoserver.config.ResourceErrorHandling;
 import org.geoserver.data.test.CiteTestData;
@@ -388,6 +389,43 @@ public void testCachingHeadersDisabled() throws Exception {
         }
     }
 
+    @Test
+    public void testCapabilitiesDocumentCache() throws Exception {
+        CapabilitiesDocumentCache cache = GeoServerExtensions.bean(CapabilitiesDocumentCache.class);
+        boolean backup = cache.isEnabled();
+        try {
+            cache.setEnabled(true);
+            String path = "wfs?service=WFS&version=1.1.0&request=getCapabilities";
+
+            // first request fills the cache, the second one is served from it
+            String first = getAsString(path);
+            assertEquals(1, cache.size());
+            long hits = cache.getHitCount();
+            String second = getAsString(path);
+            assertEquals(first, second);
+            assertEquals(1, cache.size());
+            assertEquals(hits + 1, cache.getHitCount());
+
+            // a different request gets its own entry
+            getAsString("wfs?service=WFS&version=1.0.0&request=getCapabilities");
+            assertEquals(2, cache.size());
+
+            // catalog changes flush the cache and show up in the next document
+            FeatureTypeInfo fti = getCatalog().getFeatureTypeByName(getLayerId(CiteTestData.PRIMITIVEGEOFEATURE));
+            fti.setTitle("Cached Features");
+            getCatalog().save(fti);
+            assertEquals(0, cache.size());
+            Document dom = getAsDOM(path);
+            assertXpathEvaluatesTo(
+                    "Cached Features",
+                    "//wfs:FeatureType[wfs:Name='" + getLayerId(CiteTestData.PRIMITIVEGEOFEATURE) + "']/wfs:Title",
+                    dom);
+        } finally {
+            cache.setEnabled(backup);
+            revertLayer(CiteTestData.PRIMITIVEGEOFEATURE);
+        }
+    }
+
     MockHttpServletRequest createGetRequestWithHeaders(String path, String... headers) {
         MockHttpServletRequest request = createRequest(path);
         request.setMethod("GET");
@@ -8,8 +8,10 @@
 import static org.custommonkey.xmlunit.XMLAssert.assertXpathEvaluatesTo;
 import static org.custommonkey.xmlunit.XMLAssert.assertXpathExists;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -29,6 +31,11 @@
 import org.geoserver.config.GeoServer;
 import org.geoserver.data.test.MockData;
 import org.geoserver.data.test.SystemTestData;
+import org.geotools.api.data.FeatureSource;
+import org.geotools.api.data.Query;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.expression.PropertyName;
+import org.geotools.factory.CommonFactoryFinder;
 import org.junit.Before;
 import org.junit.Test;
 import org.springframework.mock.web.MockHttpServletRequest;
@@ -448,6 +455,31 @@ public void testGetIAULayer() throws Exception {
         }
     }
 
+    @Test
+    public void testPartitionAwareFormats() {
+        assertTrue(GetFeature.isPartitionAware("application/json"));
+        assertTrue(GetFeature.isPartitionAware("csv"));
+        // formats encoding the features sequentially are not worth the extra partitioning queries
+        assertFalse(GetFeature.isPartitionAware("GML2"));
+        assertFalse(GetFeature.isPartitionAware("SHAPE-ZIP"));
+        assertFalse(GetFeature.isPartitionAware("not-a-format"));
+        assertFalse(GetFeature.isPartitionAware(null));
+    }
+
+    @Test
+    public void testPartitionRange() throws Exception {
+        FeatureSource<?, ?> source = getCatalog()
+                .getFeatureTypeByName(getLayerId(SystemTestData.PRIMITIVEGEOFEATURE))
+                .getFeatureSource(null, null);
+        PropertyName property = CommonFactoryFinder.getFilterFactory().property("intProperty");
+        String typeName = source.getSchema().getName().getLocalPart();
+        long[] range = GetFeature.getRange(source, new Query(typeName), property);
+        assertEquals(-900, range[0]);
+        assertEquals(300, range[1]);
+        // no values, no range
+        assertNull(GetFeature.getRange(source, new Query(typeName, Filter.EXCLUDE), property));
+    }
+
     @Test
     public void testCiteCompliant() throws Exception {
         GeoServer gs = getGeoServer();
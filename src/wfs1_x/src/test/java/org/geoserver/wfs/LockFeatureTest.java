@@ -11,6 +11,7 @@
 
 import org.custommonkey.xmlunit.XMLAssert;
 import org.geoserver.data.test.SystemTestData;
+import org.geoserver.wfs.lock.FeatureLocks;
 import org.junit.Test;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
@@ -96,6 +97,20 @@ public void testLockActionSomeAlreadyLocked() throws Exception {
 
     @Test
     public void testDeleteWithoutLockId() throws Exception {
+        checkDeleteWithoutLockId();
+    }
+
+    @Test
+    public void testDeleteWithoutLockIdMemoryLockManager() throws Exception {
+        System.setProperty(FeatureLocks.MANAGER_PROPERTY, "memoryFeatureLockManager");
+        try {
+            checkDeleteWithoutLockId();
+        } finally {
+            System.clearProperty(FeatureLocks.MANAGER_PROPERTY);
+        }
+    }
+
+    private void checkDeleteWithoutLockId() throws Exception {
         // get a feature
         String xml = "<wfs:GetFeature"
                 + "  service=\"WFS\""
@@ -163,6 +178,20 @@ public void testDeleteWithoutLockId() throws Exception {
 
     @Test
     public void testUpdateWithLockId() throws Exception {
+        checkUpdateWithLockId();
+    }
+
+    @Test
+    public void testUpdateWithLockIdMemoryLockManager() throws Exception {
+        System.setProperty(FeatureLocks.MANAGER_PROPERTY, "memoryFeatureLockManager");
+        try {
+            checkUpdateWithLockId();
+        } finally {
+            System.clearProperty(FeatureLocks.MANAGER_PROPERTY);
+        }
+    }
+
+    private void checkUpdateWithLockId() throws Exception {
         // get a feature
         String xml = "<wfs:GetFeature"
                 + "  service=\"WFS\""
@@ -10,6 +10,7 @@
 
 import java.util.List;
 import org.geoserver.data.test.MockData;
+import org.geoserver.wfs.xml.StreamingTransactionReader;
 import org.junit.Before;
 import org.junit.Test;
 import org.w3c.dom.Document;
@@ -86,6 +87,41 @@ public void testInsert() throws Exception {
         assertXpathEvaluatesTo("1", "count(//cgf:Points)", pointFeatures);
     }
 
+    @Test
+    public void testInsertStreamingEnabled() throws Exception {
+        // streaming would hide the inserted features from the callback, that needs to modify them
+        System.setProperty(StreamingTransactionReader.THRESHOLD_PROPERTY, "0");
+        try {
+            String insert = "<wfs:Transaction service=\"WFS\" version=\"1.1.0\" "
+                    + "xmlns:cgf=\"http://www.opengis.net/cite/geometry\" "
+                    + "xmlns:ogc=\"http://www.opengis.net/ogc\" "
+                    + "xmlns:wfs=\"http://www.opengis.net/wfs\" "
+                    + "xmlns:gml=\"http://www.opengis.net/gml\"> "
+                    + "<wfs:Insert srsName=\"EPSG:32615\"> "
+                    + "<cgf:Points>"
+                    + "<cgf:pointProperty>"
+                    + "<gml:Point>"
+                    + "<gml:pos>1 1</gml:pos>"
+                    + "</gml:Point>"
+                    + "</cgf:pointProperty>"
+                    + "<cgf:id>t0004</cgf:id>"
+                    + "</cgf:Points>"
+                    + "</wfs:Insert>"
+                    + "</wfs:Transaction>";
+
+            Document dom = postAsDOM("wfs", insert);
+            assertXpathEvaluatesTo("1", "//wfs:totalInserted", dom);
+            assertTrue(plugin.committed);
+
+            // the callback got to modify the feature before it was inserted
+            Document pointFeatures = getAsDOM("wfs?service=WFS&version=1.1.0&request=GetFeature&typeName=cgf:Points"
+                    + "&CQL_FILTER=id='t0004-modified'");
+            assertXpathEvaluatesTo("1", "count(//cgf:Points)", pointFeatures);
+        } finally {
+            System.clearProperty(StreamingTransactionReader.THRESHOLD_PROPERTY);
+        }
+    }
+
     @Test
     public void testUpdate() throws Exception {
         String xml = "<wfs:Transaction service=\"WFS\" version=\"1.1.0\""
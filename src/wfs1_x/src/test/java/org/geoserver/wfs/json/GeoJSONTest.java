@@ -30,6 +30,7 @@
 import org.geoserver.data.test.SystemTestData;
 import org.geoserver.json.JSONType;
 import org.geoserver.util.IOUtils;
+import org.geoserver.wfs.GetFeature;
 import org.geoserver.wfs.WFSInfo;
 import org.geoserver.wfs.WFSTestSupport;
 import org.geotools.api.referencing.FactoryException;
@@ -352,6 +353,37 @@ public void testCallbackFunction() throws Exception {
         assertEquals("surfaceProperty", aFeature.getString("geometry_name"));
     }
 
+    @Test
+    public void testPartitionedRequest() throws Exception {
+        String request = "wfs?request=GetFeature&version=1.0.0&typename=sf:PrimitiveGeoFeature&outputformat="
+                + JSONType.json;
+        JSONObject expected = JSONObject.fromObject(getAsString(request));
+
+        FeatureTypeInfo fti = getCatalog().getFeatureTypeByName(getLayerId(SystemTestData.PRIMITIVEGEOFEATURE));
+        fti.getMetadata().put(GetFeature.PARTITION_ATTRIBUTE, "intProperty");
+        getCatalog().save(fti);
+        GetFeature.setPartitions(3);
+        try {
+            JSONObject partitioned = JSONObject.fromObject(getAsString(request));
+            JSONArray features = partitioned.getJSONArray("features");
+            JSONArray expectedFeatures = expected.getJSONArray("features");
+            assertEquals(expectedFeatures.size(), features.size());
+            assertEquals(expected.get("numberReturned"), partitioned.get("numberReturned"));
+            assertEquals(expected.get("crs"), partitioned.get("crs"));
+            assertEquals(expected.get("bbox"), partitioned.get("bbox"));
+            // f015 has the lowest intProperty, it's the only one in the first partition
+            assertEquals("PrimitiveGeoFeature.f015", features.getJSONObject(0).getString("id"));
+            for (int i = 0; i < expectedFeatures.size(); i++) {
+                assertTrue(features.contains(expectedFeatures.getJSONObject(i)));
+            }
+        } finally {
+            GetFeature.setPartitions(0);
+            fti = getCatalog().getFeatureTypeByName(getLayerId(SystemTestData.PRIMITIVEGEOFEATURE));
+            fti.getMetadata().remove(GetFeature.PARTITION_ATTRIBUTE);
+            getCatalog().save(fti);
+        }
+    }
+
     @Test
     public void testGetFeatureCountNoFilter() throws Exception {
         // request without filter
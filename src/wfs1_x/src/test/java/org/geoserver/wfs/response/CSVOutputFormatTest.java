@@ -7,6 +7,7 @@
 import static org.geoserver.data.test.CiteTestData.ROAD_SEGMENTS;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
 
 import au.com.bytecode.opencsv.CSVReader;
 import java.io.BufferedReader;
@@ -16,10 +17,12 @@
 import java.security.InvalidParameterException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import net.opengis.wfs.GetFeatureType;
@@ -29,6 +32,7 @@
 import org.geoserver.data.test.MockData;
 import org.geoserver.data.test.SystemTestData;
 import org.geoserver.platform.Operation;
+import org.geoserver.wfs.GetFeature;
 import org.geoserver.wfs.WFS1XTestSupport;
 import org.geoserver.wfs.WFSInfo;
 import org.geoserver.wfs.request.FeatureCollectionResponse;
@@ -117,6 +121,32 @@ public void testFullRequest() throws Exception {
         }
     }
 
+    @Test
+    public void testPartitionedRequest() throws Exception {
+        String request = "wfs?version=1.1.0&request=GetFeature&typeName=sf:PrimitiveGeoFeature&outputFormat=csv";
+        List<String> expected = Arrays.asList(
+                getAsServletResponse(request, UTF_8.name()).getContentAsString().split("\r\n"));
+
+        FeatureTypeInfo fti = getCatalog().getFeatureTypeByName(getLayerId(MockData.PRIMITIVEGEOFEATURE));
+        fti.getMetadata().put(GetFeature.PARTITION_ATTRIBUTE, "intProperty");
+        getCatalog().save(fti);
+        GetFeature.setPartitions(3);
+        try {
+            List<String> partitioned = Arrays.asList(
+                    getAsServletResponse(request, UTF_8.name()).getContentAsString().split("\r\n"));
+            // same header and rows, the rows sorted by partition, f015 has the lowest intProperty
+            assertEquals(expected.get(0), partitioned.get(0));
+            assertTrue(partitioned.get(1).startsWith("PrimitiveGeoFeature.f015,"));
+            assertEquals(new HashSet<>(expected), new HashSet<>(partitioned));
+            assertEquals(expected.size(), partitioned.size());
+        } finally {
+            GetFeature.setPartitions(0);
+            fti = getCatalog().getFeatureTypeByName(getLayerId(MockData.PRIMITIVEGEOFEATURE));
+            fti.getMetadata().remove(GetFeature.PARTITION_ATTRIBUTE);
+            getCatalog().save(fti);
+        }
+    }
+
     @Test
     public void testHTMLStuff() throws Exception {
         MockHttpServletResponse resp = getAsServletResponse(
@@ -66,6 +66,7 @@
 import org.junit.Before;
 import org.junit.Test;
 import org.locationtech.jts.geom.CoordinateXYZM;
+import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.geom.LineString;
@@ -1005,4 +1006,136 @@ public void testCountZero() throws Exception {
         checkShapefileIntegrity(
                 new String[] {"BasicPolygons"}, new ByteArrayInputStream(response.getContentAsByteArray()));
     }
+
+    @Test
+    public void testStreaming() throws Exception {
+        SimpleFeatureCollection fc = getFeatureSource(SystemTestData.BASIC_POLYGONS).getFeatures();
+        byte[] streamed = writeOutStreaming(fc);
+        checkShapefileIntegrity(new String[] {"BasicPolygons"}, new ByteArrayInputStream(streamed));
+        checkFieldsAreNotEmpty(new ByteArrayInputStream(streamed));
+
+        // same contents as the dumped shapefile
+        List<SimpleFeature> expected = new ArrayList<>();
+        testShapefile(new ByteArrayInputStream(writeOut(fc)), "BasicPolygons", store -> {
+            expected.addAll(DataUtilities.list(store.getFeatureSource().getFeatures()));
+        });
+        testShapefile(new ByteArrayInputStream(streamed), "BasicPolygons", store -> {
+            List<SimpleFeature> actual = DataUtilities.list(store.getFeatureSource().getFeatures());
+            assertEquals(expected.size(), actual.size());
+            SimpleFeatureType expectedSchema = expected.get(0).getFeatureType();
+            SimpleFeatureType schema = store.getSchema();
+            assertEquals(expectedSchema.getAttributeCount(), schema.getAttributeCount());
+            for (int i = 0; i < schema.getAttributeCount(); i++) {
+                assertEquals(expectedSchema.getDescriptor(i).getLocalName(), schema.getDescriptor(i).getLocalName());
+                assertEquals(
+                        expectedSchema.getDescriptor(i).getType().getBinding(),
+                        schema.getDescriptor(i).getType().getBinding());
+            }
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i).getAttributes(), actual.get(i).getAttributes());
+            }
+        });
+    }
+
+    @Test
+    public void testStreamingLongNames() throws Exception {
+        byte[] zip = writeOutStreaming(getFeatureSource(LONGNAMES).getFeatures());
+        checkLongNamesSchema(checkFieldsAreNotEmpty(new ByteArrayInputStream(zip)));
+    }
+
+    @Test
+    public void testStreamingNullGeometries() throws Exception {
+        byte[] zip = writeOutStreaming(getFeatureSource(NULLGEOM).getFeatures());
+        checkShapefileIntegrity(new String[] {"nullgeom"}, new ByteArrayInputStream(zip));
+    }
+
+    @Test
+    public void testStreamingEmptyResult() throws Exception {
+        byte[] zip = writeOutStreaming(getFeatureSource(SystemTestData.BASIC_POLYGONS).getFeatures(Filter.EXCLUDE));
+        checkShapefileIntegrity(new String[] {"BasicPolygons"}, new ByteArrayInputStream(zip));
+        testShapefile(new ByteArrayInputStream(zip), "BasicPolygons", store -> {
+            assertEquals(0, store.getFeatureSource().getFeatures().size());
+        });
+    }
+
+    @Test
+    public void testStreamingFallback() throws Exception {
+        // mixed geometry types are split by the dumper, in the same zip as the streamed shapefiles
+        ShapeZipOutputFormat zip = new ShapeZipOutputFormat(
+                GeoServerExtensions.bean(GeoServer.class),
+                (Catalog) GeoServerExtensions.bean("catalog"),
+                (GeoServerResourceLoader) GeoServerExtensions.bean("resourceLoader"));
+        zip.setStreaming(true);
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        FeatureCollectionResponse fct =
+                FeatureCollectionResponse.adapt(WfsFactory.eINSTANCE.createFeatureCollectionType());
+        fct.getFeature().add(getFeatureSource(SystemTestData.BASIC_POLYGONS).getFeatures());
+        fct.getFeature().add(getFeatureSource(ALL_TYPES).getFeatures());
+        zip.write(fct, bos, op);
+
+        final String[] expectedTypes = {
+            "BasicPolygons", "AllTypesPoint", "AllTypesMPoint", "AllTypesPolygon", "AllTypesLine"
+        };
+        checkShapefileIntegrity(expectedTypes, new ByteArrayInputStream(bos.toByteArray()));
+    }
+
+    @Test
+    public void testStreamingCharsetAndESRIFormat() throws Exception {
+        setupESRIPropertyFile();
+        Map options = new HashMap<>();
+        options.put("CHARSET", Charset.forName("ISO-8859-15"));
+        options.put("PRJFILEFORMAT", "ESRI");
+        gft.setFormatOptions(options);
+
+        byte[] zip = writeOutStreaming(getFeatureSource(SystemTestData.BASIC_POLYGONS).getFeatures());
+        checkShapefileIntegrity(new String[] {"BasicPolygons"}, new ByteArrayInputStream(zip));
+        assertEquals("ISO-8859-15", getCharset(new ByteArrayInputStream(zip)));
+        checkFileContent("BasicPolygons.prj", new ByteArrayInputStream(zip), get4326_ESRI_WKTContent());
+    }
+
+    @Test
+    public void testStreamingSplitSize() throws Exception {
+        SimpleFeatureCollection fc = getFeatureSource(SystemTestData.BASIC_POLYGONS).getFeatures();
+        byte[] zip = writeOutStreaming(fc, 500, 500);
+        String shapefileName = SystemTestData.BASIC_POLYGONS.getLocalPart();
+        final String[] expectedTypes = {shapefileName, shapefileName + "1", shapefileName + "2"};
+        checkShapefileIntegrity(expectedTypes, new ByteArrayInputStream(zip));
+
+        // all the features are there, in order
+        List<Envelope> envelopes = new ArrayList<>();
+        for (String typeName : expectedTypes) {
+            testShapefile(new ByteArrayInputStream(zip), typeName, store -> {
+                for (SimpleFeature f : DataUtilities.list(store.getFeatureSource().getFeatures())) {
+                    envelopes.add(((Geometry) f.getDefaultGeometry()).getEnvelopeInternal());
+                }
+            });
+        }
+        List<Envelope> expected = new ArrayList<>();
+        for (SimpleFeature f : DataUtilities.list(fc)) {
+            expected.add(((Geometry) f.getDefaultGeometry()).getEnvelopeInternal());
+        }
+        assertEquals(expected, envelopes);
+    }
+
+    /** Streams the feature source contents into a zipped shapefile, returns the output as a byte array */
+    byte[] writeOutStreaming(FeatureCollection fc) throws IOException {
+        return writeOutStreaming(fc, Integer.MAX_VALUE, Integer.MAX_VALUE);
+    }
+
+    /** Streams the feature source contents into zipped shapefiles of the given max sizes */
+    byte[] writeOutStreaming(FeatureCollection fc, long maxShpSize, long maxDbfSize) throws IOException {
+        ShapeZipOutputFormat zip = new ShapeZipOutputFormat(
+                GeoServerExtensions.bean(GeoServer.class),
+                (Catalog) GeoServerExtensions.bean("catalog"),
+                (GeoServerResourceLoader) GeoServerExtensions.bean("resourceLoader"));
+        zip.setStreaming(true);
+        zip.setMaxDbfSize(maxDbfSize);
+        zip.setMaxShpSize(maxShpSize);
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        FeatureCollectionResponse fct =
+                FeatureCollectionResponse.adapt(WfsFactory.eINSTANCE.createFeatureCollectionType());
+        fct.getFeature().add(fc);
+        zip.write(fct, bos, op);
+        return bos.toByteArray();
+    }
 }
@@ -11,6 +11,8 @@
 import static org.geoserver.data.test.CiteTestData.PRIMITIVEGEOFEATURE;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -20,6 +22,7 @@
 import java.util.List;
 import javax.xml.namespace.QName;
 import org.custommonkey.xmlunit.XMLAssert;
+import org.eclipse.xsd.XSDSchema;
 import org.geoserver.catalog.AttributeTypeInfo;
 import org.geoserver.catalog.Catalog;
 import org.geoserver.catalog.DataStoreInfo;
@@ -28,10 +31,13 @@
 import org.geoserver.config.GeoServer;
 import org.geoserver.data.test.CiteTestData;
 import org.geoserver.data.test.SystemTestData;
+import org.geoserver.platform.GeoServerExtensions;
 import org.geoserver.util.IOUtils;
 import org.geoserver.wfs.GMLInfo;
 import org.geoserver.wfs.WFSInfo;
 import org.geoserver.wfs.WFSTestSupport;
+import org.geoserver.wfs.xml.FeatureTypeSchemaBuilder;
+import org.geoserver.wfs.xml.FeatureTypeSchemaCache;
 import org.geotools.gml3.GML;
 import org.geotools.util.SimpleInternationalString;
 import org.geotools.wfs.v1_1.WFS;
@@ -372,4 +378,40 @@ public void testCustomizeFeatureType() throws Exception {
         assertXpathEvaluatesTo(
                 "attribute description", "//xsd:element[@name='abstract']/xsd:annotation/xsd:documentation", doc);
     }
+
+    @Test
+    public void testSchemaCache() throws Exception {
+        FeatureTypeSchemaCache cache = GeoServerExtensions.bean(FeatureTypeSchemaCache.class);
+        cache.invalidateAll();
+
+        String layerId = getLayerId(CiteTestData.AGGREGATEGEOFEATURE);
+        String path = "ows?service=WFS&version=1.1.0&request=DescribeFeatureType&typeName=" + layerId;
+        String schema = getAsString(path);
+        assertEquals(1, cache.size());
+        assertEquals(schema, getAsString(path));
+        assertEquals(1, cache.size());
+
+        // catalog changes invalidate the cache
+        FeatureTypeInfo fti = getCatalog().getFeatureTypeByName(layerId);
+        fti.setTitle("Cache invalidation test");
+        getCatalog().save(fti);
+        assertEquals(0, cache.size());
+        assertEquals(schema, getAsString(path));
+    }
+
+    @Test
+    public void testSharedSchema() throws Exception {
+        FeatureTypeSchemaBuilder builder = new FeatureTypeSchemaBuilder.GML3(getGeoServer());
+        FeatureTypeInfo[] types = {getCatalog().getFeatureTypeByName(getLayerId(CiteTestData.AGGREGATEGEOFEATURE))};
+        XSDSchema schema = builder.getSharedSchema(types, null);
+        assertSame(schema, builder.getSharedSchema(types, null));
+
+        // the built schemas are private
+        assertNotSame(schema, builder.build(types, null));
+
+        // and the shared ones are rebuilt after a catalog change
+        types[0].setAbstract("Cache invalidation test");
+        getCatalog().save(types[0]);
+        assertNotSame(schema, builder.getSharedSchema(types, null));
+    }
 }
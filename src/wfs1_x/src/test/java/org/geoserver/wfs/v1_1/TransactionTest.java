@@ -27,6 +27,7 @@
 import org.geoserver.data.test.CiteTestData;
 import org.geoserver.data.test.SystemTestData;
 import org.geoserver.wfs.WFSTestSupport;
+import org.geoserver.wfs.xml.StreamingTransactionReader;
 import org.geoserver.wfs.xml.WFSXmlUtils;
 import org.geoserver.wfs.xml.v1_1_0.WFS;
 import org.geotools.api.data.DataStore;
@@ -856,6 +857,104 @@ public void testInsertUseExistingId() throws Exception {
         XMLAssert.assertXpathExists("//gs:bar[@gml:id = 'bar.1234']", dom);
     }
 
+    @Test
+    public void testBatchedUpdates() throws Exception {
+        // three updates setting the same value, batched in a single one, plus a different one
+        StringBuilder xml = new StringBuilder("<wfs:Transaction service=\"WFS\" version=\"1.1.0\""
+                + " xmlns:cite=\"http://www.opengis.net/cite\""
+                + " xmlns:ogc=\"http://www.opengis.net/ogc\""
+                + " xmlns:wfs=\"http://www.opengis.net/wfs\">");
+        String[][] updates = {{"102", "Batched"}, {"105", "Batched"}, {"106", "Batched"}, {"104", "Single"}};
+        for (String[] update : updates) {
+            xml.append(" <wfs:Update typeName=\"cite:RoadSegments\">"
+                    + "   <wfs:Property>"
+                    + "     <wfs:Name>NAME</wfs:Name>"
+                    + "     <wfs:Value>"
+                    + update[1]
+                    + "</wfs:Value>"
+                    + "   </wfs:Property>"
+                    + "   <ogc:Filter>"
+                    + "     <ogc:PropertyIsEqualTo>"
+                    + "       <ogc:PropertyName>FID</ogc:PropertyName>"
+                    + "       <ogc:Literal>"
+                    + update[0]
+                    + "</ogc:Literal>"
+                    + "     </ogc:PropertyIsEqualTo>"
+                    + "   </ogc:Filter>"
+                    + " </wfs:Update>");
+        }
+        xml.append("</wfs:Transaction>");
+
+        Document dom = postAsDOM("wfs", xml.toString());
+        assertEquals("wfs:TransactionResponse", dom.getDocumentElement().getNodeName());
+        assertEquals(
+                "4",
+                getFirstElementByTagName(dom, "wfs:totalUpdated")
+                        .getFirstChild()
+                        .getNodeValue());
+
+        dom = getAsDOM("wfs?request=GetFeature&version=1.1.0&service=wfs&typeName=cite:RoadSegments"
+                + "&cql_filter=NAME='Batched'");
+        XMLAssert.assertXpathEvaluatesTo("3", "count(//cite:RoadSegments)", dom);
+        dom = getAsDOM("wfs?request=GetFeature&version=1.1.0&service=wfs&typeName=cite:RoadSegments"
+                + "&cql_filter=NAME='Single'");
+        XMLAssert.assertXpathEvaluatesTo("1", "count(//cite:RoadSegments)", dom);
+        XMLAssert.assertXpathEvaluatesTo("104", "//cite:RoadSegments/cite:FID", dom);
+    }
+
+    @Test
+    public void testStreamedInserts() throws Exception {
+        // stream any request, parsing the features two at a time
+        System.setProperty(StreamingTransactionReader.THRESHOLD_PROPERTY, "0");
+        System.setProperty(StreamingTransactionReader.BATCH_SIZE_PROPERTY, "2");
+        try {
+            StringBuilder xml = new StringBuilder("<wfs:Transaction service=\"WFS\" version=\"1.1.0\""
+                    + " xmlns:cite=\"http://www.opengis.net/cite\""
+                    + " xmlns:ogc=\"http://www.opengis.net/ogc\""
+                    + " xmlns:gml=\"http://www.opengis.net/gml\""
+                    + " xmlns:wfs=\"http://www.opengis.net/wfs\">");
+            for (int i = 0; i < 5; i++) {
+                // an update in between, so that the inserts are executed separately
+                if (i == 3) {
+                    xml.append("<wfs:Update typeName=\"cite:RoadSegments\">"
+                            + "<wfs:Property><wfs:Name>NAME</wfs:Name><wfs:Value>Updated</wfs:Value></wfs:Property>"
+                            + "<ogc:Filter><ogc:PropertyIsEqualTo><ogc:PropertyName>FID</ogc:PropertyName>"
+                            + "<ogc:Literal>102</ogc:Literal></ogc:PropertyIsEqualTo></ogc:Filter>"
+                            + "</wfs:Update>");
+                }
+                if (i == 0 || i == 3) {
+                    xml.append("<wfs:Insert>");
+                }
+                xml.append("<cite:RoadSegments><cite:the_geom>"
+                        + "<gml:MultiLineString srsName=\"EPSG:4326\"><gml:lineStringMember><gml:LineString>"
+                        + "<gml:posList>4.2582 52.0643 4.2584 52.0648</gml:posList>"
+                        + "</gml:LineString></gml:lineStringMember></gml:MultiLineString>"
+                        + "</cite:the_geom><cite:FID>streamed"
+                        + i
+                        + "</cite:FID><cite:NAME>Streamed</cite:NAME></cite:RoadSegments>");
+                if (i == 2 || i == 4) {
+                    xml.append("</wfs:Insert>");
+                }
+            }
+            xml.append("</wfs:Transaction>");
+
+            Document dom = postAsDOM("wfs", xml.toString());
+            assertEquals("wfs:TransactionResponse", dom.getDocumentElement().getNodeName());
+            XMLAssert.assertXpathEvaluatesTo("5", "//wfs:totalInserted", dom);
+            XMLAssert.assertXpathEvaluatesTo("1", "//wfs:totalUpdated", dom);
+            XMLAssert.assertXpathEvaluatesTo("5", "count(//wfs:InsertResults/wfs:Feature/ogc:FeatureId)", dom);
+
+            dom = getAsDOM("wfs?request=GetFeature&version=1.1.0&service=wfs&typeName=cite:RoadSegments"
+                    + "&srsName=EPSG:4326&cql_filter=NAME='Streamed'");
+            XMLAssert.assertXpathEvaluatesTo("5", "count(//cite:RoadSegments)", dom);
+            XMLAssert.assertXpathEvaluatesTo("1", "count(//cite:RoadSegments[cite:FID = 'streamed4'])", dom);
+            XMLAssert.assertXpathExists("//cite:RoadSegments[cite:FID = 'streamed0']//gml:posList", dom);
+        } finally {
+            System.clearProperty(StreamingTransactionReader.THRESHOLD_PROPERTY);
+            System.clearProperty(StreamingTransactionReader.BATCH_SIZE_PROPERTY);
+        }
+    }
+
     @Test
     public void testEmptyUpdate() throws Exception {
         String xml = "<wfs:Transaction service=\"WFS\" version=\"1.1.0\""
@@ -15,6 +15,7 @@
 import org.geoserver.wfs.WFSException;
 import org.geoserver.wfs.WFSInfo;
 import org.geoserver.wfs.xml.FeatureTypeSchemaBuilder;
+import org.geoserver.wfs.xml.StreamingTransactionReader;
 import org.geoserver.wfs.xml.WFSXmlUtils;
 import org.geotools.util.Version;
 import org.geotools.wfs.v2_0.WFS;
@@ -38,6 +39,17 @@ public WfsXmlReader(String element, GeoServer gs) {
 
     @Override
     public Object read(Object request, Reader reader, Map kvp) throws Exception {
+        if ("Transaction".equals(getElement().getLocalPart()) && StreamingTransactionReader.isStreaming(wfs(), kvp)) {
+            try {
+                return StreamingTransactionReader.read(reader, getElement(), r -> parse(r, kvp));
+            } catch (Exception e) {
+                throw parsingFailed(e);
+            }
+        }
+        return parse(reader, kvp);
+    }
+
+    Object parse(Reader reader, Map kvp) throws Exception {
         WFSConfiguration config = new WFSConfiguration();
         WFSXmlUtils.initWfsConfiguration(config, gs, new FeatureTypeSchemaBuilder.GML32(gs));
 
@@ -52,11 +64,7 @@ public Object read(Object request, Reader reader, Map kvp) throws Exception {
         try {
             parsed = WFSXmlUtils.parseRequest(parser, reader, wfs);
         } catch (Exception e) {
-            // check the exception, and set code to OperationParsingFailed if code not set
-            if (!(e instanceof ServiceException) || ((ServiceException) e).getCode() == null) {
-                e = new WFSException("Request parsing failed", cleanException(e), "OperationParsingFailed");
-            }
-            throw e;
+            throw parsingFailed(e);
         }
 
         WFSXmlUtils.checkValidationErrors(parser, this);
@@ -64,6 +72,14 @@ public Object read(Object request, Reader reader, Map kvp) throws Exception {
         return parsed;
     }
 
+    /** Checks the exception, and sets the code to OperationParsingFailed if not set */
+    Exception parsingFailed(Exception e) {
+        if (!(e instanceof ServiceException) || ((ServiceException) e).getCode() == null) {
+            return new WFSException("Request parsing failed", cleanException(e), "OperationParsingFailed");
+        }
+        return e;
+    }
+
     WFSInfo wfs() {
         return gs.getService(WFSInfo.class);
     }
@@ -0,0 +1,129 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wfs;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.custommonkey.xmlunit.XMLAssert;
+import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.CatalogBuilder;
+import org.geoserver.catalog.DataStoreInfo;
+import org.geoserver.catalog.FeatureTypeInfo;
+import org.geoserver.data.test.SystemTestData;
+import org.geoserver.wfs.v2_0.WFS20TestSupport;
+import org.geotools.api.data.DataStore;
+import org.geotools.api.data.Query;
+import org.geotools.api.data.SimpleFeatureStore;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.data.DataUtilities;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.filter.text.cql2.CQL;
+import org.geotools.filter.text.cql2.CQLException;
+import org.junit.After;
+import org.junit.Test;
+import org.w3c.dom.Document;
+
+/** Runs GetPropertyValue distinct requests against a JDBC store, computing the distinct values in the database */
+public class GetPropertyValueJDBCTest extends WFS20TestSupport {
+
+    static final String DISTINCT_REQUEST = "wfs?service=WFS&version=2.0.0&request=GetPropertyValue"
+            + "&typeNames=gs:categories&valueReference=category&distinct=true";
+
+    @Override
+    protected void setUpSpring(List<String> springContextLocations) {
+        super.setUpSpring(springContextLocations);
+        springContextLocations.add("classpath:/org/geoserver/wfs/GetFeatureCallbackTesterContext.xml");
+    }
+
+    @Override
+    protected void setUpInternal(SystemTestData data) throws Exception {
+        Catalog cat = getCatalog();
+        DataStoreInfo ds = cat.getFactory().createDataStore();
+        ds.setName("h2distinct");
+        ds.setWorkspace(cat.getDefaultWorkspace());
+        ds.setEnabled(true);
+        Map<String, Serializable> params = ds.getConnectionParameters();
+        params.put("dbtype", "h2");
+        File dbFile = new File(getTestData().getDataDirectoryRoot().getAbsolutePath(), "data/h2distinct");
+        params.put("database", dbFile.getAbsolutePath());
+        cat.add(ds);
+
+        // duplicated values, inserted out of order
+        DataStore store = (DataStore) ds.getDataStore(null);
+        SimpleFeatureType schema = DataUtilities.createType("categories", "category:String,geom:Point:srid=4326");
+        store.createSchema(schema);
+        List<SimpleFeature> features = new ArrayList<>();
+        String[] categories = {"b", "a", "c", "a", "b"};
+        for (int i = 0; i < categories.length; i++) {
+            features.add(SimpleFeatureBuilder.build(schema, new Object[] {categories[i], null}, "categories." + i));
+        }
+        SimpleFeatureStore featureStore = (SimpleFeatureStore) store.getFeatureSource("categories");
+        featureStore.addFeatures(DataUtilities.collection(features));
+
+        CatalogBuilder cb = new CatalogBuilder(cat);
+        cb.setStore(ds);
+        FeatureTypeInfo ft = cb.buildFeatureType(featureStore);
+        cat.add(ft);
+    }
+
+    @After
+    public void clearCallback() {
+        applicationContext.getBean(GetFeatureCallbackTester.class).clear();
+    }
+
+    @Test
+    public void testDistinct() throws Exception {
+        Document dom = getAsDOM(DISTINCT_REQUEST);
+
+        assertEquals("wfs:ValueCollection", dom.getDocumentElement().getNodeName());
+        XMLAssert.assertXpathEvaluatesTo("3", "/wfs:ValueCollection/@numberMatched", dom);
+        XMLAssert.assertXpathEvaluatesTo("3", "count(//wfs:member)", dom);
+        XMLAssert.assertXpathEvaluatesTo("a", "//wfs:member[1]/gs:category", dom);
+        XMLAssert.assertXpathEvaluatesTo("b", "//wfs:member[2]/gs:category", dom);
+        XMLAssert.assertXpathEvaluatesTo("c", "//wfs:member[3]/gs:category", dom);
+    }
+
+    @Test
+    public void testDistinctPaged() throws Exception {
+        Document dom = getAsDOM(DISTINCT_REQUEST + "&startIndex=1&count=1");
+
+        XMLAssert.assertXpathEvaluatesTo("3", "/wfs:ValueCollection/@numberMatched", dom);
+        XMLAssert.assertXpathEvaluatesTo("1", "/wfs:ValueCollection/@numberReturned", dom);
+        XMLAssert.assertXpathEvaluatesTo("b", "//wfs:member[1]/gs:category", dom);
+    }
+
+    @Test
+    public void testDistinctHits() throws Exception {
+        Document dom = getAsDOM(DISTINCT_REQUEST + "&resultType=hits");
+
+        XMLAssert.assertXpathEvaluatesTo("3", "/wfs:ValueCollection/@numberMatched", dom);
+        XMLAssert.assertXpathEvaluatesTo("0", "count(//wfs:member)", dom);
+    }
+
+    @Test
+    public void testDistinctGetFeatureCallback() throws Exception {
+        // the callback can restrict the values, like a data security extension would
+        applicationContext.getBean(GetFeatureCallbackTester.class).contextConsumer = (GetFeatureContext ctx) -> {
+            Query query = new Query(ctx.getQuery());
+            try {
+                query.setFilter(CQL.toFilter("category <> 'a'"));
+                ctx.setQuery(query);
+            } catch (CQLException e) {
+                throw new RuntimeException(e);
+            }
+        };
+        Document dom = getAsDOM(DISTINCT_REQUEST);
+
+        XMLAssert.assertXpathEvaluatesTo("2", "count(//wfs:member)", dom);
+        XMLAssert.assertXpathEvaluatesTo("b", "//wfs:member[1]/gs:category", dom);
+        XMLAssert.assertXpathEvaluatesTo("c", "//wfs:member[2]/gs:category", dom);
+    }
+}
@@ -600,6 +600,15 @@ public void doTestNextPreviousHitsGET(String typeName) throws Exception {
         assertStartIndexCount(doc, "next", 0, -1 /* not there */);
     }
 
+    @Test
+    public void testHitsPaged() throws Exception {
+        // hits are counted by the store, the paging is applied to the count
+        Document doc = getAsDOM("/wfs?request=GetFeature&version=2.0.0&service=wfs&typename=gs:Fifteen"
+                + "&startIndex=12&count=7&sortBy=num&resulttype=hits");
+        XMLAssert.assertXpathEvaluatesTo("15", "/wfs:FeatureCollection/@numberMatched", doc);
+        XMLAssert.assertXpathEvaluatesTo("0", "/wfs:FeatureCollection/@numberReturned", doc);
+    }
+
     @Test
     public void testCountZero() throws Exception {
         Document doc = getAsDOM("/wfs?request=GetFeature&version=2.0.0&service=wfs&typename=gs:Fifteen&count=0");
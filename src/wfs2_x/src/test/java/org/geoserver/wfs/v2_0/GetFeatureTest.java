@@ -36,13 +36,17 @@
 import org.geoserver.config.GeoServer;
 import org.geoserver.config.GeoServerInfo;
 import org.geoserver.config.ResourceErrorHandling;
+import org.geoserver.data.DataModifiedEvent;
 import org.geoserver.data.test.MockData;
 import org.geoserver.data.test.SystemTestData;
 import org.geoserver.data.test.TestData;
 import org.geoserver.ows.Dispatcher;
 import org.geoserver.ows.util.KvpUtils;
 import org.geoserver.platform.ServiceException;
+import org.geoserver.wfs.CountStrategy;
+import org.geoserver.wfs.FeatureCountCache;
 import org.geoserver.wfs.GMLInfo;
+import org.geoserver.wfs.GetFeature;
 import org.geoserver.wfs.StoredQuery;
 import org.geoserver.wfs.WFSException;
 import org.geoserver.wfs.WFSInfo;
@@ -111,6 +115,59 @@ public void testSkipNumberMatched() throws Exception {
         this.getCatalog().save(fti);
     }
 
+    @Test
+    public void testEstimateNumberMatched() throws Exception {
+        FeatureTypeInfo fti = this.getCatalog().getFeatureTypeByName("Fifteen");
+        fti.getMetadata().put(CountStrategy.ESTIMATE_NUMBER_MATCHED, true);
+        this.getCatalog().save(fti);
+        try {
+            // more matches than the limit, the count is unknown
+            GetFeature.setEstimateLimit(10);
+            Document dom = getAsDOM("wfs?request=GetFeature&typenames=cdf:Fifteen&version=2.0.0&service=wfs&count=5");
+            assertEquals("unknown", dom.getDocumentElement().getAttribute("numberMatched"));
+            assertEquals("5", dom.getDocumentElement().getAttribute("numberReturned"));
+
+            // hits are always counted exactly
+            dom = getAsDOM("wfs?request=GetFeature&typenames=cdf:Fifteen&version=2.0.0&service=wfs&resultType=hits");
+            assertEquals("15", dom.getDocumentElement().getAttribute("numberMatched"));
+
+            // within the limit, the count is exact
+            GetFeature.setEstimateLimit(20);
+            dom = getAsDOM("wfs?request=GetFeature&typenames=cdf:Fifteen&version=2.0.0&service=wfs&count=5");
+            assertEquals("15", dom.getDocumentElement().getAttribute("numberMatched"));
+            assertEquals("5", dom.getDocumentElement().getAttribute("numberReturned"));
+        } finally {
+            GetFeature.setEstimateLimit(10000);
+            fti.getMetadata().remove(CountStrategy.ESTIMATE_NUMBER_MATCHED);
+            this.getCatalog().save(fti);
+        }
+    }
+
+    @Test
+    public void testNumberMatchedCache() throws Exception {
+        FeatureCountCache cache = applicationContext.getBean(FeatureCountCache.class);
+        cache.invalidateAll();
+
+        // paging through the results counts them once
+        Document dom = getAsDOM("wfs?request=GetFeature&typenames=cdf:Fifteen&version=2.0.0&service=wfs&count=5");
+        assertEquals("15", dom.getDocumentElement().getAttribute("numberMatched"));
+        assertEquals(1, cache.size());
+        dom = getAsDOM(
+                "wfs?request=GetFeature&typenames=cdf:Fifteen&version=2.0.0&service=wfs&count=5&startIndex=5");
+        assertEquals("15", dom.getDocumentElement().getAttribute("numberMatched"));
+        assertEquals(1, cache.size());
+
+        // a different filter gets its own count
+        dom = getAsDOM("wfs?request=GetFeature&typenames=cdf:Fifteen&version=2.0.0&service=wfs&count=1"
+                + "&resourceId=Fifteen.1,Fifteen.2,Fifteen.3");
+        assertEquals("3", dom.getDocumentElement().getAttribute("numberMatched"));
+        assertEquals(2, cache.size());
+
+        // data changes wipe out the cache
+        applicationContext.publishEvent(new DataModifiedEvent(this));
+        assertEquals(0, cache.size());
+    }
+
     @Test
     public void testGet() throws Exception {
         testGetFifteenAll("wfs?request=GetFeature&typenames=cdf:Fifteen&version=2.0.0&service=wfs");
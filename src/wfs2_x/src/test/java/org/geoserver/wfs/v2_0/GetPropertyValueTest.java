@@ -75,4 +75,40 @@ public void testGmlId() throws Exception {
         XMLAssert.assertXpathEvaluatesTo("5", "count(//wfs:member)", dom);
         XMLAssert.assertXpathEvaluatesTo("5", "count(//wfs:member/gml:identifier)", dom);
     }
+
+    @Test
+    public void testHits() throws Exception {
+        Document dom = getAsDOM("wfs?service=WFS&version=2.0.0&request=GetPropertyValue"
+                + "&typeNames=sf:PrimitiveGeoFeature&valueReference=pointProperty&resultType=hits");
+
+        assertEquals("wfs:ValueCollection", dom.getDocumentElement().getNodeName());
+        XMLAssert.assertXpathEvaluatesTo("5", "/wfs:ValueCollection/@numberMatched", dom);
+        XMLAssert.assertXpathEvaluatesTo("0", "/wfs:ValueCollection/@numberReturned", dom);
+        XMLAssert.assertXpathEvaluatesTo("0", "count(//wfs:member)", dom);
+    }
+
+    @Test
+    public void testDistinct() throws Exception {
+        Document dom = getAsDOM("wfs?service=WFS&version=2.0.0&request=GetPropertyValue"
+                + "&typeNames=sf:PrimitiveGeoFeature&valueReference=uriProperty");
+        XMLAssert.assertXpathEvaluatesTo("2", "count(//wfs:member)", dom);
+
+        dom = getAsDOM("wfs?service=WFS&version=2.0.0&request=GetPropertyValue"
+                + "&typeNames=sf:PrimitiveGeoFeature&valueReference=uriProperty&distinct=true");
+
+        assertEquals("wfs:ValueCollection", dom.getDocumentElement().getNodeName());
+        XMLAssert.assertXpathEvaluatesTo("1", "count(//wfs:member)", dom);
+        XMLAssert.assertXpathEvaluatesTo("http://www.opengeospatial.org/", "//wfs:member/sf:uriProperty", dom);
+    }
+
+    @Test
+    public void testDistinctPaged() throws Exception {
+        Document dom = getAsDOM("wfs?service=WFS&version=2.0.0&request=GetPropertyValue"
+                + "&typeNames=sf:PrimitiveGeoFeature&valueReference=name&distinct=true&startIndex=1&count=2");
+
+        assertEquals("wfs:ValueCollection", dom.getDocumentElement().getNodeName());
+        XMLAssert.assertXpathEvaluatesTo("2", "count(//wfs:member)", dom);
+        XMLAssert.assertXpathEvaluatesTo("name-f002", "//wfs:member[1]/sf:name", dom);
+        XMLAssert.assertXpathEvaluatesTo("name-f003", "//wfs:member[2]/sf:name", dom);
+    }
 }
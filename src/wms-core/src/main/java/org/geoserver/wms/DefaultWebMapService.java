@@ -8,6 +8,7 @@
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
 import net.opengis.wfs.FeatureCollectionType;
 import org.geoserver.platform.GeoServerExtensions;
@@ -100,6 +101,15 @@ public class DefaultWebMapService implements WebMapService, ApplicationContextAw
     /** Use a global rendering pool, or use a new pool each time */
     private static Boolean USE_GLOBAL_RENDERING_POOL = null;
 
+    /** The pool rendering groups of layers in parallel */
+    public static volatile ForkJoinPool LAYER_RENDERING_POOL;
+
+    /** Minimum number of layers for a map to be rendered in parallel, zero or negative to disable */
+    private static Integer PARALLEL_RENDERING_MIN_LAYERS = null;
+
+    /** Number of threads rendering layers in parallel, across all requests */
+    private static Integer PARALLEL_RENDERING_THREADS = null;
+
     private GetCapabilities getCapabilities;
 
     private DescribeLayer describeLayer;
@@ -180,6 +190,18 @@ public void setApplicationContext(ApplicationContext context) throws BeansExcept
             if (usePool == null) USE_GLOBAL_RENDERING_POOL = true;
             else USE_GLOBAL_RENDERING_POOL = Boolean.valueOf(usePool);
         }
+
+        // parallel rendering of the layers, disabled by default
+        if (PARALLEL_RENDERING_MIN_LAYERS == null) {
+            String minLayers = GeoServerExtensions.getProperty("PARALLEL_RENDERING_MIN_LAYERS", context);
+            if (minLayers == null) PARALLEL_RENDERING_MIN_LAYERS = 0;
+            else PARALLEL_RENDERING_MIN_LAYERS = Integer.valueOf(minLayers);
+        }
+        if (PARALLEL_RENDERING_THREADS == null) {
+            String threads = GeoServerExtensions.getProperty("PARALLEL_RENDERING_THREADS", context);
+            if (threads == null) PARALLEL_RENDERING_THREADS = Runtime.getRuntime().availableProcessors();
+            else PARALLEL_RENDERING_THREADS = Integer.valueOf(threads);
+        }
     }
 
     /**
@@ -198,6 +220,15 @@ public static int getMaxFilterRules() {
         return MAX_FILTER_RULES;
     }
 
+    /**
+     * Returns the minimum number of layers for a map to be rendered in parallel, using the
+     * {@link #getLayerRenderingPool() layer rendering pool}. Zero or negative (default) if parallel rendering is
+     * disabled, can be set with the PARALLEL_RENDERING_MIN_LAYERS property.
+     */
+    public static int getParallelRenderingMinLayers() {
+        return PARALLEL_RENDERING_MIN_LAYERS != null ? PARALLEL_RENDERING_MIN_LAYERS : 0;
+    }
+
     /** If true (default) the direct raster rendering path is enabled */
     public static boolean isDirectRasterPathEnabled() {
         return !BYPASS_DIRECT;
@@ -332,6 +363,25 @@ public static ExecutorService getRenderingPool() {
         return RENDERING_POOL;
     }
 
+    /**
+     * Returns the app wide pool used to render groups of layers in parallel, sized after the PARALLEL_RENDERING_THREADS
+     * property (defaults to the number of available processors)
+     */
+    public static ForkJoinPool getLayerRenderingPool() {
+        if (LAYER_RENDERING_POOL == null) {
+            synchronized (DefaultWebMapService.class) {
+                if (LAYER_RENDERING_POOL == null) {
+                    int threads = PARALLEL_RENDERING_THREADS != null
+                            ? PARALLEL_RENDERING_THREADS
+                            : Runtime.getRuntime().availableProcessors();
+                    LAYER_RENDERING_POOL = new ForkJoinPool(Math.max(1, threads));
+                }
+            }
+        }
+
+        return LAYER_RENDERING_POOL;
+    }
+
     @Override
     public void destroy() throws Exception {
         if (RENDERING_POOL != null) {
@@ -339,5 +389,10 @@ public void destroy() throws Exception {
             RENDERING_POOL.awaitTermination(10, TimeUnit.SECONDS);
             RENDERING_POOL = null;
         }
+        if (LAYER_RENDERING_POOL != null) {
+            LAYER_RENDERING_POOL.shutdown();
+            LAYER_RENDERING_POOL.awaitTermination(10, TimeUnit.SECONDS);
+            LAYER_RENDERING_POOL = null;
+        }
     }
 }
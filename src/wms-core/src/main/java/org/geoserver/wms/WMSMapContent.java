@@ -16,6 +16,7 @@
 import java.util.List;
 import java.util.Map;
 import org.geoserver.platform.ServiceException;
+import org.geoserver.wms.map.RenderingMemoryController;
 import org.geotools.geometry.jts.ReferencedEnvelope;
 import org.geotools.map.Layer;
 import org.geotools.map.MapContent;
@@ -61,6 +62,9 @@ public class WMSMapContent extends MapContent {
 
     private Map<String, Object> metadata = new HashMap<>();
 
+    /** the rendering memory reserved for this map content, if any */
+    private RenderingMemoryController.Reservation memoryReservation;
+
     public int getTileSize() {
         return tileSize;
     }
@@ -376,8 +380,23 @@ public Map<String, Object> getMetadata() {
         return metadata;
     }
 
+    /**
+     * Sets the rendering memory reserved to draw this map content, held until the map is encoded and released when the
+     * map content is disposed. A reservation set before is released right away.
+     */
+    public void setMemoryReservation(RenderingMemoryController.Reservation memoryReservation) {
+        if (this.memoryReservation != null) {
+            this.memoryReservation.release();
+        }
+        this.memoryReservation = memoryReservation;
+    }
+
     @Override
     public void dispose() {
+        if (memoryReservation != null) {
+            memoryReservation.release();
+            memoryReservation = null;
+        }
         this.request = null;
         this.callbacks = null;
         this.metadata = null;
@@ -40,7 +40,7 @@
  *
  * @author Andrea Aime - GeoSolutions
  */
-class DynamicSizeStyleExtractor extends DuplicatingStyleVisitor {
+public class DynamicSizeStyleExtractor extends DuplicatingStyleVisitor {
 
     static final Logger LOGGER = Logging.getLogger(DynamicSizeStyleExtractor.class);
 
@@ -0,0 +1,114 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.map;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import org.geotools.api.feature.Feature;
+import org.geotools.api.style.TextSymbolizer;
+import org.geotools.geometry.jts.LiteShape2;
+import org.geotools.renderer.lite.LabelCache;
+import org.geotools.util.NumberRange;
+
+/**
+ * A {@link LabelCache} recording the labels of a group of layers rendered by the {@link ParallelStreamingRenderer}, so
+ * that they can be replayed, in z-order, into the label cache painting the labels of the whole map. The lifecycle
+ * methods ({@link #start()}, {@link #end(Graphics2D, Rectangle)}, {@link #stop()}, {@link #clear()}) are ignored, they
+ * are driven by the {@link ParallelStreamingRenderer} on the target cache instead.
+ */
+class DeferredLabelCache implements LabelCache {
+
+    private final List<Consumer<LabelCache>> calls = Collections.synchronizedList(new ArrayList<>());
+
+    private final Graphics2D graphics;
+
+    private final Rectangle displayArea;
+
+    /**
+     * @param graphics the graphics the deferred {@link #endLayer(String, Graphics2D, Rectangle)} calls will be
+     *     replayed against
+     * @param displayArea the display area the deferred calls will be replayed against
+     */
+    public DeferredLabelCache(Graphics2D graphics, Rectangle displayArea) {
+        this.graphics = graphics;
+        this.displayArea = displayArea;
+    }
+
+    /** Replays the recorded calls against the target label cache */
+    public void replay(LabelCache target) {
+        synchronized (calls) {
+            for (Consumer<LabelCache> call : calls) {
+                call.accept(target);
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        // driven by the parallel renderer
+    }
+
+    @Override
+    public void startLayer(String layerId) {
+        calls.add(c -> c.startLayer(layerId));
+    }
+
+    @Override
+    public void put(
+            String layerId, TextSymbolizer symbolizer, Feature feature, LiteShape2 shape, NumberRange<Double> scaleRange) {
+        calls.add(c -> c.put(layerId, symbolizer, feature, shape, scaleRange));
+    }
+
+    @Override
+    public void put(Rectangle2D area) {
+        calls.add(c -> c.put(area));
+    }
+
+    @Override
+    public void endLayer(String layerId, Graphics2D graphics, Rectangle displayArea) {
+        calls.add(c -> c.endLayer(layerId, this.graphics, this.displayArea));
+    }
+
+    @Override
+    public void end(Graphics2D graphics, Rectangle displayArea) {
+        // driven by the parallel renderer
+    }
+
+    @Override
+    public void stop() {
+        // driven by the parallel renderer
+    }
+
+    @Override
+    public void clear() {
+        // driven by the parallel renderer
+    }
+
+    @Override
+    public void clear(String layerId) {
+        calls.add(c -> c.clear(layerId));
+    }
+
+    @Override
+    public void disableLayer(String layerId) {
+        calls.add(c -> c.disableLayer(layerId));
+    }
+
+    @Override
+    public void enableLayer(String layerId) {
+        calls.add(c -> c.enableLayer(layerId));
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public List orderedLabels() {
+        return Collections.emptyList();
+    }
+}
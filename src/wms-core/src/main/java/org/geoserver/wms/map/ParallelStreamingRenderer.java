@@ -0,0 +1,313 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.map;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geoserver.threadlocals.ThreadLocalsTransfer;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.map.Layer;
+import org.geotools.map.MapContent;
+import org.geotools.renderer.RenderListener;
+import org.geotools.renderer.label.LabelCacheImpl;
+import org.geotools.renderer.label.LabelCacheImpl.LabelRenderingMode;
+import org.geotools.renderer.lite.LabelCache;
+import org.geotools.renderer.lite.StreamingRenderer;
+import org.geotools.util.logging.Logging;
+
+/**
+ * A {@link StreamingRenderer} splitting the layers of the map in contiguous groups, rendering each group on its own
+ * transparent image in a bounded {@link ForkJoinPool}, and compositing the images in z-order on the target graphics.
+ *
+ * <p>Each group is rendered by a {@link StreamingRenderer} built by the provided factory, with the same hints, thread
+ * pool and render listeners as this one, so that timeouts and error counting keep working as in the sequential case
+ * ({@link #stopRendering()} stops all the groups). Labels are not painted by the groups, they are recorded and replayed
+ * in z-order into a single {@link LabelCache}, painted on top of the composited map, the same way the sequential
+ * renderer would paint them.
+ *
+ * <p>The output is the same as the sequential rendering for layers that do not use blending composites, or cross layer
+ * z-ordering, which the caller is supposed to check before using this renderer.
+ */
+public class ParallelStreamingRenderer extends StreamingRenderer {
+
+    static final Logger LOGGER = Logging.getLogger(ParallelStreamingRenderer.class);
+
+    private final Supplier<StreamingRenderer> rendererFactory;
+
+    private final ForkJoinPool pool;
+
+    private final List<RenderListener> listeners = new CopyOnWriteArrayList<>();
+
+    private final List<StreamingRenderer> renderers = new CopyOnWriteArrayList<>();
+
+    private MapContent mapContent;
+
+    private ExecutorService threadPool;
+
+    private volatile boolean stopped;
+
+    /**
+     * @param rendererFactory builds the renderers used for each group of layers
+     * @param pool the pool rendering the groups, its parallelism is also the maximum number of groups
+     */
+    public ParallelStreamingRenderer(Supplier<StreamingRenderer> rendererFactory, ForkJoinPool pool) {
+        this.rendererFactory = rendererFactory;
+        this.pool = pool;
+    }
+
+    @Override
+    public void setMapContent(MapContent mapContent) {
+        super.setMapContent(mapContent);
+        this.mapContent = mapContent;
+    }
+
+    @Override
+    public void setThreadPool(ExecutorService threadPool) {
+        super.setThreadPool(threadPool);
+        this.threadPool = threadPool;
+    }
+
+    @Override
+    public void addRenderListener(RenderListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeRenderListener(RenderListener listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public void stopRendering() {
+        stopped = true;
+        for (StreamingRenderer renderer : renderers) {
+            renderer.stopRendering();
+        }
+    }
+
+    /** Returns the number of groups the map layers are going to be split into */
+    public int getGroupCount(int layerCount) {
+        return Math.max(1, Math.min(layerCount, pool.getParallelism()));
+    }
+
+    @Override
+    public void paint(
+            Graphics2D graphics, Rectangle paintArea, ReferencedEnvelope mapArea, AffineTransform worldToScreen) {
+        List<Layer> layers = mapContent.layers();
+        int groupCount = getGroupCount(layers.size());
+
+        // labels are collected by each group, and painted at the end on top of the whole map
+        LabelCache labelCache = buildLabelCache();
+        labelCache.start();
+        List<DeferredLabelCache> deferredLabels = new ArrayList<>(groupCount);
+        List<Future<BufferedImage>> futures = new ArrayList<>(groupCount);
+        ThreadLocalsTransfer threadLocals = new ThreadLocalsTransfer();
+        RenderListener forwarder = new ForwardingListener();
+        for (int g = 0; g < groupCount; g++) {
+            List<Layer> group = layers.subList(g * layers.size() / groupCount, (g + 1) * layers.size() / groupCount);
+            DeferredLabelCache deferred = new DeferredLabelCache(graphics, paintArea);
+            deferredLabels.add(deferred);
+            StreamingRenderer renderer = buildGroupRenderer(deferred, forwarder);
+            futures.add(pool.submit(() -> {
+                threadLocals.apply();
+                try {
+                    return paintGroup(renderer, group, graphics, paintArea, mapArea, worldToScreen);
+                } finally {
+                    threadLocals.cleanup();
+                }
+            }));
+        }
+
+        // composite in z-order, as soon as each group is ready
+        try {
+            for (Future<BufferedImage> future : futures) {
+                BufferedImage image = getGroupImage(future, forwarder);
+                if (image != null && !stopped) {
+                    graphics.drawImage(image, paintArea.x, paintArea.y, null);
+                }
+            }
+        } finally {
+            if (stopped) {
+                for (Future<BufferedImage> future : futures) {
+                    future.cancel(false);
+                }
+            }
+        }
+        if (stopped) {
+            labelCache.stop();
+            return;
+        }
+
+        fireLabellingStart();
+        for (DeferredLabelCache deferred : deferredLabels) {
+            deferred.replay(labelCache);
+        }
+        labelCache.end(graphics, paintArea);
+        fireLabellingEnd();
+    }
+
+    private BufferedImage getGroupImage(Future<BufferedImage> future, RenderListener listener) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stopRendering();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            listener.errorOccurred(cause instanceof Exception ex ? ex : new RuntimeException(cause));
+        }
+        return null;
+    }
+
+    private StreamingRenderer buildGroupRenderer(LabelCache labelCache, RenderListener listener) {
+        StreamingRenderer renderer = rendererFactory.get();
+        if (threadPool != null) {
+            renderer.setThreadPool(threadPool);
+        }
+        renderer.setJava2DHints(getJava2DHints());
+        Map<Object, Object> hints = new HashMap<>();
+        if (getRendererHints() != null) {
+            hints.putAll(getRendererHints());
+        }
+        hints.put(StreamingRenderer.LABEL_CACHE_KEY, labelCache);
+        renderer.setRendererHints(hints);
+        renderer.addRenderListener(listener);
+        renderers.add(renderer);
+        return renderer;
+    }
+
+    private BufferedImage paintGroup(
+            StreamingRenderer renderer,
+            List<Layer> group,
+            Graphics2D graphics,
+            Rectangle paintArea,
+            ReferencedEnvelope mapArea,
+            AffineTransform worldToScreen) {
+        if (stopped) {
+            return null;
+        }
+        BufferedImage image = new BufferedImage(paintArea.width, paintArea.height, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D imageGraphics = image.createGraphics();
+        MapContent groupContent = new MapContent();
+        try {
+            imageGraphics.setRenderingHints(graphics.getRenderingHints());
+            imageGraphics.translate(-paintArea.x, -paintArea.y);
+            groupContent.getViewport().setBounds(mapArea);
+            groupContent.getViewport().setScreenArea(paintArea);
+            groupContent.addLayers(group);
+            renderer.setMapContent(groupContent);
+            renderer.paint(imageGraphics, paintArea, mapArea, worldToScreen);
+            return image;
+        } finally {
+            imageGraphics.dispose();
+            // the layers are owned by the original map content, don't let the group one dispose them
+            for (Layer layer : group) {
+                groupContent.removeLayer(layer);
+            }
+            groupContent.dispose();
+        }
+    }
+
+    /** Builds the label cache painting the labels of all groups, the one from the hints if any */
+    private LabelCache buildLabelCache() {
+        Map<?, ?> hints = getRendererHints();
+        if (hints != null && hints.get(StreamingRenderer.LABEL_CACHE_KEY) instanceof LabelCache cache) {
+            return cache;
+        }
+        LabelCacheImpl cache = new LabelCacheImpl();
+        // same default as the streaming renderer
+        Object textRendering = hints != null ? hints.get(StreamingRenderer.TEXT_RENDERING_KEY) : null;
+        if (textRendering == null) {
+            textRendering = StreamingRenderer.TEXT_RENDERING_ADAPTIVE;
+        }
+        try {
+            cache.setLabelRenderingMode(LabelRenderingMode.valueOf(textRendering.toString()));
+        } catch (IllegalArgumentException e) {
+            LOGGER.log(Level.FINE, "Unrecognized text rendering mode " + textRendering, e);
+        }
+        return cache;
+    }
+
+    private void fireError(Exception e) {
+        for (RenderListener listener : listeners) {
+            listener.errorOccurred(e);
+        }
+    }
+
+    private void fireLabellingStart() {
+        for (RenderListener listener : listeners) {
+            listener.labellingStart();
+        }
+    }
+
+    private void fireLabellingEnd() {
+        for (RenderListener listener : listeners) {
+            listener.labellingEnd();
+        }
+    }
+
+    /**
+     * Forwards the events of the group renderers to the listeners of this renderer, one at a time, as the listeners
+     * are not expected to be thread safe. The labelling events are fired by the parallel renderer itself.
+     */
+    private class ForwardingListener implements RenderListener {
+
+        @Override
+        public synchronized void featureRenderer(SimpleFeature feature) {
+            for (RenderListener listener : listeners) {
+                listener.featureRenderer(feature);
+            }
+        }
+
+        @Override
+        public synchronized void errorOccurred(Exception e) {
+            fireError(e);
+        }
+
+        @Override
+        public synchronized void layerStart(Layer layer) {
+            for (RenderListener listener : listeners) {
+                listener.layerStart(layer);
+            }
+        }
+
+        @Override
+        public synchronized void layerEnd(Layer layer) {
+            for (RenderListener listener : listeners) {
+                listener.layerEnd(layer);
+            }
+        }
+
+        @Override
+        public void labellingStart() {
+            // fired when the labels of all groups are painted
+        }
+
+        @Override
+        public void labellingEnd() {
+            // fired when the labels of all groups are painted
+        }
+
+        @Override
+        public void renderingComplete() {
+            // completion is reported by the caller of the parallel renderer
+        }
+    }
+}
@@ -5,16 +5,26 @@
  */
 package org.geoserver.wms.map;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import java.awt.Point;
 import java.awt.geom.Point2D;
 import java.awt.image.RenderedImage;
+import java.awt.image.SampleModel;
+import java.io.IOException;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
-import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.geoserver.catalog.ResourcePool;
@@ -24,18 +34,47 @@
 import org.geoserver.config.ServiceInfo;
 import org.geoserver.config.impl.GeoServerLifecycleHandler;
 import org.geoserver.data.DataModifiedEvent;
+import org.geoserver.platform.GeoServerExtensions;
 import org.geoserver.platform.ServiceException;
+import org.geoserver.util.JMXUtils;
 import org.geoserver.wms.GetMapRequest;
 import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
 import org.geotools.geometry.jts.ReferencedEnvelope;
 import org.geotools.gml2.SrsSyntax;
 import org.geotools.referencing.CRS;
 import org.geotools.referencing.CRS.AxisOrder;
-import org.geotools.util.CanonicalSet;
+import org.geotools.util.logging.Logging;
 import org.locationtech.jts.geom.Envelope;
 import org.springframework.context.ApplicationListener;
 
-public class QuickTileCache implements GeoServerLifecycleHandler, ApplicationListener<DataModifiedEvent> {
+/**
+ * In memory cache of the meta tiles built by the {@link MetatileMapOutputFormat}.
+ *
+ * <p>The cache is bounded by the estimated memory used by the tiles, and entries expire if not accessed for a while.
+ * Concurrent requests for tiles of the same meta tile are coalesced, the first one renders the meta tile and the others
+ * wait for the result. The cache is wiped out on any configuration or data change, and exposes its statistics via JMX
+ * as {@link #OBJECT_NAME}.
+ *
+ * <p>The cache can be configured with the following system, environment or servlet context variables:
+ *
+ * <ul>
+ *   <li>{@code QUICK_TILE_CACHE_MAX_MEMORY}: the maximum memory used by the cached tiles, in bytes, defaults to 128MB
+ *   <li>{@code QUICK_TILE_CACHE_TTL}: time, in seconds, after which a meta tile not accessed gets evicted, defaults
+ *       to 5 minutes
+ * </ul>
+ */
+public class QuickTileCache
+        implements GeoServerLifecycleHandler, ApplicationListener<DataModifiedEvent>, QuickTileCacheMXBean {
+
+    static final Logger LOGGER = Logging.getLogger(QuickTileCache.class);
+
+    /** The JMX name of the cache */
+    public static final String OBJECT_NAME = "org.geoserver:type=QuickTileCache";
+
+    static final long DEFAULT_MAX_MEMORY = 128 * 1024 * 1024;
+
+    static final long DEFAULT_TTL = 300;
+
     /**
      * Set of parameters that we can ignore, since they do not define a map, are either unrelated, or define the tiling
      * instead
@@ -54,39 +93,70 @@ public class QuickTileCache implements GeoServerLifecycleHandler, ApplicationLis
         ignoredParameters.add("EXCEPTIONS");
     }
 
-    /** Canonicalizer used to return the same object when two threads ask for the same meta-tile */
-    private CanonicalSet<MetaTileKey> metaTileKeys = CanonicalSet.newInstance(MetaTileKey.class);
+    /** Renders the tiles of a meta tile, see {@link QuickTileCache#getTiles(MetaTileKey, MetaTileRenderer)} */
+    @FunctionalInterface
+    public interface MetaTileRenderer {
+        RenderedImage[] render() throws IOException;
+    }
+
+    private final long maxMemory;
 
-    private WeakHashMap<MetaTileKey, CacheElement> tileCache = new WeakHashMap<>();
+    private final Cache<MetaTileKey, CacheElement> tileCache;
+
+    /** The meta tiles being rendered, used to make concurrent requests for the same meta tile wait for the result */
+    private final ConcurrentHashMap<MetaTileKey, CompletableFuture<RenderedImage[]>> inFlight =
+            new ConcurrentHashMap<>();
+
+    /** Bumped on each invalidation, avoids caching meta tiles whose rendering started before it */
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder coalesced = new LongAdder();
 
     public QuickTileCache(GeoServer geoServer) {
+        this();
         geoServer.addListener(new ConfigurationListenerAdapter() {
             @Override
             public void handleGlobalChange(
                     GeoServerInfo global, List<String> propertyNames, List<Object> oldValues, List<Object> newValues) {
-                tileCache.clear();
+                invalidateAll();
             }
 
             @Override
             public void handleServiceChange(
                     ServiceInfo service, List<String> propertyNames, List<Object> oldValues, List<Object> newValues) {
-                tileCache.clear();
+                invalidateAll();
             }
 
             @Override
             public void reloaded() {
-                tileCache.clear();
+                invalidateAll();
             }
         });
+        JMXUtils.register(this, OBJECT_NAME);
+    }
+
+    /** Builds a cache with the limits configured in the system variables, used directly for testing only */
+    QuickTileCache() {
+        this(
+                GeoServerExtensions.getLongProperty("QUICK_TILE_CACHE_MAX_MEMORY", DEFAULT_MAX_MEMORY),
+                GeoServerExtensions.getLongProperty("QUICK_TILE_CACHE_TTL", DEFAULT_TTL));
     }
 
     /** For testing only */
-    QuickTileCache() {}
+    QuickTileCache(long maxMemory, long ttl) {
+        this.maxMemory = maxMemory;
+        // a single segment, the weight limit is otherwise split among segments and a few meta tiles would
+        // be enough to fill one. Reads don't lock anyways, and writes happen once per meta tile rendering
+        this.tileCache = CacheBuilder.newBuilder()
+                .concurrencyLevel(1)
+                .maximumWeight(maxMemory)
+                .weigher((MetaTileKey k, CacheElement v) -> (int) Math.min(Integer.MAX_VALUE, v.memory))
+                .expireAfterAccess(ttl, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+    }
 
-    /**
-     * Given a tiled request, builds a key that can be used to access the cache looking for a specific meta-tile, and
-     * also as a synchronization tool to avoid multiple requests to trigger parallel computation of the same meta-tile
-     */
+    /** Given a tiled request, builds a key that can be used to access the cache looking for a specific meta-tile */
     public MetaTileKey getMetaTileKey(GetMapRequest request) {
         String mapDefinition = buildMapDefinition(request.getRawKvp());
         ReferencedEnvelope bbox = new ReferencedEnvelope(request.getBbox(), request.getCrs());
@@ -105,12 +175,7 @@ public MetaTileKey getMetaTileKey(GetMapRequest request) {
         Point tileCoords = getTileCoordinates(bbox, origin);
         Point metaTileCoords = getMetaTileCoordinates(tileCoords);
         ReferencedEnvelope metaTileEnvelope = getMetaTileEnvelope(bbox, tileCoords, metaTileCoords);
-        MetaTileKey key = new MetaTileKey(mapKey, metaTileCoords, metaTileEnvelope);
-
-        // since this will be used for thread synchronization, we have to make
-        // sure two thread asking for the same meta tile will get the same key
-        // object
-        return metaTileKeys.unique(key);
+        return new MetaTileKey(mapKey, metaTileCoords, metaTileEnvelope);
     }
 
     private ReferencedEnvelope getMetaTileEnvelope(ReferencedEnvelope bbox, Point tileCoords, Point metaTileCoords) {
@@ -314,8 +379,8 @@ public String toString() {
     }
 
     /** Gathers a tile from the cache, if available */
-    public synchronized RenderedImage getTile(MetaTileKey key, GetMapRequest request) {
-        CacheElement ce = tileCache.get(key);
+    public RenderedImage getTile(MetaTileKey key, GetMapRequest request) {
+        CacheElement ce = tileCache.getIfPresent(key);
 
         if (ce == null) {
             return null;
@@ -336,37 +401,158 @@ public RenderedImage getTile(MetaTileKey key, GetMapRequest request, RenderedIma
         return tiles[tileCoord.x + (tileCoord.y * key.getMetaFactor())];
     }
 
-    /** Puts the specified tile array in the cache, and returns the tile the request was looking for */
-    public synchronized void storeTiles(MetaTileKey key, RenderedImage[] tiles) {
+    /** Puts the specified tile array in the cache */
+    public void storeTiles(MetaTileKey key, RenderedImage[] tiles) {
         tileCache.put(key, new CacheElement(tiles));
     }
 
+    /**
+     * Returns the tiles of the specified meta tile, looking them up in the cache first. On a miss, the meta tile is
+     * rendered by the given renderer and cached, unless another thread is already rendering it, in which case this
+     * call waits for its result instead.
+     *
+     * @return the tiles of the meta tile
+     */
+    public RenderedImage[] getTiles(MetaTileKey key, MetaTileRenderer renderer) throws IOException {
+        CacheElement ce = tileCache.getIfPresent(key);
+        if (ce != null) {
+            return ce.tiles;
+        }
+
+        CompletableFuture<RenderedImage[]> future = new CompletableFuture<>();
+        CompletableFuture<RenderedImage[]> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+
+        try {
+            // the meta tile might have been stored while we were checking the in flight ones
+            ce = tileCache.asMap().get(key);
+            if (ce != null) {
+                future.complete(ce.tiles);
+                return ce.tiles;
+            }
+
+            long startGeneration = generation.get();
+            RenderedImage[] tiles = renderer.render();
+            if (startGeneration == generation.get()) {
+                storeTiles(key, tiles);
+            }
+            future.complete(tiles);
+            return tiles;
+        } catch (IOException | RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    private RenderedImage[] await(CompletableFuture<RenderedImage[]> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceException("Interrupted while waiting for the meta tile to be rendered", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioe) {
+                throw ioe;
+            } else if (cause instanceof RuntimeException re) {
+                throw re;
+            } else if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new ServiceException(cause);
+        }
+    }
+
+    /** Estimates the memory used by the image pixels, in bytes */
+    static long estimateMemory(RenderedImage image) {
+        SampleModel sm = image.getSampleModel();
+        long bitsPerPixel = 0;
+        for (int size : sm.getSampleSize()) {
+            bitsPerPixel += size;
+        }
+        return (long) image.getWidth() * image.getHeight() * bitsPerPixel / 8;
+    }
+
     static class CacheElement {
         RenderedImage[] tiles;
 
+        long memory;
+
         public CacheElement(RenderedImage[] tiles) {
             this.tiles = tiles;
+            for (RenderedImage tile : tiles) {
+                if (tile != null) {
+                    memory += estimateMemory(tile);
+                }
+            }
         }
     }
 
+    @Override
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        tileCache.invalidateAll();
+    }
+
+    @Override
+    public long getHitCount() {
+        return tileCache.stats().hitCount();
+    }
+
+    @Override
+    public long getMissCount() {
+        return tileCache.stats().missCount();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return tileCache.stats().evictionCount();
+    }
+
+    @Override
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    @Override
+    public long getSize() {
+        return tileCache.size();
+    }
+
+    @Override
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    @Override
+    public long getMaxMemory() {
+        return maxMemory;
+    }
+
     @Override
     public void onApplicationEvent(DataModifiedEvent event) {
         // if anything changes we just wipe out the cache. the mapkey
         // contains a string with part of the map request where the layer
         // name is included, but we would have to parse it and consider
         // also that the namespace may be missing in the getmap request
-        tileCache.clear();
+        invalidateAll();
     }
 
     @Override
     public void onReset() {
         // data might have changed in the meantime
-        tileCache.clear();
+        invalidateAll();
     }
 
     @Override
     public void onDispose() {
-        tileCache.clear();
+        invalidateAll();
+        JMXUtils.unregister(OBJECT_NAME);
     }
 
     @Override
@@ -376,6 +562,6 @@ public void beforeReload() {
 
     @Override
     public void onReload() {
-        tileCache.clear();
+        invalidateAll();
     }
 }
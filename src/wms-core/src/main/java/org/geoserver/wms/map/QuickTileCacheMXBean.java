@@ -0,0 +1,33 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.map;
+
+/** Management interface of the {@link QuickTileCache}, exposed via JMX as {@link QuickTileCache#OBJECT_NAME} */
+public interface QuickTileCacheMXBean {
+
+    /** Number of requests that found their meta tile in the cache */
+    long getHitCount();
+
+    /** Number of requests that did not find their meta tile in the cache */
+    long getMissCount();
+
+    /** Number of meta tiles evicted from the cache because of the memory limit or expiration */
+    long getEvictionCount();
+
+    /** Number of requests that waited for another request to render the same meta tile, instead of rendering it */
+    long getCoalescedCount();
+
+    /** Number of meta tiles currently in the cache */
+    long getSize();
+
+    /** Number of meta tiles currently being rendered */
+    int getInFlightCount();
+
+    /** Maximum memory, in bytes, the cached tiles can use */
+    long getMaxMemory();
+
+    /** Removes all meta tiles from the cache */
+    void invalidateAll();
+}
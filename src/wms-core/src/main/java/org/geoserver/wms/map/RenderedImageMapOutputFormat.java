@@ -30,6 +30,7 @@
 import org.eclipse.imagen.media.lookup.LookupTable;
 import org.eclipse.imagen.media.lookup.LookupTableFactory;
 import org.geoserver.catalog.LayerInfo;
+import org.geoserver.platform.GeoServerExtensions;
 import org.geoserver.platform.ServiceException;
 import org.geoserver.wms.DefaultWebMapService;
 import org.geoserver.wms.GetMapOutputFormat;
@@ -43,6 +44,7 @@
 import org.geoserver.wms.WMSPartialMapException;
 import org.geoserver.wms.WMSServiceExceptionHandler;
 import org.geoserver.wms.decoration.MapDecorationLayout;
+import org.geotools.api.style.FeatureTypeStyle;
 import org.geotools.api.style.Style;
 import org.geotools.image.ImageWorker;
 import org.geotools.map.Layer;
@@ -108,11 +110,16 @@ public class RenderedImageMapOutputFormat extends AbstractMapOutputFormat {
     /** The size of a megabyte */
     private static final int KB = 1024;
 
+    /** The vendor option z-ordering features across layers, forces sequential rendering */
+    private static final String SORT_BY_GROUP = "sortByGroup";
+
     /** The lookup table used for data type transformation (it's really the identity one) */
     private static LookupTableImageN IDENTITY_TABLE = new LookupTableImageN(getTable());
 
     private Function<WMSMapContent, LabelCache> labelCache = null;
 
+    private RenderingMemoryController memoryController;
+
     private static byte[] getTable() {
         byte[] arr = new byte[256];
         for (int i = 0; i < arr.length; i++) {
@@ -191,6 +198,17 @@ public void setLabelCache(Function<WMSMapContent, LabelCache> labelCache) {
         this.labelCache = labelCache;
     }
 
+    public void setMemoryController(RenderingMemoryController memoryController) {
+        this.memoryController = memoryController;
+    }
+
+    private RenderingMemoryController getMemoryController() {
+        if (memoryController == null) {
+            memoryController = GeoServerExtensions.bean(RenderingMemoryController.class);
+        }
+        return memoryController;
+    }
+
     /** @see org.geoserver.wms.GetMapOutputFormat#produceMap(org.geoserver.wms.WMSMapContent) */
     @Override
     public final RenderedImageMap produceMap(WMSMapContent mapContent) throws ServiceException {
@@ -262,317 +280,373 @@ public RenderedImageMap produceMap(final WMSMapContent mapContent, final boolean
                             + "KB",
                     ServiceException.MAX_MEMORY_EXCEEDED);
         }
+        // render groups of layers in parallel, each one on its own image, if enabled
+        final boolean parallel = !emptyMap && isParallelRenderingApplicable(mapContent);
+        // reserve the estimated memory from the node wide pool, might wait or fail
+        RenderingMemoryController memoryController = getMemoryController();
+        RenderingMemoryController.Reservation reservation = null;
+        if (memoryController != null && memoryController.isEnabled()) {
+            long reserved = memoryController.estimate(mapContent, memory);
+            if (parallel) {
+                int groups = Math.min(
+                        mapContent.layers().size(),
+                        DefaultWebMapService.getLayerRenderingPool().getParallelism());
+                reserved += (long) groups * paintArea.width * paintArea.height * 4;
+            }
+            reservation = memoryController.reserve(reserved);
+            // the memory stays in use until the map is encoded, and is released when the map content is disposed
+            mapContent.setMemoryReservation(reservation);
+        }
 
-        final MapDecorationLayout layout = findDecorationLayout(request, tiled);
-
-        // TODO: allow rendering to continue with vector layers
-        // TODO: allow rendering to continue with layout
-        // TODO: handle rotated rasters
-        // TODO: handle color conversions
-        // TODO: handle meta-tiling
-        // TODO: how to handle timeout here? I guess we need to move it into the dispatcher?
-        RenderedImage image = null;
-
-        // fast path for pure coverage rendering
-        if (DefaultWebMapService.isDirectRasterPathEnabled()
-                && mapContent.layers().size() == 1
-                && mapContent.getAngle() == 0.0
-                && (layout == null || layout.isEmpty())) {
-            try {
-                Interpolation interpolation = null;
-                if (request.getInterpolations() != null
-                        && !request.getInterpolations().isEmpty()) {
-                    interpolation = request.getInterpolations().get(0);
+        try {
+            final MapDecorationLayout layout = findDecorationLayout(request, tiled);
+
+            // TODO: allow rendering to continue with vector layers
+            // TODO: allow rendering to continue with layout
+            // TODO: handle rotated rasters
+            // TODO: handle color conversions
+            // TODO: handle meta-tiling
+            // TODO: how to handle timeout here? I guess we need to move it into the dispatcher?
+            RenderedImage image = null;
+
+            // fast path for pure coverage rendering
+            if (DefaultWebMapService.isDirectRasterPathEnabled()
+                    && mapContent.layers().size() == 1
+                    && mapContent.getAngle() == 0.0
+                    && (layout == null || layout.isEmpty())) {
+                try {
+                    Interpolation interpolation = null;
+                    if (request.getInterpolations() != null
+                            && !request.getInterpolations().isEmpty()) {
+                        interpolation = request.getInterpolations().get(0);
+                    }
+
+                    image = new DirectRasterRenderer(wms, mapContent, 0, interpolation, transparencySupported).render();
+                } catch (Exception e) {
+                    throw new ServiceException("Error rendering coverage on the fast path", e);
                 }
 
-                image = new DirectRasterRenderer(wms, mapContent, 0, interpolation, transparencySupported).render();
-            } catch (Exception e) {
-                throw new ServiceException("Error rendering coverage on the fast path", e);
+                if (image != null) {
+                    image = new RenderedImageTimeDecorator(image);
+                    // setting the layer triggers layerStartEvent
+                    ((RenderedImageTimeDecorator) image)
+                            .setLayer(mapContent.layers().get(0));
+                    return buildMap(mapContent, image);
+                }
             }
 
-            if (image != null) {
-                image = new RenderedImageTimeDecorator(image);
-                // setting the layer triggers layerStartEvent
-                ((RenderedImageTimeDecorator) image)
-                        .setLayer(mapContent.layers().get(0));
-                return buildMap(mapContent, image);
+            // we use the alpha channel if the image is transparent or if the meta tiler
+            // is enabled, since apparently the Crop operation inside the meta-tiler
+            // generates striped images in that case (see GEOS-
+            boolean useAlpha = transparent || MetatileMapOutputFormat.isRequestTiled(request, this);
+            final RenderedImage preparedImage = prepareImage(paintArea.width, paintArea.height, palette, useAlpha);
+            final Map<RenderingHints.Key, Object> hintsMap = new HashMap<>();
+
+            final Graphics2D graphic = getGraphics(transparent, bgColor, preparedImage, hintsMap);
+
+            // set up the antialias hints
+            if (AA_NONE.equals(antialias)) {
+                hintsMap.put(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+                if (preparedImage.getColorModel() instanceof IndexColorModel) {
+                    // otherwise we end up with dithered colors where the match is
+                    // not 100%
+                    hintsMap.put(RenderingHints.KEY_DITHERING, RenderingHints.VALUE_DITHER_DISABLE);
+                }
+            } else if (AA_TEXT.equals(antialias)) {
+                hintsMap.put(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+                hintsMap.put(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            } else {
+                if (antialias != null && !AA_FULL.equals(antialias)) {
+                    LOGGER.warning(
+                            "Unrecognized antialias setting '" + antialias + "', valid values are " + AA_SETTINGS);
+                }
+                hintsMap.put(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
             }
-        }
-
-        // we use the alpha channel if the image is transparent or if the meta tiler
-        // is enabled, since apparently the Crop operation inside the meta-tiler
-        // generates striped images in that case (see GEOS-
-        boolean useAlpha = transparent || MetatileMapOutputFormat.isRequestTiled(request, this);
-        final RenderedImage preparedImage = prepareImage(paintArea.width, paintArea.height, palette, useAlpha);
-        final Map<RenderingHints.Key, Object> hintsMap = new HashMap<>();
 
-        final Graphics2D graphic = getGraphics(transparent, bgColor, preparedImage, hintsMap);
+            // these two hints improve text layout in diagonal labels and reduce artifacts
+            // in line rendering (without hampering performance)
+            hintsMap.put(RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_ON);
+            hintsMap.put(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+
+            // turn off/on interpolation rendering hint
+            if (wms != null) {
+                if (WMSInterpolation.Nearest.equals(wms.getInterpolation())) {
+                    hintsMap.put(ImageN.KEY_INTERPOLATION, NN_INTERPOLATION);
+                    hintsMap.put(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+                } else if (WMSInterpolation.Bilinear.equals(wms.getInterpolation())) {
+                    hintsMap.put(ImageN.KEY_INTERPOLATION, BIL_INTERPOLATION);
+                    hintsMap.put(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                } else if (WMSInterpolation.Bicubic.equals(wms.getInterpolation())) {
+                    hintsMap.put(ImageN.KEY_INTERPOLATION, BIC_INTERPOLATION);
+                    hintsMap.put(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+                }
+            }
 
-        // set up the antialias hints
-        if (AA_NONE.equals(antialias)) {
-            hintsMap.put(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
-            if (preparedImage.getColorModel() instanceof IndexColorModel) {
-                // otherwise we end up with dithered colors where the match is
-                // not 100%
-                hintsMap.put(RenderingHints.KEY_DITHERING, RenderingHints.VALUE_DITHER_DISABLE);
+            // make sure the hints are set before we start rendering the map
+            graphic.setRenderingHints(hintsMap);
+
+            RenderingHints hints = new RenderingHints(hintsMap);
+            StreamingRenderer renderer = parallel
+                    ? new ParallelStreamingRenderer(this::buildRenderer, DefaultWebMapService.getLayerRenderingPool())
+                    : buildRenderer();
+            renderer.setThreadPool(DefaultWebMapService.getRenderingPool());
+            renderer.setMapContent(mapContent);
+            // add the GeoServer MarkFactories provider settings
+            markFactoryHintsInjector.addMarkFactoryHints(hints);
+            renderer.setJava2DHints(hints);
+
+            // setup the renderer hints
+            Map<Object, Object> rendererParams = new HashMap<>();
+            rendererParams.put("optimizedDataLoadingEnabled", Boolean.TRUE);
+            rendererParams.put("renderingBuffer", Integer.valueOf(mapContent.getBuffer()));
+            rendererParams.put("maxFiltersToSendToDatastore", DefaultWebMapService.getMaxFilterRules());
+            rendererParams.put(StreamingRenderer.SCALE_COMPUTATION_METHOD_KEY, mapContent.getRendererScaleMethod());
+            if (AA_NONE.equals(antialias)) {
+                rendererParams.put(StreamingRenderer.TEXT_RENDERING_KEY, StreamingRenderer.TEXT_RENDERING_STRING);
+            } else {
+                // used to be TEXT_RENDERING_ADAPTIVE always, but since java 7 calling drawGlyphVector
+                // just generates very ugly results
+                rendererParams.put(StreamingRenderer.TEXT_RENDERING_KEY, StreamingRenderer.TEXT_RENDERING_OUTLINE);
             }
-        } else if (AA_TEXT.equals(antialias)) {
-            hintsMap.put(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
-            hintsMap.put(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
-        } else {
-            if (antialias != null && !AA_FULL.equals(antialias)) {
-                LOGGER.warning("Unrecognized antialias setting '" + antialias + "', valid values are " + AA_SETTINGS);
+            if (DefaultWebMapService.isLineWidthOptimizationEnabled()) {
+                rendererParams.put(StreamingRenderer.LINE_WIDTH_OPTIMIZATION_KEY, true);
             }
-            hintsMap.put(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-        }
 
-        // these two hints improve text layout in diagonal labels and reduce artifacts
-        // in line rendering (without hampering performance)
-        hintsMap.put(RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_ON);
-        hintsMap.put(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
-
-        // turn off/on interpolation rendering hint
-        if (wms != null) {
-            if (WMSInterpolation.Nearest.equals(wms.getInterpolation())) {
-                hintsMap.put(ImageN.KEY_INTERPOLATION, NN_INTERPOLATION);
-                hintsMap.put(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
-            } else if (WMSInterpolation.Bilinear.equals(wms.getInterpolation())) {
-                hintsMap.put(ImageN.KEY_INTERPOLATION, BIL_INTERPOLATION);
-                hintsMap.put(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
-            } else if (WMSInterpolation.Bicubic.equals(wms.getInterpolation())) {
-                hintsMap.put(ImageN.KEY_INTERPOLATION, BIC_INTERPOLATION);
-                hintsMap.put(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            // turn on advanced projection handling
+            if (wms.isAdvancedProjectionHandlingEnabled()) {
+                rendererParams.put(StreamingRenderer.ADVANCED_PROJECTION_HANDLING_KEY, true);
+                if (request.getFormatOptions().get(ADV_PROJECTION_DENSIFICATION_FORMAT_OPTION) != null) {
+                    rendererParams.put(
+                            StreamingRenderer.ADVANCED_PROJECTION_DENSIFICATION_KEY,
+                            getFormatOptionAsBoolean(request, ADV_PROJECTION_DENSIFICATION_FORMAT_OPTION));
+                } else if (wms.isAdvancedProjectionDensificationEnabled()) {
+                    rendererParams.put(StreamingRenderer.ADVANCED_PROJECTION_DENSIFICATION_KEY, true);
+                }
+                if (wms.isContinuousMapWrappingEnabled()) {
+                    rendererParams.put(StreamingRenderer.CONTINUOUS_MAP_WRAPPING, true);
+                }
+                if (request.getFormatOptions().get(DISABLE_DATELINE_WRAPPING_HEURISTIC_FORMAT_OPTION) != null) {
+                    rendererParams.put(
+                            StreamingRenderer.DATELINE_WRAPPING_HEURISTIC_KEY,
+                            !getFormatOptionAsBoolean(request, DISABLE_DATELINE_WRAPPING_HEURISTIC_FORMAT_OPTION));
+                } else if (wms.isDateLineWrappingHeuristicDisabled()) {
+                    rendererParams.put(StreamingRenderer.DATELINE_WRAPPING_HEURISTIC_KEY, false);
+                }
             }
-        }
-
-        // make sure the hints are set before we start rendering the map
-        graphic.setRenderingHints(hintsMap);
-
-        RenderingHints hints = new RenderingHints(hintsMap);
-        StreamingRenderer renderer = buildRenderer();
-        renderer.setThreadPool(DefaultWebMapService.getRenderingPool());
-        renderer.setMapContent(mapContent);
-        // add the GeoServer MarkFactories provider settings
-        markFactoryHintsInjector.addMarkFactoryHints(hints);
-        renderer.setJava2DHints(hints);
-
-        // setup the renderer hints
-        Map<Object, Object> rendererParams = new HashMap<>();
-        rendererParams.put("optimizedDataLoadingEnabled", Boolean.TRUE);
-        rendererParams.put("renderingBuffer", Integer.valueOf(mapContent.getBuffer()));
-        rendererParams.put("maxFiltersToSendToDatastore", DefaultWebMapService.getMaxFilterRules());
-        rendererParams.put(StreamingRenderer.SCALE_COMPUTATION_METHOD_KEY, mapContent.getRendererScaleMethod());
-        if (AA_NONE.equals(antialias)) {
-            rendererParams.put(StreamingRenderer.TEXT_RENDERING_KEY, StreamingRenderer.TEXT_RENDERING_STRING);
-        } else {
-            // used to be TEXT_RENDERING_ADAPTIVE always, but since java 7 calling drawGlyphVector
-            // just generates very ugly results
-            rendererParams.put(StreamingRenderer.TEXT_RENDERING_KEY, StreamingRenderer.TEXT_RENDERING_OUTLINE);
-        }
-        if (DefaultWebMapService.isLineWidthOptimizationEnabled()) {
-            rendererParams.put(StreamingRenderer.LINE_WIDTH_OPTIMIZATION_KEY, true);
-        }
 
-        // turn on advanced projection handling
-        if (wms.isAdvancedProjectionHandlingEnabled()) {
-            rendererParams.put(StreamingRenderer.ADVANCED_PROJECTION_HANDLING_KEY, true);
-            if (request.getFormatOptions().get(ADV_PROJECTION_DENSIFICATION_FORMAT_OPTION) != null) {
-                rendererParams.put(
-                        StreamingRenderer.ADVANCED_PROJECTION_DENSIFICATION_KEY,
-                        getFormatOptionAsBoolean(request, ADV_PROJECTION_DENSIFICATION_FORMAT_OPTION));
-            } else if (wms.isAdvancedProjectionDensificationEnabled()) {
-                rendererParams.put(StreamingRenderer.ADVANCED_PROJECTION_DENSIFICATION_KEY, true);
+            if (getFormatOptionAsBoolean(request, ADV_PROJECTION_HANDLING_FORMAT_OPTION) == false) {
+                rendererParams.put(StreamingRenderer.ADVANCED_PROJECTION_HANDLING_KEY, false);
+                rendererParams.put(StreamingRenderer.CONTINUOUS_MAP_WRAPPING, false);
             }
-            if (wms.isContinuousMapWrappingEnabled()) {
-                rendererParams.put(StreamingRenderer.CONTINUOUS_MAP_WRAPPING, true);
+
+            if (getFormatOptionAsBoolean(request, MAP_WRAPPING_FORMAT_OPTION) == false) {
+                rendererParams.put(StreamingRenderer.CONTINUOUS_MAP_WRAPPING, false);
             }
-            if (request.getFormatOptions().get(DISABLE_DATELINE_WRAPPING_HEURISTIC_FORMAT_OPTION) != null) {
+
+            // see if the user specified a dpi
+            if (request.getFormatOptions().get("dpi") != null) {
                 rendererParams.put(
-                        StreamingRenderer.DATELINE_WRAPPING_HEURISTIC_KEY,
-                        !getFormatOptionAsBoolean(request, DISABLE_DATELINE_WRAPPING_HEURISTIC_FORMAT_OPTION));
-            } else if (wms.isDateLineWrappingHeuristicDisabled()) {
-                rendererParams.put(StreamingRenderer.DATELINE_WRAPPING_HEURISTIC_KEY, false);
+                        StreamingRenderer.DPI_KEY, (request.getFormatOptions().get("dpi")));
             }
-        }
-
-        if (getFormatOptionAsBoolean(request, ADV_PROJECTION_HANDLING_FORMAT_OPTION) == false) {
-            rendererParams.put(StreamingRenderer.ADVANCED_PROJECTION_HANDLING_KEY, false);
-            rendererParams.put(StreamingRenderer.CONTINUOUS_MAP_WRAPPING, false);
-        }
-
-        if (getFormatOptionAsBoolean(request, MAP_WRAPPING_FORMAT_OPTION) == false) {
-            rendererParams.put(StreamingRenderer.CONTINUOUS_MAP_WRAPPING, false);
-        }
-
-        // see if the user specified a dpi
-        if (request.getFormatOptions().get("dpi") != null) {
-            rendererParams.put(
-                    StreamingRenderer.DPI_KEY, (request.getFormatOptions().get("dpi")));
-        }
 
-        if (labelCache != null) {
-            try {
-                rendererParams.put(StreamingRenderer.LABEL_CACHE_KEY, labelCache.apply(mapContent));
-            } catch (Exception e) {
-                throw new ServiceException(e);
+            if (labelCache != null) {
+                try {
+                    rendererParams.put(StreamingRenderer.LABEL_CACHE_KEY, labelCache.apply(mapContent));
+                } catch (Exception e) {
+                    throw new ServiceException(e);
+                }
             }
-        }
 
-        boolean kmplacemark = false;
-        if (request.getFormatOptions().get("kmplacemark") != null)
-            kmplacemark = ((Boolean) request.getFormatOptions().get("kmplacemark")).booleanValue();
-        if (kmplacemark) {
-            // create a StyleVisitor that copies a style, but removes the
-            // PointSymbolizers and TextSymbolizers
-            KMLStyleFilteringVisitor dupVisitor = new KMLStyleFilteringVisitor();
-
-            // Remove PointSymbolizers and TextSymbolizers from the
-            // layers' Styles to prevent their rendering on the
-            // raster image. Both are better served with the
-            // placemarks.
-            List<Layer> layers = mapContent.layers();
-            for (Layer value : layers) {
-                if (value instanceof StyleLayer layer) {
-                    Style style = layer.getStyle();
-                    style.accept(dupVisitor);
-                    Style copy = (Style) dupVisitor.getCopy();
-                    layer.setStyle(copy);
+            boolean kmplacemark = false;
+            if (request.getFormatOptions().get("kmplacemark") != null)
+                kmplacemark = ((Boolean) request.getFormatOptions().get("kmplacemark")).booleanValue();
+            if (kmplacemark) {
+                // create a StyleVisitor that copies a style, but removes the
+                // PointSymbolizers and TextSymbolizers
+                KMLStyleFilteringVisitor dupVisitor = new KMLStyleFilteringVisitor();
+
+                // Remove PointSymbolizers and TextSymbolizers from the
+                // layers' Styles to prevent their rendering on the
+                // raster image. Both are better served with the
+                // placemarks.
+                List<Layer> layers = mapContent.layers();
+                for (Layer value : layers) {
+                    if (value instanceof StyleLayer layer) {
+                        Style style = layer.getStyle();
+                        style.accept(dupVisitor);
+                        Style copy = (Style) dupVisitor.getCopy();
+                        layer.setStyle(copy);
+                    }
                 }
             }
-        }
 
-        for (int i = 0; i < request.getLayers().size(); i++) {
+            for (int i = 0; i < request.getLayers().size(); i++) {
 
-            Interpolation interpolationToSet = null;
-            // check interpolations vendor parameter first
-            if (request.getInterpolations() != null
-                    && request.getInterpolations().size() > i) {
-                interpolationToSet = request.getInterpolations().get(i);
-            }
-            // if vendor param not set, check by layer interpolation configuration
-            if (interpolationToSet == null) {
-                LayerInfo layerInfo = request.getLayers().get(i).getLayerInfo();
+                Interpolation interpolationToSet = null;
+                // check interpolations vendor parameter first
+                if (request.getInterpolations() != null
+                        && request.getInterpolations().size() > i) {
+                    interpolationToSet = request.getInterpolations().get(i);
+                }
+                // if vendor param not set, check by layer interpolation configuration
+                if (interpolationToSet == null) {
+                    LayerInfo layerInfo = request.getLayers().get(i).getLayerInfo();
 
-                LayerInfo.WMSInterpolation byLayerInterpolation = getConfiguredLayerInterpolation(layerInfo);
-                if (byLayerInterpolation != null) {
-                    interpolationToSet = toInterpolationObject(byLayerInterpolation);
+                    LayerInfo.WMSInterpolation byLayerInterpolation = getConfiguredLayerInterpolation(layerInfo);
+                    if (byLayerInterpolation != null) {
+                        interpolationToSet = toInterpolationObject(byLayerInterpolation);
+                    }
                 }
-            }
 
-            if (interpolationToSet != null) {
-                Layer layer = mapContent.layers().get(i);
-                layer.getUserData().put(StreamingRenderer.BYLAYER_INTERPOLATION, interpolationToSet);
+                if (interpolationToSet != null) {
+                    Layer layer = mapContent.layers().get(i);
+                    layer.getUserData().put(StreamingRenderer.BYLAYER_INTERPOLATION, interpolationToSet);
+                }
             }
-        }
 
-        renderer.setRendererHints(rendererParams);
-
-        // if abort already requested bail out
-        // if (this.abortRequested) {
-        // graphic.dispose();
-        // return null;
-        // }
-
-        // enforce no more than x rendering errors
-        int maxErrors = wms.getMaxRenderingErrors();
-        MaxErrorEnforcer errorChecker = new MaxErrorEnforcer(renderer, maxErrors);
-
-        // Add a render listener that ignores well known rendering exceptions and reports back non
-        // ignorable ones
-        final RenderExceptionStrategy nonIgnorableExceptionListener = new RenderExceptionStrategy(renderer);
-        renderer.addRenderListener(nonIgnorableExceptionListener);
-        RenderTimeStatistics statistics = null;
-        if (!request.getRequest().equalsIgnoreCase("GETFEATUREINFO")) {
-            statistics = new RenderTimeStatistics();
-            renderer.addRenderListener(statistics);
-        }
-        onBeforeRender(renderer);
-
-        int maxRenderingTime = wms.getMaxRenderingTime(request);
-        ServiceException serviceException = null;
-        boolean saveMap = (request.getRawKvp() != null
-                && WMSServiceExceptionHandler.isPartialMapExceptionType(
-                        request.getRawKvp().get("EXCEPTIONS")));
-        RenderingTimeoutEnforcer timeout = new RenderingTimeoutEnforcer(maxRenderingTime, renderer, graphic, saveMap) {
-
-            /** Save the map before disposing of the graphics */
-            @Override
-            public void saveMap() {
-                this.map = optimizeAndBuildMap(palette, preparedImage, mapContent);
-            }
-        };
-        timeout.start();
-        try {
-            // finally render the image;
-            if (!emptyMap) {
-                renderer.paint(graphic, paintArea, mapContent.getRenderingArea(), mapContent.getRenderingTransform());
-            } else {
-                LOGGER.fine("we only want to get the layout, if it's not null");
+            renderer.setRendererHints(rendererParams);
+
+            // if abort already requested bail out
+            // if (this.abortRequested) {
+            // graphic.dispose();
+            // return null;
+            // }
+
+            // enforce no more than x rendering errors
+            int maxErrors = wms.getMaxRenderingErrors();
+            MaxErrorEnforcer errorChecker = new MaxErrorEnforcer(renderer, maxErrors);
+
+            // Add a render listener that ignores well known rendering exceptions and reports back non
+            // ignorable ones
+            final RenderExceptionStrategy nonIgnorableExceptionListener = new RenderExceptionStrategy(renderer);
+            renderer.addRenderListener(nonIgnorableExceptionListener);
+            RenderTimeStatistics statistics = null;
+            if (!request.getRequest().equalsIgnoreCase("GETFEATUREINFO")) {
+                statistics = new RenderTimeStatistics();
+                renderer.addRenderListener(statistics);
             }
+            onBeforeRender(renderer);
+
+            int maxRenderingTime = wms.getMaxRenderingTime(request);
+            ServiceException serviceException = null;
+            boolean saveMap = (request.getRawKvp() != null
+                    && WMSServiceExceptionHandler.isPartialMapExceptionType(
+                            request.getRawKvp().get("EXCEPTIONS")));
+            RenderingTimeoutEnforcer timeout =
+                    new RenderingTimeoutEnforcer(maxRenderingTime, renderer, graphic, saveMap) {
+
+                        /** Save the map before disposing of the graphics */
+                        @Override
+                        public void saveMap() {
+                            this.map = optimizeAndBuildMap(palette, preparedImage, mapContent);
+                        }
+                    };
+            timeout.start();
+            try {
+                // finally render the image;
+                if (!emptyMap) {
+                    renderer.paint(
+                            graphic, paintArea, mapContent.getRenderingArea(), mapContent.getRenderingTransform());
+                } else {
+                    LOGGER.fine("we only want to get the layout, if it's not null");
+                }
 
-            // apply watermarking
-            if (layout != null) {
-                try {
-                    layout.paint(graphic, paintArea, mapContent);
-                } catch (Exception e) {
-                    throw new ServiceException("Problem occurred while trying to watermark data", e);
+                // apply watermarking
+                if (layout != null) {
+                    try {
+                        layout.paint(graphic, paintArea, mapContent);
+                    } catch (Exception e) {
+                        throw new ServiceException("Problem occurred while trying to watermark data", e);
+                    }
+                }
+                timeout.stop();
+
+                // Determine what (if any) exception should be thrown
+
+                // check if too many errors occurred
+                if (errorChecker.exceedsMaxErrors()) {
+                    serviceException = new ServiceException(
+                            "More than "
+                                    + maxErrors
+                                    + " rendering errors occurred, bailing out. Layers: "
+                                    + buildMapLayerNameList(mapContent),
+                            errorChecker.getLastException(),
+                            "internalError");
+                }
+                // check if the request did timeout
+                if (timeout.isTimedOut()) {
+                    serviceException = new ServiceException(
+                            "This request used more time than allowed and has been forcefully stopped. "
+                                    + "Max rendering time is "
+                                    + (maxRenderingTime / 1000.0)
+                                    + "s. Layers: "
+                                    + buildMapLayerNameList(mapContent));
+                }
+                // check if a non ignorable error occurred
+                if (nonIgnorableExceptionListener.exceptionOccurred()) {
+                    Exception renderError = nonIgnorableExceptionListener.getException();
+                    serviceException = new ServiceException(
+                            "Rendering process failed. Layers: " + buildMapLayerNameList(mapContent),
+                            renderError,
+                            "internalError");
+                }
+
+                // If there were no exceptions, return the map
+                if (serviceException == null) {
+                    return optimizeAndBuildMap(palette, preparedImage, mapContent);
+
+                    // If the exception format is PARTIALMAP, return whatever did get rendered with the
+                    // exception
+                } else if (saveMap) {
+                    RenderedImageMap map = (RenderedImageMap) timeout.getMap();
+                    // We hit an error other than a timeout during rendering
+                    if (map == null) {
+                        map = optimizeAndBuildMap(palette, preparedImage, mapContent);
+                    }
+                    // Wrap the serviceException in a WMSServiceException to hold the map
+                    serviceException = new WMSPartialMapException(serviceException, map);
+                }
+            } finally {
+                timeout.stop();
+                graphic.dispose();
+                if (statistics != null) {
+                    statistics.renderingComplete();
                 }
             }
-            timeout.stop();
-
-            // Determine what (if any) exception should be thrown
-
-            // check if too many errors occurred
-            if (errorChecker.exceedsMaxErrors()) {
-                serviceException = new ServiceException(
-                        "More than "
-                                + maxErrors
-                                + " rendering errors occurred, bailing out. Layers: "
-                                + buildMapLayerNameList(mapContent),
-                        errorChecker.getLastException(),
-                        "internalError");
-            }
-            // check if the request did timeout
-            if (timeout.isTimedOut()) {
-                serviceException = new ServiceException(
-                        "This request used more time than allowed and has been forcefully stopped. "
-                                + "Max rendering time is "
-                                + (maxRenderingTime / 1000.0)
-                                + "s. Layers: "
-                                + buildMapLayerNameList(mapContent));
-            }
-            // check if a non ignorable error occurred
-            if (nonIgnorableExceptionListener.exceptionOccurred()) {
-                Exception renderError = nonIgnorableExceptionListener.getException();
-                serviceException = new ServiceException(
-                        "Rendering process failed. Layers: " + buildMapLayerNameList(mapContent),
-                        renderError,
-                        "internalError");
+            throw serviceException;
+        } catch (RuntimeException | Error e) {
+            // nothing left to encode, give the memory back right away
+            if (reservation != null) {
+                memoryController.release(reservation);
             }
+            throw e;
+        }
+    }
 
-            // If there were no exceptions, return the map
-            if (serviceException == null) {
-                return optimizeAndBuildMap(palette, preparedImage, mapContent);
-
-                // If the exception format is PARTIALMAP, return whatever did get rendered with the
-                // exception
-            } else if (saveMap) {
-                RenderedImageMap map = (RenderedImageMap) timeout.getMap();
-                // We hit an error other than a timeout during rendering
-                if (map == null) {
-                    map = optimizeAndBuildMap(palette, preparedImage, mapContent);
-                }
-                // Wrap the serviceException in a WMSServiceException to hold the map
-                serviceException = new WMSPartialMapException(serviceException, map);
+    /**
+     * Checks if the map can be rendered by the {@link ParallelStreamingRenderer}: parallel rendering must be enabled,
+     * the map must have enough layers, and its styles must not rely on blending or z-ordering across layers
+     */
+    private boolean isParallelRenderingApplicable(WMSMapContent mapContent) {
+        int minLayers = DefaultWebMapService.getParallelRenderingMinLayers();
+        if (minLayers <= 0 || mapContent.layers().size() < Math.max(2, minLayers)) {
+            return false;
+        }
+        for (Layer layer : mapContent.layers()) {
+            Style style = layer.getStyle();
+            if (style == null) {
+                continue;
             }
-        } finally {
-            timeout.stop();
-            graphic.dispose();
-            if (statistics != null) {
-                statistics.renderingComplete();
+            for (FeatureTypeStyle fts : style.featureTypeStyles()) {
+                Map<String, String> options = fts.getOptions();
+                if (options.containsKey(FeatureTypeStyle.COMPOSITE)
+                        || options.containsKey(FeatureTypeStyle.COMPOSITE_BASE)
+                        || options.containsKey(SORT_BY_GROUP)) {
+                    return false;
+                }
             }
         }
-        throw serviceException;
+        return true;
     }
 
     /** Helper method to build a comma separated list of layer names in the map. * */
@@ -0,0 +1,251 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.map;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geoserver.ows.HttpErrorCodeException;
+import org.geoserver.platform.GeoServerExtensions;
+import org.geoserver.platform.ServiceException;
+import org.geoserver.wms.WMSMapContent;
+import org.geotools.api.style.FeatureTypeStyle;
+import org.geotools.api.style.Rule;
+import org.geotools.api.style.Style;
+import org.geotools.api.style.Symbolizer;
+import org.geotools.api.style.TextSymbolizer;
+import org.geotools.map.Layer;
+import org.geotools.util.logging.Logging;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Node wide admission control for the memory used by map rendering.
+ *
+ * <p>Before rendering, {@link RenderedImageMapOutputFormat} estimates the memory a {@link WMSMapContent} is going to
+ * use (drawing surface, back buffers, per layer transient data and label cache) and reserves it from a pool shared by
+ * all the requests. Requests that do not fit in the pool wait, in arrival order, for other requests to release their
+ * reservations, and get rejected with a 503 if the wait exceeds a timeout. Requests larger than the whole pool are
+ * rejected right away. Each reservation is held until the map it was made for has been encoded, and released when its
+ * {@link WMSMapContent} is disposed, unlike the {@link org.geoserver.wms.WMSInfo#getMaxRequestMemory() per request
+ * limit} that only checks the output image.
+ *
+ * <p>The last reservation made by the current request is published as a request attribute under
+ * {@link Reservation#ID}, for the monitoring subsystem to pick it up.
+ *
+ * <p>The controller is disabled by default, and can be configured with the following system, environment or servlet
+ * context variables:
+ *
+ * <ul>
+ *   <li>{@code RENDERING_MEMORY_POOL}: the size of the pool, in bytes. The controller is enabled only if set to a
+ *       positive value
+ *   <li>{@code RENDERING_MEMORY_TIMEOUT}: how long a request waits for memory to become available, in seconds, defaults
+ *       to 60
+ * </ul>
+ *
+ * <p>Every call to {@link #reserve(long)} must be paired with a call to {@link #release(Reservation)}, regardless of
+ * the code running inside or outside of the OWS dispatcher.
+ */
+public class RenderingMemoryController {
+
+    static final Logger LOGGER = Logging.getLogger(RenderingMemoryController.class);
+
+    static final long DEFAULT_TIMEOUT = 60;
+
+    static final int KB = 1024;
+
+    /**
+     * Estimate of the transient memory used by each layer, in bytes per pixel of the drawing surface (geometries being
+     * transformed and decimated, raster reads, rendering transformation outputs)
+     */
+    static final int LAYER_BYTES_PER_PIXEL = 1;
+
+    /** Estimate of the memory used by the label cache and its collision index, in bytes per pixel */
+    static final int LABEL_BYTES_PER_PIXEL = 2;
+
+    /** The memory reserved for rendering a map */
+    public static class Reservation {
+
+        /** The request attribute holding the reservation of the current request */
+        public static final String ID = "renderingMemoryReservation";
+
+        final long memory;
+
+        final long waitTime;
+
+        final AtomicBoolean released = new AtomicBoolean();
+
+        final RenderingMemoryController controller;
+
+        Reservation(RenderingMemoryController controller, long memory, long waitTime) {
+            this.controller = controller;
+            this.memory = memory;
+            this.waitTime = waitTime;
+        }
+
+        /** Gives back the memory to the pool it was reserved from, same as {@link #release(Reservation)} */
+        public void release() {
+            controller.release(this);
+        }
+
+        /** The memory reserved, in bytes */
+        public long getMemory() {
+            return memory;
+        }
+
+        /** The time spent waiting for memory to become available, in milliseconds */
+        public long getWaitTime() {
+            return waitTime;
+        }
+    }
+
+    long poolSize;
+
+    long timeout;
+
+    /** The pool, with one permit per KB */
+    Semaphore pool;
+
+    public RenderingMemoryController() {
+        this(
+                GeoServerExtensions.getLongProperty("RENDERING_MEMORY_POOL", 0),
+                GeoServerExtensions.getLongProperty("RENDERING_MEMORY_TIMEOUT", DEFAULT_TIMEOUT));
+    }
+
+    /**
+     * @param poolSize the pool size in bytes, zero or negative to disable admission control
+     * @param timeout the maximum wait for memory to be available, in seconds
+     */
+    public RenderingMemoryController(long poolSize, long timeout) {
+        this.poolSize = poolSize;
+        this.timeout = timeout;
+        if (poolSize > 0) {
+            this.pool = new Semaphore(toPermits(poolSize), true);
+        }
+    }
+
+    private static int toPermits(long memory) {
+        return (int) Math.min(Integer.MAX_VALUE, (memory + KB - 1) / KB);
+    }
+
+    public boolean isEnabled() {
+        return pool != null;
+    }
+
+    /** The pool size, in bytes */
+    public long getPoolSize() {
+        return poolSize;
+    }
+
+    /** The memory currently available in the pool, in bytes */
+    public long getAvailableMemory() {
+        return pool != null ? (long) pool.availablePermits() * KB : 0;
+    }
+
+    /** The number of requests waiting for memory to become available */
+    public int getQueueLength() {
+        return pool != null ? pool.getQueueLength() : 0;
+    }
+
+    /**
+     * Estimates the memory used to render the map content
+     *
+     * @param mapContent the map content to be rendered
+     * @param surfaceMemory the memory used by the drawing surface and the back buffers, as computed by the map format
+     * @return the estimated memory, in bytes
+     */
+    public long estimate(WMSMapContent mapContent, long surfaceMemory) {
+        long pixels = (long) mapContent.getMapWidth() * mapContent.getMapHeight();
+        long memory = surfaceMemory;
+        boolean labels = false;
+        for (Layer layer : mapContent.layers()) {
+            memory += pixels * LAYER_BYTES_PER_PIXEL;
+            labels |= hasLabels(layer.getStyle());
+        }
+        if (labels) {
+            memory += pixels * LABEL_BYTES_PER_PIXEL;
+        }
+        return memory;
+    }
+
+    private boolean hasLabels(Style style) {
+        if (style == null) {
+            return false;
+        }
+        for (FeatureTypeStyle fts : style.featureTypeStyles()) {
+            for (Rule rule : fts.rules()) {
+                for (Symbolizer symbolizer : rule.symbolizers()) {
+                    if (symbolizer instanceof TextSymbolizer) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reserves the given amount of memory, waiting for it to become available if necessary. The reservation is
+     * independent of any other made by the same thread or request, and must be given back with
+     * {@link #release(Reservation)} once the map is no longer in use.
+     *
+     * @param memory the memory to reserve, in bytes
+     * @return the reservation, or null if the controller is disabled or there is nothing to reserve
+     * @throws ServiceException if the memory exceeds the pool size
+     * @throws HttpErrorCodeException with a 503 code, if the memory did not become available before the timeout
+     */
+    public Reservation reserve(long memory) throws ServiceException {
+        if (pool == null || memory <= 0) {
+            return null;
+        }
+        if (memory > poolSize) {
+            throw new ServiceException(
+                    "Rendering request would use "
+                            + memory / KB
+                            + "KB, whilst the rendering memory pool is "
+                            + poolSize / KB
+                            + "KB",
+                    ServiceException.MAX_MEMORY_EXCEEDED);
+        }
+
+        int permits = toPermits(memory);
+        long start = System.currentTimeMillis();
+        boolean acquired;
+        try {
+            acquired = pool.tryAcquire(permits, timeout, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceException("Interrupted while waiting for rendering memory", e);
+        }
+        long waitTime = System.currentTimeMillis() - start;
+        if (!acquired) {
+            throw new HttpErrorCodeException(
+                    503, "Timed out while waiting for rendering memory to become available, please retry later");
+        }
+
+        Reservation reservation = new Reservation(this, (long) permits * KB, waitTime);
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(Reservation.ID, reservation, RequestAttributes.SCOPE_REQUEST);
+        }
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine("Reserved " + permits + "KB of rendering memory after waiting " + waitTime + "ms");
+        }
+        return reservation;
+    }
+
+    /**
+     * Gives back the memory of a reservation to the pool. Releasing the same reservation more than once has no effect.
+     *
+     * @param reservation the reservation returned by {@link #reserve(long)}, may be null
+     */
+    public void release(Reservation reservation) {
+        if (reservation != null && pool != null && reservation.released.compareAndSet(false, true)) {
+            pool.release(toPermits(reservation.memory));
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.map;
+
+import static org.junit.Assert.assertEquals;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.style.Style;
+import org.geotools.data.DataUtilities;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.map.FeatureLayer;
+import org.geotools.map.Layer;
+import org.geotools.map.MapContent;
+import org.geotools.referencing.crs.DefaultGeographicCRS;
+import org.geotools.renderer.RenderListener;
+import org.geotools.renderer.lite.RendererUtilities;
+import org.geotools.renderer.lite.StreamingRenderer;
+import org.geotools.styling.StyleBuilder;
+import org.junit.After;
+import org.junit.Test;
+import org.locationtech.jts.io.WKTReader;
+
+public class ParallelStreamingRendererTest {
+
+    static final ReferencedEnvelope BOUNDS = new ReferencedEnvelope(0, 10, 0, 10, DefaultGeographicCRS.WGS84);
+
+    static final Rectangle AREA = new Rectangle(200, 200);
+
+    static final Color[] COLORS = {Color.RED, Color.GREEN, Color.BLUE, Color.YELLOW, Color.CYAN, Color.MAGENTA};
+
+    StyleBuilder sb = new StyleBuilder();
+
+    ForkJoinPool pool = new ForkJoinPool(3);
+
+    @After
+    public void shutdownPool() {
+        pool.shutdown();
+    }
+
+    /** Overlapping, labelled squares, so that both the z-order and the label conflicts matter */
+    private MapContent buildMap() throws Exception {
+        MapContent content = new MapContent();
+        for (int i = 0; i < COLORS.length; i++) {
+            SimpleFeatureType type = DataUtilities.createType("square" + i, "geom:Polygon:srid=4326,name:String");
+            String wkt = String.format(
+                    "POLYGON((%1$d %1$d, %2$d %1$d, %2$d %2$d, %1$d %2$d, %1$d %1$d))", i, i + 4);
+            SimpleFeature feature =
+                    SimpleFeatureBuilder.build(type, new Object[] {new WKTReader().read(wkt), "label" + i}, null);
+            Style style = sb.createStyle(sb.createPolygonSymbolizer(COLORS[i], Color.BLACK, 1));
+            style.featureTypeStyles()
+                    .get(0)
+                    .rules()
+                    .get(0)
+                    .symbolizers()
+                    .add(sb.createTextSymbolizer(Color.BLACK, sb.createFont("Serif", 12), "name"));
+            content.addLayer(new FeatureLayer(DataUtilities.collection(feature), style));
+        }
+        return content;
+    }
+
+    private BufferedImage render(StreamingRenderer renderer, MapContent content) {
+        BufferedImage image = new BufferedImage(AREA.width, AREA.height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.setColor(Color.WHITE);
+            graphics.fill(AREA);
+            graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+            graphics.setRenderingHint(
+                    RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_OFF);
+            renderer.setMapContent(content);
+            renderer.paint(graphics, AREA, BOUNDS, RendererUtilities.worldToScreenTransform(BOUNDS, AREA));
+        } finally {
+            graphics.dispose();
+        }
+        return image;
+    }
+
+    @Test
+    public void testSameOutputAsSequential() throws Exception {
+        MapContent content = buildMap();
+        try {
+            BufferedImage expected = render(new StreamingRenderer(), content);
+            ParallelStreamingRenderer parallel = new ParallelStreamingRenderer(StreamingRenderer::new, pool);
+            assertEquals(3, parallel.getGroupCount(content.layers().size()));
+            BufferedImage actual = render(parallel, content);
+
+            for (int y = 0; y < AREA.height; y++) {
+                for (int x = 0; x < AREA.width; x++) {
+                    assertEquals("Pixel " + x + "," + y, expected.getRGB(x, y), actual.getRGB(x, y));
+                }
+            }
+            // the group map contents did not dispose the shared layers
+            assertEquals(COLORS.length, content.layers().size());
+        } finally {
+            content.dispose();
+        }
+    }
+
+    @Test
+    public void testListeners() throws Exception {
+        MapContent content = buildMap();
+        try {
+            List<Layer> started = new ArrayList<>();
+            List<String> labelling = new ArrayList<>();
+            ParallelStreamingRenderer parallel = new ParallelStreamingRenderer(StreamingRenderer::new, pool);
+            parallel.addRenderListener(new RenderListener() {
+                @Override
+                public void featureRenderer(SimpleFeature feature) {}
+
+                @Override
+                public void errorOccurred(Exception e) {}
+
+                @Override
+                public void layerStart(Layer layer) {
+                    started.add(layer);
+                }
+
+                @Override
+                public void labellingStart() {
+                    labelling.add("start");
+                }
+
+                @Override
+                public void labellingEnd() {
+                    labelling.add("end");
+                }
+            });
+            render(parallel, content);
+
+            assertEquals(COLORS.length, started.size());
+            assertEquals(List.of("start", "end"), labelling);
+        } finally {
+            content.dispose();
+        }
+    }
+}
@@ -6,9 +6,24 @@
 package org.geoserver.wms.map;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
 
 import java.awt.Point;
 import java.awt.geom.Point2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.RenderedImage;
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.geoserver.data.DataModifiedEvent;
+import org.geoserver.wms.map.QuickTileCache.MapKey;
+import org.geoserver.wms.map.QuickTileCache.MetaTileKey;
 import org.junit.Test;
 import org.locationtech.jts.geom.Envelope;
 
@@ -65,4 +80,102 @@ public void testInnerTileOffsets() {
         assertEquals(new Point(0, 2), cache.getTileOffsetsInMeta(box1, meta));
         assertEquals(new Point(1, 2), cache.getTileOffsetsInMeta(box2, meta));
     }
+
+    private MetaTileKey key(int x, int y) {
+        MapKey mapKey = new MapKey("layers=test", 1, new Point2D.Double(0, 0));
+        return new MetaTileKey(mapKey, new Point(x, y), null);
+    }
+
+    /** A meta tile of 9 tiles of 256x256 pixels, 256KB each */
+    private RenderedImage[] metaTile() {
+        RenderedImage[] tiles = new RenderedImage[9];
+        for (int i = 0; i < tiles.length; i++) {
+            tiles[i] = new BufferedImage(256, 256, BufferedImage.TYPE_INT_ARGB);
+        }
+        return tiles;
+    }
+
+    @Test
+    public void testHitAndMiss() throws Exception {
+        AtomicInteger renders = new AtomicInteger();
+        RenderedImage[] tiles = cache.getTiles(key(0, 0), () -> {
+            renders.incrementAndGet();
+            return metaTile();
+        });
+        assertSame(tiles, cache.getTiles(key(0, 0), () -> {
+            renders.incrementAndGet();
+            return metaTile();
+        }));
+        assertEquals(1, renders.get());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getSize());
+    }
+
+    @Test
+    public void testMemoryBound() throws Exception {
+        // room for a bit more than two meta tiles
+        QuickTileCache bounded = new QuickTileCache(5 * 1024 * 1024, 300);
+        for (int i = 0; i < 10; i++) {
+            bounded.storeTiles(key(i * 3, 0), metaTile());
+        }
+        assertEquals(2, bounded.getSize());
+        assertEquals(8, bounded.getEvictionCount());
+    }
+
+    @Test
+    public void testCoalescing() throws Exception {
+        CountDownLatch rendering = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger renders = new AtomicInteger();
+        RenderedImage[] rendered = metaTile();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<RenderedImage[]> first = executor.submit(() -> cache.getTiles(key(0, 0), () -> {
+                renders.incrementAndGet();
+                rendering.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+                return rendered;
+            }));
+            rendering.await();
+            Future<RenderedImage[]> second = executor.submit(() -> cache.getTiles(key(0, 0), () -> {
+                renders.incrementAndGet();
+                return metaTile();
+            }));
+            // wait for the second request to join the in flight rendering
+            while (cache.getCoalescedCount() == 0) {
+                Thread.sleep(10);
+            }
+            release.countDown();
+
+            assertSame(rendered, first.get(10, TimeUnit.SECONDS));
+            assertSame(rendered, second.get(10, TimeUnit.SECONDS));
+            assertEquals(1, renders.get());
+            assertEquals(0, cache.getInFlightCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testRenderingFailure() throws Exception {
+        assertThrows(IOException.class, () -> cache.getTiles(key(0, 0), () -> {
+            throw new IOException("Rendering failed");
+        }));
+        assertEquals(0, cache.getInFlightCount());
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    public void testDataModifiedInvalidation() throws Exception {
+        cache.storeTiles(key(0, 0), metaTile());
+        assertEquals(1, cache.getSize());
+        cache.onApplicationEvent(new DataModifiedEvent(this));
+        assertEquals(0, cache.getSize());
+        assertNull(cache.getTile(key(0, 0), null));
+    }
 }
@@ -0,0 +1,108 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+
+import java.util.concurrent.atomic.AtomicReference;
+import org.geoserver.ows.HttpErrorCodeException;
+import org.geoserver.platform.ServiceException;
+import org.geoserver.wms.WMSMapContent;
+import org.junit.Test;
+
+public class RenderingMemoryControllerTest {
+
+    static final long MB = 1024 * 1024;
+
+    RenderingMemoryController controller = new RenderingMemoryController(10 * MB, 1);
+
+    @Test
+    public void testDisabled() {
+        RenderingMemoryController disabled = new RenderingMemoryController(0, 1);
+        assertFalse(disabled.isEnabled());
+        assertNull(disabled.reserve(100 * MB));
+        disabled.release(null);
+    }
+
+    @Test
+    public void testReserveAndRelease() {
+        RenderingMemoryController.Reservation first = controller.reserve(4 * MB);
+        RenderingMemoryController.Reservation second = controller.reserve(2 * MB);
+        // reservations made by the same thread are independent
+        assertEquals(4 * MB, first.getMemory());
+        assertEquals(2 * MB, second.getMemory());
+        assertEquals(4 * MB, controller.getAvailableMemory());
+
+        controller.release(first);
+        assertEquals(8 * MB, controller.getAvailableMemory());
+        // releasing twice does not give back the memory twice
+        controller.release(first);
+        assertEquals(8 * MB, controller.getAvailableMemory());
+        controller.release(second);
+        assertEquals(10 * MB, controller.getAvailableMemory());
+    }
+
+    @Test
+    public void testSameThreadDoesNotWaitOnItself() {
+        // a thread rendering several maps in a row gets the whole pool each time, as long as it releases
+        for (int i = 0; i < 3; i++) {
+            RenderingMemoryController.Reservation reservation = controller.reserve(8 * MB);
+            assertEquals(2 * MB, controller.getAvailableMemory());
+            controller.release(reservation);
+        }
+        assertEquals(10 * MB, controller.getAvailableMemory());
+    }
+
+    @Test
+    public void testRejectLargerThanPool() {
+        ServiceException e = assertThrows(ServiceException.class, () -> controller.reserve(11 * MB));
+        assertEquals(ServiceException.MAX_MEMORY_EXCEEDED, e.getCode());
+        assertEquals(10 * MB, controller.getAvailableMemory());
+    }
+
+    @Test
+    public void testTimeout() throws Exception {
+        RenderingMemoryController.Reservation reservation = controller.reserve(8 * MB);
+        // another request cannot get the memory until the first releases it
+        AtomicReference<Exception> error = new AtomicReference<>();
+        Thread other = new Thread(() -> {
+            try {
+                controller.reserve(4 * MB);
+            } catch (Exception e) {
+                error.set(e);
+            }
+        });
+        other.start();
+        other.join();
+        assertEquals(503, ((HttpErrorCodeException) error.get()).getErrorCode());
+        assertEquals(2 * MB, controller.getAvailableMemory());
+        controller.release(reservation);
+    }
+
+    @Test
+    public void testReleasedWithMapContent() {
+        WMSMapContent mapContent = new WMSMapContent();
+        mapContent.setMemoryReservation(controller.reserve(4 * MB));
+        // replacing the reservation gives back the previous one
+        mapContent.setMemoryReservation(controller.reserve(2 * MB));
+        assertEquals(8 * MB, controller.getAvailableMemory());
+
+        mapContent.dispose();
+        assertEquals(10 * MB, controller.getAvailableMemory());
+    }
+
+    @Test
+    public void testEstimate() {
+        WMSMapContent mapContent = new WMSMapContent();
+        mapContent.setMapWidth(256);
+        mapContent.setMapHeight(256);
+        // no layers, just the drawing surface
+        assertEquals(1000, controller.estimate(mapContent, 1000));
+        mapContent.dispose();
+    }
+}
@@ -26,6 +26,7 @@
 import org.geoserver.catalog.LayerInfo;
 import org.geoserver.catalog.WMSLayerInfo;
 import org.geoserver.catalog.WMSStoreInfo;
+import org.geoserver.config.CapabilitiesDocumentCache;
 import org.geoserver.data.test.MockData;
 import org.geoserver.data.test.SystemTestData;
 import org.geoserver.data.test.SystemTestData.LayerProperty;
@@ -131,6 +132,7 @@ protected void onSetUp(SystemTestData testData) throws Exception {
         ugStore.addUser(ugStore.createUserObject("cite_texas", "cite", true));
         ugStore.addUser(ugStore.createUserObject("cite_mosaic1", "cite", true));
         ugStore.addUser(ugStore.createUserObject("cite_mosaic2", "cite", true));
+        ugStore.addUser(ugStore.createUserObject("cite_nomosaic", "cite", true));
         ugStore.store();
 
         GeoServerRoleStore roleStore =
@@ -143,6 +145,7 @@ protected void onSetUp(SystemTestData testData) throws Exception {
         roleStore.associateRoleToUser(role, "cite_cite_texas");
         roleStore.associateRoleToUser(role, "cite_mosaic1");
         roleStore.associateRoleToUser(role, "cite_mosaic2");
+        roleStore.associateRoleToUser(role, "cite_nomosaic");
         roleStore.store();
 
         prepare();
@@ -165,6 +168,10 @@ public void prepare() throws Exception {
         MultiPolygon cropper = (MultiPolygon) wkt.read("MULTIPOLYGON(((0 0, 0.5 0, 0.5 0.5, 0 0.5, 0 0)))");
         tam.putLimits("cite_mosaic2", coverage, new CoverageAccessLimits(CatalogMode.HIDE, green, cropper, null));
 
+        // same roles as cite, but cannot see the mosaic at all
+        tam.putLimits(
+                "cite_nomosaic", coverage, new CoverageAccessLimits(CatalogMode.HIDE, Filter.EXCLUDE, null, null));
+
         // add a wms store too, if possible
         if (!RemoteOWSTestSupport.isRemoteWMSStatesAvailable(LOGGER)) {
             return;
@@ -192,6 +199,36 @@ public void prepare() throws Exception {
         tam.putLimits("cite_texas", states, new WMSAccessLimits(CatalogMode.HIDE, texas, null, true));
     }
 
+    @Test
+    public void testCapabilitiesDocumentCachePerUser() throws Exception {
+        CapabilitiesDocumentCache cache = GeoServerExtensions.bean(CapabilitiesDocumentCache.class);
+        boolean backup = cache.isEnabled();
+        try {
+            cache.setEnabled(true);
+            String path = "wms?service=WMS&version=1.1.1&request=GetCapabilities";
+
+            // the second request is served from the cache
+            setRequestAuth("cite", "cite");
+            Document dom = getAsDOM(path);
+            assertXpathEvaluatesTo("1", "count(//Layer[Name='sf:mosaic'])", dom);
+            assertEquals(1, cache.size());
+            long hits = cache.getHitCount();
+            dom = getAsDOM(path);
+            assertXpathEvaluatesTo("1", "count(//Layer[Name='sf:mosaic'])", dom);
+            assertEquals(hits + 1, cache.getHitCount());
+
+            // same roles, different user, the document of the first one is not reused
+            setRequestAuth("cite_nomosaic", "cite");
+            dom = getAsDOM(path);
+            assertXpathEvaluatesTo("0", "count(//Layer[Name='sf:mosaic'])", dom);
+            assertEquals(hits + 1, cache.getHitCount());
+            assertEquals(2, cache.size());
+        } finally {
+            cache.setEnabled(backup);
+            setRequestAuth(null, null);
+        }
+    }
+
     @Test
     public void testGetMapNoRestrictions() throws Exception {
         if (!RemoteOWSTestSupport.isRemoteWMSStatesAvailable(LOGGER)) {
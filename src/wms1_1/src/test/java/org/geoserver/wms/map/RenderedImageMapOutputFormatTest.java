@@ -265,6 +265,39 @@ public void testSimpleGetMapQuery() throws Exception {
         assertNotBlank("testSimpleGetMapQuery", image);
     }
 
+    @Test
+    public void testRenderingMemoryReleasedOutsideDispatcher() throws Exception {
+        Catalog catalog = getCatalog();
+        final FeatureSource fs = catalog.getFeatureTypeByName(
+                        MockData.BASIC_POLYGONS.getPrefix(), MockData.BASIC_POLYGONS.getLocalPart())
+                .getFeatureSource(null, null);
+        Style basicStyle = catalog.getStyleByName("Default").getStyle();
+
+        // a 400x400 map needs more than half of the pool, two leaked reservations would time out
+        long poolSize = 1024 * 1024;
+        RenderingMemoryController controller = new RenderingMemoryController(poolSize, 1);
+        this.rasterMapProducer.setMemoryController(controller);
+        // render twice on the same thread, outside of any dispatched request
+        for (int i = 0; i < 2; i++) {
+            GetMapRequest request = new GetMapRequest();
+            request.setFormat(getMapFormat());
+            final WMSMapContent map = new WMSMapContent();
+            map.getViewport().setBounds(new ReferencedEnvelope(fs.getBounds(), DefaultGeographicCRS.WGS84));
+            map.setMapWidth(400);
+            map.setMapHeight(400);
+            map.setRequest(request);
+            map.addLayer(new FeatureLayer(fs, basicStyle));
+            assertTrue(controller.estimate(map, 400 * 400 * 3) > poolSize / 2);
+
+            RenderedImageMap imageMap = this.rasterMapProducer.produceMap(map);
+            // held while the image is encoded
+            assertTrue(controller.getAvailableMemory() < poolSize / 2);
+            assertNotBlank("testRenderingMemoryReleasedOutsideDispatcher", (BufferedImage) imageMap.getImage());
+            imageMap.dispose();
+            assertEquals(poolSize, controller.getAvailableMemory());
+        }
+    }
+
     @Test
     public void testAdvancedProjectionDensification() throws Exception {
         WMS wms = getWMS();